@@ -0,0 +1,86 @@
+package com.devpedia.watchapedia.repository;
+
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.document.DocumentField;
+import org.elasticsearch.search.SearchHit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검색 결과 디코딩 비교.
+ * - sourceAsMap: 기존 방식(_source 전체를 Map 으로 파싱 후 id, DTO 필드를 읽음)
+ * - docValueIds: doc value 로 받은 id 만 long 배열로 읽는 방식(elasticsearch.hydrate-from-fields=false)
+ * - docValueFields: 기본 설정. id 와 DTO 필드 모두 doc value, stored field 로 읽고 _source 는 받지 않는다
+ *
+ * SearchHit 은 파싱한 _source 를 캐시하므로 매 호출마다 새로 만든다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchHitDecodeBenchmark {
+
+    @Param({"10", "100"})
+    private int size;
+
+    private SearchHit[] sourceHits;
+    private SearchHit[] fieldHits;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        sourceHits = new SearchHit[size];
+        fieldHits = new SearchHit[size];
+        for (int i = 0; i < size; i++) {
+            long id = 100_000L + i;
+            String source = String.format(
+                    "{\"id\":%d,\"dtype\":\"M\",\"mainTitle\":\"title %d\",\"posterImagePath\":\"/poster/%d.jpg\"," +
+                            "\"productionDate\":\"2020-01-20\",\"countryCode\":\"KR\",\"isWatchaContent\":true," +
+                            "\"isNetflixContent\":false,\"participants\":[\"actor a\",\"actor b\",\"director c\"]}",
+                    id, i, i);
+            sourceHits[i] = new SearchHit(i, String.valueOf(id), null, Collections.emptyMap(), Collections.emptyMap())
+                    .sourceRef(new BytesArray(source));
+
+            Map<String, DocumentField> fields = new HashMap<>();
+            putField(fields, ElasticSearchRepository.ELASTIC_COLUMN_CONTENT_ID, id);
+            putField(fields, ElasticSearchRepository.ELASTIC_QUERY_FIELD_TYPE, "M");
+            putField(fields, ElasticSearchRepository.ELASTIC_QUERY_FIELD_TITLE, "title " + i);
+            putField(fields, ElasticSearchRepository.ELASTIC_SOURCE_FIELD_POSTER_IMAGE_PATH, "/poster/" + i + ".jpg");
+            putField(fields, ElasticSearchRepository.ELASTIC_SOURCE_FIELD_PRODUCTION_DATE, "2020-01-20");
+            putField(fields, ElasticSearchRepository.ELASTIC_SOURCE_FIELD_COUNTRY_CODE, "KR");
+            putField(fields, ElasticSearchRepository.ELASTIC_SOURCE_FIELD_IS_WATCHA_CONTENT, true);
+            putField(fields, ElasticSearchRepository.ELASTIC_SOURCE_FIELD_IS_NETFLIX_CONTENT, false);
+            fieldHits[i] = new SearchHit(i, String.valueOf(id), null, fields, Collections.emptyMap());
+        }
+    }
+
+    @Benchmark
+    public void sourceAsMap(Blackhole blackhole) {
+        for (SearchHit hit : sourceHits) {
+            Map<String, Object> source = hit.getSourceAsMap();
+            blackhole.consume(Long.valueOf((Integer) source.get(ElasticSearchRepository.ELASTIC_COLUMN_CONTENT_ID)));
+            blackhole.consume(source.get(ElasticSearchRepository.ELASTIC_QUERY_FIELD_TITLE));
+        }
+    }
+
+    @Benchmark
+    public long[] docValueIds() {
+        return ElasticSearchRepository.extractIds(fieldHits);
+    }
+
+    @Benchmark
+    public void docValueFields(Blackhole blackhole) {
+        long[] ids = ElasticSearchRepository.extractIds(fieldHits);
+        for (int i = 0; i < ids.length; i++) {
+            blackhole.consume(ElasticSearchRepository.toSearchItem(ids[i], fieldHits[i].getFields()));
+        }
+    }
+
+    private static void putField(Map<String, DocumentField> fields, String name, Object value) {
+        fields.put(name, new DocumentField(name, List.of(value)));
+    }
+}
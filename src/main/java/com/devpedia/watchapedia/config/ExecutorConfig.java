@@ -0,0 +1,91 @@
+package com.devpedia.watchapedia.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * 컨텐츠 상세 페이지의 각 영역을 병렬로 조회하는 스레드 풀.
+     * 큐가 가득 차면 거절하고, 거절된 영역은 ContentDetailAssembler 에서 기본값으로 채운다.
+     * 요청 스레드에서 직접 실행하면 제한 시간 없이 요청이 묶이므로 실행하지 않는다.
+     */
+    @Bean(name = "detailExecutor")
+    public ThreadPoolTaskExecutor detailExecutor(@Value("${content.detail.pool-size:16}") int poolSize,
+                                                 @Value("${content.detail.queue-capacity:256}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("detail-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    /**
+     * 유저 취향분석 재계산 스레드 풀.
+     * 재계산은 요청 처리와 DB 커넥션을 나눠 쓰므로 스레드 수를 작게 둔다.
+     */
+    @Bean(name = "tasteProfileExecutor")
+    public ThreadPoolTaskExecutor tasteProfileExecutor(@Value("${taste-profile.rebuild-pool-size:4}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(poolSize * 2);
+        executor.setThreadNamePrefix("taste-profile-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /**
+     * 관리자가 요청한 전체 백필(취향분석 전체 재계산 등) 스레드 풀.
+     * 요청 스레드를 잡고 있지 않도록 넘겨서 한번에 하나씩 실행하고, 큐가 가득 차면 거절한다.
+     */
+    @Bean(name = "backfillExecutor")
+    public ThreadPoolTaskExecutor backfillExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(4);
+        executor.setThreadNamePrefix("backfill-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    /**
+     * 컨텐츠 유사도 계산 스레드 풀.
+     * DB 를 쓰지 않는 계산만 실행하므로 CPU 코어 수 정도로 둔다.
+     */
+    @Bean(name = "similarityExecutor")
+    public ThreadPoolTaskExecutor similarityExecutor(@Value("${similarity.pool-size:4}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(poolSize * 2);
+        executor.setThreadNamePrefix("similarity-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /**
+     * 이미지 S3 업로드 스레드 풀.
+     * 큐가 가득 차면 버리고, 저장해 둔 업로드 outbox 로 재시도 주기에 다시 올린다.
+     * 업로드 파일은 멀티파트 기준 크기보다 작아서 파일 단위 병렬 업로드는 이 풀의 스레드 수로 정해진다.
+     */
+    @Bean(name = "imageUploadExecutor")
+    public ThreadPoolTaskExecutor imageUploadExecutor(@Value("${image-upload.pool-size:4}") int poolSize,
+                                                      @Value("${image-upload.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-upload-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,30 @@
+package com.devpedia.watchapedia.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Slf4j
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    /**
+     * 주기 작업 스케줄러.
+     * 짧은 작업(쓰기 지연 반영, 카운터 반영, 버전 동기화 등)이 서로 기다리지 않도록 여러 스레드를 둔다.
+     * 오래 걸리는 재계산(유사도, 취향분석, 랭킹/메인 스냅샷, 자동완성)도 이 풀에서 직접 실행해서
+     * fixedDelay 가 이전 실행이 끝난 뒤부터 계산되고 같은 작업이 겹쳐 실행되지 않도록 한다.
+     * 재계산이 동시에 돌아도 짧은 작업 스레드가 남도록 재계산 개수보다 넉넉하게 둔다.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${scheduling.pool-size:8}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduler-");
+        scheduler.setErrorHandler(e -> log.warn("scheduled task failed", e));
+        return scheduler;
+    }
+}
@@ -2,13 +2,16 @@ package com.devpedia.watchapedia.controller;
 
 import com.devpedia.watchapedia.dto.BookDto;
 import com.devpedia.watchapedia.dto.ContentDto;
+import com.devpedia.watchapedia.dto.enums.HomeFeed;
 import com.devpedia.watchapedia.service.BookService;
+import com.devpedia.watchapedia.service.HomeFeedSnapshotService;
 import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiImplicitParams;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -20,6 +23,7 @@ import java.util.List;
 public class BookController {
 
     private final BookService bookService;
+    private final HomeFeedSnapshotService homeFeedSnapshotService;
 
     /**
      * 어드민용 책 삽입 API
@@ -43,8 +47,8 @@ public class BookController {
      * @return 평점이 높은 책 리스트
      */
     @GetMapping("/public/books/score")
-    public List<ContentDto.MainList> getHighScoreList() {
-        return bookService.getHighScoreList();
+    public ResponseEntity<?> getHighScoreList() {
+        return homeFeedSnapshotService.getResponse(HomeFeed.BOOK_SCORE);
     }
 
     /**
@@ -52,8 +56,8 @@ public class BookController {
      * @return 화제의 인물 작품 리스트
      */
     @GetMapping("/public/books/popular")
-    public List<ContentDto.MainList> getPopularList() {
-        return bookService.getPopularList();
+    public ResponseEntity<?> getPopularList() {
+        return homeFeedSnapshotService.getResponse(HomeFeed.BOOK_POPULAR);
     }
 
     /**
@@ -61,8 +65,8 @@ public class BookController {
      * @return 랜덤 태그 책 리스트
      */
     @GetMapping("/public/books/tag")
-    public List<ContentDto.MainList> getTagList() {
-        return bookService.getTagList();
+    public ResponseEntity<?> getTagList() {
+        return homeFeedSnapshotService.getResponse(HomeFeed.BOOK_TAG);
     }
 
     /**
@@ -70,8 +74,8 @@ public class BookController {
      * @return 랜덤 컬렉션 책 리스트
      */
     @GetMapping("/public/books/collection")
-    public List<ContentDto.MainListForCollection> getCollectionList() {
-        return bookService.getCollectionList();
+    public ResponseEntity<?> getCollectionList() {
+        return homeFeedSnapshotService.getResponse(HomeFeed.BOOK_COLLECTION);
     }
 
     /**
@@ -79,8 +83,8 @@ public class BookController {
      * @return 왓챠피디아 책 컬렉션
      */
     @GetMapping("/public/books/award")
-    public List<ContentDto.ListForAward> getAwardList() {
-        return bookService.getAwardList();
+    public ResponseEntity<?> getAwardList() {
+        return homeFeedSnapshotService.getResponse(HomeFeed.BOOK_AWARD);
     }
 
 }
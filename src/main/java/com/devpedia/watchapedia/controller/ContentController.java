@@ -5,12 +5,18 @@ import com.devpedia.watchapedia.dto.DetailDto;
 import com.devpedia.watchapedia.dto.enums.ContentTypeParameter;
 import com.devpedia.watchapedia.exception.ExternalIOException;
 import com.devpedia.watchapedia.exception.common.ErrorCode;
-import com.devpedia.watchapedia.repository.content.ContentRepository;
+import com.devpedia.watchapedia.service.AutocompleteService;
+import com.devpedia.watchapedia.service.CatalogCache;
+import com.devpedia.watchapedia.service.ContentDetailAssembler;
 import com.devpedia.watchapedia.service.ContentService;
+import com.devpedia.watchapedia.service.ContentSimilarityService;
+import com.devpedia.watchapedia.service.ScoreCountService;
+import com.devpedia.watchapedia.service.TrendingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import springfox.documentation.annotations.ApiIgnore;
@@ -31,25 +37,73 @@ import java.util.Map;
 public class ContentController {
 
     private final ContentService contentService;
-    private final ContentRepository contentRepository;
+    private final ContentDetailAssembler contentDetailAssembler;
+    private final AutocompleteService autocompleteService;
+    private final TrendingService trendingService;
+    private final ScoreCountService scoreCountService;
+    private final CatalogCache catalogCache;
+    private final ContentSimilarityService contentSimilarityService;
 
     /**
      * 전체 평점 개수를 조회한다.
+     * 캐시된 카운터 값이므로 최근 변경분은 잠시 늦게 반영될 수 있다.
      * @return 전체 평점 개수
      */
     @GetMapping("/public/contents/scores/count")
     public Map<String, Long> getTotalScoreCount() {
-        return Map.of("totalCount", contentRepository.countTotalScores());
+        return Map.of("totalCount", scoreCountService.getTotalCount());
+    }
+
+    /**
+     * score 테이블로부터 컨텐츠 별 평점 집계를 다시 만든다.
+     */
+    @PostMapping("/admin/contents/scores/stats")
+    public void rebuildScoreStats() {
+        contentService.rebuildScoreStats();
+    }
+
+    /**
+     * comment_like, reply 테이블로부터 코멘트 좋아요 수, 댓글 수를 다시 계산한다.
+     */
+    @PostMapping("/admin/contents/comments/counts")
+    public void rebuildCommentCounts() {
+        contentService.rebuildCommentCounts();
+    }
+
+    /**
+     * 태그, 인물, 평점으로부터 컨텐츠 유사도를 다시 계산한다.
+     */
+    @PostMapping("/admin/contents/similarity")
+    public void rebuildContentSimilarity() {
+        contentSimilarityService.rebuildAll();
+    }
+
+    /**
+     * 카탈로그 캐시의 영역 별 적중 통계를 조회한다.
+     * @return 영역 이름 별 통계
+     */
+    @GetMapping("/admin/cache/stats")
+    public Map<String, CatalogCache.Stats> getCatalogCacheStats() {
+        return catalogCache.getStats();
+    }
+
+    /**
+     * 컨텐츠 상세 조회에서 요청 내 조회 공유로 생략한 쿼리 통계를 조회한다.
+     * @return 상세 조회 수, 요청한 조회 수, 실행한 조회 수, 생략한 조회 수
+     */
+    @GetMapping("/admin/contents/detail/stats")
+    public ContentDetailAssembler.LoadStats getDetailLoadStats() {
+        return contentDetailAssembler.getLoadStats();
     }
 
     /**
      * 트렌드 작품 타이틀 리스트를 조회한다.
-     * 조회방식은 임의로 정해졌으며 추후 수정가능.
+     * 최근 코멘트가 많은 순이며, 오래된 코멘트일수록 적게 반영된다.
      * @return 트렌드 작품 타이틀 리스트
      */
     @GetMapping("/public/contents/trending_words")
     public List<String> getTrendingWords() {
-        return contentRepository.getTrendingWords(5);
+        return trendingService.getTrendingWords(5);
     }
 
     /**
@@ -66,14 +120,19 @@ public class ContentController {
     /**
      * 왓챠피디아 컬렉션 내의 컨텐츠 조회.
      * @param id 컬렉션 아이디
+     * @param page 페이지(cursor 가 있으면 무시)
+     * @param cursor 이전 페이지 커서(Next-Cursor 헤더 값)
      * @param size 사이즈
      * @return 컬렉션 컨텐츠 리스트
      */
     @GetMapping("/public/awards/{id}/contents")
-    public List<ContentDto.MainListItem> getStaffMadeContents(@PathVariable Long id,
-                                                              @RequestParam @Positive int page,
-                                                              @RequestParam @Min(1)@Max(20) int size) {
-        return contentService.getAwardDetail(id, PageRequest.of(page - 1, size)).getList();
+    public ResponseEntity<List<ContentDto.MainListItem>> getStaffMadeContents(@PathVariable Long id,
+                                                                              @RequestParam(required = false) @Positive Integer page,
+                                                                              @RequestParam(required = false) String cursor,
+                                                                              @RequestParam @Min(1)@Max(20) int size) {
+        if (page != null && cursor == null)
+            return ResponseEntity.ok(contentService.getAwardDetail(id, PageRequest.of(page - 1, size)).getList());
+        return contentService.getAwardContentSlice(id, cursor, size).toResponse();
     }
 
     /**
@@ -90,14 +149,19 @@ public class ContentController {
     /**
      * 왓챠피디아 유저 내의 컨텐츠 조회.
      * @param id 컬렉션 아이디
+     * @param page 페이지(cursor 가 있으면 무시)
+     * @param cursor 이전 페이지 커서(Next-Cursor 헤더 값)
      * @param size 사이즈
      * @return 컬렉션 컨텐츠 리스트
      */
     @GetMapping("/public/collections/{id}/contents")
-    public List<ContentDto.CollectionItem> getCollectionContents(@PathVariable Long id,
-                                                               @RequestParam @Positive int page,
+    public ResponseEntity<List<ContentDto.CollectionItem>> getCollectionContents(@PathVariable Long id,
+                                                               @RequestParam(required = false) @Positive Integer page,
+                                                                                 @RequestParam(required = false) String cursor,
                                                                @RequestParam @Min(1)@Max(20) int size) {
-        return contentService.getCollectionDetail(id, PageRequest.of(page - 1, size)).getList();
+        if (page != null && cursor == null)
+            return ResponseEntity.ok(contentService.getCollectionDetail(id, PageRequest.of(page - 1, size)).getList());
+        return contentService.getCollectionContentSlice(id, cursor, size).toResponse();
     }
 
     /**
@@ -119,6 +183,19 @@ public class ContentController {
         }
     }
 
+    /**
+     * 입력 중인 검색어의 자동완성 결과를 반환한다.
+     * 컨텐츠 제목과 인물 이름에서 찾고, 초성 검색을 지원한다.
+     * @param query 입력 중인 검색어
+     * @param size 사이즈
+     * @return 자동완성 단어 리스트
+     */
+    @GetMapping("/public/searches/autocomplete")
+    public List<String> autocomplete(@RequestParam @NotBlank String query,
+                                     @RequestParam(defaultValue = "10") @Min(1) @Max(AutocompleteService.MAX_SUGGESTION_SIZE) int size) {
+        return autocompleteService.autocomplete(query, size);
+    }
+
     /**
      * 각 컨텐츠 타입에 해당하는 검색 결과를 반환한다.
      * @param contentType 컨텐츠 타입
@@ -157,23 +234,27 @@ public class ContentController {
     @GetMapping("/contents/{id}")
     public DetailDto.ContentDetail getContentDetail(@PathVariable Long id, @ApiIgnore Principal principal) {
         Long tokenId = principal != null ? Long.valueOf(principal.getName()) : null;
-        return contentService.getContentDetail(id, tokenId);
+        return contentDetailAssembler.assemble(id, tokenId);
     }
 
     /**
      * 컨텐츠에 달린 코멘트들을 조회한다.
      * @param id 컨텐츠 id
      * @param principal 토큰 정보(사용자가 좋아요 한 코멘트인지 확인용)
-     * @param page 페이지
+     * @param page 페이지(cursor 가 있으면 무시)
+     * @param cursor 이전 페이지 커서(Next-Cursor 헤더 값)
      * @param size 사이즈
      * @return 컨텐츠 코멘트 리스트
      */
     @GetMapping("/contents/{id}/comments")
-    public List<DetailDto.CommentDetail> getContentComments(@PathVariable Long id, Principal principal,
-                                                            @RequestParam @Positive int page,
-                                                            @RequestParam @Min(1)@Max(10) int size) {
+    public ResponseEntity<List<DetailDto.CommentDetail>> getContentComments(@PathVariable Long id, Principal principal,
+                                                                            @RequestParam(required = false) @Positive Integer page,
+                                                                            @RequestParam(required = false) String cursor,
+                                                                            @RequestParam @Min(1)@Max(10) int size) {
         Long tokenId = principal != null ? Long.valueOf(principal.getName()) : null;
-        return contentService.getCommentInfo(id, tokenId, PageRequest.of(page - 1, size)).getList();
+        if (page != null && cursor == null)
+            return ResponseEntity.ok(contentService.getCommentInfo(id, tokenId, PageRequest.of(page - 1, size)).getList());
+        return contentService.getCommentSlice(id, tokenId, cursor, size).toResponse();
     }
 
     /**
@@ -2,6 +2,8 @@ package com.devpedia.watchapedia.controller;
 
 import com.devpedia.watchapedia.dto.ContentDto;
 import com.devpedia.watchapedia.dto.MovieDto;
+import com.devpedia.watchapedia.dto.enums.HomeFeed;
+import com.devpedia.watchapedia.service.HomeFeedSnapshotService;
 import com.devpedia.watchapedia.service.MovieService;
 import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiImplicitParams;
@@ -9,6 +11,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -20,6 +23,7 @@ import java.util.List;
 public class MovieController {
 
     private final MovieService movieService;
+    private final HomeFeedSnapshotService homeFeedSnapshotService;
 
     /**
      * 어드민용 영화 삽입 API
@@ -43,8 +47,8 @@ public class MovieController {
      * @return 평점이 높은 영화 리스트
      */
     @GetMapping("/public/movies/score")
-    public List<ContentDto.MainList> getHighScoreList() {
-        return movieService.getHighScoreList();
+    public ResponseEntity<?> getHighScoreList() {
+        return homeFeedSnapshotService.getResponse(HomeFeed.MOVIE_SCORE);
     }
 
     /**
@@ -52,8 +56,8 @@ public class MovieController {
      * @return 화제의 인물 작품 리스트
      */
     @GetMapping("/public/movies/popular")
-    public List<ContentDto.MainList> getPopularList() {
-        return movieService.getPopularList();
+    public ResponseEntity<?> getPopularList() {
+        return homeFeedSnapshotService.getResponse(HomeFeed.MOVIE_POPULAR);
     }
 
     /**
@@ -61,8 +65,8 @@ public class MovieController {
      * @return 랜덤 태그 영화 리스트
      */
     @GetMapping("/public/movies/tag")
-    public List<ContentDto.MainList> getTagList() {
-        return movieService.getTagList();
+    public ResponseEntity<?> getTagList() {
+        return homeFeedSnapshotService.getResponse(HomeFeed.MOVIE_TAG);
     }
 
     /**
@@ -70,8 +74,8 @@ public class MovieController {
      * @return 랜덤 컬렉션 영화 리스트
      */
     @GetMapping("/public/movies/collection")
-    public List<ContentDto.MainListForCollection> getCollectionList() {
-        return movieService.getCollectionList();
+    public ResponseEntity<?> getCollectionList() {
+        return homeFeedSnapshotService.getResponse(HomeFeed.MOVIE_COLLECTION);
     }
 
     /**
@@ -79,7 +83,7 @@ public class MovieController {
      * @return 왓챠피디아 영화 컬렉션
      */
     @GetMapping("/public/movies/award")
-    public List<ContentDto.ListForAward> getAwardList() {
-        return movieService.getAwardList();
+    public ResponseEntity<?> getAwardList() {
+        return homeFeedSnapshotService.getResponse(HomeFeed.MOVIE_AWARD);
     }
 }
@@ -3,7 +3,9 @@ package com.devpedia.watchapedia.controller;
 import com.devpedia.watchapedia.dto.ContentDto;
 import com.devpedia.watchapedia.dto.MovieDto;
 import com.devpedia.watchapedia.dto.TvShowDto;
+import com.devpedia.watchapedia.dto.enums.HomeFeed;
 import com.devpedia.watchapedia.service.ContentService;
+import com.devpedia.watchapedia.service.HomeFeedSnapshotService;
 import com.devpedia.watchapedia.service.TvShowService;
 import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiImplicitParams;
@@ -11,6 +13,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -22,6 +25,7 @@ import java.util.List;
 public class TvShowController {
 
     private final TvShowService tvShowService;
+    private final HomeFeedSnapshotService homeFeedSnapshotService;
 
     /**
      * 어드민용 TV쇼 삽입 API
@@ -45,8 +49,8 @@ public class TvShowController {
      * @return 평점이 높은 TV쇼 리스트
      */
     @GetMapping("/public/tv_shows/score")
-    public List<ContentDto.MainList> getHighScoreList() {
-        return tvShowService.getHighScoreList();
+    public ResponseEntity<?> getHighScoreList() {
+        return homeFeedSnapshotService.getResponse(HomeFeed.TV_SHOW_SCORE);
     }
 
     /**
@@ -54,8 +58,8 @@ public class TvShowController {
      * @return 화제의 인물 작품 리스트
      */
     @GetMapping("/public/tv_shows/popular")
-    public List<ContentDto.MainList> getPopularList() {
-        return tvShowService.getPopularList();
+    public ResponseEntity<?> getPopularList() {
+        return homeFeedSnapshotService.getResponse(HomeFeed.TV_SHOW_POPULAR);
     }
 
     /**
@@ -63,8 +67,8 @@ public class TvShowController {
      * @return 랜덤 태그 TV쇼 리스트
      */
     @GetMapping("/public/tv_shows/tag")
-    public List<ContentDto.MainList> getTagList() {
-        return tvShowService.getTagList();
+    public ResponseEntity<?> getTagList() {
+        return homeFeedSnapshotService.getResponse(HomeFeed.TV_SHOW_TAG);
     }
 
     /**
@@ -72,8 +76,8 @@ public class TvShowController {
      * @return 랜덤 컬렉션 TV쇼 리스트
      */
     @GetMapping("/public/tv_shows/collection")
-    public List<ContentDto.MainListForCollection> getCollectionList() {
-        return tvShowService.getCollectionList();
+    public ResponseEntity<?> getCollectionList() {
+        return homeFeedSnapshotService.getResponse(HomeFeed.TV_SHOW_COLLECTION);
     }
 
     /**
@@ -81,7 +85,7 @@ public class TvShowController {
      * @return 왓챠피디아 TV쇼 컬렉션
      */
     @GetMapping("/public/tv_shows/award")
-    public List<ContentDto.ListForAward> getAwardList() {
-        return tvShowService.getAwardList();
+    public ResponseEntity<?> getAwardList() {
+        return homeFeedSnapshotService.getResponse(HomeFeed.TV_SHOW_AWARD);
     }
 }
@@ -9,11 +9,13 @@ import com.devpedia.watchapedia.dto.enums.InterestContentOrder;
 import com.devpedia.watchapedia.dto.enums.RatingContentOrder;
 import com.devpedia.watchapedia.exception.ExternalIOException;
 import com.devpedia.watchapedia.exception.common.ErrorCode;
-import com.devpedia.watchapedia.repository.RedisRepository;
 import com.devpedia.watchapedia.repository.user.UserRepository;
 import com.devpedia.watchapedia.security.JwtTokenProvider;
+import com.devpedia.watchapedia.security.VerifiedTokenCache;
 import com.devpedia.watchapedia.service.RedisService;
+import com.devpedia.watchapedia.service.UserActionCountService;
 import com.devpedia.watchapedia.service.UserService;
+import com.devpedia.watchapedia.service.UserTasteProfileService;
 import com.devpedia.watchapedia.util.UrlUtil;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -45,8 +47,9 @@ public class UserController {
     public static final String USER_ID_HEADER = "Id";
 
     private final UserService userService;
+    private final UserTasteProfileService userTasteProfileService;
+    private final UserActionCountService userActionCountService;
     private final UserRepository userRepository;
-    private final RedisRepository redisRepository;
     private final RedisService redisService;
 
     private final JwtTokenProvider jwtTokenProvider;
@@ -74,14 +77,11 @@ public class UserController {
     public ResponseEntity<Void> signin(@RequestBody @Valid UserDto.SigninRequest request) {
         User user = userService.getMatchedUser(request.getEmail(), request.getPassword());
 
-        String accessToken = jwtTokenProvider.createAccessToken(String.valueOf(user.getId()), user.getRoles());
-        String refreshToken = jwtTokenProvider.createRefreshToken(String.valueOf(user.getId()), user.getRoles());
-
-        redisRepository.addRefreshToken(user.getId(), refreshToken);
+        JwtTokenProvider.TokenPair tokens = redisService.issueTokens(user.getId(), user.getRoles());
 
         return ResponseEntity.ok()
-                .header(JwtTokenProvider.ACCESS_TOKEN_HEADER, accessToken)
-                .header(JwtTokenProvider.REFRESH_TOKEN_HEADER, refreshToken)
+                .header(JwtTokenProvider.ACCESS_TOKEN_HEADER, tokens.getAccessToken())
+                .header(JwtTokenProvider.REFRESH_TOKEN_HEADER, tokens.getRefreshToken())
                 .header(USER_ID_HEADER, String.valueOf(user.getId()))
                 .build();
     }
@@ -108,14 +108,11 @@ public class UserController {
 
             User user = userRepository.findFirstByEmail(userInfo.getEmail());
 
-            String accessToken = jwtTokenProvider.createAccessToken(String.valueOf(user.getId()), user.getRoles());
-            String refreshToken = jwtTokenProvider.createRefreshToken(String.valueOf(user.getId()), user.getRoles());
-
-            redisRepository.addRefreshToken(user.getId(), refreshToken);
+            JwtTokenProvider.TokenPair tokens = redisService.issueTokens(user.getId(), user.getRoles());
 
             return ResponseEntity.ok()
-                    .header(JwtTokenProvider.ACCESS_TOKEN_HEADER, accessToken)
-                    .header(JwtTokenProvider.REFRESH_TOKEN_HEADER, refreshToken)
+                    .header(JwtTokenProvider.ACCESS_TOKEN_HEADER, tokens.getAccessToken())
+                    .header(JwtTokenProvider.REFRESH_TOKEN_HEADER, tokens.getRefreshToken())
                     .header(USER_ID_HEADER, String.valueOf(user.getId()))
                     .build();
 
@@ -125,20 +122,22 @@ public class UserController {
     }
 
     /**
-     * 리프레쉬 토큰으로 새로운 엑세스 토큰을 발급한다.
-     * 리프레쉬 토큰이 Redis 에 정상 등록된 토큰이 아니라면
+     * 리프레쉬 토큰으로 새로운 엑세스 토큰, 리프레쉬 토큰을 발급한다.
+     * 요청한 리프레쉬 토큰은 폐기되므로 이후에는 새 리프레쉬 토큰을 써야 한다.
+     * 리프레쉬 토큰이 폐기되었거나 family 의 현재 토큰이 아니라면
      * Throw Exception
      * @param refreshToken 리프레쉬 토큰
-     * @return 엑세스 토큰
+     * @return 엑세스 토큰, 리프레쉬 토큰
      */
     @PostMapping("/auth/token")
     public ResponseEntity<Void> refreshAccessToken(
             @RequestHeader(name = JwtTokenProvider.REFRESH_TOKEN_HEADER) @NotBlank String refreshToken) {
 
-        String accessToken = redisService.getAccessTokenOrThrow(refreshToken);
+        JwtTokenProvider.TokenPair tokens = redisService.refreshTokensOrThrow(refreshToken);
 
         return ResponseEntity.ok()
-                .header(JwtTokenProvider.ACCESS_TOKEN_HEADER, accessToken)
+                .header(JwtTokenProvider.ACCESS_TOKEN_HEADER, tokens.getAccessToken())
+                .header(JwtTokenProvider.REFRESH_TOKEN_HEADER, tokens.getRefreshToken())
                 .build();
     }
 
@@ -211,19 +210,23 @@ public class UserController {
      * @param principal 토큰 정보
      * @param contentType 컨텐츠 타입(movies, books, tv_shows)
      * @param order 정렬 순서(평점평균=avg_score, 신작=new, 가나다=title)
-     * @param page 페이지
+     * @param page 페이지(cursor 가 있으면 무시)
+     * @param cursor 이전 페이지 커서(Next-Cursor 헤더 값)
      * @param size 사이즈
      * @return 유저가 평가한 작품 리스트
      */
     @GetMapping("/users/{id}/{contentType}/ratings")
-    public List<ContentDto.MainListItem> getMovieRating(@PathVariable("id") Long targetId, @ApiIgnore Principal principal,
-                                                        @PathVariable ContentTypeParameter contentType,
-                                                        @RequestParam(required = false) RatingContentOrder order,
-                                                        @RequestParam @Positive int page,
-                                                        @RequestParam @Min(1)@Max(20) int size) {
+    public ResponseEntity<List<ContentDto.MainListItem>> getMovieRating(@PathVariable("id") Long targetId, @ApiIgnore Principal principal,
+                                                                        @PathVariable ContentTypeParameter contentType,
+                                                                        @RequestParam(required = false) RatingContentOrder order,
+                                                                        @RequestParam(required = false) @Positive Integer page,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam @Min(1)@Max(20) int size) {
         Long tokenId = principal != null ? Long.valueOf(principal.getName()) : null;
         UserDto.RatingContentParameter parameter = new UserDto.RatingContentParameter(contentType, order, page, size);
-        return userService.getContentByRating(targetId, tokenId, null, parameter);
+        if (page != null && cursor == null)
+            return ResponseEntity.ok(userService.getContentByRating(targetId, tokenId, null, parameter));
+        return userService.getContentSliceByRating(targetId, tokenId, null, parameter, cursor).toResponse();
     }
 
     /**
@@ -249,19 +252,23 @@ public class UserController {
      * @param principal 토큰 정보
      * @param contentType 컨텐츠 타입(movies, books, tv_shows)
      * @param score 조회하려는 평점
-     * @param page 페이지
+     * @param page 페이지(cursor 가 있으면 무시)
+     * @param cursor 이전 페이지 커서(Next-Cursor 헤더 값)
      * @param size 사이즈
      * @return 특정 평점의 작품 리스트
      */
     @GetMapping("/users/{id}/{contentType}/ratings/{score}")
-    public List<ContentDto.MainListItem> getMovieByRatings(@PathVariable("id") Long targetId, @ApiIgnore Principal principal,
-                                                           @PathVariable ContentTypeParameter contentType,
-                                                           @PathVariable Double score,
-                                                           @RequestParam @Positive int page,
-                                                           @RequestParam @Min(1) @Max(20) int size) {
+    public ResponseEntity<List<ContentDto.MainListItem>> getMovieByRatings(@PathVariable("id") Long targetId, @ApiIgnore Principal principal,
+                                                                           @PathVariable ContentTypeParameter contentType,
+                                                                           @PathVariable Double score,
+                                                                           @RequestParam(required = false) @Positive Integer page,
+                                                                           @RequestParam(required = false) String cursor,
+                                                                           @RequestParam @Min(1) @Max(20) int size) {
         Long tokenId = principal != null ? Long.valueOf(principal.getName()) : null;
         UserDto.RatingContentParameter parameter = new UserDto.RatingContentParameter(contentType, RatingContentOrder.TITLE, page, size);
-        return userService.getContentByRating(targetId, tokenId, score, parameter);
+        if (page != null && cursor == null)
+            return ResponseEntity.ok(userService.getContentByRating(targetId, tokenId, score, parameter));
+        return userService.getContentSliceByRating(targetId, tokenId, score, parameter, cursor).toResponse();
     }
 
     /**
@@ -270,20 +277,24 @@ public class UserController {
      * @param principal 토큰 정보
      * @param contentType 컨텐츠 타입(movies, books, tv_shows)
      * @param order 정렬 순서(평점평균=avg_score, 신작=new, 구작=old, 가나다=title)
-     * @param page 페이지
+     * @param page 페이지(cursor 가 있으면 무시)
+     * @param cursor 이전 페이지 커서(Next-Cursor 헤더 값)
      * @param size 사이즈
      * @return 보고싶어요 작품 리스트
      */
     @GetMapping("/users/{id}/{contentType}/wishes")
-    public List<ContentDto.MainListItem> getMovieByWish(@PathVariable("id") Long targetId, @ApiIgnore Principal principal,
-                                                        @PathVariable ContentTypeParameter contentType,
-                                                        @RequestParam(required = false) InterestContentOrder order,
-                                                        @RequestParam @Positive int page,
-                                                        @RequestParam @Min(1) @Max(20) int size) {
+    public ResponseEntity<List<ContentDto.MainListItem>> getMovieByWish(@PathVariable("id") Long targetId, @ApiIgnore Principal principal,
+                                                                        @PathVariable ContentTypeParameter contentType,
+                                                                        @RequestParam(required = false) InterestContentOrder order,
+                                                                        @RequestParam(required = false) @Positive Integer page,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam @Min(1) @Max(20) int size) {
         Long tokenId = principal != null ? Long.valueOf(principal.getName()) : null;
         UserDto.InterestContentParameter parameter =
                 new UserDto.InterestContentParameter(contentType, InterestState.WISH, order, page, size);
-        return userService.getContentByInterest(targetId, tokenId, parameter);
+        if (page != null && cursor == null)
+            return ResponseEntity.ok(userService.getContentByInterest(targetId, tokenId, parameter));
+        return userService.getContentSliceByInterest(targetId, tokenId, parameter, cursor).toResponse();
     }
 
     /**
@@ -292,20 +303,24 @@ public class UserController {
      * @param principal 토큰 정보
      * @param contentType 컨텐츠 타입(movies, books, tv_shows)
      * @param order 정렬 순서(평점평균=avg_score, 신작=new, 구작=old, 가나다=title)
-     * @param page 페이지
+     * @param page 페이지(cursor 가 있으면 무시)
+     * @param cursor 이전 페이지 커서(Next-Cursor 헤더 값)
      * @param size 사이즈
      * @return 보는중 작품 리스트
      */
     @GetMapping("/users/{id}/{contentType}/watchings")
-    public List<ContentDto.MainListItem> getMovieByWatching(@PathVariable("id") Long targetId, @ApiIgnore Principal principal,
-                                                            @PathVariable ContentTypeParameter contentType,
-                                                            @RequestParam(required = false) InterestContentOrder order,
-                                                            @RequestParam @Positive int page,
-                                                            @RequestParam @Min(1) @Max(20) int size) {
+    public ResponseEntity<List<ContentDto.MainListItem>> getMovieByWatching(@PathVariable("id") Long targetId, @ApiIgnore Principal principal,
+                                                                            @PathVariable ContentTypeParameter contentType,
+                                                                            @RequestParam(required = false) InterestContentOrder order,
+                                                                            @RequestParam(required = false) @Positive Integer page,
+                                                                            @RequestParam(required = false) String cursor,
+                                                                            @RequestParam @Min(1) @Max(20) int size) {
         Long tokenId = principal != null ? Long.valueOf(principal.getName()) : null;
         UserDto.InterestContentParameter parameter =
                 new UserDto.InterestContentParameter(contentType, InterestState.WATCHING, order, page, size);
-        return userService.getContentByInterest(targetId, tokenId, parameter);
+        if (page != null && cursor == null)
+            return ResponseEntity.ok(userService.getContentByInterest(targetId, tokenId, parameter));
+        return userService.getContentSliceByInterest(targetId, tokenId, parameter, cursor).toResponse();
     }
 
     /**
@@ -324,6 +339,34 @@ public class UserController {
         return userService.getUserAnalysis(targetId, tokenId);
     }
 
+    /**
+     * 전체 유저의 취향분석 결과 재계산을 백그라운드에서 시작한다.
+     * 기존 데이터 백필 및 보정 용도.
+     */
+    @PostMapping("/admin/users/analysis")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void rebuildUserAnalysis() {
+        if (!userTasteProfileService.startRebuildAll())
+            log.info("taste profile rebuild all is already running");
+    }
+
+    /**
+     * score, interest, comment 테이블로부터 전체 유저의 활동 개수를 다시 계산한다.
+     */
+    @PostMapping("/admin/users/action-counts")
+    public void rebuildUserActionCounts() {
+        userActionCountService.rebuildAll();
+    }
+
+    /**
+     * 검증된 토큰 캐시의 적중 통계를 조회한다.
+     * @return 토큰 캐시 통계
+     */
+    @GetMapping("/admin/cache/tokens/stats")
+    public VerifiedTokenCache.Stats getVerifiedTokenCacheStats() {
+        return jwtTokenProvider.getVerifiedTokenCacheStats();
+    }
+
     /**
      * 유저 검색 결과를 반환한다.
      * @param query 검색어
@@ -6,6 +6,7 @@ import javax.persistence.*;
 import java.io.Serializable;
 
 @Entity
+@Table(indexes = @Index(name = "idx_collection_content_collection", columnList = "collection_id, content_id"))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class CollectionContent {
@@ -12,6 +12,7 @@ import java.io.Serializable;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = @Index(name = "idx_comment_content_like", columnList = "content_id, like_count"))
 @Getter
 @EntityListeners(AuditingEntityListener.class)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -40,6 +41,12 @@ public class Comment extends BaseEntity {
     @Column(name = "delete_yn", nullable = false)
     private Boolean isDeleted;
 
+    @Column(nullable = false)
+    private Long likeCount;
+
+    @Column(nullable = false)
+    private Long replyCount;
+
     @Builder
     public Comment(User user, Content content, String description, Boolean containsSpoiler) {
         this.id = new CommentId(user.getId(), content.getId());
@@ -48,6 +55,8 @@ public class Comment extends BaseEntity {
         this.description = description;
         this.containsSpoiler = containsSpoiler;
         this.isDeleted = false;
+        this.likeCount = 0L;
+        this.replyCount = 0L;
     }
 
     public void setContent(Content content) {
@@ -6,6 +6,7 @@ import javax.persistence.*;
 import java.io.Serializable;
 
 @Entity
+@Table(indexes = @Index(name = "idx_comment_like_comment", columnList = "content_id, comment_user_id"))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class CommentLike {
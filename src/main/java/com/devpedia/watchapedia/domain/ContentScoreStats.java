@@ -0,0 +1,92 @@
+package com.devpedia.watchapedia.domain;
+
+import com.devpedia.watchapedia.domain.enums.ScoreHistogramConverter;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * 컨텐츠 별 평점 집계(개수, 합계, 평균, 분포).
+ * 평점 등록/수정/삭제 시 변경분만 반영해서 평균 조회 시 score 테이블을 집계하지 않도록 한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = @Index(name = "idx_content_score_stats_average", columnList = "score_average"))
+public class ContentScoreStats {
+
+    @Id
+    @Column(name = "content_id")
+    private Long id;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "content_id")
+    private Content content;
+
+    @Column(nullable = false)
+    private Long scoreCount;
+
+    @Column(nullable = false)
+    private Double scoreSum;
+
+    @Column(name = "score_average")
+    private Double scoreAverage;
+
+    @Convert(converter = ScoreHistogramConverter.class)
+    @Column(nullable = false)
+    private ScoreHistogram histogram;
+
+    @Builder
+    public ContentScoreStats(Content content, ScoreHistogram histogram) {
+        this.id = content.getId();
+        this.content = content;
+        apply(histogram != null ? histogram : ScoreHistogram.empty());
+    }
+
+    public static ContentScoreStats empty(Content content) {
+        return ContentScoreStats.builder()
+                .content(content)
+                .histogram(ScoreHistogram.empty())
+                .build();
+    }
+
+    /**
+     * 평점 변경분을 반영한다.
+     * 신규 등록이면 before 가 null, 삭제면 after 가 null.
+     * @param before 변경 전 평점
+     * @param after 변경 후 평점
+     */
+    public void editScore(Double before, Double after) {
+        ScoreHistogram changed = histogram;
+        if (before != null) changed = changed.plus(before, -1);
+        if (after != null) changed = changed.plus(after, 1);
+        apply(changed);
+    }
+
+    public void addScore(Double score) {
+        editScore(null, score);
+    }
+
+    public void removeScore(Double score) {
+        editScore(score, null);
+    }
+
+    /**
+     * 집계를 주어진 분포로 다시 맞춘다.
+     * @param histogram 새로 집계한 분포
+     */
+    public void reset(ScoreHistogram histogram) {
+        apply(histogram);
+    }
+
+    private void apply(ScoreHistogram histogram) {
+        this.histogram = histogram;
+        this.scoreCount = histogram.getTotalCount();
+        this.scoreSum = histogram.getTotalScore();
+        this.scoreAverage = scoreCount > 0 ? scoreSum / scoreCount : null;
+    }
+}
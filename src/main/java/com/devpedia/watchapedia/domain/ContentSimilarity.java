@@ -0,0 +1,50 @@
+package com.devpedia.watchapedia.domain;
+
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.io.Serializable;
+
+/**
+ * 컨텐츠 별 유사 컨텐츠(이웃)와 유사도.
+ * 태그, 인물, 높은 평점을 준 유저를 특성으로 한 벡터의 코사인 유사도로 오프라인 계산해서 상위 K 개만 저장한다.
+ * 유사 컨텐츠 조회는 content_id 로 K 행 이하만 읽는다.
+ *
+ * 재계산 시 컨텐츠 단위로 지우고 새로 넣기만 하므로 항상 새 엔티티로 저장(persist)한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ContentSimilarity implements Persistable<ContentSimilarity.ContentSimilarityId> {
+
+    @EmbeddedId
+    private ContentSimilarityId id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "similar_content_id", insertable = false, updatable = false)
+    private Content similarContent;
+
+    @Column(nullable = false)
+    private Double score;
+
+    @Builder
+    public ContentSimilarity(Long contentId, Long similarContentId, Double score) {
+        this.id = new ContentSimilarityId(contentId, similarContentId);
+        this.score = score;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ContentSimilarityId implements Serializable {
+        private Long contentId;
+        private Long similarContentId;
+    }
+}
@@ -38,6 +38,12 @@ public class Image {
     @Column(nullable = false)
     private Long size;
 
+    /**
+     * S3 업로드 재시도를 모두 실패한 이미지. 파일이 없으므로 다시 올리거나 교체해야 한다.
+     */
+    @Column(nullable = false)
+    private boolean uploadFailed;
+
     @Builder
     public Image(String name, String originName, String extention, String path, Long size) {
         this.name = name;
@@ -47,6 +53,14 @@ public class Image {
         this.size = size;
     }
 
+    /**
+     * 이미지 CloudFront URL. 업로드에 실패한 이미지는 파일이 없으므로 null 을 반환한다.
+     * @return CloudFront URL
+     */
+    public String getCloudFrontUrl() {
+        return uploadFailed ? null : UrlUtil.getCloudFrontUrl(path);
+    }
+
     public static Image of(MultipartFile file, ImageCategory category) {
         String originFileName = file.getOriginalFilename();
         String ext = originFileName.substring(originFileName.lastIndexOf(".") + 1);
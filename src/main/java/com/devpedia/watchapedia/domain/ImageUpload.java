@@ -0,0 +1,98 @@
+package com.devpedia.watchapedia.domain;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 이미지 S3 업로드 outbox.
+ * 이미지 행과 같은 트랜잭션에 저장하고, 커밋 후 업로드 스레드 풀에서 업로드한다.
+ * 업로드 전 파일은 요청을 받은 서버(worker)의 스테이징 경로(stagingPath)에 있으므로 재시도도 같은 worker id 를 가진 서버에서 한다.
+ * 재시도 횟수를 넘기면 FAILED 로 남긴다. DONE 행은 보관 기간이 지나면 지운다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = {
+        @Index(name = "idx_image_upload_retry", columnList = "worker, status, next_attempt_at"),
+        @Index(name = "idx_image_upload_completed", columnList = "status, completed_at")
+})
+public class ImageUpload {
+
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    @Id @GeneratedValue
+    @Column(name = "image_upload_id")
+    private Long id;
+
+    @Column(nullable = false)
+    private String path;
+
+    @Column(nullable = false)
+    private String stagingPath;
+
+    @Column(nullable = false)
+    private String worker;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Column(nullable = false)
+    private Integer attemptCount;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    private String lastError;
+
+    private LocalDateTime completedAt;
+
+    @Builder
+    public ImageUpload(String path, String stagingPath, String worker, LocalDateTime nextAttemptAt) {
+        this.path = path;
+        this.stagingPath = stagingPath;
+        this.worker = worker;
+        this.nextAttemptAt = nextAttemptAt;
+        this.status = Status.PENDING;
+        this.attemptCount = 0;
+    }
+
+    /**
+     * 업로드를 시작하면서 다음 재시도 시각을 미뤄 둔다.
+     * 업로드 중 서버가 죽으면 그 시각 이후 재시도 대상이 된다.
+     */
+    public void claim(LocalDateTime leaseUntil) {
+        this.nextAttemptAt = leaseUntil;
+    }
+
+    public void complete() {
+        this.status = Status.DONE;
+        this.lastError = null;
+        this.completedAt = LocalDateTime.now();
+    }
+
+    /**
+     * 업로드 실패를 기록한다.
+     * @param error 실패 사유
+     * @param retryAt 다음 재시도 시각
+     * @param maxAttempts 최대 시도 횟수. 넘기면 FAILED
+     */
+    public void fail(String error, LocalDateTime retryAt, int maxAttempts) {
+        this.attemptCount++;
+        this.lastError = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        if (attemptCount >= maxAttempts) {
+            this.status = Status.FAILED;
+        } else {
+            this.nextAttemptAt = retryAt;
+        }
+    }
+
+    public enum Status {
+        PENDING, DONE, FAILED
+    }
+}
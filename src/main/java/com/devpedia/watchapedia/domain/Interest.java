@@ -8,6 +8,7 @@ import javax.persistence.*;
 import java.io.Serializable;
 
 @Entity
+@Table(indexes = @Index(name = "idx_interest_user_state", columnList = "user_id, state, content_id"))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Interest {
@@ -6,6 +6,7 @@ import javax.persistence.*;
 import java.io.Serializable;
 
 @Entity
+@Table(indexes = @Index(name = "idx_score_user_content", columnList = "user_id, content_id"))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Score {
@@ -0,0 +1,90 @@
+package com.devpedia.watchapedia.domain;
+
+import java.util.Arrays;
+
+/**
+ * 컨텐츠의 0.5 단위 평점 분포.
+ * 0.0 ~ 5.0 점을 11개의 버킷(index = 점수 * 2)에 담는다.
+ * 변경 감지를 위해 불변 객체로 두고 변경 시 새 객체를 반환한다.
+ */
+public final class ScoreHistogram {
+
+    public static final int BUCKET_COUNT = 11;
+    public static final double BUCKET_UNIT = 0.5;
+
+    private final int[] buckets;
+
+    private ScoreHistogram(int[] buckets) {
+        this.buckets = buckets;
+    }
+
+    public static ScoreHistogram empty() {
+        return new ScoreHistogram(new int[BUCKET_COUNT]);
+    }
+
+    public static ScoreHistogram of(int[] buckets) {
+        if (buckets == null || buckets.length != BUCKET_COUNT)
+            throw new IllegalArgumentException("Histogram bucket size must be " + BUCKET_COUNT);
+        return new ScoreHistogram(buckets.clone());
+    }
+
+    /**
+     * 점수에 해당하는 버킷의 개수를 count 만큼 증감시킨 새 분포를 반환한다.
+     * @param score 평점
+     * @param count 증감 개수
+     * @return 변경된 분포
+     */
+    public ScoreHistogram plus(double score, int count) {
+        int[] copy = buckets.clone();
+        copy[indexOf(score)] += count;
+        return new ScoreHistogram(copy);
+    }
+
+    public int get(double score) {
+        return buckets[indexOf(score)];
+    }
+
+    public int getBucket(int index) {
+        return buckets[index];
+    }
+
+    public long getTotalCount() {
+        long total = 0;
+        for (int count : buckets) total += count;
+        return total;
+    }
+
+    public double getTotalScore() {
+        double total = 0.0;
+        for (int i = 0; i < BUCKET_COUNT; i++) total += buckets[i] * (i * BUCKET_UNIT);
+        return total;
+    }
+
+    public int[] toArray() {
+        return buckets.clone();
+    }
+
+    public static int indexOf(double score) {
+        int index = (int) Math.round(score / BUCKET_UNIT);
+        if (index < 0 || index >= BUCKET_COUNT)
+            throw new IllegalArgumentException("Score out of range: " + score);
+        return index;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ScoreHistogram)) return false;
+        return Arrays.equals(buckets, ((ScoreHistogram) o).buckets);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(buckets);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(buckets);
+    }
+}
@@ -0,0 +1,58 @@
+package com.devpedia.watchapedia.domain;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.io.Serializable;
+
+/**
+ * 유저의 컨텐츠 타입 별 활동(평점, 보고싶어요, 보는중, 관심없음, 코멘트) 개수.
+ * 평점/관심/코멘트 변경 시 변경분만 반영해서 조회 시 활동 테이블을 집계하지 않도록 한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class UserActionCount {
+
+    @EmbeddedId
+    private UserActionCountId id;
+
+    @Column(nullable = false)
+    private Integer ratingCount;
+
+    @Column(nullable = false)
+    private Integer wishCount;
+
+    @Column(nullable = false)
+    private Integer watchingCount;
+
+    @Column(nullable = false)
+    private Integer notInterestCount;
+
+    @Column(nullable = false)
+    private Integer commentCount;
+
+    @Builder
+    public UserActionCount(Long userId, String dtype, Integer ratingCount, Integer wishCount,
+                           Integer watchingCount, Integer notInterestCount, Integer commentCount) {
+        this.id = new UserActionCountId(userId, dtype);
+        this.ratingCount = zeroIfNegative(ratingCount);
+        this.wishCount = zeroIfNegative(wishCount);
+        this.watchingCount = zeroIfNegative(watchingCount);
+        this.notInterestCount = zeroIfNegative(notInterestCount);
+        this.commentCount = zeroIfNegative(commentCount);
+    }
+
+    private static Integer zeroIfNegative(Integer count) {
+        return count != null && count > 0 ? count : 0;
+    }
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UserActionCountId implements Serializable {
+        private Long userId;
+        private String dtype;
+    }
+}
@@ -0,0 +1,49 @@
+package com.devpedia.watchapedia.domain;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * 유저 별 취향분석 결과.
+ * 평가 정보, 영화/책 선호 정보를 미리 계산해서 압축된 직렬화 값으로 저장하고,
+ * 취향분석 조회 시 score 테이블을 집계하지 않고 한 행만 읽도록 한다.
+ * 유저가 평가를 바꾸면 stale 로 표시되고 version 이 올라가며, 다음 조회나 재계산 시 다시 만든다.
+ * 결과가 아직 없는 유저는 빈 data 의 stale 행이 만들어진다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class UserTasteProfile {
+
+    @Id
+    @Column(name = "user_id")
+    private Long id;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] data;
+
+    @Column(name = "stale_yn", nullable = false)
+    private Boolean isStale;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Builder
+    public UserTasteProfile(User user, byte[] data) {
+        this.id = user.getId();
+        this.user = user;
+        this.data = data;
+        this.isStale = false;
+        this.version = 0L;
+    }
+}
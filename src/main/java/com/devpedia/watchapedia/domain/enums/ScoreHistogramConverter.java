@@ -0,0 +1,32 @@
+package com.devpedia.watchapedia.domain.enums;
+
+import com.devpedia.watchapedia.domain.ScoreHistogram;
+
+import javax.persistence.AttributeConverter;
+
+public class ScoreHistogramConverter implements AttributeConverter<ScoreHistogram, String> {
+
+    private static final String DELIMITER = ",";
+
+    @Override
+    public String convertToDatabaseColumn(ScoreHistogram attribute) {
+        ScoreHistogram histogram = attribute != null ? attribute : ScoreHistogram.empty();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < ScoreHistogram.BUCKET_COUNT; i++) {
+            if (i > 0) sb.append(DELIMITER);
+            sb.append(histogram.getBucket(i));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public ScoreHistogram convertToEntityAttribute(String dbData) {
+        if (dbData == null || dbData.isBlank()) return ScoreHistogram.empty();
+        String[] tokens = dbData.split(DELIMITER);
+        int[] buckets = new int[ScoreHistogram.BUCKET_COUNT];
+        for (int i = 0; i < buckets.length && i < tokens.length; i++) {
+            buckets[i] = Integer.parseInt(tokens[i].trim());
+        }
+        return ScoreHistogram.of(buckets);
+    }
+}
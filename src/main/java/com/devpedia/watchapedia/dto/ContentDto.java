@@ -6,8 +6,8 @@ import lombok.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public class ContentDto {
 
@@ -37,7 +37,7 @@ public class ContentDto {
 
         public MainListItem(Movie movie, Double score) {
             this.id = movie.getId();
-            this.posterImagePath = UrlUtil.getCloudFrontUrl(movie.getPosterImage().getPath());
+            this.posterImagePath = movie.getPosterImage().getCloudFrontUrl();
             this.mainTitle = movie.getMainTitle();
             this.isWatchaContent = movie.getIsWatchaContent();
             this.isNetflixContent = movie.getIsNetflixContent();
@@ -46,7 +46,7 @@ public class ContentDto {
 
         public MainListItem(TvShow tvShow, Double score) {
             this.id = tvShow.getId();
-            this.posterImagePath = UrlUtil.getCloudFrontUrl(tvShow.getPosterImage().getPath());
+            this.posterImagePath = tvShow.getPosterImage().getCloudFrontUrl();
             this.mainTitle = tvShow.getMainTitle();
             this.isWatchaContent = tvShow.getIsWatchaContent();
             this.isNetflixContent = tvShow.getIsNetflixContent();
@@ -55,7 +55,7 @@ public class ContentDto {
 
         public MainListItem(Book book, Double score) {
             this.id = book.getId();
-            this.posterImagePath = UrlUtil.getCloudFrontUrl(book.getPosterImage().getPath());
+            this.posterImagePath = book.getPosterImage().getCloudFrontUrl();
             this.mainTitle = book.getMainTitle();
             this.isWatchaContent = null;
             this.isNetflixContent = null;
@@ -103,13 +103,14 @@ public class ContentDto {
         private String title;
         private List<String> images;
 
-        public <T extends Content> CollectionFourImages(Collection collection, List<T> contents) {
-            this.id = collection.getId();
-            this.title = collection.getTitle();
-            images = new ArrayList<>();
-            for (Content content : contents) {
-                images.add(UrlUtil.getCloudFrontUrl(content.getPosterImage().getPath()));
-            }
+        public static CollectionFourImages of(Collection collection, List<String> posterPaths) {
+            return CollectionFourImages.builder()
+                    .id(collection.getId())
+                    .title(collection.getTitle())
+                    .images(posterPaths.stream()
+                            .map(UrlUtil::getCloudFrontUrl)
+                            .collect(Collectors.toList()))
+                    .build();
         }
     }
 
@@ -153,7 +154,7 @@ public class ContentDto {
 
         public CollectionItem(Movie movie, Double score) {
             this.id = movie.getId();
-            this.posterImagePath = UrlUtil.getCloudFrontUrl(movie.getPosterImage().getPath());
+            this.posterImagePath = movie.getPosterImage().getCloudFrontUrl();
             this.mainTitle = movie.getMainTitle();
             this.isWatchaContent = movie.getIsWatchaContent();
             this.isNetflixContent = movie.getIsNetflixContent();
@@ -163,7 +164,7 @@ public class ContentDto {
 
         public CollectionItem(TvShow tvShow, Double score) {
             this.id = tvShow.getId();
-            this.posterImagePath = UrlUtil.getCloudFrontUrl(tvShow.getPosterImage().getPath());
+            this.posterImagePath = tvShow.getPosterImage().getCloudFrontUrl();
             this.mainTitle = tvShow.getMainTitle();
             this.isWatchaContent = tvShow.getIsWatchaContent();
             this.isNetflixContent = tvShow.getIsNetflixContent();
@@ -173,7 +174,7 @@ public class ContentDto {
 
         public CollectionItem(Book book, Double score) {
             this.id = book.getId();
-            this.posterImagePath = UrlUtil.getCloudFrontUrl(book.getPosterImage().getPath());
+            this.posterImagePath = book.getPosterImage().getCloudFrontUrl();
             this.mainTitle = book.getMainTitle();
             this.isWatchaContent = null;
             this.isNetflixContent = null;
@@ -219,7 +220,7 @@ public class ContentDto {
         public static SearchMovieItem of(Movie movie) {
             return SearchMovieItem.builder()
                     .id(movie.getId())
-                    .posterImagePath(UrlUtil.getCloudFrontUrl(movie.getPosterImage().getPath()))
+                    .posterImagePath(movie.getPosterImage().getCloudFrontUrl())
                     .mainTitle(movie.getMainTitle())
                     .productionDate(movie.getProductionDate())
                     .countryCode(movie.getCountryCode())
@@ -248,7 +249,7 @@ public class ContentDto {
         public static SearchTvShowItem of(TvShow tvShow) {
             return SearchTvShowItem.builder()
                     .id(tvShow.getId())
-                    .posterImagePath(UrlUtil.getCloudFrontUrl(tvShow.getPosterImage().getPath()))
+                    .posterImagePath(tvShow.getPosterImage().getCloudFrontUrl())
                     .mainTitle(tvShow.getMainTitle())
                     .productionDate(tvShow.getProductionDate())
                     .countryCode(tvShow.getCountryCode())
@@ -275,7 +276,7 @@ public class ContentDto {
         public static SearchBookItem of(Book book) {
             return SearchBookItem.builder()
                     .id(book.getId())
-                    .posterImagePath(UrlUtil.getCloudFrontUrl(book.getPosterImage().getPath()))
+                    .posterImagePath(book.getPosterImage().getCloudFrontUrl())
                     .mainTitle(book.getMainTitle())
                     .productionDate(book.getProductionDate())
                     .author(book.getParticipants().get(0).getParticipant().getName())
@@ -284,4 +285,18 @@ public class ContentDto {
         }
     }
 
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class SearchHit {
+        private Long id;
+        /**
+         * 검색 문서만으로 만든 SearchMovieItem, SearchTvShowItem, SearchBookItem.
+         * 문서에 필요한 필드가 없으면 null 이고, 이 경우 DB 에서 조회해서 채운다.
+         */
+        private Object item;
+    }
+
 }
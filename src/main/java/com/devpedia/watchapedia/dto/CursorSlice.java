@@ -0,0 +1,34 @@
+package com.devpedia.watchapedia.dto;
+
+import com.devpedia.watchapedia.util.PageCursor;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 커서 기반 페이지 조회 결과.
+ * 다음 페이지가 없으면 nextCursor 는 null 이다.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorSlice<T> {
+    private List<T> list;
+    private String nextCursor;
+
+    public <R> CursorSlice<R> map(Function<List<T>, List<R>> mapper) {
+        return new CursorSlice<>(mapper.apply(list), nextCursor);
+    }
+
+    /**
+     * 리스트는 body 로, 다음 페이지 커서는 헤더로 응답한다.
+     * @return 응답
+     */
+    public ResponseEntity<List<T>> toResponse() {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (nextCursor != null) builder.header(PageCursor.NEXT_CURSOR_HEADER, nextCursor);
+        return builder.body(list);
+    }
+}
@@ -52,7 +52,7 @@ public class DetailDto {
             return MovieDetail.builder()
                     .type(movie.getDtype())
                     .mainTitle(movie.getMainTitle())
-                    .posterImagePath(UrlUtil.getCloudFrontUrl(movie.getPosterImage().getPath()))
+                    .posterImagePath(movie.getPosterImage().getCloudFrontUrl())
                     .category(movie.getCategory())
                     .description(movie.getDescription())
                     .productionDate(movie.getProductionDate())
@@ -88,7 +88,7 @@ public class DetailDto {
             return BookDetail.builder()
                     .type(book.getDtype())
                     .mainTitle(book.getMainTitle())
-                    .posterImagePath(UrlUtil.getCloudFrontUrl(book.getPosterImage().getPath()))
+                    .posterImagePath(book.getPosterImage().getCloudFrontUrl())
                     .category(book.getCategory())
                     .description(book.getDescription())
                     .productionDate(book.getProductionDate())
@@ -123,7 +123,7 @@ public class DetailDto {
             return TvShowDetail.builder()
                     .type(tvShow.getDtype())
                     .mainTitle(tvShow.getMainTitle())
-                    .posterImagePath(UrlUtil.getCloudFrontUrl(tvShow.getPosterImage().getPath()))
+                    .posterImagePath(tvShow.getPosterImage().getCloudFrontUrl())
                     .category(tvShow.getCategory())
                     .description(tvShow.getDescription())
                     .productionDate(tvShow.getProductionDate())
@@ -170,6 +170,20 @@ public class DetailDto {
         private Integer totalCount;
         private Double average;
         private LinkedHashMap<String, Integer> distribution;
+
+        public static ScoreAnalysis of(ContentScoreStats stats) {
+            ScoreHistogram histogram = stats != null ? stats.getHistogram() : ScoreHistogram.empty();
+            LinkedHashMap<String, Integer> distribution = new LinkedHashMap<>();
+            for (int i = 1; i < ScoreHistogram.BUCKET_COUNT; i++) {
+                distribution.put(String.valueOf(i * ScoreHistogram.BUCKET_UNIT), histogram.getBucket(i));
+            }
+
+            return ScoreAnalysis.builder()
+                    .totalCount(stats != null ? stats.getScoreCount().intValue() : 0)
+                    .average(stats != null && stats.getScoreAverage() != null ? stats.getScoreAverage() : 0.0)
+                    .distribution(distribution)
+                    .build();
+        }
     }
 
     @Getter
@@ -209,6 +223,17 @@ public class DetailDto {
         private List<ContentDto.CollectionFourImages> list;
     }
 
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ContentHead {
+        private Long id;
+        private String dtype;
+        private String category;
+    }
+
     @Getter
     @Setter
     @NoArgsConstructor
@@ -4,7 +4,6 @@ import com.devpedia.watchapedia.domain.*;
 import com.devpedia.watchapedia.domain.enums.RankingChartIdState;
 import com.devpedia.watchapedia.domain.enums.RankingChartTypeState;
 import com.devpedia.watchapedia.domain.enums.RankingEnum;
-import com.devpedia.watchapedia.util.UrlUtil;
 import lombok.*;
 
 import javax.persistence.Column;
@@ -88,22 +87,24 @@ public class RankingDto {
 
         private Long totalAudience;
 
-        public RankingContentChartMovieInfo(Content content, String chartId, String chartType, Long chartRank, Object originTitle, Object countryCode, Object runningTimeInMinutes, Object isWatchaContent, Object isNetflixContent, Object bookRate, Object totalAudience) {
-            this.id = content.getId();
-            this.contentType = content.getDtype();
-            this.mainTitle = content.getMainTitle();
-            this.productionDate = content.getProductionDate();
-            this.posterImagePath = UrlUtil.getCloudFrontUrl(content.getPosterImage().getPath());
-            this.chartId = chartId;
-            this.chartType = chartType;
-            this.chartRank = chartRank;
-            this.originTitle = (String) originTitle;
-            this.countryCode = (String) countryCode;
-            this.runningTimeInMinutes = (Integer) runningTimeInMinutes;
-            this.isWatchaContent = (Boolean) isWatchaContent;
-            this.isNetflixContent = (Boolean) isNetflixContent;
-            this.bookRate = (Double) bookRate;
-            this.totalAudience = (Long) totalAudience;
+        public static RankingContentChartMovieInfo of(Ranking ranking, Movie movie, Double score) {
+            return RankingContentChartMovieInfo.builder()
+                    .id(movie.getId())
+                    .contentType(movie.getDtype())
+                    .mainTitle(movie.getMainTitle())
+                    .productionDate(movie.getProductionDate())
+                    .posterImagePath(movie.getPosterImage().getCloudFrontUrl())
+                    .chartId(ranking.getChartId())
+                    .chartType(ranking.getChartType())
+                    .chartRank(ranking.getChartRank())
+                    .originTitle(movie.getOriginTitle())
+                    .countryCode(movie.getCountryCode())
+                    .runningTimeInMinutes(movie.getRunningTimeInMinutes())
+                    .isWatchaContent(movie.getIsWatchaContent())
+                    .isNetflixContent(movie.getIsNetflixContent())
+                    .bookRate(score != null ? score : movie.getBookRate())
+                    .totalAudience(movie.getTotalAudience())
+                    .build();
         }
     }
     @Getter
@@ -136,19 +137,21 @@ public class RankingDto {
 
         private Boolean isNetflixContent;
 
-        public RankingContentChartTvShowInfo(Content content, String chartId, String chartType, Long chartRank, Object originTitle, Object countryCode,Object isWatchaContent, Object isNetflixContent) {
-            this.id = content.getId();
-            this.contentType = content.getDtype();
-            this.mainTitle = content.getMainTitle();
-            this.productionDate = content.getProductionDate();
-            this.posterImagePath = UrlUtil.getCloudFrontUrl(content.getPosterImage().getPath());
-            this.chartId = chartId;
-            this.chartType = chartType;
-            this.chartRank = chartRank;
-            this.originTitle = (String) originTitle;
-            this.countryCode = (String) countryCode;
-            this.isWatchaContent = (Boolean) isWatchaContent;
-            this.isNetflixContent = (Boolean) isNetflixContent;
+        public static RankingContentChartTvShowInfo of(Ranking ranking, TvShow tvShow) {
+            return RankingContentChartTvShowInfo.builder()
+                    .id(tvShow.getId())
+                    .contentType(tvShow.getDtype())
+                    .mainTitle(tvShow.getMainTitle())
+                    .productionDate(tvShow.getProductionDate())
+                    .posterImagePath(tvShow.getPosterImage().getCloudFrontUrl())
+                    .chartId(ranking.getChartId())
+                    .chartType(ranking.getChartType())
+                    .chartRank(ranking.getChartRank())
+                    .originTitle(tvShow.getOriginTitle())
+                    .countryCode(tvShow.getCountryCode())
+                    .isWatchaContent(tvShow.getIsWatchaContent())
+                    .isNetflixContent(tvShow.getIsNetflixContent())
+                    .build();
         }
     }
     @Getter
@@ -181,21 +184,21 @@ public class RankingDto {
 
         private String subTitle;
 
-
-        public RankingContentChartBookInfo(Content content, String chartId, String chartType, Long chartRank, Object contents, Object elaboration, Object page, Object subTitle) {
-            this.id = content.getId();
-            this.contentType = content.getDtype();
-            this.mainTitle = content.getMainTitle();
-            this.productionDate = content.getProductionDate();
-            this.posterImagePath = UrlUtil.getCloudFrontUrl(content.getPosterImage().getPath());
-            this.chartId = chartId;
-            this.chartType = chartType;
-            this.chartRank = chartRank;
-            this.contents = (String) contents;
-            this.elaboration = (String) elaboration;
-            this.page = (Integer) page;
-            this.subTitle = (String) subTitle;
-
+        public static RankingContentChartBookInfo of(Ranking ranking, Book book) {
+            return RankingContentChartBookInfo.builder()
+                    .id(book.getId())
+                    .contentType(book.getDtype())
+                    .mainTitle(book.getMainTitle())
+                    .productionDate(book.getProductionDate())
+                    .posterImagePath(book.getPosterImage().getCloudFrontUrl())
+                    .chartId(ranking.getChartId())
+                    .chartType(ranking.getChartType())
+                    .chartRank(ranking.getChartRank())
+                    .contents(book.getContents())
+                    .elaboration(book.getElaboration())
+                    .page(book.getPage())
+                    .subTitle(book.getSubtitle())
+                    .build();
         }
     }
 
@@ -0,0 +1,23 @@
+package com.devpedia.watchapedia.dto.enums;
+
+/**
+ * 비로그인 메인 화면 리스트 종류.
+ * 스냅샷 캐시의 키로 사용된다.
+ */
+public enum HomeFeed {
+    MOVIE_SCORE,
+    MOVIE_POPULAR,
+    MOVIE_TAG,
+    MOVIE_COLLECTION,
+    MOVIE_AWARD,
+    TV_SHOW_SCORE,
+    TV_SHOW_POPULAR,
+    TV_SHOW_TAG,
+    TV_SHOW_COLLECTION,
+    TV_SHOW_AWARD,
+    BOOK_SCORE,
+    BOOK_POPULAR,
+    BOOK_TAG,
+    BOOK_COLLECTION,
+    BOOK_AWARD
+}
@@ -0,0 +1,104 @@
+package com.devpedia.watchapedia.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * API 로그를 요청 스레드에서 분리해서 남긴다.
+ * 요청 스레드는 링 버퍼에 넣기만 하고, 전용 스레드 하나가 꺼내서 직렬화한다.
+ * 버퍼가 가득 차면 요청을 기다리게 하지 않고 버린 뒤 개수만 세고, 버린 개수는 주기적으로 경고 로그로 남긴다.
+ */
+@Slf4j
+@Component
+public class ApiLogDispatcher {
+
+    private final LogUtil logUtil;
+    private final ApiLogRingBuffer<ApiLogEvent> buffer;
+    private final long idleNanos;
+
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private volatile boolean running;
+    private Thread worker;
+
+    public ApiLogDispatcher(LogUtil logUtil,
+                            @Value("${api-log.buffer-size:4096}") int bufferSize,
+                            @Value("${api-log.drain-interval-millis:100}") long drainIntervalMillis) {
+        this.logUtil = logUtil;
+        this.buffer = new ApiLogRingBuffer<>(bufferSize);
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(drainIntervalMillis);
+    }
+
+    /**
+     * @param event 로그 원본 데이터
+     * @return 버퍼가 가득 차서 버렸으면 false
+     */
+    public boolean dispatch(ApiLogEvent event) {
+        if (buffer.offer(event)) return true;
+        dropped.increment();
+        return false;
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "api-log");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * 종료 시 버퍼에 남은 로그를 모두 남긴다.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(worker);
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void run() {
+        long reportedDrops = 0;
+        while (running) {
+            if (drain() == 0) {
+                long drops = dropped.sum();
+                if (drops != reportedDrops) {
+                    log.warn("api log buffer full, dropped {} logs (total {})", drops - reportedDrops, drops);
+                    reportedDrops = drops;
+                }
+                LockSupport.parkNanos(idleNanos);
+            }
+        }
+        drain();
+    }
+
+    private int drain() {
+        int count = 0;
+        ApiLogEvent event;
+        while ((event = buffer.poll()) != null) {
+            try {
+                logUtil.logApi(event);
+                written.increment();
+            } catch (Exception e) {
+                log.warn("api log write failed. uri={}", event.getUri(), e);
+            }
+            count++;
+        }
+        return count;
+    }
+}
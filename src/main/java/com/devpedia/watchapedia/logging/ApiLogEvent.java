@@ -0,0 +1,107 @@
+package com.devpedia.watchapedia.logging;
+
+import lombok.Getter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.util.*;
+
+/**
+ * API 로그 한 건의 원본 데이터.
+ * 요청 스레드에서는 요청/응답 객체가 재사용되기 전에 필요한 값만 복사하고(본문은 최대 길이까지만),
+ * 파싱과 직렬화는 로그 스레드에서 한다.
+ */
+@Getter
+public class ApiLogEvent {
+
+    private final String method;
+    private final String uri;
+    private final String[] requestHeaders;
+    private final String[] parameters;
+    private final int status;
+    private final String[] responseHeaders;
+    private final byte[] requestBody;
+    private final int requestBodySize;
+    private final byte[] responseBody;
+    private final int responseBodySize;
+
+    private ApiLogEvent(String method, String uri, String[] requestHeaders, String[] parameters, int status,
+                        String[] responseHeaders, byte[] requestBody, int requestBodySize,
+                        byte[] responseBody, int responseBodySize) {
+        this.method = method;
+        this.uri = uri;
+        this.requestHeaders = requestHeaders;
+        this.parameters = parameters;
+        this.status = status;
+        this.responseHeaders = responseHeaders;
+        this.requestBody = requestBody;
+        this.requestBodySize = requestBodySize;
+        this.responseBody = responseBody;
+        this.responseBodySize = responseBodySize;
+    }
+
+    /**
+     * 요청/응답에서 로그에 필요한 값을 복사한다.
+     * 본문은 래퍼에서 이미 최대 길이까지만 복사되어 있다.
+     * @param request 본문 앞부분이 캐시된 요청
+     * @param response 본문 앞부분이 복사된 응답
+     * @param status 응답 상태(예외로 끝난 요청은 컨테이너가 보낼 상태)
+     * @return 로그 원본 데이터
+     */
+    public static ApiLogEvent capture(ContentCachingRequestWrapper request, CapturingResponseWrapper response, int status) {
+        byte[] requestBody = request.getContentAsByteArray();
+
+        return new ApiLogEvent(
+                request.getMethod(),
+                request.getRequestURI(),
+                requestHeaders(request),
+                parameters(request),
+                status,
+                responseHeaders(response),
+                requestBody,
+                Math.max(requestBody.length, request.getContentLength()),
+                response.getCapturedBody(),
+                response.getContentSize());
+    }
+
+    /**
+     * (이름, 값) 순서로 펼친 배열을 Map 으로 만든다.
+     */
+    public static Map<String, String> toMap(String[] pairs) {
+        Map<String, String> map = new HashMap<>();
+        for (int i = 0; i + 1 < pairs.length; i += 2) {
+            map.put(pairs[i], pairs[i + 1]);
+        }
+        return map;
+    }
+
+    private static String[] requestHeaders(ContentCachingRequestWrapper request) {
+        List<String> pairs = new ArrayList<>();
+        Enumeration<String> headerNames = request.getHeaderNames();
+        while (headerNames.hasMoreElements()) {
+            String key = headerNames.nextElement();
+            pairs.add(key);
+            pairs.add(request.getHeader(key));
+        }
+        return pairs.toArray(new String[0]);
+    }
+
+    private static String[] parameters(ContentCachingRequestWrapper request) {
+        List<String> pairs = new ArrayList<>();
+        Enumeration<String> parameterNames = request.getParameterNames();
+        while (parameterNames.hasMoreElements()) {
+            String key = parameterNames.nextElement();
+            pairs.add(key);
+            pairs.add(request.getParameter(key));
+        }
+        return pairs.toArray(new String[0]);
+    }
+
+    private static String[] responseHeaders(CapturingResponseWrapper response) {
+        List<String> pairs = new ArrayList<>();
+        for (String header : response.getHeaderNames()) {
+            pairs.add(header);
+            pairs.add(response.getHeader(header));
+        }
+        return pairs.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,75 @@
+package com.devpedia.watchapedia.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 크기가 고정된 lock-free 링 버퍼(다중 생산자, 단일 소비자).
+ * 요청 스레드는 CAS 로 자리만 잡고 넣으며, 가득 차면 기다리지 않고 false 를 반환한다.
+ * 각 칸의 sequence 로 생산자가 쓰기를 끝냈는지, 소비자가 비웠는지를 구분한다.
+ * poll 은 하나의 스레드에서만 호출해야 한다.
+ */
+public class ApiLogRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    /**
+     * @param capacity 버퍼 크기(2의 거듭제곱으로 올림)
+     */
+    public ApiLogRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.capacity = size;
+        this.mask = size - 1;
+        this.slots = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) sequences.set(i, i);
+    }
+
+    /**
+     * @param element 넣을 원소
+     * @return 버퍼가 가득 차서 넣지 못했으면 false
+     */
+    public boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index] = element;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * @return 가장 먼저 넣은 원소(비었거나 생산자가 아직 쓰는 중이면 null)
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) return null;
+
+        E element = (E) slots[index];
+        slots[index] = null;
+        sequences.set(index, head + capacity);
+        head++;
+        return element;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
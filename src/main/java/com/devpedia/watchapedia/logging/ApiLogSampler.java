@@ -0,0 +1,111 @@
+package com.devpedia.watchapedia.logging;
+
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 경로, 응답 상태 별 API 로그 샘플링.
+ * 규칙은 "경로패턴[:상태]=비율" 을 쉼표로 이어서 설정하고, 앞에서부터 처음 맞는 규칙의 비율을 쓴다.
+ * 상태는 "404" 처럼 정확한 값이나 "2xx" 처럼 범위로 지정하고, 생략하면 모든 상태에 맞는다.
+ * 예) /public/searches/**:2xx=0.1,/admin/**=0,/**:5xx=1
+ *
+ * 응답 상태는 요청이 끝나야 알 수 있으므로, 요청 시작 시 난수를 하나 뽑아서
+ * 경로에 적용될 수 있는 최대 비율보다 작을 때만 본문을 복사하고,
+ * 끝난 뒤 같은 난수를 실제 상태의 비율과 비교한다. 상태 별 로그 비율은 설정과 같게 유지된다.
+ */
+@Component
+public class ApiLogSampler {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<Rule> rules;
+    private final double defaultRate;
+
+    public ApiLogSampler(@Value("${api-log.sampling.rules:}") String rules,
+                         @Value("${api-log.sampling.default-rate:1.0}") double defaultRate) {
+        this.rules = parse(rules);
+        this.defaultRate = defaultRate;
+    }
+
+    /**
+     * 요청 시작 시 로그 대상이 될 수 있는지 정한다.
+     * @param uri 요청 경로
+     * @return 로그 대상이 될 수 있으면 뽑은 난수(0 이상 1 미만), 아니면 -1
+     */
+    public double draw(String uri) {
+        double maxRate = maxRateOf(uri);
+        if (maxRate <= 0) return -1;
+        double draw = ThreadLocalRandom.current().nextDouble();
+        return draw < maxRate ? draw : -1;
+    }
+
+    /**
+     * @param uri 요청 경로
+     * @param status 응답 상태
+     * @param draw 요청 시작 시 뽑은 난수
+     * @return 로그를 남길지 여부
+     */
+    public boolean sample(String uri, int status, double draw) {
+        return draw >= 0 && draw < rateOf(uri, status);
+    }
+
+    /**
+     * 경로에 적용될 수 있는 규칙 비율 중 최대값.
+     * 상태 조건이 없는 규칙을 만나면 뒤의 규칙과 기본 비율은 적용될 수 없다.
+     */
+    double maxRateOf(String uri) {
+        double max = 0;
+        for (Rule rule : rules) {
+            if (!pathMatcher.match(rule.pattern, uri)) continue;
+            max = Math.max(max, rule.rate);
+            if (rule.status == null) return max;
+        }
+        return Math.max(max, defaultRate);
+    }
+
+    double rateOf(String uri, int status) {
+        for (Rule rule : rules) {
+            if (rule.matches(pathMatcher, uri, status)) return rule.rate;
+        }
+        return defaultRate;
+    }
+
+    private static List<Rule> parse(String value) {
+        List<Rule> result = new ArrayList<>();
+        for (String token : StringUtils.commaDelimitedListToStringArray(value)) {
+            String rule = token.trim();
+            if (rule.isEmpty()) continue;
+
+            int equal = rule.lastIndexOf('=');
+            if (equal < 0) throw new IllegalArgumentException("invalid api log sampling rule: " + rule);
+            String target = rule.substring(0, equal).trim();
+            double rate = Double.parseDouble(rule.substring(equal + 1).trim());
+
+            int colon = target.lastIndexOf(':');
+            String pattern = colon < 0 ? target : target.substring(0, colon);
+            String status = colon < 0 ? null : target.substring(colon + 1).toLowerCase();
+            result.add(new Rule(pattern, status, rate));
+        }
+        return result;
+    }
+
+    @AllArgsConstructor
+    private static class Rule {
+        private final String pattern;
+        private final String status;
+        private final double rate;
+
+        boolean matches(AntPathMatcher pathMatcher, String uri, int responseStatus) {
+            if (!pathMatcher.match(pattern, uri)) return false;
+            if (status == null) return true;
+            if (status.endsWith("xx")) return status.charAt(0) - '0' == responseStatus / 100;
+            return Integer.parseInt(status) == responseStatus;
+        }
+    }
+}
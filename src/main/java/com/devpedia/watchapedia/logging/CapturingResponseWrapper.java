@@ -0,0 +1,109 @@
+package com.devpedia.watchapedia.logging;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+/**
+ * 응답 본문을 그대로 내보내면서 앞부분만 최대 길이까지 복사해 두는 응답 래퍼.
+ * 본문 전체를 메모리에 모았다가 다시 복사하지 않으므로 큰 응답도 로그 크기만큼만 메모리를 쓴다.
+ */
+public class CapturingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int captureLimit;
+    private final ByteArrayOutputStream captured;
+    private long contentSize;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    public CapturingResponseWrapper(HttpServletResponse response, int captureLimit) {
+        super(response);
+        this.captureLimit = captureLimit;
+        this.captured = new ByteArrayOutputStream(Math.min(captureLimit, 1024));
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) outputStream = new TeeOutputStream(getResponse().getOutputStream());
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) writer.flush();
+        super.flushBuffer();
+    }
+
+    /**
+     * @return 복사해 둔 본문 앞부분
+     */
+    public byte[] getCapturedBody() {
+        if (writer != null) writer.flush();
+        return captured.toByteArray();
+    }
+
+    /**
+     * @return 내보낸 본문 전체 길이
+     */
+    public int getContentSize() {
+        return (int) Math.min(contentSize, Integer.MAX_VALUE);
+    }
+
+    private void capture(byte[] bytes, int offset, int length) {
+        contentSize += length;
+        int remaining = captureLimit - captured.size();
+        if (remaining > 0) captured.write(bytes, offset, Math.min(remaining, length));
+    }
+
+    private class TeeOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+
+        TeeOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            contentSize++;
+            if (captured.size() < captureLimit) captured.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            capture(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            delegate.setWriteListener(listener);
+        }
+    }
+}
@@ -1,23 +1,86 @@
 package com.devpedia.watchapedia.logging;
 
+import com.devpedia.watchapedia.config.WebSecurityConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Arrays;
 
+/**
+ * API 로그 대상이 될 수 있는 요청만 본문을 복사하도록 감싼다.
+ * 경로 별 샘플링으로 요청 시작 시 정하고, 대상이 아니면 감싸지 않아서 응답이 바로 소켓으로 나간다.
+ * 대상이면 요청/응답 본문 모두 최대 길이까지만 복사하고,
+ * 요청이 끝나면(예외로 끝나도) 응답 상태까지 보고 샘플링된 요청만 로그 스레드로 넘긴다.
+ * 본문 파싱, 직렬화는 요청 스레드에서 하지 않는다.
+ */
+@Slf4j
 @Component
 public class CustomServletWrappingFilter extends OncePerRequestFilter {
+
+    private final ApiLogSampler sampler;
+    private final ApiLogDispatcher dispatcher;
+    private final int maxBodyBytes;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public CustomServletWrappingFilter(ApiLogSampler sampler,
+                                       ApiLogDispatcher dispatcher,
+                                       @Value("${api-log.max-body-bytes:4096}") int maxBodyBytes) {
+        this.sampler = sampler;
+        this.dispatcher = dispatcher;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return Arrays.stream(WebSecurityConfig.SWAGGER_AUTH_WHITELIST)
+                .anyMatch(pattern -> pathMatcher.match(pattern, uri));
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
-        ContentCachingRequestWrapper wrappingRequest = new ContentCachingRequestWrapper(request);
-        ContentCachingResponseWrapper wrappingResponse = new ContentCachingResponseWrapper(response);
-        filterChain.doFilter(wrappingRequest, wrappingResponse);
-        wrappingResponse.copyBodyToResponse();
+        double draw = sampler.draw(request.getRequestURI());
+        if (draw < 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ContentCachingRequestWrapper wrappingRequest = new ContentCachingRequestWrapper(request, maxBodyBytes);
+        CapturingResponseWrapper wrappingResponse = new CapturingResponseWrapper(response, maxBodyBytes);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(wrappingRequest, wrappingResponse);
+            completed = true;
+        } finally {
+            try {
+                // 예외로 끝났는데 아직 커밋 전이면 컨테이너가 에러 응답을 보내도록 커밋하지 않는다
+                if (completed || wrappingResponse.isCommitted())
+                    wrappingResponse.flushBuffer();
+            } finally {
+                dispatch(wrappingRequest, wrappingResponse, draw, completed);
+            }
+        }
+    }
+
+    private void dispatch(ContentCachingRequestWrapper request, CapturingResponseWrapper response,
+                          double draw, boolean completed) {
+        try {
+            int status = completed || response.isCommitted()
+                    ? response.getStatus() : HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+            if (!sampler.sample(request.getRequestURI(), status, draw)) return;
+
+            dispatcher.dispatch(ApiLogEvent.capture(request, response, status));
+        } catch (Exception e) {
+            log.warn("api log capture failed. uri={}", request.getRequestURI(), e);
+        }
     }
 }
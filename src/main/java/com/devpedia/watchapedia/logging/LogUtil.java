@@ -1,14 +1,13 @@
 package com.devpedia.watchapedia.logging;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpServletResponse;
-import java.util.Collection;
-import java.util.Enumeration;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -19,58 +18,47 @@ import static net.logstash.logback.argument.StructuredArguments.entries;
 @RequiredArgsConstructor
 public class LogUtil {
 
-    public void logApi(HttpServletRequest request, HttpServletResponse response, JsonNode requestBody , JsonNode responseBody) {
+    private final ObjectMapper mapper;
+
+    /**
+     * API 로그를 남긴다. 로그 스레드에서 호출된다.
+     * 본문은 복사된 길이까지만 문자열로 남기고, 잘린 경우 원래 길이를 붙인다.
+     * 에러 응답만 본문을 파싱해서 에러 코드를 꺼낸다.
+     * @param event 로그 원본 데이터
+     */
+    public void logApi(ApiLogEvent event) {
         Map<String, Object> logs = new HashMap<>();
 
-        logs.put("request_method", request.getMethod());
-        logs.put("request_url", request.getRequestURI());
-        logs.put("request_headers", buildHeadersMap(request));
-        logs.put("request_parameters", buildParametersMap(request));
-        logs.put("request_body", requestBody.toPrettyString());
-        logs.put("response_status", response.getStatus());
-        logs.put("response_headers", buildHeadersMap(response));
-        logs.put("response_body", responseBody.toPrettyString());
+        logs.put("request_method", event.getMethod());
+        logs.put("request_url", event.getUri());
+        logs.put("request_headers", ApiLogEvent.toMap(event.getRequestHeaders()));
+        logs.put("request_parameters", ApiLogEvent.toMap(event.getParameters()));
+        logs.put("request_body", bodyToString(event.getRequestBody(), event.getRequestBodySize()));
+        logs.put("response_status", event.getStatus());
+        logs.put("response_headers", ApiLogEvent.toMap(event.getResponseHeaders()));
+        logs.put("response_body", bodyToString(event.getResponseBody(), event.getResponseBodySize()));
 
-        if (responseBody.has("status") && responseBody.has("code"))
-            logs.put("response_error_code", responseBody.get("code").textValue());
+        String errorCode = errorCode(event);
+        if (errorCode != null)
+            logs.put("response_error_code", errorCode);
 
         log.info("api log {}", entries(logs));
     }
 
-    private Map<String, String> buildParametersMap(HttpServletRequest httpServletRequest) {
-        Map<String, String> resultMap = new HashMap<>();
-        Enumeration<String> parameterNames = httpServletRequest.getParameterNames();
-
-        while (parameterNames.hasMoreElements()) {
-            String key = parameterNames.nextElement();
-            String value = httpServletRequest.getParameter(key);
-            resultMap.put(key, value);
-        }
-
-        return resultMap;
+    private static String bodyToString(byte[] body, int size) {
+        String text = new String(body, StandardCharsets.UTF_8);
+        return body.length < size ? text + "...(truncated, " + size + " bytes)" : text;
     }
 
-    private Map<String, String> buildHeadersMap(HttpServletRequest request) {
-        Map<String, String> map = new HashMap<>();
-
-        Enumeration<String> headerNames = request.getHeaderNames();
-        while (headerNames.hasMoreElements()) {
-            String key = headerNames.nextElement();
-            String value = request.getHeader(key);
-            map.put(key, value);
+    private String errorCode(ApiLogEvent event) {
+        if (event.getStatus() < 400 || event.getResponseBody().length < event.getResponseBodySize()) return null;
+        try {
+            JsonNode responseBody = mapper.readTree(event.getResponseBody());
+            if (responseBody != null && responseBody.has("status") && responseBody.has("code"))
+                return responseBody.get("code").textValue();
+        } catch (IOException ignored) {
+            // JSON 이 아닌 에러 응답
         }
-
-        return map;
-    }
-
-    private Map<String, String> buildHeadersMap(HttpServletResponse response) {
-        Map<String, String> map = new HashMap<>();
-
-        Collection<String> headerNames = response.getHeaderNames();
-        for (String header : headerNames) {
-            map.put(header, response.getHeader(header));
-        }
-
-        return map;
+        return null;
     }
 }
@@ -2,6 +2,56 @@ package com.devpedia.watchapedia.repository;
 
 import com.devpedia.watchapedia.domain.Comment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Comment.CommentId> {
+
+    /**
+     * 기준 시각 이후에 작성된 코멘트의 컨텐츠 id 와 작성 시각을 구한다. (트렌딩 재집계용)
+     * @param since 기준 시각
+     * @return [컨텐츠 id, 작성 시각] 리스트
+     */
+    @Query("select c.id.contentId, c.createDatetime from Comment c where c.createDatetime >= :since")
+    List<Object[]> findContentIdAndCreatedAtSince(@Param("since") LocalDateTime since);
+
+    /**
+     * 코멘트 좋아요 수를 DB 에서 원자적으로 증감한다.
+     * @param contentId 컨텐츠 id
+     * @param userId 코멘트 유저 id
+     * @param delta 증감 값
+     * @return 수정된 행 수
+     */
+    @Modifying
+    @Query("update Comment c set c.likeCount = c.likeCount + :delta " +
+            "where c.id.contentId = :contentId and c.id.userId = :userId")
+    int addLikeCount(@Param("contentId") Long contentId, @Param("userId") Long userId, @Param("delta") long delta);
+
+    /**
+     * 코멘트 댓글 수를 DB 에서 원자적으로 증감한다.
+     * @param contentId 컨텐츠 id
+     * @param userId 코멘트 유저 id
+     * @param delta 증감 값
+     * @return 수정된 행 수
+     */
+    @Modifying
+    @Query("update Comment c set c.replyCount = c.replyCount + :delta " +
+            "where c.id.contentId = :contentId and c.id.userId = :userId")
+    int addReplyCount(@Param("contentId") Long contentId, @Param("userId") Long userId, @Param("delta") long delta);
+
+    /**
+     * comment_like, reply 테이블로부터 전체 코멘트의 좋아요 수와 댓글 수를 다시 계산한다.
+     * @return 수정된 행 수
+     */
+    @Modifying
+    @Query("update Comment c set " +
+            "c.likeCount = (select count(l) from CommentLike l " +
+            "               where l.id.commentId.contentId = c.id.contentId and l.id.commentId.userId = c.id.userId), " +
+            "c.replyCount = (select count(r) from Reply r " +
+            "                where r.comment.id.contentId = c.id.contentId and r.comment.id.userId = c.id.userId)")
+    int recountAll();
 }
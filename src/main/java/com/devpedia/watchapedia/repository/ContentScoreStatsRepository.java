@@ -0,0 +1,38 @@
+package com.devpedia.watchapedia.repository;
+
+import com.devpedia.watchapedia.domain.ContentScoreStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+public interface ContentScoreStatsRepository extends JpaRepository<ContentScoreStats, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ContentScoreStats s where s.id = :id")
+    Optional<ContentScoreStats> findByIdForUpdate(@Param("id") Long contentId);
+
+    /**
+     * 집계 행이 없으면 빈 집계(빈 분포 문자열은 빈 분포로 읽힘)로 만들고, 이미 있으면 그대로 둔다.
+     * 동시에 호출되어도 한 행만 만들어진다.
+     */
+    @Modifying
+    @Query(value = "insert into content_score_stats (content_id, score_count, score_sum, score_average, histogram) " +
+            "values (:id, 0, 0, null, '') " +
+            "on duplicate key update content_id = content_id", nativeQuery = true)
+    int insertEmptyIfAbsent(@Param("id") Long contentId);
+
+    /**
+     * 집계 행이 없는 컨텐츠(집계 테이블 도입 이전 컨텐츠)에 빈 집계 행을 만든다.
+     * @return 만든 행 수
+     */
+    @Modifying
+    @Query(value = "insert into content_score_stats (content_id, score_count, score_sum, score_average, histogram) " +
+            "select c.content_id, 0, 0, null, '' from content c " +
+            "where not exists (select 1 from content_score_stats s where s.content_id = c.content_id)", nativeQuery = true)
+    int insertMissing();
+}
@@ -0,0 +1,51 @@
+package com.devpedia.watchapedia.repository;
+
+import com.devpedia.watchapedia.domain.Content;
+import com.devpedia.watchapedia.domain.ContentSimilarity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ContentSimilarityRepository extends JpaRepository<ContentSimilarity, ContentSimilarity.ContentSimilarityId> {
+
+    /**
+     * 유사도 높은 순으로 유사 컨텐츠를 구한다.
+     */
+    @Query("select c from ContentSimilarity s join s.similarContent c where s.id.contentId = :id order by s.score desc")
+    List<Content> findSimilarContents(@Param("id") Long contentId, Pageable pageable);
+
+    boolean existsByIdContentId(Long contentId);
+
+    @Modifying
+    @Query("delete from ContentSimilarity s where s.id.contentId in :ids")
+    int deleteByContentIds(@Param("ids") Collection<Long> contentIds);
+
+    /**
+     * (컨텐츠 id, 컨텐츠 타입)
+     */
+    @Query("select c.id, c.dtype from Content c order by c.id")
+    List<Object[]> findContentDtypes();
+
+    /**
+     * (컨텐츠 id, 태그 id)
+     */
+    @Query("select ct.id.contentId, ct.id.tagId from ContentTag ct")
+    List<Object[]> findContentTagPairs();
+
+    /**
+     * (컨텐츠 id, 인물 id)
+     */
+    @Query("select cp.content.id, cp.participant.id from ContentParticipant cp")
+    List<Object[]> findContentParticipantPairs();
+
+    /**
+     * (컨텐츠 id, 유저 id) 평점이 minScore 이상인 것만
+     */
+    @Query("select s.id.contentId, s.id.userId from Score s where s.score >= :minScore")
+    List<Object[]> findContentRaterPairs(@Param("minScore") Double minScore);
+}
@@ -1,30 +1,39 @@
 package com.devpedia.watchapedia.repository;
 
+import com.devpedia.watchapedia.dto.ContentDto;
 import com.devpedia.watchapedia.dto.enums.ContentTypeParameter;
-import lombok.RequiredArgsConstructor;
+import com.devpedia.watchapedia.util.UrlUtil;
+import lombok.extern.slf4j.Slf4j;
 import org.elasticsearch.action.search.MultiSearchRequest;
 import org.elasticsearch.action.search.MultiSearchResponse;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.document.DocumentField;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.search.sort.SortBuilder;
 import org.elasticsearch.search.sort.SortBuilders;
 import org.elasticsearch.search.sort.SortOrder;
+import org.elasticsearch.search.suggest.SuggestBuilder;
+import org.elasticsearch.search.suggest.SuggestBuilders;
+import org.elasticsearch.search.suggest.completion.CompletionSuggestion;
+import org.elasticsearch.search.suggest.completion.CompletionSuggestionBuilder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.io.IOException;
-import java.util.Arrays;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+@Slf4j
 @Repository
-@RequiredArgsConstructor
 public class ElasticSearchRepository {
 
     public static final String TYPE_TOP_RESULT = "top";
@@ -39,35 +48,77 @@ public class ElasticSearchRepository {
     public static final String ELASTIC_QUERY_FIELD_TYPE = "dtype";
     public static final String ELASTIC_QUERY_FIELD_SCORE = "_score";
 
+    public static final String ELASTIC_SOURCE_FIELD_POSTER_IMAGE_PATH = "posterImagePath";
+    public static final String ELASTIC_SOURCE_FIELD_PRODUCTION_DATE = "productionDate";
+    public static final String ELASTIC_SOURCE_FIELD_COUNTRY_CODE = "countryCode";
+    public static final String ELASTIC_SOURCE_FIELD_IS_WATCHA_CONTENT = "isWatchaContent";
+    public static final String ELASTIC_SOURCE_FIELD_IS_NETFLIX_CONTENT = "isNetflixContent";
+    public static final String ELASTIC_SOURCE_FIELD_AUTHOR = "author";
+
+    public static final String ELASTIC_SUGGEST_FIELD = "suggest";
+    public static final String ELASTIC_SUGGEST_NAME = "autocomplete";
+
+    private static final String[] SEARCH_ALL_RESULT_TYPES = { TYPE_TOP_RESULT, TYPE_MOVIE, TYPE_TV_SHOW, TYPE_BOOK };
+
+    /**
+     * 검색 결과 DTO 를 만들 때 doc value 로 받는 필드(keyword, date, boolean 매핑).
+     */
+    private static final String[] SEARCH_ITEM_DOC_VALUE_FIELDS = {
+            ELASTIC_QUERY_FIELD_TYPE,
+            ELASTIC_SOURCE_FIELD_POSTER_IMAGE_PATH,
+            ELASTIC_SOURCE_FIELD_PRODUCTION_DATE,
+            ELASTIC_SOURCE_FIELD_COUNTRY_CODE,
+            ELASTIC_SOURCE_FIELD_IS_WATCHA_CONTENT,
+            ELASTIC_SOURCE_FIELD_IS_NETFLIX_CONTENT
+    };
+
+    /**
+     * 검색 결과 DTO 를 만들 때 stored field 로 받는 필드(text 매핑, store: true 필요).
+     */
+    private static final List<String> SEARCH_ITEM_STORED_FIELDS = List.of(
+            ELASTIC_QUERY_FIELD_TITLE,
+            ELASTIC_SOURCE_FIELD_AUTHOR
+    );
+
+    private static final String PRODUCTION_DATE_FORMAT = "yyyy-MM-dd";
+    private static final long MISSING_ID = -1L;
+
     private final RestHighLevelClient client;
+    private final boolean hydrateFromFields;
+
+    public ElasticSearchRepository(RestHighLevelClient client,
+                                   @Value("${elasticsearch.hydrate-from-fields:true}") boolean hydrateFromFields) {
+        this.client = client;
+        this.hydrateFromFields = hydrateFromFields;
+    }
 
     /**
      * 엘라스틱 서치에 형태소 분석되어 있는 자료를 검색해서 가져온 후
-     * 해당 작품들의 ID 값을 반환한다.
+     * 검색 순위대로 검색 결과를 반환한다.
      * 메인제목과 해당 컨텐츠의 참여자 이름에서 검색함.
      * @param type 컨텐츠 타입(M, B, S)
      * @param query 검색어
      * @param page 페이지
      * @param size 사이즈
-     * @return 검색결과 컨텐츠 ID
+     * @return 검색 순위 순의 검색 결과
      */
-    public List<Long> searchTypeContentsReturnIds(String type, String query, int page, int size) throws IOException {
+    public List<ContentDto.SearchHit> searchTypeContents(String type, String query, int page, int size) throws IOException {
         SearchRequest request = getSearchRequest(type, query, page, size);
         SearchResponse response = client.search(request, RequestOptions.DEFAULT);
-        return extractIdsFromResponse(response);
+        return extractHitsFromResponse(response);
     }
 
     /**
      * 모든 컨텐츠 타입 별로 멀티리퀘스트를 날려 검색한다.
      * 엘라스틱 서치에 형태소 분석되어 있는 자료를 검색해서 가져온 후
-     * 해당 작품들의 ID 값을 반환한다.
+     * 검색 순위대로 검색 결과를 반환한다.
      * 메인제목과 해당 컨텐츠의 참여자 이름에서 검색함.
      * @param query 검색어
      * @param page 페이지
      * @param size 사이즈
-     * @return 검색결과 컨텐츠 ID Map
+     * @return key: 검색 결과 종류, value: 검색 순위 순의 검색 결과
      */
-    public Map<String, List<Long>> searchAllContentsReturnIds(String query, int page, int size) throws IOException {
+    public Map<String, List<ContentDto.SearchHit>> searchAllContents(String query, int page, int size) throws IOException {
         MultiSearchRequest multiRequest = new MultiSearchRequest();
         multiRequest.add(getSearchRequest(null, query, page, size));
         multiRequest.add(getSearchRequest(ContentTypeParameter.MOVIES.getDtype(), query, page, size));
@@ -76,31 +127,161 @@ public class ElasticSearchRepository {
 
         MultiSearchResponse multiResponse = client.msearch(multiRequest, RequestOptions.DEFAULT);
 
-        Map<String, List<Long>> ids = new HashMap<>();
+        Map<String, List<ContentDto.SearchHit>> hits = new HashMap<>();
 
         MultiSearchResponse.Item[] responses = multiResponse.getResponses();
+        for (int i = 0; i < responses.length && i < SEARCH_ALL_RESULT_TYPES.length; i++) {
+            hits.put(SEARCH_ALL_RESULT_TYPES[i], extractHitsFromResponse(responses[i].getResponse()));
+        }
 
-        if (responses.length > 0)
-            ids.put(TYPE_TOP_RESULT, extractIdsFromResponse(responses[0].getResponse()));
-        if (responses.length > 1)
-            ids.put(TYPE_MOVIE, extractIdsFromResponse(responses[1].getResponse()));
-        if (responses.length > 2)
-            ids.put(TYPE_TV_SHOW, extractIdsFromResponse(responses[2].getResponse()));
-        if (responses.length > 3)
-            ids.put(TYPE_BOOK, extractIdsFromResponse(responses[3].getResponse()));
+        return hits;
+    }
 
-        return ids;
+    /**
+     * 검색어 자동완성 결과를 구한다.
+     * contents 인덱스의 completion 필드(제목, 참여자 이름)에서 접두어로 찾는다.
+     * @param prefix 입력 중인 검색어
+     * @param size 최대 개수
+     * @return 자동완성 단어 리스트
+     */
+    public List<String> suggest(String prefix, int size) throws IOException {
+        CompletionSuggestionBuilder completion = SuggestBuilders.completionSuggestion(ELASTIC_SUGGEST_FIELD)
+                .prefix(prefix)
+                .skipDuplicates(true)
+                .size(size);
+
+        SearchSourceBuilder builder = new SearchSourceBuilder()
+                .fetchSource(false)
+                .suggest(new SuggestBuilder().addSuggestion(ELASTIC_SUGGEST_NAME, completion));
+
+        SearchResponse response = client.search(new SearchRequest(ELASTIC_INDEX).source(builder), RequestOptions.DEFAULT);
+        if (response.getSuggest() == null) return new ArrayList<>();
+
+        CompletionSuggestion suggestion = response.getSuggest().getSuggestion(ELASTIC_SUGGEST_NAME);
+        List<String> result = new ArrayList<>();
+        for (CompletionSuggestion.Entry.Option option : suggestion.getOptions()) {
+            result.add(option.getText().string());
+        }
+        return result;
     }
 
     /**
-     * 검색 결과에서 컨텐츠의 ID 값을 추출해낸다.
+     * 검색 결과를 검색 순위 순서 그대로 변환한다.
+     * id 와 DTO 필드는 모두 doc value, stored field 로 받으므로 _source 는 파싱하지 않는다.
      * @param response 엘라스틱 서치 검색 응답
-     * @return 컨텐츠 ID List
+     * @return 검색 결과 List
      */
-    private List<Long> extractIdsFromResponse(SearchResponse response) {
-        return Arrays.stream(response.getHits().getHits())
-                .map(hit -> Long.valueOf((Integer)hit.getSourceAsMap().get(ELASTIC_COLUMN_CONTENT_ID)))
-                .collect(Collectors.toList());
+    private List<ContentDto.SearchHit> extractHitsFromResponse(SearchResponse response) {
+        SearchHit[] hits = response.getHits().getHits();
+        long[] ids = extractIds(hits);
+        List<ContentDto.SearchHit> result = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == MISSING_ID) continue;
+            Object item = hydrateFromFields ? toSearchItem(ids[i], hits[i].getFields()) : null;
+            result.add(new ContentDto.SearchHit(ids[i], item));
+        }
+        return result;
+    }
+
+    /**
+     * 검색 결과에서 컨텐츠의 ID 값을 추출해낸다.
+     * _source 를 파싱하지 않고 doc value 로 받은 id 만 읽는다.
+     * id doc value 가 없는 문서(매핑이 다른 색인 등)는 로그를 남기고 MISSING_ID 로 채워서 결과에서 빼도록 한다.
+     * @param hits 엘라스틱 서치 검색 결과
+     * @return 검색 순위 순의 컨텐츠 ID 배열
+     */
+    static long[] extractIds(SearchHit[] hits) {
+        long[] ids = new long[hits.length];
+        for (int i = 0; i < hits.length; i++) {
+            DocumentField field = hits[i].field(ELASTIC_COLUMN_CONTENT_ID);
+            Object value = field != null ? field.getValue() : null;
+            if (value instanceof Number) {
+                ids[i] = ((Number) value).longValue();
+            } else {
+                log.warn("search hit {} has no content id doc value, skipped", hits[i].getId());
+                ids[i] = MISSING_ID;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * 검색 문서의 doc value, stored field 만으로 컨텐츠 타입에 맞는 검색 결과 DTO 를 만든다.
+     * 필요한 필드가 하나라도 없으면 null 을 반환해서 DB 에서 조회하도록 한다.
+     * @param id 컨텐츠 id
+     * @param fields 검색 결과의 doc value, stored field
+     * @return SearchMovieItem, SearchTvShowItem, SearchBookItem 또는 null
+     */
+    static Object toSearchItem(long id, Map<String, DocumentField> fields) {
+        if (!containsAll(fields, ELASTIC_QUERY_FIELD_TYPE, ELASTIC_QUERY_FIELD_TITLE,
+                ELASTIC_SOURCE_FIELD_POSTER_IMAGE_PATH, ELASTIC_SOURCE_FIELD_PRODUCTION_DATE))
+            return null;
+
+        try {
+            String dtype = fieldValue(fields, ELASTIC_QUERY_FIELD_TYPE);
+            String mainTitle = fieldValue(fields, ELASTIC_QUERY_FIELD_TITLE);
+            String posterImagePath = UrlUtil.getCloudFrontUrl(fieldValue(fields, ELASTIC_SOURCE_FIELD_POSTER_IMAGE_PATH));
+            LocalDate productionDate = LocalDate.parse(fieldValue(fields, ELASTIC_SOURCE_FIELD_PRODUCTION_DATE));
+
+            if (TYPE_MOVIE.equals(dtype) || TYPE_TV_SHOW.equals(dtype)) {
+                if (!containsAll(fields, ELASTIC_SOURCE_FIELD_COUNTRY_CODE,
+                        ELASTIC_SOURCE_FIELD_IS_WATCHA_CONTENT, ELASTIC_SOURCE_FIELD_IS_NETFLIX_CONTENT))
+                    return null;
+
+                String countryCode = fieldValue(fields, ELASTIC_SOURCE_FIELD_COUNTRY_CODE);
+                Boolean isWatchaContent = fieldValue(fields, ELASTIC_SOURCE_FIELD_IS_WATCHA_CONTENT);
+                Boolean isNetflixContent = fieldValue(fields, ELASTIC_SOURCE_FIELD_IS_NETFLIX_CONTENT);
+
+                if (TYPE_MOVIE.equals(dtype))
+                    return ContentDto.SearchMovieItem.builder()
+                            .id(id)
+                            .posterImagePath(posterImagePath)
+                            .mainTitle(mainTitle)
+                            .productionDate(productionDate)
+                            .countryCode(countryCode)
+                            .isWatchaContent(isWatchaContent)
+                            .isNetflixContent(isNetflixContent)
+                            .dtype(dtype)
+                            .build();
+                return ContentDto.SearchTvShowItem.builder()
+                        .id(id)
+                        .posterImagePath(posterImagePath)
+                        .mainTitle(mainTitle)
+                        .productionDate(productionDate)
+                        .countryCode(countryCode)
+                        .isWatchaContent(isWatchaContent)
+                        .isNetflixContent(isNetflixContent)
+                        .dtype(dtype)
+                        .build();
+            } else if (TYPE_BOOK.equals(dtype)) {
+                if (!containsAll(fields, ELASTIC_SOURCE_FIELD_AUTHOR)) return null;
+
+                return ContentDto.SearchBookItem.builder()
+                        .id(id)
+                        .posterImagePath(posterImagePath)
+                        .mainTitle(mainTitle)
+                        .productionDate(productionDate)
+                        .author(fieldValue(fields, ELASTIC_SOURCE_FIELD_AUTHOR))
+                        .dtype(dtype)
+                        .build();
+            }
+        } catch (RuntimeException e) {
+            log.warn("search document of content {} is malformed, fallback to db", id, e);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T fieldValue(Map<String, DocumentField> fields, String name) {
+        return (T) fields.get(name).getValue();
+    }
+
+    private static boolean containsAll(Map<String, DocumentField> fields, String... names) {
+        for (String name : names) {
+            DocumentField field = fields.get(name);
+            if (field == null || field.getValue() == null) return false;
+        }
+        return true;
     }
 
     /**
@@ -131,7 +312,19 @@ public class ElasticSearchRepository {
         builder.query(bool)
                 .from((page - 1) * size)
                 .size(size)
-                .sort(sort);
+                .sort(sort)
+                .fetchSource(false)
+                .docValueField(ELASTIC_COLUMN_CONTENT_ID);
+
+        if (hydrateFromFields) {
+            for (String field : SEARCH_ITEM_DOC_VALUE_FIELDS) {
+                if (ELASTIC_SOURCE_FIELD_PRODUCTION_DATE.equals(field))
+                    builder.docValueField(field, PRODUCTION_DATE_FORMAT);
+                else
+                    builder.docValueField(field);
+            }
+            builder.storedFields(SEARCH_ITEM_STORED_FIELDS);
+        }
 
         request.source(builder);
 
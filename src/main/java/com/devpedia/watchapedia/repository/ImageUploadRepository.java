@@ -0,0 +1,39 @@
+package com.devpedia.watchapedia.repository;
+
+import com.devpedia.watchapedia.domain.ImageUpload;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ImageUploadRepository extends JpaRepository<ImageUpload, Long> {
+
+    /**
+     * 이 서버에 임시 파일이 있는 업로드 중 재시도 시각이 지난 업로드를 조회한다.
+     */
+    @Query("select u from ImageUpload u " +
+            "where u.worker = :worker and u.status = :status and u.nextAttemptAt <= :now " +
+            "order by u.nextAttemptAt")
+    List<ImageUpload> findRetryTargets(@Param("worker") String worker, @Param("status") ImageUpload.Status status,
+                                       @Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * 재시도를 모두 실패한 업로드의 이미지를 업로드 실패로 표시한다.
+     */
+    @Modifying
+    @Query("update Image i set i.uploadFailed = true where i.path = :path")
+    int markImageUploadFailed(@Param("path") String path);
+
+    /**
+     * 보관 기간이 지난 완료 업로드를 지운다.
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from ImageUpload u where u.status = :status and u.completedAt < :before")
+    int deleteCompletedBefore(@Param("status") ImageUpload.Status status, @Param("before") LocalDateTime before);
+}
@@ -1,15 +1,11 @@
 package com.devpedia.watchapedia.repository;
 
-import com.devpedia.watchapedia.domain.Content;
-import com.devpedia.watchapedia.domain.Movie;
 import com.devpedia.watchapedia.domain.Ranking;
-import com.devpedia.watchapedia.dto.RankingDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
-import java.math.BigInteger;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -21,74 +17,58 @@ public class RankingRepository {
     private final EntityManager em;
 
     /**
-     * 랭킹 차트 아이디 & 차트 타입 조회
-     * @param chartType 랭킹 차트 타입(movies, tvshows, books)
-     * @param chartId 랭킹 차트 아이디(box_office,netflix,mars)
-     * @return 랭킹 엔티티
+     * 스냅샷 생성용으로 모든 랭킹을 컨텐츠, 포스터 이미지와 함께 조회한다.
+     * 컨텐츠는 JOINED 상속이라 하위 타입 테이블까지 한번에 조회된다.
+     * @return 차트 타입, 차트 아이디, 순위 순으로 정렬된 랭킹 엔티티
      */
-    public List<Ranking> findByChartId(String chartType, String chartId){
-        String jpqlQuery = "select r.* " +
-                "from ranking r " +
-                "left join content c "+
-                "on c.content_id = r.content_id " +
-                "left join movie m " +
-                "on c.content_id = m.content_id and :chartType ='movies' " +
-                "left join tv_show t " +
-                "on c.content_id = t.content_id and :chartType ='tvshows' " +
-                "left join book b " +
-                "on c.content_id = b.content_id and :chartType = 'books' " +
-                "where r.chart_type = :chartType and r.chart_id = :chartId " +
-                "order by r.chart_rank";
-        return em.createNativeQuery(jpqlQuery
-                , Ranking.class)
-                .setParameter("chartType", chartType)
-                .setParameter("chartId", chartId)
-                .setFirstResult(0)
+    public List<Ranking> findAllWithContent() {
+        return em.createQuery(
+                "select r from Ranking r " +
+                        "join fetch r.content c " +
+                        "left join fetch c.posterImage " +
+                        "order by r.chartType, r.chartId, r.chartRank", Ranking.class)
                 .getResultList();
     }
 
     /**
-     * 랭킹 차트값 모두 조회
-     * @param chartType 랭킹 차트 타입(movies, tvshows, books)
-     * @return 랭킹 엔티티
+     * 랭킹 테이블과 랭킹 컨텐츠 평점 집계의 변경 여부를 판단하기 위한 값을 구한다.
+     * 건수, 최대 id, 순위 * 컨텐츠 id 합계, 랭킹 컨텐츠의 평점 개수/합계(컨텐츠 id 가중) 중 하나라도 바뀌면 다른 값이 된다.
+     * 평점이 바뀌면 스냅샷의 평균 평점도 다시 만들어지도록 집계를 포함한다.
+     * @return 랭킹 fingerprint
      */
-
-    public List<Ranking> findByChartAllId(String chartType){
-        String jpqlQuery = "select r.* " +
-                "from ranking r " +
-                "left join content c "+
-                "on c.content_id = r.content_id " +
-                "left join tv_show t " +
-                "on c.content_id = t.content_id " +
-                "left join book b " +
-                "on c.content_id = b.content_id " +
-                "left join movie m " +
-                "on c.content_id = m.content_id " +
-                "where r.chart_type = :chartType "+
-                "order by r.chart_rank";
-
-        return em.createNativeQuery(jpqlQuery
-                , Ranking.class)
-                .setParameter("chartType", chartType)
-                .setFirstResult(0)
-                .getResultList();
+    public String getFingerprint() {
+        Object[] row = (Object[]) em.createNativeQuery(
+                "select count(*), " +
+                        "       coalesce(max(r.ranking_id), 0), " +
+                        "       coalesce(sum(r.chart_rank * r.content_id), 0), " +
+                        "       (select coalesce(sum(s.score_count * s.content_id), 0) from content_score_stats s " +
+                        "         where s.content_id in (select r2.content_id from ranking r2)), " +
+                        "       (select coalesce(sum(s.score_sum * s.content_id), 0) from content_score_stats s " +
+                        "         where s.content_id in (select r2.content_id from ranking r2)) " +
+                        "from ranking r")
+                .getSingleResult();
+        return ((Number) row[0]).longValue() + ":" + ((Number) row[1]).longValue() + ":" + ((Number) row[2]).longValue()
+                + ":" + ((Number) row[3]).longValue() + ":" + ((Number) row[4]).doubleValue();
     }
+
     /**
      * 해당 id로 조회한 컨텐츠들의 평균 평점을 맵 형태로 반환한다.
      * @param ids PK set
      * @return key: id, value: 평균 평점
      */
     public Map<Long, Double> getRankingContentScore(Set<Long> ids) {
+        if (ids.isEmpty()) return Collections.emptyMap();
+
         List<Object[]> scores = em.createNativeQuery(
                 "select s.content_id, " +
-                        "       avg(s.score) as score " +
-                        "from score s " +
+                        "       s.score_average as score " +
+                        "from content_score_stats s " +
                         "where s.content_id in :ids " +
-                        "group by content_id ")
+                        "  and s.score_average is not null")
                 .setParameter("ids", ids)
                 .getResultList();
         return scores.stream()
-                .collect(Collectors.toMap(o -> ((BigInteger) o[0]).longValue(), objects -> (Double) objects[1]));
+                .collect(Collectors.toMap(o -> ((Number) o[0]).longValue(), objects -> (Double) objects[1]));
     }
 
 
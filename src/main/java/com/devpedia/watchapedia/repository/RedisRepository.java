@@ -1,25 +1,284 @@
 package com.devpedia.watchapedia.repository;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.DefaultTypedTuple;
 import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.SetOperations;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Repository;
 
+import java.time.Duration;
+import java.util.*;
+
 @Repository
 @RequiredArgsConstructor
 public class RedisRepository {
     private static final String REFRESH_TOKEN_MAP_KEY = "RefreshToken";
+    private static final String REFRESH_TOKEN_FAMILY_KEY = "RefreshToken:";
+    private static final String HOME_FEED_VERSION_KEY = "HomeFeed:version";
+    private static final String HOME_FEED_SNAPSHOT_KEY = "HomeFeed:";
+    private static final String RANKING_SNAPSHOT_KEY = "Ranking:";
+    private static final String TRENDING_KEY = "Trending:contents";
+    private static final String TRENDING_TITLE_KEY = "Trending:titles";
+    private static final String SCORE_COUNT_KEY = "ScoreCount";
+    private static final String CATALOG_CACHE_KEY = "CatalogCache:";
+    private static final String CATALOG_CACHE_VERSION_KEY = "CatalogCache:version:";
+    private static final String TEMP_KEY_SUFFIX = ":tmp";
+    private static final double TRENDING_MIN_SCORE = 1e-9;
 
-    private final StringRedisTemplate redisTemplate;
+    private static final RedisScript<Long> ADD_REFRESH_TOKEN_FAMILY_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('HSET', KEYS[1], 'cur', ARGV[1]) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+            "return 1", Long.class);
 
-    public void addRefreshToken(Long userId, String refreshToken) {
-        HashOperations<String, Object, Object> hash = redisTemplate.opsForHash();
-        hash.put(REFRESH_TOKEN_MAP_KEY, String.valueOf(userId), refreshToken);
-    }
+    /**
+     * family 의 현재 토큰 id 가 요청한 토큰 id 와 같으면 새 토큰 id 로 바꾸고, 이전 토큰 id 는 유예 시각까지 남긴다.
+     * 유예 시각 안에 이전 토큰으로 다시 요청하면(재시도, 여러 탭의 동시 요청) 현재 토큰 id 를 돌려준다.
+     * 그 외(이미 회전된 토큰 재사용)는 family 를 지운다. family 가 없으면(만료, 폐기) nil.
+     * KEYS[1]: family, ARGV: 요청 토큰 id, 새 토큰 id, 만료(ms), 현재 시각(ms), 이전 토큰 유예 시각(ms)
+     */
+    private static final RedisScript<String> ROTATE_REFRESH_TOKEN_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('HGET', KEYS[1], 'cur') " +
+            "if not current then return nil end " +
+            "if current == ARGV[1] then " +
+            "  redis.call('HMSET', KEYS[1], 'cur', ARGV[2], 'prev', ARGV[1], 'prevUntil', ARGV[5]) " +
+            "  redis.call('PEXPIRE', KEYS[1], ARGV[3]) " +
+            "  return ARGV[2] " +
+            "end " +
+            "if redis.call('HGET', KEYS[1], 'prev') == ARGV[1] " +
+            "    and tonumber(redis.call('HGET', KEYS[1], 'prevUntil') or 0) >= tonumber(ARGV[4]) then " +
+            "  return current " +
+            "end " +
+            "redis.call('DEL', KEYS[1]) " +
+            "return nil", String.class);
+
+    private static final RedisScript<Long> INCREMENT_IF_EXISTS_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then " +
+            "  return redis.call('INCRBY', KEYS[1], ARGV[1]) " +
+            "end " +
+            "return nil", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
 
+    /**
+     * family 도입 전 전역 해시에 저장된 리프레쉬 토큰을 읽는다.
+     * 이전에 발급된 토큰을 새 family 로 옮길 때만 쓴다.
+     */
     public String getRefreshToken(Long userId) {
         HashOperations<String, Object, Object> hash = redisTemplate.opsForHash();
         return (String) hash.get(REFRESH_TOKEN_MAP_KEY, String.valueOf(userId));
     }
+
+    public void deleteRefreshToken(Long userId) {
+        redisTemplate.opsForHash().delete(REFRESH_TOKEN_MAP_KEY, String.valueOf(userId));
+    }
+
+    /**
+     * 새 리프레쉬 토큰 family 를 등록한다.
+     * @param userId 유저 PK
+     * @param familyId family id
+     * @param tokenId family 의 현재 토큰 id
+     * @param ttl 만료 시간(리프레쉬 토큰 만료 시간)
+     */
+    public void addRefreshTokenFamily(Long userId, String familyId, String tokenId, Duration ttl) {
+        redisTemplate.execute(ADD_REFRESH_TOKEN_FAMILY_SCRIPT,
+                Collections.singletonList(refreshTokenFamilyKey(userId, familyId)),
+                tokenId, String.valueOf(ttl.toMillis()));
+    }
+
+    /**
+     * family 의 현재 토큰을 새 토큰으로 바꾼다.
+     * 키는 유저, family 별로 나뉘어 있고 스크립트는 그 키 하나만 사용한다.
+     * @param userId 유저 PK
+     * @param familyId family id
+     * @param tokenId 요청한 토큰 id
+     * @param newTokenId 새 토큰 id
+     * @param ttl 새 토큰 만료 시간
+     * @param grace 이전 토큰 재요청 유예 시간
+     * @return 새로 발급할 토큰의 id(유예 중 재요청이면 현재 토큰 id). 재사용이거나 family 가 없으면 null
+     */
+    public String rotateRefreshToken(Long userId, String familyId, String tokenId, String newTokenId,
+                                     Duration ttl, Duration grace) {
+        long now = System.currentTimeMillis();
+        return redisTemplate.execute(ROTATE_REFRESH_TOKEN_SCRIPT,
+                Collections.singletonList(refreshTokenFamilyKey(userId, familyId)),
+                tokenId, newTokenId, String.valueOf(ttl.toMillis()),
+                String.valueOf(now), String.valueOf(now + grace.toMillis()));
+    }
+
+    private String refreshTokenFamilyKey(Long userId, String familyId) {
+        return REFRESH_TOKEN_FAMILY_KEY + userId + ":" + familyId;
+    }
+
+    /**
+     * 메인 리스트 스냅샷의 새 버전 번호를 발급한다.
+     * @return 새 버전
+     */
+    public Long nextHomeFeedVersion() {
+        return redisTemplate.opsForValue().increment(HOME_FEED_VERSION_KEY);
+    }
+
+    public Long getHomeFeedVersion() {
+        String version = redisTemplate.opsForValue().get(HOME_FEED_VERSION_KEY);
+        return version != null ? Long.valueOf(version) : null;
+    }
+
+    /**
+     * 해당 버전의 메인 리스트 스냅샷을 저장한다.
+     * @param version 스냅샷 버전
+     * @param snapshot key: 리스트 종류, value: 직렬화된 JSON
+     * @param ttl 만료 시간
+     */
+    public void saveHomeFeed(Long version, Map<String, String> snapshot, Duration ttl) {
+        String key = HOME_FEED_SNAPSHOT_KEY + version;
+        redisTemplate.opsForHash().putAll(key, snapshot);
+        redisTemplate.expire(key, ttl);
+    }
+
+    public Map<Object, Object> getHomeFeed(Long version) {
+        return redisTemplate.opsForHash().entries(HOME_FEED_SNAPSHOT_KEY + version);
+    }
+
+    /**
+     * 랭킹 테이블 fingerprint 에 해당하는 랭킹 스냅샷을 저장한다.
+     * @param fingerprint 랭킹 테이블 fingerprint
+     * @param snapshot key: 차트 타입 또는 차트 타입:차트 아이디, value: 직렬화된 JSON
+     * @param ttl 만료 시간
+     */
+    public void saveRankingSnapshot(String fingerprint, Map<String, String> snapshot, Duration ttl) {
+        String key = RANKING_SNAPSHOT_KEY + fingerprint;
+        redisTemplate.opsForHash().putAll(key, snapshot);
+        redisTemplate.expire(key, ttl);
+    }
+
+    public Map<Object, Object> getRankingSnapshot(String fingerprint) {
+        return redisTemplate.opsForHash().entries(RANKING_SNAPSHOT_KEY + fingerprint);
+    }
+
+    /**
+     * 트렌딩 점수를 증감한다. 점수가 0 이하가 되면 트렌딩에서 제외한다.
+     * @param contentId 컨텐츠 id
+     * @param title 컨텐츠 제목
+     * @param delta 증감할 점수
+     */
+    public void incrementTrending(Long contentId, String title, double delta) {
+        String member = String.valueOf(contentId);
+        Double score = redisTemplate.opsForZSet().incrementScore(TRENDING_KEY, member, delta);
+        if (score != null && score < TRENDING_MIN_SCORE) {
+            redisTemplate.opsForZSet().remove(TRENDING_KEY, member);
+            return;
+        }
+        redisTemplate.opsForHash().putIfAbsent(TRENDING_TITLE_KEY, member, title);
+    }
+
+    /**
+     * 트렌딩 점수가 높은 순으로 컨텐츠 제목을 구한다.
+     * @param size 사이즈
+     * @return 컨텐츠 제목 리스트
+     */
+    public List<String> getTrendingTitles(int size) {
+        Set<String> ids = redisTemplate.opsForZSet().reverseRange(TRENDING_KEY, 0, size - 1);
+        if (ids == null || ids.isEmpty()) return Collections.emptyList();
+
+        List<Object> titles = redisTemplate.opsForHash().multiGet(TRENDING_TITLE_KEY, new ArrayList<>(ids));
+        List<String> result = new ArrayList<>();
+        for (Object title : titles) {
+            if (title != null) result.add((String) title);
+        }
+        return result;
+    }
+
+    /**
+     * 트렌딩 점수와 제목을 통째로 교체한다.
+     * 임시 키에 만든 뒤 rename 해서 조회 중에 비어 보이지 않도록 한다.
+     * @param scores key: 컨텐츠 id, value: 트렌딩 점수
+     * @param titles key: 컨텐츠 id, value: 컨텐츠 제목
+     */
+    public void replaceTrending(Map<Long, Double> scores, Map<Long, String> titles) {
+        if (scores.isEmpty()) {
+            redisTemplate.delete(Arrays.asList(TRENDING_KEY, TRENDING_TITLE_KEY));
+            return;
+        }
+
+        Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+        scores.forEach((id, score) -> tuples.add(new DefaultTypedTuple<>(String.valueOf(id), score)));
+        Map<String, String> titleHash = new HashMap<>();
+        titles.forEach((id, title) -> titleHash.put(String.valueOf(id), title));
+
+        redisTemplate.delete(Arrays.asList(TRENDING_KEY + TEMP_KEY_SUFFIX, TRENDING_TITLE_KEY + TEMP_KEY_SUFFIX));
+        redisTemplate.opsForZSet().add(TRENDING_KEY + TEMP_KEY_SUFFIX, tuples);
+        redisTemplate.rename(TRENDING_KEY + TEMP_KEY_SUFFIX, TRENDING_KEY);
+        if (titleHash.isEmpty()) return;
+
+        redisTemplate.opsForHash().putAll(TRENDING_TITLE_KEY + TEMP_KEY_SUFFIX, titleHash);
+        redisTemplate.rename(TRENDING_TITLE_KEY + TEMP_KEY_SUFFIX, TRENDING_TITLE_KEY);
+    }
+
+    /**
+     * 전체 평점 개수 카운터에 변경분을 더한다.
+     * 키가 없으면(최초 실행, 만료, flushdb) 변경분만으로 새 카운터를 만들지 않도록 더하지 않고 null 을 반환한다.
+     * @param delta 변경분
+     * @return 더한 후의 값. 키가 없으면 null
+     */
+    public Long incrementScoreCount(long delta) {
+        return redisTemplate.execute(INCREMENT_IF_EXISTS_SCRIPT,
+                Collections.singletonList(SCORE_COUNT_KEY), String.valueOf(delta));
+    }
+
+    /**
+     * 키가 없을 때만 전체 평점 개수 카운터를 초기값으로 채운다.
+     * @param count 초기값
+     * @return 채운 후의 값(다른 서버가 먼저 채웠으면 그 값)
+     */
+    public Long seedScoreCount(long count) {
+        redisTemplate.opsForValue().setIfAbsent(SCORE_COUNT_KEY, String.valueOf(count));
+        return getScoreCount();
+    }
+
+    public Long getScoreCount() {
+        String count = redisTemplate.opsForValue().get(SCORE_COUNT_KEY);
+        return count != null ? Long.valueOf(count) : null;
+    }
+
+    public void setScoreCount(long count) {
+        redisTemplate.opsForValue().set(SCORE_COUNT_KEY, String.valueOf(count));
+    }
+
+    /**
+     * 카탈로그 캐시 영역들의 현재 버전을 구한다.
+     * @param regions 영역 이름
+     * @return 영역 이름 순서대로의 버전(없으면 0)
+     */
+    public List<Long> getCatalogCacheVersions(List<String> regions) {
+        List<String> keys = new ArrayList<>();
+        regions.forEach(region -> keys.add(CATALOG_CACHE_VERSION_KEY + region));
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+
+        List<Long> versions = new ArrayList<>();
+        for (int i = 0; i < regions.size(); i++) {
+            String value = values != null ? values.get(i) : null;
+            versions.add(value != null ? Long.valueOf(value) : 0L);
+        }
+        return versions;
+    }
+
+    /**
+     * 카탈로그 캐시 영역의 버전을 올린다. 이전 버전 키는 TTL 로 사라진다.
+     * @param region 영역 이름
+     * @return 올린 뒤의 버전
+     */
+    public Long nextCatalogCacheVersion(String region) {
+        return redisTemplate.opsForValue().increment(CATALOG_CACHE_VERSION_KEY + region);
+    }
+
+    public String getCatalogCache(String key) {
+        return redisTemplate.opsForValue().get(CATALOG_CACHE_KEY + key);
+    }
+
+    public void setCatalogCache(String key, String value, Duration ttl) {
+        redisTemplate.opsForValue().set(CATALOG_CACHE_KEY + key, value, ttl);
+    }
 }
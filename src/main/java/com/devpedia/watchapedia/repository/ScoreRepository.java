@@ -3,6 +3,16 @@ package com.devpedia.watchapedia.repository;
 import com.devpedia.watchapedia.domain.Comment;
 import com.devpedia.watchapedia.domain.Score;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface ScoreRepository extends JpaRepository<Score, Score.ScoreId> {
+
+    @Query("select s.score, count(s) from Score s where s.id.contentId = :id group by s.score")
+    List<Object[]> countGroupByScore(@Param("id") Long contentId);
+
+    @Query("select s.id.contentId, s.score, count(s) from Score s group by s.id.contentId, s.score")
+    List<Object[]> countGroupByContentAndScore();
 }
@@ -0,0 +1,99 @@
+package com.devpedia.watchapedia.repository;
+
+import com.devpedia.watchapedia.domain.UserActionCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface UserActionCountRepository extends JpaRepository<UserActionCount, UserActionCount.UserActionCountId> {
+
+    /**
+     * 유저의 해당 컨텐츠 타입 활동 개수를 score, interest, comment 테이블에서 센다.
+     * 개수마다 제외할 컨텐츠 id(:ratingContentId 등)를 받아서, 바뀌는 개수만 변경 중인 컨텐츠를 빼고 센다(0 이면 빼지 않음).
+     * 관심 상태 값은 InterestState 코드(1: 보고싶어요, 2: 보는중, 3: 관심없음).
+     */
+    String SELECT_COUNTS = "select :userId, :dtype, " +
+            "(select count(*) from score s join content c on c.content_id = s.content_id " +
+            "  where s.user_id = :userId and c.dtype = :dtype and s.content_id <> :ratingContentId) + :rating, " +
+            "(select count(*) from interest i join content c on c.content_id = i.content_id " +
+            "  where i.user_id = :userId and c.dtype = :dtype and i.state = 1 and i.content_id <> :wishContentId) + :wish, " +
+            "(select count(*) from interest i join content c on c.content_id = i.content_id " +
+            "  where i.user_id = :userId and c.dtype = :dtype and i.state = 2 and i.content_id <> :watchingContentId) + :watching, " +
+            "(select count(*) from interest i join content c on c.content_id = i.content_id " +
+            "  where i.user_id = :userId and c.dtype = :dtype and i.state = 3 and i.content_id <> :notInterestContentId) + :notInterest, " +
+            "(select count(*) from comment cm join content c on c.content_id = cm.content_id " +
+            "  where cm.user_id = :userId and c.dtype = :dtype and cm.content_id <> :commentContentId) + :comment ";
+
+    String INSERT_COUNTS = "insert into user_action_count " +
+            "(user_id, dtype, rating_count, wish_count, watching_count, not_interest_count, comment_count) ";
+
+    /**
+     * 유저의 해당 컨텐츠 타입 활동 개수에 변경분을 더한다.
+     * @return 수정된 행 수(행이 없으면 0)
+     */
+    @Modifying
+    @Query("update UserActionCount c set " +
+            "c.ratingCount = c.ratingCount + :rating, " +
+            "c.wishCount = c.wishCount + :wish, " +
+            "c.watchingCount = c.watchingCount + :watching, " +
+            "c.notInterestCount = c.notInterestCount + :notInterest, " +
+            "c.commentCount = c.commentCount + :comment " +
+            "where c.id.userId = :userId and c.id.dtype = :dtype")
+    int addCounts(@Param("userId") Long userId, @Param("dtype") String dtype,
+                  @Param("rating") int rating, @Param("wish") int wish, @Param("watching") int watching,
+                  @Param("notInterest") int notInterest, @Param("comment") int comment);
+
+    /**
+     * 행이 없는 유저(카운터 도입 이전 유저)의 행을 활동 테이블 집계로 만든다.
+     * 바뀌는 개수는 변경 중인 컨텐츠를 현재 트랜잭션에서 이미 반영되었는지와 관계없이 집계에서 빼고 변경 후 상태(:rating 등)로 더한다.
+     * 바뀌지 않는 개수는 변경 중인 컨텐츠도 그대로 센다.
+     * 동시에 다른 요청이 먼저 행을 만들었으면 그 행에 변경분(:ratingDelta 등)만 더한다.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = INSERT_COUNTS + SELECT_COUNTS +
+            "on duplicate key update " +
+            "rating_count = rating_count + :ratingDelta, " +
+            "wish_count = wish_count + :wishDelta, " +
+            "watching_count = watching_count + :watchingDelta, " +
+            "not_interest_count = not_interest_count + :notInterestDelta, " +
+            "comment_count = comment_count + :commentDelta", nativeQuery = true)
+    int insertSeededCounts(@Param("userId") Long userId, @Param("dtype") String dtype,
+                           @Param("ratingContentId") Long ratingContentId, @Param("wishContentId") Long wishContentId,
+                           @Param("watchingContentId") Long watchingContentId,
+                           @Param("notInterestContentId") Long notInterestContentId,
+                           @Param("commentContentId") Long commentContentId,
+                           @Param("rating") int rating, @Param("wish") int wish, @Param("watching") int watching,
+                           @Param("notInterest") int notInterest, @Param("comment") int comment,
+                           @Param("ratingDelta") int ratingDelta, @Param("wishDelta") int wishDelta,
+                           @Param("watchingDelta") int watchingDelta, @Param("notInterestDelta") int notInterestDelta,
+                           @Param("commentDelta") int commentDelta);
+
+    /**
+     * 유저의 해당 컨텐츠 타입 활동 개수를 활동 테이블 집계로 다시 계산해서 덮어쓴다(행이 없으면 만든다).
+     * 한 문장으로 세고 쓰므로 다른 유저의 변경분이나 이후 커밋된 변경분은 그대로 남는다.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = INSERT_COUNTS + SELECT_COUNTS +
+            "on duplicate key update " +
+            "rating_count = values(rating_count), " +
+            "wish_count = values(wish_count), " +
+            "watching_count = values(watching_count), " +
+            "not_interest_count = values(not_interest_count), " +
+            "comment_count = values(comment_count)", nativeQuery = true)
+    int recomputeCounts(@Param("userId") Long userId, @Param("dtype") String dtype,
+                        @Param("ratingContentId") Long ratingContentId, @Param("wishContentId") Long wishContentId,
+                        @Param("watchingContentId") Long watchingContentId,
+                        @Param("notInterestContentId") Long notInterestContentId,
+                        @Param("commentContentId") Long commentContentId,
+                        @Param("rating") int rating, @Param("wish") int wish, @Param("watching") int watching,
+                        @Param("notInterest") int notInterest, @Param("comment") int comment);
+
+    @Query("select u.id from User u order by u.id")
+    List<Long> findAllUserIds();
+}
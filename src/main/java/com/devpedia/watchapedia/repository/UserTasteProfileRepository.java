@@ -0,0 +1,43 @@
+package com.devpedia.watchapedia.repository;
+
+import com.devpedia.watchapedia.domain.UserTasteProfile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface UserTasteProfileRepository extends JpaRepository<UserTasteProfile, Long> {
+
+    /**
+     * 취향분석을 stale 로 표시하고 version 을 올린다.
+     * 아직 행이 없으면 빈 stale 행을 만들어서, 진행 중인 첫 계산이 끝나도 저장되지 않고 다시 계산되도록 한다.
+     */
+    @Modifying
+    @Query(value = "insert into user_taste_profile (user_id, data, stale_yn, version) values (:userId, '', true, 1) " +
+            "on duplicate key update stale_yn = true, version = version + 1", nativeQuery = true)
+    int markStale(@Param("userId") Long userId);
+
+    /**
+     * 행이 없을 때만 계산 결과를 저장한다.
+     * 계산 중에 stale 행이 생겼으면 저장하지 않고 stale 상태로 남긴다.
+     */
+    @Modifying
+    @Query(value = "insert into user_taste_profile (user_id, data, stale_yn, version) values (:userId, :data, false, 0) " +
+            "on duplicate key update user_id = user_id", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("data") byte[] data);
+
+    /**
+     * 계산을 시작할 때 읽은 version 이 그대로일 때만 결과를 저장한다.
+     * 계산 중에 평가가 바뀌었으면 저장하지 않고 stale 상태로 남긴다.
+     */
+    @Modifying
+    @Query("update UserTasteProfile p set p.data = :data, p.isStale = false " +
+            "where p.id = :userId and p.version = :version")
+    int updateIfVersion(@Param("userId") Long userId, @Param("data") byte[] data, @Param("version") Long version);
+
+    @Query("select p.id from UserTasteProfile p where p.isStale = true")
+    List<Long> findStaleIds(Pageable pageable);
+}
@@ -0,0 +1,79 @@
+package com.devpedia.watchapedia.repository;
+
+import com.devpedia.watchapedia.domain.Comment;
+import com.devpedia.watchapedia.domain.CommentLike;
+import com.devpedia.watchapedia.domain.Interest;
+import com.devpedia.watchapedia.domain.Score;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 쓰기 지연 버퍼 반영용 조회/저장.
+ * 변경 묶음에 포함된 유저, 컨텐츠 id 로 한번에 조회하므로 요청하지 않은 조합이 섞여 있을 수 있고,
+ * 호출한 쪽에서 키로 걸러서 사용한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WriteBehindRepository {
+    private final EntityManager em;
+
+    public List<Score> findScores(Set<Long> userIds, Set<Long> contentIds) {
+        if (userIds.isEmpty() || contentIds.isEmpty()) return Collections.emptyList();
+        return em.createQuery(
+                "select s from Score s " +
+                        "where s.id.userId in :userIds " +
+                        "and s.id.contentId in :contentIds", Score.class)
+                .setParameter("userIds", userIds)
+                .setParameter("contentIds", contentIds)
+                .getResultList();
+    }
+
+    public List<Interest> findInterests(Set<Long> userIds, Set<Long> contentIds) {
+        if (userIds.isEmpty() || contentIds.isEmpty()) return Collections.emptyList();
+        return em.createQuery(
+                "select i from Interest i " +
+                        "where i.id.userId in :userIds " +
+                        "and i.id.contentId in :contentIds", Interest.class)
+                .setParameter("userIds", userIds)
+                .setParameter("contentIds", contentIds)
+                .getResultList();
+    }
+
+    public List<Comment> findComments(Set<Long> userIds, Set<Long> contentIds) {
+        if (userIds.isEmpty() || contentIds.isEmpty()) return Collections.emptyList();
+        return em.createQuery(
+                "select c from Comment c " +
+                        "where c.id.userId in :userIds " +
+                        "and c.id.contentId in :contentIds", Comment.class)
+                .setParameter("userIds", userIds)
+                .setParameter("contentIds", contentIds)
+                .getResultList();
+    }
+
+    public List<CommentLike> findCommentLikes(Set<Long> likeUserIds, Set<Long> contentIds) {
+        if (likeUserIds.isEmpty() || contentIds.isEmpty()) return Collections.emptyList();
+        return em.createQuery(
+                "select cl from CommentLike cl " +
+                        "where cl.id.likeUserId in :likeUserIds " +
+                        "and cl.id.commentId.contentId in :contentIds", CommentLike.class)
+                .setParameter("likeUserIds", likeUserIds)
+                .setParameter("contentIds", contentIds)
+                .getResultList();
+    }
+
+    /**
+     * 새 엔티티를 저장한다.
+     * 식별자를 직접 지정하는 엔티티라 save(merge) 는 저장 전에 행마다 select 를 하므로 persist 를 사용하고,
+     * insert 는 flush 시점에 hibernate.jdbc.batch_size 단위로 묶여서 나간다.
+     * @param entities 새 엔티티
+     */
+    public void persistAll(Collection<?> entities) {
+        entities.forEach(em::persist);
+    }
+}
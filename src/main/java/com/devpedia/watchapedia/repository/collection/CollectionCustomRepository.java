@@ -4,6 +4,8 @@ import com.devpedia.watchapedia.domain.Collection;
 import com.devpedia.watchapedia.dto.enums.ContentTypeParameter;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public interface CollectionCustomRepository {
 
@@ -24,11 +26,19 @@ public interface CollectionCustomRepository {
     List<Collection> getAward(ContentTypeParameter type);
 
     /**
-     * 랜덤으로 해당 컨텐츠 타입에 해당하는 컬렉션을
-     * 입력한 개수만큼 리스트로 얻는다.
+     * 해당 컨텐츠 타입의 컨텐츠를 하나 이상 포함한 컬렉션 id 를 모두 구한다.
+     * 랜덤 컬렉션 추출용 id 풀을 만들 때 사용한다.
      * @param type 컨텐츠 타입 Enum
-     * @param size 랜덤으로 얻을 컬렉션 개수
-     * @return 랜덤 컬렉션 리스트
+     * @return 컬렉션 id 리스트
      */
-    List<Collection> getRandom(ContentTypeParameter type, int size);
+    List<Long> getIdsHavingContent(ContentTypeParameter type);
+
+    /**
+     * 각 컬렉션에 포함된 컨텐츠의 포스터 이미지 경로를 컬렉션 별로 size 개 까지 구한다.
+     * 컬렉션 개수와 상관없이 한번의 쿼리로 조회한다.
+     * @param collectionIds 컬렉션 id set
+     * @param size 컬렉션 당 포스터 개수
+     * @return key: 컬렉션 id, value: 포스터 이미지 경로 리스트
+     */
+    Map<Long, List<String>> getPosterPaths(Set<Long> collectionIds, int size);
 }
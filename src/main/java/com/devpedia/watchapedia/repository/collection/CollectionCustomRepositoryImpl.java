@@ -2,12 +2,11 @@ package com.devpedia.watchapedia.repository.collection;
 
 import com.devpedia.watchapedia.domain.Collection;
 import com.devpedia.watchapedia.dto.enums.ContentTypeParameter;
-import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 
 import javax.persistence.EntityManager;
-import java.util.List;
+import java.util.*;
 
 import static com.devpedia.watchapedia.domain.QCollection.collection;
 import static com.devpedia.watchapedia.domain.QCollectionContent.collectionContent;
@@ -44,15 +43,40 @@ public class CollectionCustomRepositoryImpl implements CollectionCustomRepositor
     }
     
     @Override
-    public List<Collection> getRandom(ContentTypeParameter type, int size) {
+    public List<Long> getIdsHavingContent(ContentTypeParameter type) {
         return query
-                .select(collection)
+                .select(collectionContent.id.collectionId)
+                .distinct()
                 .from(collectionContent)
                 .join(collectionContent.content, content)
-                .join(collectionContent.collection, collection).on(content.dtype.eq(type.getDtype()))
-                .groupBy(collection.id)
-                .orderBy(Expressions.numberTemplate(Double.class, "function('rand')").asc())
-                .limit(size)
+                .where(content.dtype.eq(type.getDtype()))
                 .fetch();
     }
+
+    @Override
+    public Map<Long, List<String>> getPosterPaths(Set<Long> collectionIds, int size) {
+        if (collectionIds.isEmpty()) return Collections.emptyMap();
+
+        List<Object[]> rows = em.createNativeQuery(
+                "select t.collection_id, t.path " +
+                        "from (select cc.collection_id, " +
+                        "             i.path, " +
+                        "             row_number() over (partition by cc.collection_id order by cc.content_id) as poster_rank " +
+                        "      from collection_content cc " +
+                        "      join content c on c.content_id = cc.content_id " +
+                        "      join image i on i.image_id = c.image_id " +
+                        "      where cc.collection_id in :ids) t " +
+                        "where t.poster_rank <= :size " +
+                        "order by t.collection_id, t.poster_rank")
+                .setParameter("ids", collectionIds)
+                .setParameter("size", size)
+                .getResultList();
+
+        Map<Long, List<String>> result = new HashMap<>();
+        for (Object[] row : rows) {
+            result.computeIfAbsent(((Number) row[0]).longValue(), id -> new ArrayList<>())
+                    .add((String) row[1]);
+        }
+        return result;
+    }
 }
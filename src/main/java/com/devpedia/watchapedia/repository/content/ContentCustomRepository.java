@@ -4,8 +4,10 @@ import com.devpedia.watchapedia.domain.Collection;
 import com.devpedia.watchapedia.domain.Content;
 import com.devpedia.watchapedia.domain.Participant;
 import com.devpedia.watchapedia.domain.Tag;
+import com.devpedia.watchapedia.dto.CursorSlice;
 import com.devpedia.watchapedia.dto.DetailDto;
 import com.devpedia.watchapedia.dto.enums.ContentTypeParameter;
+import com.devpedia.watchapedia.util.PageCursor;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
@@ -16,6 +18,7 @@ public interface ContentCustomRepository {
 
     /**
      * 평점 평균이 지정 점수 이상인 컨텐츠를 개수만큼 조회한다.
+     * 평균은 평점 집계 테이블(content_score_stats)에서 조회한다.
      * @param score 조회할 평점 기준
      * @param size 반환 개수
      * @return 평점이 이상인 컨텐츠 리스트
@@ -24,6 +27,7 @@ public interface ContentCustomRepository {
 
     /**
      * 해당 id로 조회한 컨텐츠들의 평균 평점을 맵 형태로 반환한다.
+     * 평점이 없는 컨텐츠는 포함되지 않는다.
      * @param ids PK set
      * @return key: id, value: 평균 평점
      */
@@ -55,6 +59,15 @@ public interface ContentCustomRepository {
      */
     List<Content> getContentsInCollection(Long collectionId, Pageable pageable);
 
+    /**
+     * 해당 컬렉션에 포함되는 컨텐츠를 커서 다음부터 개수만큼 반환한다.
+     * @param collectionId 컬렉션 PK
+     * @param cursor 이전 페이지 커서(첫 페이지면 null)
+     * @param size 사이즈
+     * @return 컬렉션에 담긴 컨텐츠 리스트와 다음 페이지 커서
+     */
+    CursorSlice<Content> getContentsInCollectionAfter(Long collectionId, PageCursor cursor, int size);
+
     /**
      * 코멘트가 갯수가 많은 순으로 size 만큼 조회한다
      * @param size 사이즈
@@ -85,6 +98,7 @@ public interface ContentCustomRepository {
      * - 평점 평균
      * - 총 평점 개수
      * - 점수 별 분포도
+     * 평점 집계(content_score_stats)의 한 행만 PK 로 조회한다.
      * @param id 컨텐츠 id
      * @return 평점 통계 정보
      */
@@ -99,6 +113,16 @@ public interface ContentCustomRepository {
      */
     List<DetailDto.CommentDetail> getComments(Long contentId, Long userId, Pageable pageable);
 
+    /**
+     * 컨텐츠에 달린 코멘트 리스트를 커서 다음부터 가져온다.
+     * @param contentId 컨텐츠 id
+     * @param userId 유저 id(코멘트 좋아요 눌렀는지 확인용)
+     * @param cursor 이전 페이지 커서(첫 페이지면 null)
+     * @param size 사이즈
+     * @return 코멘트 리스트와 다음 페이지 커서
+     */
+    CursorSlice<DetailDto.CommentDetail> getCommentsAfter(Long contentId, Long userId, PageCursor cursor, int size);
+
     /**
      * 코멘트의 상세정보를 가져온다.
      * @param contentId 컨텐츠 id
@@ -107,4 +131,18 @@ public interface ContentCustomRepository {
      * @return 코멘트 상세 정보
      */
     DetailDto.CommentDetail getComment(Long contentId, Long commentUserId, Long contextUserId);
+
+    /**
+     * 평가가 많은 순으로 컨텐츠 제목을 구한다. (자동완성용)
+     * @param size 최대 개수
+     * @return key: 컨텐츠 제목, value: 평가 개수
+     */
+    Map<String, Long> getPopularTitles(int size);
+
+    /**
+     * 해당 id 컨텐츠들의 제목을 구한다.
+     * @param ids 컨텐츠 id set
+     * @return key: 컨텐츠 id, value: 컨텐츠 제목
+     */
+    Map<Long, String> getTitles(Set<Long> ids);
 }
@@ -2,17 +2,20 @@ package com.devpedia.watchapedia.repository.content;
 
 import com.devpedia.watchapedia.domain.*;
 import com.devpedia.watchapedia.domain.enums.InterestState;
+import com.devpedia.watchapedia.dto.CursorSlice;
 import com.devpedia.watchapedia.dto.DetailDto;
 import com.devpedia.watchapedia.dto.enums.ContentTypeParameter;
+import com.devpedia.watchapedia.util.PageCursor;
 import com.querydsl.core.Tuple;
 import com.querydsl.core.types.ExpressionUtils;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.core.types.dsl.Expressions;
-import com.querydsl.core.types.dsl.NumberExpression;
 import com.querydsl.core.types.dsl.NumberPath;
 import com.querydsl.core.types.dsl.PathBuilder;
 import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.Hibernate;
@@ -21,6 +24,8 @@ import org.springframework.data.domain.Pageable;
 
 import javax.persistence.EntityManager;
 import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,10 +38,10 @@ import static com.devpedia.watchapedia.domain.QComment.*;
 import static com.devpedia.watchapedia.domain.QCommentLike.*;
 import static com.devpedia.watchapedia.domain.QContent.content;
 import static com.devpedia.watchapedia.domain.QContentParticipant.*;
+import static com.devpedia.watchapedia.domain.QContentScoreStats.contentScoreStats;
 import static com.devpedia.watchapedia.domain.QContentTag.*;
 import static com.devpedia.watchapedia.domain.QImage.*;
 import static com.devpedia.watchapedia.domain.QInterest.*;
-import static com.devpedia.watchapedia.domain.QReply.*;
 import static com.devpedia.watchapedia.domain.QScore.*;
 import static com.devpedia.watchapedia.domain.QUser.*;
 import static com.querydsl.core.types.ExpressionUtils.*;
@@ -53,12 +58,10 @@ public class ContentCustomRepositoryImpl implements ContentCustomRepository {
     public List<Content> getContentsScoreIsGreaterThan(ContentTypeParameter type, double score, int size) {
         return query
                 .select(content)
-                .from(content)
+                .from(contentScoreStats)
+                .join(contentScoreStats.content, content)
                 .join(content.posterImage, image).fetchJoin()
-                .where(select(score1.score.avg())
-                        .from(score1)
-                        .where(score1.content.id.eq(content.id))
-                        .goe(score),
+                .where(contentScoreStats.scoreAverage.goe(score),
                         content.dtype.eq(type.getDtype())
                 )
                 .limit(size)
@@ -68,10 +71,10 @@ public class ContentCustomRepositoryImpl implements ContentCustomRepository {
     @Override
     public Map<Long, Double> getContentScore(Set<Long> ids) {
         List<Tuple> list = query
-                .select(score1.content.id, score1.score.avg())
-                .from(score1)
-                .where(score1.id.contentId.in(ids))
-                .groupBy(score1.id.contentId)
+                .select(contentScoreStats.id, contentScoreStats.scoreAverage)
+                .from(contentScoreStats)
+                .where(contentScoreStats.id.in(ids),
+                        contentScoreStats.scoreAverage.isNotNull())
                 .fetch();
         return list.stream()
                 .collect(Collectors.toMap(tuple -> tuple.get(0, Long.class), tuple -> tuple.get(1, Double.class)));
@@ -106,11 +109,28 @@ public class ContentCustomRepositoryImpl implements ContentCustomRepository {
                 .from(collectionContent)
                 .join(collectionContent.content, content)
                 .where(collectionContent.collection.id.eq(collectionId))
+                .orderBy(collectionContent.id.contentId.asc())
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
                 .fetch();
     }
 
+    @Override
+    public CursorSlice<Content> getContentsInCollectionAfter(Long collectionId, PageCursor cursor, int size) {
+        List<Content> list = query
+                .select(content)
+                .from(collectionContent)
+                .join(collectionContent.content, content)
+                .where(collectionContent.collection.id.eq(collectionId),
+                        cursor != null ? collectionContent.id.contentId.gt(cursor.getLong(0)) : null)
+                .orderBy(collectionContent.id.contentId.asc())
+                .limit(size)
+                .fetch();
+
+        if (list.size() < size) return new CursorSlice<>(list, null);
+        return new CursorSlice<>(list, PageCursor.of(list.get(list.size() - 1).getId()).encode());
+    }
+
     @Override
     public List<String> getTrendingWords(int size) {
         NumberPath<Long> commentCount = Expressions.numberPath(Long.class, "comment_count");
@@ -176,71 +196,65 @@ public class ContentCustomRepositoryImpl implements ContentCustomRepository {
 
     @Override
     public DetailDto.ScoreAnalysis getScoreAnalysis(Long id) {
-        Tuple tuple = query
-                .select(
-                        score1.id.contentId.count(),
-                        score1.score.avg(),
-                        scoreCountCase(0.5).sum().intValue(),
-                        scoreCountCase(1.0).sum().intValue(),
-                        scoreCountCase(1.5).sum().intValue(),
-                        scoreCountCase(2.0).sum().intValue(),
-                        scoreCountCase(2.5).sum().intValue(),
-                        scoreCountCase(3.0).sum().intValue(),
-                        scoreCountCase(3.5).sum().intValue(),
-                        scoreCountCase(4.0).sum().intValue(),
-                        scoreCountCase(4.5).sum().intValue(),
-                        scoreCountCase(5.0).sum().intValue()
-                )
-                .from(score1)
-                .where(score1.id.contentId.eq(id))
-                .fetchOne();
-        if (tuple == null) return null;
-        Long count = tuple.get(0, Long.class);
-        Double avg = tuple.get(1, Double.class);
-        LinkedHashMap<String, Integer> distribution = new LinkedHashMap<>();
-        for (double d = 0.5; d <= 5.0; d += 0.5) {
-            int objIndex = (int) ((d - 0.5) * 2 + 2);
-            distribution.put(String.valueOf(d), tuple.get(objIndex, Integer.class));
-        }
+        return DetailDto.ScoreAnalysis.of(em.find(ContentScoreStats.class, id));
+    }
+
+    @Override
+    public List<DetailDto.CommentDetail> getComments(Long contentId, Long userId, Pageable pageable) {
+        List<Tuple> result = selectComments()
+                .where(comment.id.contentId.eq(contentId))
+                .orderBy(comment.likeCount.desc(), comment.id.userId.asc())
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
 
-        return DetailDto.ScoreAnalysis.builder()
-                .totalCount(count != null ? count.intValue() : 0)
-                .average(avg != null ? avg : 0.0)
-                .distribution(distribution)
-                .build();
+        return toCommentDetails(contentId, userId, result);
     }
 
-    private NumberExpression<Integer> scoreCountCase(Double score) {
-        return score1.score.when(score).then(1).otherwise(0);
+    @Override
+    public CursorSlice<DetailDto.CommentDetail> getCommentsAfter(Long contentId, Long userId, PageCursor cursor, int size) {
+        List<Tuple> result = selectComments()
+                .where(comment.id.contentId.eq(contentId), commentAfter(cursor))
+                .orderBy(comment.likeCount.desc(), comment.id.userId.asc())
+                .limit(size)
+                .fetch();
+
+        List<DetailDto.CommentDetail> list = toCommentDetails(contentId, userId, result);
+        if (list.size() < size) return new CursorSlice<>(list, null);
+
+        DetailDto.CommentDetail last = list.get(list.size() - 1);
+        return new CursorSlice<>(list, PageCursor.of(last.getLikeCount(), last.getUserId()).encode());
     }
 
     @Override
-    public List<DetailDto.CommentDetail> getComments(Long contentId, Long userId, Pageable pageable) {
-        NumberPath<Long> replyCount = Expressions.numberPath(Long.class, "replyCount");
-        NumberPath<Long> likeCount = Expressions.numberPath(Long.class, "likeCount");
-        NumberPath<Long> isLiked = Expressions.numberPath(Long.class, "isLiked");
+    public DetailDto.CommentDetail getComment(Long contentId, Long commentUserId, Long contextUserId) {
+        Tuple result = selectComments()
+                .where(
+                        comment.id.contentId.eq(contentId),
+                        comment.id.userId.eq(commentUserId)
+                )
+                .fetchOne();
 
-        List<Tuple> result = query
+        if (result == null) return null;
+
+        return toCommentDetails(contentId, contextUserId, List.of(result)).get(0);
+    }
+
+    /**
+     * 코멘트 목록 조회 쿼리.
+     * 좋아요 수, 댓글 수는 코멘트 테이블의 카운터 컬럼을 그대로 읽는다.
+     */
+    private JPAQuery<Tuple> selectComments() {
+        return query
                 .select(
                         user.id,
                         user.name,
                         comment.description,
                         comment.containsSpoiler,
-                        as(select(reply.id.count())
-                                .from(reply)
-                                .where(reply.comment.id.contentId.eq(comment.id.contentId),
-                                        reply.comment.id.userId.eq(comment.id.userId)), replyCount),
-                        as(select(commentLike.id.likeUserId.count())
-                                .from(commentLike)
-                                .where(commentLike.comment.id.contentId.eq(comment.id.contentId),
-                                        commentLike.comment.id.userId.eq(comment.id.userId)), likeCount),
+                        comment.replyCount,
+                        comment.likeCount,
                         interest.state,
-                        score1.score,
-                        as(select(commentLike.id.likeUserId)
-                                .from(commentLike)
-                                .where(commentLike.comment.id.contentId.eq(comment.id.contentId),
-                                        commentLike.comment.id.userId.eq(comment.id.userId),
-                                        commentLike.id.likeUserId.eq(userId)), isLiked)
+                        score1.score
                 )
                 .from(comment)
                 .join(comment.content, content)
@@ -252,12 +266,26 @@ public class ContentCustomRepositoryImpl implements ContentCustomRepository {
                 .leftJoin(score1).on(
                         score1.id.userId.eq(user.id),
                         score1.id.contentId.eq(content.id)
-                )
-                .where(comment.id.contentId.eq(contentId))
-                .orderBy(likeCount.desc())
-                .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
-                .fetch();
+                );
+    }
+
+    /**
+     * 좋아요 수 내림차순, 유저 id 오름차순에서 커서보다 뒤에 있는 코멘트 조건.
+     */
+    private BooleanExpression commentAfter(PageCursor cursor) {
+        if (cursor == null) return null;
+        Long likeCount = cursor.getLong(0);
+        Long userId = cursor.getLong(1);
+        return comment.likeCount.lt(likeCount)
+                .or(comment.likeCount.eq(likeCount).and(comment.id.userId.gt(userId)));
+    }
+
+    /**
+     * 조회한 코멘트들 중 유저가 좋아요 누른 코멘트를 한번에 조회해서 DTO 로 변환한다.
+     */
+    private List<DetailDto.CommentDetail> toCommentDetails(Long contentId, Long contextUserId, List<Tuple> result) {
+        Set<Long> likedCommentUserIds = getLikedCommentUserIds(contentId, contextUserId,
+                result.stream().map(tuple -> tuple.get(user.id)).collect(Collectors.toList()));
 
         return result.stream()
                 .map(tuple -> DetailDto.CommentDetail.builder()
@@ -265,72 +293,56 @@ public class ContentCustomRepositoryImpl implements ContentCustomRepository {
                         .userName(tuple.get(user.name))
                         .description(tuple.get(comment.description))
                         .isSpoiler(tuple.get(comment.containsSpoiler))
-                        .replyCount(tuple.get(replyCount))
-                        .likeCount(tuple.get(likeCount))
+                        .replyCount(tuple.get(comment.replyCount))
+                        .likeCount(tuple.get(comment.likeCount))
                         .interestState(tuple.get(interest.state))
                         .score(tuple.get(score1.score))
-                        .isLiked(tuple.get(isLiked) != null)
+                        .isLiked(likedCommentUserIds.contains(tuple.get(user.id)))
                         .build())
                 .collect(Collectors.toList());
     }
 
-    @Override
-    public DetailDto.CommentDetail getComment(Long contentId, Long commentUserId, Long contextUserId) {
-        NumberPath<Long> replyCount = Expressions.numberPath(Long.class, "replyCount");
-        NumberPath<Long> likeCount = Expressions.numberPath(Long.class, "likeCount");
-        NumberPath<Long> isLiked = Expressions.numberPath(Long.class, "isLiked");
+    private Set<Long> getLikedCommentUserIds(Long contentId, Long likeUserId, List<Long> commentUserIds) {
+        if (likeUserId == null || commentUserIds.isEmpty()) return Collections.emptySet();
 
-        Tuple result = query
-                .select(
-                        user.id,
-                        user.name,
-                        comment.description,
-                        comment.containsSpoiler,
-                        as(select(reply.id.count())
-                                .from(reply)
-                                .where(reply.comment.id.contentId.eq(comment.id.contentId),
-                                        reply.comment.id.userId.eq(comment.id.userId)), replyCount),
-                        as(select(commentLike.id.likeUserId.count())
-                                .from(commentLike)
-                                .where(commentLike.comment.id.contentId.eq(comment.id.contentId),
-                                        commentLike.comment.id.userId.eq(comment.id.userId)), likeCount),
-                        interest.state,
-                        score1.score,
-                        as(select(commentLike.id.likeUserId)
-                                .from(commentLike)
-                                .where(commentLike.comment.id.contentId.eq(comment.id.contentId),
-                                        commentLike.comment.id.userId.eq(comment.id.userId),
-                                        commentLike.id.likeUserId.eq(contextUserId)), isLiked)
-                )
-                .from(comment)
-                .join(comment.content, content)
-                .join(comment.user, user)
-                .leftJoin(interest).on(
-                        interest.id.userId.eq(user.id),
-                        interest.id.contentId.eq(content.id)
-                )
-                .leftJoin(score1).on(
-                        score1.id.userId.eq(user.id),
-                        score1.id.contentId.eq(content.id)
-                )
+        return new HashSet<>(query
+                .select(commentLike.id.commentId.userId)
+                .from(commentLike)
                 .where(
-                        comment.id.contentId.eq(contentId),
-                        comment.id.userId.eq(commentUserId)
+                        commentLike.id.commentId.contentId.eq(contentId),
+                        commentLike.id.commentId.userId.in(commentUserIds),
+                        commentLike.id.likeUserId.eq(likeUserId)
                 )
-                .fetchOne();
+                .fetch());
+    }
 
-        if (result == null) return null;
+    @Override
+    public Map<String, Long> getPopularTitles(int size) {
+        List<Tuple> result = query
+                .select(content.mainTitle, contentScoreStats.scoreCount)
+                .from(contentScoreStats)
+                .join(contentScoreStats.content, content)
+                .orderBy(contentScoreStats.scoreCount.desc())
+                .limit(size)
+                .fetch();
+
+        Map<String, Long> titles = new LinkedHashMap<>();
+        for (Tuple tuple : result) {
+            titles.merge(tuple.get(content.mainTitle), tuple.get(contentScoreStats.scoreCount), Math::max);
+        }
+        return titles;
+    }
+
+    @Override
+    public Map<Long, String> getTitles(Set<Long> ids) {
+        if (ids.isEmpty()) return Collections.emptyMap();
 
-        return DetailDto.CommentDetail.builder()
-                .userId(result.get(user.id))
-                .userName(result.get(user.name))
-                .description(result.get(comment.description))
-                .isSpoiler(result.get(comment.containsSpoiler))
-                .replyCount(result.get(replyCount))
-                .likeCount(result.get(likeCount))
-                .interestState(result.get(interest.state))
-                .score(result.get(score1.score))
-                .isLiked(result.get(isLiked) != null)
-                .build();
+        return query
+                .select(content.id, content.mainTitle)
+                .from(content)
+                .where(content.id.in(ids))
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(tuple -> tuple.get(content.id), tuple -> tuple.get(content.mainTitle)));
     }
 }
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ContentRepository extends JpaRepository<Content, Long>, ContentCustomRepository {
 
@@ -16,6 +17,10 @@ public interface ContentRepository extends JpaRepository<Content, Long>, Content
 
     List<Content> findByCategoryContainingAndDtype(String category, String dtype, Pageable pageable);
 
+    @Query("select new com.devpedia.watchapedia.dto.DetailDto$ContentHead(c.id, c.dtype, c.category) " +
+            "from Content c where c.id = :id")
+    Optional<DetailDto.ContentHead> findHeadById(@Param("id") Long id);
+
     @Query("select count(c) from Comment c where c.id.contentId = :id")
     Long countComments(@Param("id") Long contentId);
 
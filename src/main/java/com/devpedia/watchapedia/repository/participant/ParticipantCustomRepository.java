@@ -27,4 +27,11 @@ public interface ParticipantCustomRepository {
      * @return 참여자 리스트
      */
     List<Participant> findContentParticipantHasJob(Long contentId, String job);
+
+    /**
+     * 참여 작품이 많은 순으로 인물 이름을 구한다. (자동완성용)
+     * @param size 최대 개수
+     * @return key: 인물 이름, value: 참여 작품 개수
+     */
+    Map<String, Long> getPopularNames(int size);
 }
@@ -2,12 +2,16 @@ package com.devpedia.watchapedia.repository.participant;
 
 import com.devpedia.watchapedia.domain.Participant;
 import com.devpedia.watchapedia.dto.enums.ContentTypeParameter;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.NumberExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 
 import javax.persistence.EntityManager;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.devpedia.watchapedia.domain.QContent.content;
 import static com.devpedia.watchapedia.domain.QContentParticipant.contentParticipant;
@@ -48,4 +52,23 @@ public class ParticipantCustomRepositoryImpl implements ParticipantCustomReposit
                 )
                 .fetch();
     }
+
+    @Override
+    public Map<String, Long> getPopularNames(int size) {
+        NumberExpression<Long> contentCount = contentParticipant.content.id.count();
+        List<Tuple> result = query
+                .select(participant.name, contentCount)
+                .from(contentParticipant)
+                .join(contentParticipant.participant, participant)
+                .groupBy(participant.id, participant.name)
+                .orderBy(contentCount.desc())
+                .limit(size)
+                .fetch();
+
+        Map<String, Long> names = new LinkedHashMap<>();
+        for (Tuple tuple : result) {
+            names.merge(tuple.get(participant.name), tuple.get(contentCount), Math::max);
+        }
+        return names;
+    }
 }
@@ -1,8 +1,16 @@
 package com.devpedia.watchapedia.repository.tag;
 
-import com.devpedia.watchapedia.domain.Participant;
 import com.devpedia.watchapedia.dto.enums.ContentTypeParameter;
 
+import java.util.List;
+
 public interface TagCustomRepository {
 
+    /**
+     * 해당 컨텐츠 타입의 컨텐츠에 하나 이상 달린 태그 id 를 모두 구한다.
+     * 랜덤 태그 추출용 id 풀을 만들 때 사용한다.
+     * @param type 컨텐츠 타입 Enum
+     * @return 태그 id 리스트
+     */
+    List<Long> getIdsHavingContent(ContentTypeParameter type);
 }
@@ -1,15 +1,14 @@
 package com.devpedia.watchapedia.repository.tag;
 
-import com.devpedia.watchapedia.domain.Participant;
 import com.devpedia.watchapedia.dto.enums.ContentTypeParameter;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 
 import javax.persistence.EntityManager;
+import java.util.List;
 
 import static com.devpedia.watchapedia.domain.QContent.content;
-import static com.devpedia.watchapedia.domain.QContentParticipant.contentParticipant;
-import static com.devpedia.watchapedia.domain.QParticipant.participant;
+import static com.devpedia.watchapedia.domain.QContentTag.contentTag;
 
 @RequiredArgsConstructor
 public class TagCustomRepositoryImpl implements TagCustomRepository {
@@ -17,4 +16,14 @@ public class TagCustomRepositoryImpl implements TagCustomRepository {
     private final EntityManager em;
     private final JPAQueryFactory query;
 
+    @Override
+    public List<Long> getIdsHavingContent(ContentTypeParameter type) {
+        return query
+                .select(contentTag.id.tagId)
+                .distinct()
+                .from(contentTag)
+                .join(contentTag.content, content)
+                .where(content.dtype.eq(type.getDtype()))
+                .fetch();
+    }
 }
@@ -5,10 +5,12 @@ import com.devpedia.watchapedia.domain.Interest;
 import com.devpedia.watchapedia.domain.Participant;
 import com.devpedia.watchapedia.domain.Score;
 import com.devpedia.watchapedia.domain.enums.InterestState;
+import com.devpedia.watchapedia.dto.CursorSlice;
 import com.devpedia.watchapedia.dto.UserDto;
 import com.devpedia.watchapedia.dto.enums.ContentTypeParameter;
 import com.devpedia.watchapedia.dto.enums.InterestContentOrder;
 import com.devpedia.watchapedia.dto.enums.RatingContentOrder;
+import com.devpedia.watchapedia.util.PageCursor;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
@@ -35,6 +37,19 @@ public interface UserCustomRepository {
      */
     List<Score> findUserScores(Long userId, ContentTypeParameter type, Double score, RatingContentOrder order, Pageable pageable);
 
+    /**
+     * 유저가 평가한 평점(Score)을 커서 다음부터 구한다.
+     * @param userId 조회 대상 유저
+     * @param type 컨텐츠 타입 Enum
+     * @param score 점수(0.5 ~ 5.0) null 이면 전체 조회
+     * @param order 정렬 방식
+     * @param cursor 이전 페이지 커서(첫 페이지면 null)
+     * @param size 사이즈
+     * @return 유저 평점 리스트와 다음 페이지 커서
+     */
+    CursorSlice<Score> findUserScoresAfter(Long userId, ContentTypeParameter type, Double score, RatingContentOrder order,
+                                           PageCursor cursor, int size);
+
     /**
      * 유저가 평가한 평점을 평점(0.5 ~ 5.0)별로 개수만큼 가져온다.
      * 정렬은 작품 main_title 가나다 순 고정
@@ -66,6 +81,19 @@ public interface UserCustomRepository {
     List<Interest> findUserInterestContent(Long userId, ContentTypeParameter type, InterestState state, InterestContentOrder order,
                                            Pageable pageable);
 
+    /**
+     * 유저의 보고싶어요, 보는중, 관심없음에 해당하는 작품을 커서 다음부터 가져온다.
+     * @param userId 조회 대상 유저
+     * @param type 컨텐츠 타입 Enum
+     * @param state 관심 종류 Enum
+     * @param order 정렬 방식
+     * @param cursor 이전 페이지 커서(첫 페이지면 null)
+     * @param size 사이즈
+     * @return 관심 리스트와 다음 페이지 커서
+     */
+    CursorSlice<Interest> findUserInterestContentAfter(Long userId, ContentTypeParameter type, InterestState state,
+                                                       InterestContentOrder order, PageCursor cursor, int size);
+
     /**
      * 유저 평점 분석 정보를 반환한다. 구성은
      * - 총 평점 개수
@@ -2,10 +2,12 @@ package com.devpedia.watchapedia.repository.user;
 
 import com.devpedia.watchapedia.domain.*;
 import com.devpedia.watchapedia.domain.enums.InterestState;
+import com.devpedia.watchapedia.dto.CursorSlice;
 import com.devpedia.watchapedia.dto.UserDto;
 import com.devpedia.watchapedia.dto.enums.ContentTypeParameter;
 import com.devpedia.watchapedia.dto.enums.InterestContentOrder;
 import com.devpedia.watchapedia.dto.enums.RatingContentOrder;
+import com.devpedia.watchapedia.util.PageCursor;
 import com.devpedia.watchapedia.util.UrlUtil;
 import com.querydsl.core.Tuple;
 import com.querydsl.core.types.NullExpression;
@@ -17,6 +19,7 @@ import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.core.types.dsl.NumberExpression;
 import com.querydsl.core.types.dsl.NumberPath;
 import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
@@ -25,15 +28,16 @@ import javax.persistence.EntityManager;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.time.LocalDate;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import static com.devpedia.watchapedia.domain.QComment.*;
 import static com.devpedia.watchapedia.domain.QContent.content;
 import static com.devpedia.watchapedia.domain.QContentParticipant.contentParticipant;
+import static com.devpedia.watchapedia.domain.QContentScoreStats.contentScoreStats;
 import static com.devpedia.watchapedia.domain.QContentTag.*;
 import static com.devpedia.watchapedia.domain.QImage.*;
 import static com.devpedia.watchapedia.domain.QInterest.*;
@@ -41,9 +45,8 @@ import static com.devpedia.watchapedia.domain.QMovie.*;
 import static com.devpedia.watchapedia.domain.QParticipant.participant;
 import static com.devpedia.watchapedia.domain.QScore.*;
 import static com.devpedia.watchapedia.domain.QTag.*;
-import static com.devpedia.watchapedia.domain.QUser.*;
+import static com.devpedia.watchapedia.domain.QUserActionCount.userActionCount;
 import static com.querydsl.core.types.dsl.Expressions.*;
-import static com.querydsl.jpa.JPAExpressions.*;
 
 @RequiredArgsConstructor
 public class UserCustomRepositoryImpl implements UserCustomRepository {
@@ -53,26 +56,9 @@ public class UserCustomRepositoryImpl implements UserCustomRepository {
 
     @Override
     public UserDto.UserActionCounts getUserActionCounts(Long id) {
-        List<Tuple> result = query
-                .select(
-                        content.dtype,
-                        score1.user.id.count(),
-                        interestCountCase(InterestState.WISH).sum(),
-                        interestCountCase(InterestState.WATCHING).sum(),
-                        interestCountCase(InterestState.NOT_INTEREST).sum(),
-                        comment.user.id.count()
-                )
-                .from(content)
-                .leftJoin(score1).on(
-                        content.id.eq(score1.id.contentId),
-                        score1.id.userId.eq(id))
-                .leftJoin(interest).on(
-                        content.id.eq(interest.id.contentId),
-                        interest.id.userId.eq(id))
-                .leftJoin(comment).on(
-                        content.id.eq(comment.id.contentId),
-                        comment.id.userId.eq(id))
-                .groupBy(content.dtype)
+        List<UserActionCount> result = query
+                .selectFrom(userActionCount)
+                .where(userActionCount.id.userId.eq(id))
                 .fetch();
 
         UserDto.UserActionCounts contents = UserDto.UserActionCounts.builder()
@@ -81,66 +67,63 @@ public class UserCustomRepositoryImpl implements UserCustomRepository {
                 .tvShow(UserDto.ActionCounts.zero())
                 .build();
 
-        for (Tuple tuple : result) {
-            Long ratingCount = tuple.get(1, Long.class);
-            Integer wishCount = tuple.get(2, Integer.class);
-            Integer watchingCount = tuple.get(3, Integer.class);
-            Integer notInterestCount = tuple.get(4, Integer.class);
-            Long commentCount = tuple.get(5, Long.class);
-
-            UserDto.ActionCounts actionCounts = UserDto.ActionCounts.builder()
-                    .ratingCount(ratingCount != null ? ratingCount.intValue() : 0)
-                    .wishCount(wishCount != null ? wishCount : 0)
-                    .watchingCount(watchingCount != null ? watchingCount : 0)
-                    .notInterestCount(notInterestCount != null ? notInterestCount : 0)
-                    .commentCount(commentCount != null ? commentCount.intValue() : 0)
-                    .build();
-
-            String dtype = tuple.get(0, String.class);
+        for (UserActionCount counts : result) {
+            String dtype = counts.getId().getDtype();
 
             if (ContentTypeParameter.MOVIES.getDtype().equals(dtype)) {
-                contents.setMovie(actionCounts);
+                contents.setMovie(toActionCounts(counts));
             } else if (ContentTypeParameter.BOOKS.getDtype().equals(dtype)) {
-                contents.setBook(actionCounts);
+                contents.setBook(toActionCounts(counts));
             } else if (ContentTypeParameter.TV_SHOWS.getDtype().equals(dtype)){
-                contents.setTvShow(actionCounts);
+                contents.setTvShow(toActionCounts(counts));
             }
         }
 
         return contents;
     }
 
-    private NumberExpression<Integer> interestCountCase(InterestState state) {
-        return interest.state.when(state).then(1).otherwise(0);
+    private UserDto.ActionCounts toActionCounts(UserActionCount counts) {
+        return UserDto.ActionCounts.builder()
+                .ratingCount(counts.getRatingCount())
+                .wishCount(counts.getWishCount())
+                .watchingCount(counts.getWatchingCount())
+                .notInterestCount(counts.getNotInterestCount())
+                .commentCount(counts.getCommentCount())
+                .build();
     }
 
     @Override
     public List<Score> findUserScores(Long userId, ContentTypeParameter type, Double score, RatingContentOrder order, Pageable pageable) {
-        QScore score2 = new QScore("score2");
-        NumberPath<Double> avg = Expressions.numberPath(Double.class, "average");
-
-        List<Tuple> result = query
-                .select(
-                        score1,
-                        as(select(score2.score.avg())
-                                .from(score2)
-                                .where(score2.content.id.eq(content.id)), avg)
-                )
+        return query
+                .select(score1)
                 .from(score1)
                 .join(content).on(content.id.eq(score1.id.contentId))
+                .leftJoin(contentScoreStats).on(contentScoreStats.id.eq(content.id))
                 .where(
                         content.dtype.eq(type.getDtype()),
                         score1.id.userId.eq(userId),
                         scoreEq(score)
                 )
-                .orderBy(getOrder(order, avg))
+                .orderBy(getOrder(order, contentScoreStats.scoreAverage))
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
                 .fetch();
+    }
 
-        return result.stream()
-                .map(tuple -> tuple.get(score1))
-                .collect(Collectors.toList());
+    @Override
+    public CursorSlice<Score> findUserScoresAfter(Long userId, ContentTypeParameter type, Double score, RatingContentOrder order,
+                                                  PageCursor cursor, int size) {
+        JPAQuery<Tuple> base = query
+                .select(score1, contentSortAverage(), content.mainTitle, content.productionDate, content.id)
+                .from(score1)
+                .join(content).on(content.id.eq(score1.id.contentId))
+                .leftJoin(contentScoreStats).on(contentScoreStats.id.eq(content.id))
+                .where(
+                        content.dtype.eq(type.getDtype()),
+                        score1.id.userId.eq(userId),
+                        scoreEq(score)
+                );
+        return fetchContentSlice(base, Score.class, ContentSort.from(order), cursor, size);
     }
 
     private BooleanExpression scoreEq(Double score) {
@@ -204,30 +187,20 @@ public class UserCustomRepositoryImpl implements UserCustomRepository {
 
     @Override
     public List<Interest> findUserInterestContent(Long userId, ContentTypeParameter type, InterestState state, InterestContentOrder order, Pageable pageable) {
-        NumberPath<Double> avg = Expressions.numberPath(Double.class, "average");
-
-        List<Tuple> result = query
-                .select(
-                        interest,
-                        as(select(score1.score.avg())
-                                .from(score1)
-                                .where(score1.content.id.eq(content.id)), avg)
-                )
+        return query
+                .select(interest)
                 .from(interest)
                 .join(content).on(content.id.eq(interest.id.contentId))
+                .leftJoin(contentScoreStats).on(contentScoreStats.id.eq(content.id))
                 .where(
                         content.dtype.eq(type.getDtype()),
                         interest.id.userId.eq(userId),
                         interest.state.eq(state)
                 )
-                .orderBy(getOrder(order, avg))
+                .orderBy(getOrder(order, contentScoreStats.scoreAverage))
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
                 .fetch();
-
-        return result.stream()
-                .map(tuple -> tuple.get(interest))
-                .collect(Collectors.toList());
     }
 
     private OrderSpecifier<?> getOrder(InterestContentOrder order, NumberPath<Double> avg) {
@@ -245,6 +218,96 @@ public class UserCustomRepositoryImpl implements UserCustomRepository {
         return os;
     }
 
+    @Override
+    public CursorSlice<Interest> findUserInterestContentAfter(Long userId, ContentTypeParameter type, InterestState state,
+                                                              InterestContentOrder order, PageCursor cursor, int size) {
+        JPAQuery<Tuple> base = query
+                .select(interest, contentSortAverage(), content.mainTitle, content.productionDate, content.id)
+                .from(interest)
+                .join(content).on(content.id.eq(interest.id.contentId))
+                .leftJoin(contentScoreStats).on(contentScoreStats.id.eq(content.id))
+                .where(
+                        content.dtype.eq(type.getDtype()),
+                        interest.id.userId.eq(userId),
+                        interest.state.eq(state)
+                );
+        return fetchContentSlice(base, Interest.class, ContentSort.from(order), cursor, size);
+    }
+
+    /**
+     * (정렬 값, 컨텐츠 id) 기준으로 커서 다음 행부터 조회하고 마지막 행으로 다음 커서를 만든다.
+     * base 쿼리는 (엔티티, 평균 평점, 제목, 제작일, 컨텐츠 id) 순서로 select 해야 한다.
+     */
+    private <T> CursorSlice<T> fetchContentSlice(JPAQuery<Tuple> base, Class<T> type, ContentSort sort, PageCursor cursor, int size) {
+        List<Tuple> result = base
+                .where(contentAfter(sort, cursor))
+                .orderBy(sort.getOrder(), content.id.asc())
+                .limit(size)
+                .fetch();
+
+        List<T> list = result.stream()
+                .map(tuple -> tuple.get(0, type))
+                .collect(Collectors.toList());
+        if (result.size() < size) return new CursorSlice<>(list, null);
+
+        Tuple last = result.get(result.size() - 1);
+        Object sortValue = sort == ContentSort.AVG_SCORE ? last.get(1, Double.class)
+                : sort == ContentSort.TITLE ? last.get(2, String.class)
+                : last.get(3, LocalDate.class);
+        return new CursorSlice<>(list, PageCursor.of(sortValue, last.get(4, Long.class)).encode());
+    }
+
+    private BooleanExpression contentAfter(ContentSort sort, PageCursor cursor) {
+        if (cursor == null) return null;
+        Long id = cursor.getLong(1);
+        switch (sort) {
+            case AVG_SCORE:
+                Double average = cursor.getDouble(0);
+                return contentSortAverage().lt(average)
+                        .or(contentSortAverage().eq(average).and(content.id.gt(id)));
+            case NEW:
+                LocalDate newDate = cursor.getDate(0);
+                return content.productionDate.lt(newDate)
+                        .or(content.productionDate.eq(newDate).and(content.id.gt(id)));
+            case OLD:
+                LocalDate oldDate = cursor.getDate(0);
+                return content.productionDate.gt(oldDate)
+                        .or(content.productionDate.eq(oldDate).and(content.id.gt(id)));
+            default:
+                String title = cursor.getString(0);
+                return content.mainTitle.gt(title)
+                        .or(content.mainTitle.eq(title).and(content.id.gt(id)));
+        }
+    }
+
+    /**
+     * 평점이 없는 컨텐츠도 커서로 비교할 수 있도록 평균 평점 null 은 -1 로 바꾼다. (내림차순 시 마지막)
+     */
+    private static NumberExpression<Double> contentSortAverage() {
+        return Expressions.numberTemplate(Double.class, "coalesce({0}, -1.0)", contentScoreStats.scoreAverage);
+    }
+
+    /**
+     * 평점/관심 작품 커서 조회의 정렬 기준.
+     * RatingContentOrder, InterestContentOrder 와 이름이 같다. (없으면 제목순)
+     */
+    private enum ContentSort {
+        AVG_SCORE, TITLE, NEW, OLD;
+
+        static ContentSort from(Enum<?> order) {
+            return order != null ? valueOf(order.name()) : TITLE;
+        }
+
+        OrderSpecifier<?> getOrder() {
+            switch (this) {
+                case AVG_SCORE: return contentSortAverage().desc();
+                case NEW: return content.productionDate.desc();
+                case OLD: return content.productionDate.asc();
+                default: return content.mainTitle.asc();
+            }
+        }
+    }
+
     @Override
     public UserDto.UserRatingAnalysis getRatingAnalysis(Long id) {
         String sql =
@@ -452,31 +515,24 @@ public class UserCustomRepositoryImpl implements UserCustomRepository {
 
     @Override
     public Map<Long, UserDto.ActionCounts> getActionCounts(Set<Long> ids) {
-        List<Tuple> result = query
-                .select(
-                        user.id,
-                        select(score1.id.userId.count().intValue()).from(score1).where(score1.id.userId.eq(user.id)),
-                        select(comment.id.userId.count().intValue()).from(comment).where(comment.id.userId.eq(user.id)),
-                        interestCountCase(InterestState.WISH).sum().intValue(),
-                        interestCountCase(InterestState.WATCHING).sum().intValue(),
-                        interestCountCase(InterestState.NOT_INTEREST).sum().intValue()
-                )
-                .from(user)
-                .leftJoin(interest).on(interest.id.userId.eq(user.id))
-                .where(user.id.in(ids))
-                .groupBy(user.id)
+        Map<Long, UserDto.ActionCounts> result = ids.stream()
+                .collect(Collectors.toMap(id -> id, id -> UserDto.ActionCounts.zero()));
+        if (ids.isEmpty()) return result;
+
+        List<UserActionCount> rows = query
+                .selectFrom(userActionCount)
+                .where(userActionCount.id.userId.in(ids))
                 .fetch();
 
-        return result.stream()
-                .collect(Collectors.toMap(
-                        tuple -> tuple.get(0, Long.class),
-                        tuple -> UserDto.ActionCounts.builder()
-                                .ratingCount(tuple.get(1, Integer.class))
-                                .commentCount(tuple.get(2, Integer.class))
-                                .wishCount(tuple.get(3, Integer.class))
-                                .watchingCount(tuple.get(4, Integer.class))
-                                .notInterestCount(tuple.get(5, Integer.class))
-                                .build()));
+        for (UserActionCount row : rows) {
+            UserDto.ActionCounts counts = result.get(row.getId().getUserId());
+            counts.setRatingCount(counts.getRatingCount() + row.getRatingCount());
+            counts.setWishCount(counts.getWishCount() + row.getWishCount());
+            counts.setWatchingCount(counts.getWatchingCount() + row.getWatchingCount());
+            counts.setNotInterestCount(counts.getNotInterestCount() + row.getNotInterestCount());
+            counts.setCommentCount(counts.getCommentCount() + row.getCommentCount());
+        }
+        return result;
     }
 
 }
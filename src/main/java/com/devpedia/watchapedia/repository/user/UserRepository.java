@@ -3,6 +3,8 @@ package com.devpedia.watchapedia.repository.user;
 import com.devpedia.watchapedia.domain.User;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -11,4 +13,7 @@ public interface UserRepository extends JpaRepository<User, Long>, UserCustomRep
     User findFirstByEmail(String email);
 
     List<User> findByNameContaining(String name, Pageable pageable);
+
+    @Query("select u.id from User u where u.isDeleted = false and u.id > :afterId order by u.id")
+    List<Long> findActiveIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
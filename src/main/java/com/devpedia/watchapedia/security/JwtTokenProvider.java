@@ -1,8 +1,10 @@
 package com.devpedia.watchapedia.security;
 
 import io.jsonwebtoken.*;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -23,8 +25,13 @@ public class JwtTokenProvider {
     @Value("${spring.jwt.secret-key}")
     private String secretKey;
 
+    @Value("${spring.jwt.verified-cache-size:100000}")
+    private long verifiedCacheSize;
+
+    private VerifiedTokenCache verifiedTokenCache;
+
     private static final long ACCESS_TOKEN_EXPIRE_TIME = 60 * 60 * 1000L;
-    private static final long REFRESH_TOKEN_EXPIRE_TIME = 7 * 24 * 60 * 60 * 1000L;
+    public static final long REFRESH_TOKEN_EXPIRE_TIME = 7 * 24 * 60 * 60 * 1000L;
 
     public static final String TYPE_ACCESS_TOKEN = "access";
     public static final String TYPE_REFRESH_TOKEN = "refresh";
@@ -32,9 +39,12 @@ public class JwtTokenProvider {
     public static final String ACCESS_TOKEN_HEADER = "Authorization";
     public static final String REFRESH_TOKEN_HEADER = "RefreshToken";
 
+    private static final String FAMILY_CLAIM = "fam";
+
     @PostConstruct
     protected void init() {
         this.secretKey = Base64.getEncoder().encodeToString(secretKey.getBytes());
+        this.verifiedTokenCache = new VerifiedTokenCache(verifiedCacheSize);
     }
 
     public String createAccessToken(String userPk, List<String> roles) {
@@ -42,8 +52,19 @@ public class JwtTokenProvider {
         return createToken(claims, ACCESS_TOKEN_EXPIRE_TIME);
     }
 
-    public String createRefreshToken(String userPk, List<String> roles) {
+    /**
+     * 리프레쉬 토큰을 만든다.
+     * 토큰 id(jti)는 회전할 때마다 새로 발급하고, family id 는 로그인 한번에서 이어지는 토큰끼리 같다.
+     * @param userPk 유저 PK
+     * @param roles 권한
+     * @param familyId 토큰 family id
+     * @param tokenId 토큰 id
+     * @return 리프레쉬 토큰
+     */
+    public String createRefreshToken(String userPk, List<String> roles, String familyId, String tokenId) {
         Claims claims = makeClaim(userPk, roles, TYPE_REFRESH_TOKEN);
+        claims.put(FAMILY_CLAIM, familyId);
+        claims.setId(tokenId);
         return createToken(claims, REFRESH_TOKEN_EXPIRE_TIME);
     }
 
@@ -66,13 +87,29 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    /**
+     * 토큰으로부터 인증 정보를 만든다.
+     * 이미 검증한 토큰이면 캐시된 인증 정보를 쓴다.
+     * @param token 토큰
+     * @return 인증 정보
+     */
     public Authentication getAuthentication(String token) {
-        JwtParseInfo parseInfo = getUserParseInfo(token);
-        Credential credential = Credential.of(parseInfo);
+        Credential credential = verifiedTokenCache.get(token, this::verify);
 
         return new UsernamePasswordAuthenticationToken(credential, "", credential.getAuthorities());
     }
 
+    public VerifiedTokenCache.Stats getVerifiedTokenCacheStats() {
+        return verifiedTokenCache.getStats();
+    }
+
+    private VerifiedTokenCache.VerifiedToken verify(String token) {
+        Claims claims = Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token).getBody();
+        Credential credential = new Credential(Long.valueOf(claims.getSubject()), claims.get("roles", List.class));
+        long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : 0;
+        return new VerifiedTokenCache.VerifiedToken(credential, expiresAt);
+    }
+
     public JwtParseInfo getUserParseInfo(String token) {
         Jws<Claims> parseInfo = Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token);
         return JwtParseInfo.builder()
@@ -81,6 +118,27 @@ public class JwtTokenProvider {
                 .build();
     }
 
+    /**
+     * 리프레쉬 토큰을 검증하고 내용을 읽는다.
+     * family 도입 전에 발급된 토큰은 토큰 id, family id 가 null 이다.
+     * @param token 리프레쉬 토큰
+     * @return 토큰 정보
+     * @throws JwtException 서명, 만료, 토큰 종류가 올바르지 않은 경우
+     */
+    public RefreshTokenInfo getRefreshTokenInfo(String token) {
+        Claims claims = Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token).getBody();
+        if (!TYPE_REFRESH_TOKEN.equals(claims.get("type", String.class)))
+            throw new MalformedJwtException("not a refresh token");
+
+        return RefreshTokenInfo.builder()
+                .id(Long.valueOf(claims.getSubject()))
+                .roles(claims.get("roles", List.class))
+                .tokenId(claims.getId())
+                .familyId(claims.get(FAMILY_CLAIM, String.class))
+                .expiresAt(claims.getExpiration().getTime())
+                .build();
+    }
+
     public Long getUserPk(String token) throws JwtException {
         Jws<Claims> parseInfo = Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token);
         return Long.valueOf(parseInfo.getBody().getSubject());
@@ -101,4 +159,29 @@ public class JwtTokenProvider {
             this.roles = roles;
         }
     }
+
+    @Data
+    public static class RefreshTokenInfo {
+        private Long id;
+        private List<String> roles;
+        private String tokenId;
+        private String familyId;
+        private long expiresAt;
+
+        @Builder
+        public RefreshTokenInfo(Long id, List<String> roles, String tokenId, String familyId, long expiresAt) {
+            this.id = id;
+            this.roles = roles;
+            this.tokenId = tokenId;
+            this.familyId = familyId;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class TokenPair {
+        private final String accessToken;
+        private final String refreshToken;
+    }
 }
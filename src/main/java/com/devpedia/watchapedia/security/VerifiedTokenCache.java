@@ -0,0 +1,91 @@
+package com.devpedia.watchapedia.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 서명 검증이 끝난 토큰의 인증 정보 캐시.
+ * 같은 토큰이 반복해서 들어오면 서명 검증과 claim 파싱을 건너뛴다.
+ * 키는 토큰 원문 대신 SHA-256 digest 를 쓰고, 항목은 토큰의 만료 시각에 같이 만료된다.
+ * 검증에 실패한 토큰은 캐시하지 않는다.
+ */
+public class VerifiedTokenCache {
+
+    private final Cache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        long remainMillis = value.getExpiresAt() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainMillis));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 캐시된 인증 정보를 반환하고, 없으면 검증해서 캐시한다.
+     * 같은 토큰을 동시에 요청하면 검증은 한번만 한다.
+     * @param token 토큰
+     * @param verifier 서명 검증 및 파싱 로직(실패 시 예외)
+     * @return 인증 정보
+     */
+    public Credential get(String token, Function<String, VerifiedToken> verifier) {
+        return cache.get(digest(token), key -> verifier.apply(token)).getCredential();
+    }
+
+    public Stats getStats() {
+        CacheStats stats = cache.stats();
+        return new Stats(stats.hitCount(), stats.missCount(), stats.hitRate(), cache.estimatedSize());
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class VerifiedToken {
+        private final Credential credential;
+        private final long expiresAt;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private final long hitCount;
+        private final long missCount;
+        private final double hitRatio;
+        private final long size;
+    }
+}
@@ -0,0 +1,104 @@
+package com.devpedia.watchapedia.service;
+
+import com.devpedia.watchapedia.repository.ElasticSearchRepository;
+import com.devpedia.watchapedia.repository.content.ContentRepository;
+import com.devpedia.watchapedia.repository.participant.ParticipantRepository;
+import com.devpedia.watchapedia.util.HangulUtil;
+import com.devpedia.watchapedia.util.PrefixTrie;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * 검색어 자동완성.
+ * 평가가 많은 컨텐츠 제목과 참여 작품이 많은 인물 이름을 메모리 접두어 트리로 들고 있다가
+ * 트리만으로 결과를 채울 수 있으면 엘라스틱 서치를 호출하지 않는다.
+ * 트리는 자모 분해 키와 초성 키 두 가지로 만들어서
+ * 입력 중인 글자("한ㄱ")와 초성 검색("ㅎㄱ") 모두 접두어로 찾는다.
+ */
+@Slf4j
+@Service
+public class AutocompleteService {
+
+    public static final int MAX_SUGGESTION_SIZE = 20;
+
+    private final ContentRepository contentRepository;
+    private final ParticipantRepository participantRepository;
+    private final ElasticSearchRepository searchRepository;
+    private final int topN;
+
+    private volatile Index index = Index.EMPTY;
+
+    public AutocompleteService(ContentRepository contentRepository,
+                               ParticipantRepository participantRepository,
+                               ElasticSearchRepository searchRepository,
+                               @Value("${autocomplete.top-n:10000}") int topN) {
+        this.contentRepository = contentRepository;
+        this.participantRepository = participantRepository;
+        this.searchRepository = searchRepository;
+        this.topN = topN;
+    }
+
+    /**
+     * 입력 중인 검색어의 자동완성 결과를 구한다.
+     * 메모리 트리 결과가 부족할 때만 엘라스틱 서치 결과로 채운다.
+     * @param query 입력 중인 검색어
+     * @param size 최대 개수
+     * @return 자동완성 단어 리스트
+     */
+    public List<String> autocomplete(String query, int size) {
+        Index current = index;
+        List<String> local = HangulUtil.isChosungOnly(query)
+                ? current.getChosung().search(HangulUtil.chosung(query), size)
+                : current.getJamo().search(HangulUtil.decompose(query), size);
+        if (local.size() >= size) return local;
+
+        Set<String> result = new LinkedHashSet<>(local);
+        try {
+            result.addAll(searchRepository.suggest(query.trim(), size));
+        } catch (Exception e) {
+            log.warn("autocomplete suggest failed, return local result only", e);
+        }
+        return new ArrayList<>(result).subList(0, Math.min(size, result.size()));
+    }
+
+    /**
+     * 자동완성 트리를 다시 만든다.
+     * 새 트리는 모두 만들어진 뒤에 한번에 교체된다.
+     */
+    @Scheduled(fixedDelayString = "${autocomplete.refresh-interval-millis:600000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        try {
+            PrefixTrie.Builder jamo = PrefixTrie.builder(MAX_SUGGESTION_SIZE);
+            PrefixTrie.Builder chosung = PrefixTrie.builder(MAX_SUGGESTION_SIZE);
+
+            Map<String, Long> words = new HashMap<>(contentRepository.getPopularTitles(topN));
+            participantRepository.getPopularNames(topN).forEach((name, weight) -> words.merge(name, weight, Math::max));
+
+            words.forEach((word, weight) -> {
+                jamo.add(HangulUtil.decompose(word), word, weight);
+                chosung.add(HangulUtil.chosung(word), word, weight);
+            });
+
+            index = new Index(jamo.build(), chosung.build());
+        } catch (Exception e) {
+            log.warn("autocomplete index rebuild failed, keep previous index", e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Index {
+        private static final Index EMPTY = new Index(PrefixTrie.empty(), PrefixTrie.empty());
+
+        private final PrefixTrie jamo;
+        private final PrefixTrie chosung;
+    }
+}
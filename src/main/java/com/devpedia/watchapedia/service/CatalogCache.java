@@ -0,0 +1,208 @@
+package com.devpedia.watchapedia.service;
+
+import com.devpedia.watchapedia.repository.RedisRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 카탈로그(컨텐츠 상세, 인물) 조회 결과의 2단계 캐시.
+ * 서버 메모리(Caffeine, 크기 제한 + TTL)를 먼저 보고, 없으면 Redis, 그래도 없으면 DB 에서 읽어 양쪽에 채운다.
+ *
+ * 키에는 영역(region) 별 버전이 들어가고, 관리자 수정 시 버전을 올려서 영역 전체를 한번에 무효화한다.
+ * 다른 서버는 주기적으로 Redis 의 버전을 읽어서 따라가므로 그 주기만큼 이전 값을 볼 수 있다.
+ * 캐시된 객체는 여러 요청이 공유하므로 꺼낸 쪽에서 수정하면 안 된다.
+ */
+@Slf4j
+@Service
+public class CatalogCache {
+
+    private final RedisRepository redisRepository;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Object> near;
+    private final Duration farTtl;
+
+    private final Map<Region, AtomicLong> versions = new EnumMap<>(Region.class);
+    private final Map<Region, Counter> counters = new EnumMap<>(Region.class);
+
+    public CatalogCache(RedisRepository redisRepository,
+                        ObjectMapper objectMapper,
+                        @Value("${catalog-cache.near.max-size:10000}") long nearMaxSize,
+                        @Value("${catalog-cache.near.ttl-seconds:60}") long nearTtlSeconds,
+                        @Value("${catalog-cache.far.ttl-seconds:600}") long farTtlSeconds) {
+        this.redisRepository = redisRepository;
+        this.objectMapper = objectMapper;
+        this.farTtl = Duration.ofSeconds(farTtlSeconds);
+        this.near = Caffeine.newBuilder()
+                .maximumSize(nearMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(nearTtlSeconds))
+                .build();
+        for (Region region : Region.values()) {
+            versions.put(region, new AtomicLong());
+            counters.put(region, new Counter());
+        }
+    }
+
+    /**
+     * 캐시에서 값을 읽고, 없으면 loader 로 읽어서 캐시에 채운다.
+     * Redis 장애는 캐시 미스로 처리한다. loader 가 null 을 반환하면 캐시하지 않는다.
+     * @param region 영역
+     * @param id 영역 내 id
+     * @param type 값 타입(Redis 역직렬화용)
+     * @param loader DB 조회 로직
+     * @return 값
+     */
+    public <T> T get(Region region, Object id, Class<T> type, Supplier<T> loader) {
+        String key = region.getName() + ":" + versions.get(region).get() + ":" + id;
+        Counter counter = counters.get(region);
+
+        Object cached = near.getIfPresent(key);
+        if (cached != null) {
+            counter.nearHit.increment();
+            return type.cast(cached);
+        }
+
+        T value = getFar(key, type, counter);
+        if (value != null) {
+            counter.farHit.increment();
+        } else {
+            counter.miss.increment();
+            value = loader.get();
+            if (value == null) return null;
+            putFar(key, value, counter);
+        }
+        near.put(key, value);
+        return value;
+    }
+
+    /**
+     * 영역의 버전을 올려서 캐시를 무효화한다.
+     * 트랜잭션 안이면 커밋 후에 올려서, 커밋 전의 값이 새 버전으로 다시 채워지지 않도록 한다.
+     * @param regions 무효화할 영역
+     */
+    public void invalidate(Region... regions) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    bumpVersions(regions);
+                }
+            });
+        } else {
+            bumpVersions(regions);
+        }
+    }
+
+    /**
+     * 다른 서버가 올린 버전을 반영한다.
+     * 버전은 앞으로만 옮긴다. 방금 올린 버전보다 늦게 읽은 값이나 Redis 초기화로 낮아진 값이 와도
+     * 이미 무효화한 이전 버전 키로 되돌아가지 않는다.
+     */
+    @Scheduled(fixedDelayString = "${catalog-cache.version-refresh-millis:5000}")
+    public void refreshVersions() {
+        try {
+            List<Region> regions = Arrays.asList(Region.values());
+            List<Long> remote = redisRepository.getCatalogCacheVersions(regions.stream()
+                    .map(Region::getName)
+                    .collect(Collectors.toList()));
+            for (int i = 0; i < regions.size(); i++) {
+                versions.get(regions.get(i)).accumulateAndGet(remote.get(i), Math::max);
+            }
+        } catch (Exception e) {
+            log.warn("catalog cache version refresh failed, keep local versions", e);
+        }
+    }
+
+    /**
+     * 영역 별 캐시 적중 통계를 구한다.
+     * @return 영역 이름 별 통계
+     */
+    public Map<String, Stats> getStats() {
+        Map<String, Stats> result = new LinkedHashMap<>();
+        counters.forEach((region, counter) -> result.put(region.getName(), counter.toStats(versions.get(region).get())));
+        return result;
+    }
+
+    private void bumpVersions(Region... regions) {
+        for (Region region : regions) {
+            try {
+                versions.get(region).accumulateAndGet(redisRepository.nextCatalogCacheVersion(region.getName()), Math::max);
+            } catch (Exception e) {
+                log.warn("catalog cache version bump failed, invalidate local only. region={}", region.getName(), e);
+                versions.get(region).incrementAndGet();
+            }
+            near.asMap().keySet().removeIf(key -> key.startsWith(region.getName() + ":"));
+        }
+    }
+
+    private <T> T getFar(String key, Class<T> type, Counter counter) {
+        try {
+            String json = redisRepository.getCatalogCache(key);
+            return json != null ? objectMapper.readValue(json, type) : null;
+        } catch (Exception e) {
+            counter.farError.increment();
+            log.warn("catalog cache read failed. key={}", key, e);
+            return null;
+        }
+    }
+
+    private void putFar(String key, Object value, Counter counter) {
+        try {
+            redisRepository.setCatalogCache(key, objectMapper.writeValueAsString(value), farTtl);
+        } catch (Exception e) {
+            counter.farError.increment();
+            log.warn("catalog cache write failed. key={}", key, e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public enum Region {
+        CONTENT("content"),
+        PARTICIPANT("participant");
+
+        private final String name;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private final long version;
+        private final long nearHitCount;
+        private final long farHitCount;
+        private final long missCount;
+        private final long farErrorCount;
+        private final double hitRatio;
+    }
+
+    private static class Counter {
+        private final LongAdder nearHit = new LongAdder();
+        private final LongAdder farHit = new LongAdder();
+        private final LongAdder miss = new LongAdder();
+        private final LongAdder farError = new LongAdder();
+
+        Stats toStats(long version) {
+            long nearHits = nearHit.sum();
+            long farHits = farHit.sum();
+            long misses = miss.sum();
+            long total = nearHits + farHits + misses;
+            return new Stats(version, nearHits, farHits, misses, farError.sum(),
+                    total > 0 ? (double) (nearHits + farHits) / total : 0.0);
+        }
+    }
+}
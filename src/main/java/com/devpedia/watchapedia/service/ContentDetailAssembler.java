@@ -0,0 +1,216 @@
+package com.devpedia.watchapedia.service;
+
+import com.devpedia.watchapedia.domain.Content;
+import com.devpedia.watchapedia.dto.ContentDto;
+import com.devpedia.watchapedia.dto.DetailDto;
+import com.devpedia.watchapedia.exception.EntityNotExistException;
+import com.devpedia.watchapedia.exception.common.ErrorCode;
+import com.devpedia.watchapedia.repository.content.ContentRepository;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 컨텐츠 상세 페이지를 영역 별로 병렬 조회해서 조립한다.
+ * 각 영역은 별도의 읽기 전용 트랜잭션에서 실행되며,
+ * 실패하거나 제한 시간을 넘긴 영역은 기본값으로 채워서 나머지 영역만으로 응답한다.
+ */
+@Slf4j
+@Service
+public class ContentDetailAssembler {
+
+    private final ContentService contentService;
+    private final ContentRepository contentRepository;
+    private final CatalogCache catalogCache;
+    private final Executor executor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long sectionTimeoutMillis;
+    private final LongAdder assembleCount = new LongAdder();
+    private final LongAdder requestedLoadCount = new LongAdder();
+    private final LongAdder executedLoadCount = new LongAdder();
+
+    public ContentDetailAssembler(ContentService contentService,
+                                  ContentRepository contentRepository,
+                                  CatalogCache catalogCache,
+                                  @Qualifier("detailExecutor") Executor executor,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${content.detail.section-timeout-millis:1500}") long sectionTimeoutMillis) {
+        this.contentService = contentService;
+        this.contentRepository = contentRepository;
+        this.catalogCache = catalogCache;
+        this.executor = executor;
+        this.sectionTimeoutMillis = sectionTimeoutMillis;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, (sectionTimeoutMillis + 999) / 1000));
+    }
+
+    /**
+     * 컨텐츠 상세 정보를 조회한다.
+     * - 컨텐츠 정보, 참여자, 갤러리
+     * - 토큰 유저 문맥 정보
+     * - 코멘트
+     * - 평점 통계
+     * - 포함된 컬렉션
+     * - 유사한 컨텐츠
+     * @param contentId 컨텐츠 id
+     * @param tokenId 토큰 유저 id
+     * @return 컨텐츠 상세 정보
+     */
+    public DetailDto.ContentDetail assemble(Long contentId, Long tokenId) {
+        DetailLoadContext loads = new DetailLoadContext();
+        DetailDto.ContentHead head = loadHead(loads, contentId);
+        if (head == null)
+            throw new EntityNotExistException(ErrorCode.ENTITY_NOT_FOUND);
+
+        CompletableFuture<ContentSection> content = section("content", ContentSection.empty(),
+                () -> getContentSection(contentId));
+        CompletableFuture<DetailDto.UserContext> context = section("context", null,
+                () -> contentService.getUserContext(contentId, tokenId));
+        CompletableFuture<DetailDto.CommentInfo> comments = section("comments", new DetailDto.CommentInfo(0, Collections.emptyList()),
+                () -> contentService.getCommentInfo(contentId, tokenId, PageRequest.of(0, ContentService.DETAIL_COMMENT_PAGE_SIZE), loads));
+        CompletableFuture<DetailDto.ScoreAnalysis> scores = section("scores", DetailDto.ScoreAnalysis.of(null),
+                () -> contentService.getScoreAnalysis(contentId));
+        CompletableFuture<DetailDto.CollectionInfo> collections = section("collections", new DetailDto.CollectionInfo(0, Collections.emptyList()),
+                () -> contentService.getCollectionInfo(contentId, PageRequest.of(0, ContentService.DETAIL_COLLECTION_PAGE_SIZE)));
+        CompletableFuture<List<ContentDto.CollectionItem>> similar = section("similar", Collections.emptyList(),
+                () -> contentService.getSimilar(loadHead(loads, contentId), PageRequest.of(0, ContentService.DETAIL_SIMILAR_PAGE_SIZE)));
+
+        ContentSection contentSection = content.join();
+        DetailDto.ContentDetail detail = DetailDto.ContentDetail.builder()
+                .context(context.join())
+                .contentInfo(contentSection.getContentInfo())
+                .participants(contentSection.getParticipants())
+                .comments(comments.join())
+                .galleries(contentSection.getGalleries())
+                .scores(scores.join())
+                .collections(collections.join())
+                .similar(similar.join())
+                .build();
+
+        assembleCount.increment();
+        requestedLoadCount.add(loads.getRequestCount());
+        executedLoadCount.add(loads.getExecuteCount());
+        log.debug("content detail {} loads: requested={}, executed={}, saved={}",
+                contentId, loads.getRequestCount(), loads.getExecuteCount(), loads.getSavedCount());
+        return detail;
+    }
+
+    /**
+     * 서버 시작 이후 상세 조회에서 요청 내 공유로 생략한 쿼리 통계를 반환한다.
+     * @return 상세 조회 수, 요청한 조회 수, 실행한 조회 수, 생략한 조회 수
+     */
+    public LoadStats getLoadStats() {
+        long assembled = assembleCount.sum();
+        long requested = requestedLoadCount.sum();
+        long executed = executedLoadCount.sum();
+        long saved = requested - executed;
+        return new LoadStats(assembled, requested, executed, saved,
+                assembled == 0 ? 0 : (double) saved / assembled);
+    }
+
+    /**
+     * 컨텐츠 id, 타입, 카테고리를 요청 내에서 한번만 조회한다.
+     * 존재 확인과 유사 컨텐츠 조회에 같이 쓴다.
+     * @param loads 요청 내 조회 결과 공유
+     * @param contentId 컨텐츠 id
+     * @return 컨텐츠 id, 타입, 카테고리(없으면 null)
+     */
+    private DetailDto.ContentHead loadHead(DetailLoadContext loads, Long contentId) {
+        return loads.load("head:" + contentId, () -> contentRepository.findHeadById(contentId).orElse(null));
+    }
+
+    /**
+     * 컨텐츠 엔티티가 필요한 영역(정보, 참여자, 갤러리)은
+     * 같은 트랜잭션에서 한번만 조회해서 만든다.
+     * 유저와 무관한 영역이라 카탈로그 캐시에 보관한다.
+     * @param contentId 컨텐츠 id
+     * @return 컨텐츠 정보, 참여자, 갤러리
+     */
+    private ContentSection getContentSection(Long contentId) {
+        return catalogCache.get(CatalogCache.Region.CONTENT, contentId, ContentSection.class, () -> {
+            Content content = contentRepository.findById(contentId)
+                    .orElseThrow(() -> new EntityNotExistException(ErrorCode.ENTITY_NOT_FOUND));
+            return new ContentSection(
+                    contentService.getContentInfo(content),
+                    contentService.getParticipants(content),
+                    contentService.getGalleries(content));
+        });
+    }
+
+    /**
+     * 영역 하나를 읽기 전용 트랜잭션으로 비동기 실행한다.
+     * 예외가 나거나 제한 시간을 넘기거나 스레드 풀이 가득 차서 거절되면 fallback 을 반환한다.
+     * completeOnTimeout 은 실행 중인 영역을 멈추지 않으므로, 트랜잭션 제한 시간을 각 쿼리의 JDBC query timeout
+     * (javax.persistence.query.timeout, 트랜잭션 남은 시간)으로 걸어서 늦어진 영역의 쿼리가 DB 에서 끊기게 한다.
+     * @param name 영역 이름(로그용)
+     * @param fallback 실패 시 기본값
+     * @param supplier 영역 조회 로직
+     * @return 영역 조회 결과
+     */
+    private <T> CompletableFuture<T> section(String name, T fallback, Supplier<T> supplier) {
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> readOnlyTransaction.execute(status -> supplier.get()), executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("content detail section '{}' rejected, fallback applied", name);
+            return CompletableFuture.completedFuture(fallback);
+        }
+        return future
+                .exceptionally(e -> {
+                    log.warn("content detail section '{}' failed, fallback applied", name, e);
+                    return fallback;
+                })
+                .completeOnTimeout(fallback, sectionTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class LoadStats {
+        private final long detailCount;
+        private final long requestedCount;
+        private final long executedCount;
+        private final long savedCount;
+        private final double savedPerDetail;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    private static class ContentSection {
+        /**
+         * 캐시(Redis)에서 역직렬화되므로 클래스 이름 대신 정해진 타입 이름으로만 구분한다.
+         */
+        @JsonTypeInfo(use = JsonTypeInfo.Id.NAME)
+        @JsonSubTypes({
+                @JsonSubTypes.Type(value = DetailDto.MovieDetail.class, name = "movie"),
+                @JsonSubTypes.Type(value = DetailDto.BookDetail.class, name = "book"),
+                @JsonSubTypes.Type(value = DetailDto.TvShowDetail.class, name = "tvShow")
+        })
+        private Object contentInfo;
+        private List<DetailDto.ContentRole> participants;
+        private List<String> galleries;
+
+        static ContentSection empty() {
+            return new ContentSection(null, Collections.emptyList(), Collections.emptyList());
+        }
+    }
+}
@@ -3,7 +3,9 @@ package com.devpedia.watchapedia.service;
 import com.devpedia.watchapedia.domain.Collection;
 import com.devpedia.watchapedia.domain.*;
 import com.devpedia.watchapedia.domain.enums.ImageCategory;
+import com.devpedia.watchapedia.domain.enums.InterestState;
 import com.devpedia.watchapedia.dto.ContentDto;
+import com.devpedia.watchapedia.dto.CursorSlice;
 import com.devpedia.watchapedia.dto.DetailDto;
 import com.devpedia.watchapedia.dto.ParticipantDto;
 import com.devpedia.watchapedia.dto.UserDto;
@@ -16,7 +18,7 @@ import com.devpedia.watchapedia.repository.collection.CollectionRepository;
 import com.devpedia.watchapedia.repository.content.ContentRepository;
 import com.devpedia.watchapedia.repository.participant.ParticipantRepository;
 import com.devpedia.watchapedia.repository.tag.TagRepository;
-import com.devpedia.watchapedia.util.UrlUtil;
+import com.devpedia.watchapedia.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -27,6 +29,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -53,7 +56,7 @@ public class ContentService {
     public static final int DETAIL_COLLECTION_PAGE_SIZE = 5;
     public static final int DETAIL_SIMILAR_PAGE_SIZE = 12;
 
-    private final S3Service s3Service;
+    private final ImageUploadService imageUploadService;
     private final UserService userService;
     private final ContentRepository contentRepository;
     private final ParticipantRepository participantRepository;
@@ -64,6 +67,14 @@ public class ContentService {
     private final ScoreRepository scoreRepository;
     private final InterestRepository interestRepository;
     private final CommentLikeRepository commentLikeRepository;
+    private final ContentScoreStatsRepository contentScoreStatsRepository;
+    private final TrendingService trendingService;
+    private final ScoreCountService scoreCountService;
+    private final WriteBehindBuffer writeBehindBuffer;
+    private final WriteBehindRepository writeBehindRepository;
+    private final UserTasteProfileService userTasteProfileService;
+    private final UserActionCountService userActionCountService;
+    private final ContentSimilarityRepository contentSimilarityRepository;
 
     /**
      * 컨텐츠와 컨텐츠에 해당하는 태그, 인물, 갤러리 등을 저장한다.
@@ -75,10 +86,11 @@ public class ContentService {
         addPosterImage(content, poster);
         addChildren(content, children.getRoles(), children.getTags(), children.getGallery());
         contentRepository.save(content);
+        contentScoreStatsRepository.save(ContentScoreStats.empty(content));
     }
 
     /**
-     * S3에 포스터 이미지를 업로드하고 이미지를 컨텐츠에 Set
+     * 포스터 이미지 업로드를 예약하고 이미지를 컨텐츠에 Set
      * @param content 컨텐츠
      * @param poster 포스터 이미지
      */
@@ -88,7 +100,8 @@ public class ContentService {
     }
 
     /**
-     * Multipart 를 Image 로 변환해 반환하고 S3에 업로드한다.
+     * Multipart 를 Image 로 변환해 반환하고 S3 업로드를 예약한다.
+     * 업로드는 트랜잭션 커밋 후 따로 진행된다.
      * @param image 이미지 파일
      * @param category 이미지 종류
      * @return 만들어진 Image 엔티티
@@ -98,7 +111,7 @@ public class ContentService {
             throw new InvalidFileException(ErrorCode.IMAGE_FORMAT_INVALID, "이미지 파일이 올바르지 않습니다");
 
         Image posterImage = Image.of(image, category);
-        s3Service.upload(image, posterImage.getPath());
+        imageUploadService.enqueue(image, posterImage.getPath());
 
         return posterImage;
     }
@@ -151,7 +164,7 @@ public class ContentService {
     }
 
     /**
-     * 갤러리 이미지를 S3에 업로드하고 컨텐츠에 Set
+     * 갤러리 이미지 업로드를 예약하고 컨텐츠에 Set
      * @param content 컨텐츠
      * @param gallery 갤러리 이미지 리스트
      */
@@ -293,10 +306,7 @@ public class ContentService {
      * @return 컬렉션 상세 정보 및 컨텐츠 리스트
      */
     public ContentDto.MainList getAwardDetail(Long id, Pageable pageable) {
-        Optional<Collection> optionalCollection = collectionRepository.findById(id);
-        Collection collection = optionalCollection.orElseThrow(() -> new EntityNotExistException(ErrorCode.ENTITY_NOT_FOUND));
-        if (!collection.getUser().getId().equals(AWARD_ADMIN_ID))
-            throw new EntityNotExistException(ErrorCode.ENTITY_NOT_FOUND);
+        Collection collection = getAwardIfExistOrThrow(id);
 
         List<Content> contents = contentRepository.getContentsInCollection(collection.getId(), pageable);
         return ContentDto.MainList.builder()
@@ -306,6 +316,27 @@ public class ContentService {
                 .build();
     }
 
+    /**
+     * 왓챠피디아 컬렉션의 컨텐츠 리스트를 커서 다음부터 조회.
+     * @param id 컬렉션 아이디
+     * @param cursor 이전 페이지 커서(첫 페이지면 null)
+     * @param size 사이즈
+     * @return 컨텐츠 리스트와 다음 페이지 커서
+     */
+    public CursorSlice<ContentDto.MainListItem> getAwardContentSlice(Long id, String cursor, int size) {
+        Collection collection = getAwardIfExistOrThrow(id);
+        return contentRepository.getContentsInCollectionAfter(collection.getId(), PageCursor.decode(cursor), size)
+                .map(this::getContentsWithScore);
+    }
+
+    private Collection getAwardIfExistOrThrow(Long id) {
+        Optional<Collection> optionalCollection = collectionRepository.findById(id);
+        Collection collection = optionalCollection.orElseThrow(() -> new EntityNotExistException(ErrorCode.ENTITY_NOT_FOUND));
+        if (!collection.getUser().getId().equals(AWARD_ADMIN_ID))
+            throw new EntityNotExistException(ErrorCode.ENTITY_NOT_FOUND);
+        return collection;
+    }
+
     /**
      * 유저 컬렉션 상세 정보 및 컨텐츠 리스트 조회.
      * @param id 컬렉션 아이디
@@ -327,6 +358,20 @@ public class ContentService {
                 .build();
     }
 
+    /**
+     * 유저 컬렉션의 컨텐츠 리스트를 커서 다음부터 조회.
+     * @param id 컬렉션 아이디
+     * @param cursor 이전 페이지 커서(첫 페이지면 null)
+     * @param size 사이즈
+     * @return 컨텐츠 리스트와 다음 페이지 커서
+     */
+    public CursorSlice<ContentDto.CollectionItem> getCollectionContentSlice(Long id, String cursor, int size) {
+        Optional<Collection> optionalCollection = collectionRepository.findById(id);
+        Collection collection = optionalCollection.orElseThrow(() -> new EntityNotExistException(ErrorCode.ENTITY_NOT_FOUND));
+        return contentRepository.getContentsInCollectionAfter(collection.getId(), PageCursor.decode(cursor), size)
+                .map(this::getCollectionContentsWithScore);
+    }
+
     /**
      * 주어진 컨텐츠에 평균 평점을 Set 해서 반환한다.
      * @param contents 컨텐츠 리스트
@@ -350,11 +395,11 @@ public class ContentService {
      * @return 통합 검색 결과
      */
     public ContentDto.SearchResult getSearchResult(String query) throws IOException {
-        Map<String, List<Long>> ids = searchRepository.searchAllContentsReturnIds(query, SEARCH_RESULT_LIST_PAGE, SEARCH_RESULT_LIST_SIZE);
-        List<Object> topList = getSearchList(ids.get(ElasticSearchRepository.TYPE_TOP_RESULT));
-        List<Object> movieList = getSearchList(ids.get(ElasticSearchRepository.TYPE_MOVIE));
-        List<Object> tvShowList = getSearchList(ids.get(ElasticSearchRepository.TYPE_TV_SHOW));
-        List<Object> bookList = getSearchList(ids.get(ElasticSearchRepository.TYPE_BOOK));
+        Map<String, List<ContentDto.SearchHit>> hits = searchRepository.searchAllContents(query, SEARCH_RESULT_LIST_PAGE, SEARCH_RESULT_LIST_SIZE);
+        List<Object> topList = getSearchList(hits.getOrDefault(ElasticSearchRepository.TYPE_TOP_RESULT, Collections.emptyList()));
+        List<Object> movieList = getSearchList(hits.getOrDefault(ElasticSearchRepository.TYPE_MOVIE, Collections.emptyList()));
+        List<Object> tvShowList = getSearchList(hits.getOrDefault(ElasticSearchRepository.TYPE_TV_SHOW, Collections.emptyList()));
+        List<Object> bookList = getSearchList(hits.getOrDefault(ElasticSearchRepository.TYPE_BOOK, Collections.emptyList()));
         List<UserDto.SearchUserItem> userList = userService.getUserSearchList(query, PageRequest.of(SEARCH_RESULT_LIST_PAGE - 1, SEARCH_RESULT_LIST_SIZE));
 
         return ContentDto.SearchResult.builder()
@@ -375,8 +420,29 @@ public class ContentService {
      * @return 검색 결과
      */
     public List<Object> searchByType(ContentTypeParameter typeParameter, String query, int page, int size) throws IOException {
-        List<Long> ids = searchRepository.searchTypeContentsReturnIds(typeParameter.getDtype(), query, page, size);
-        return getSearchList(ids);
+        List<ContentDto.SearchHit> hits = searchRepository.searchTypeContents(typeParameter.getDtype(), query, page, size);
+        return getSearchList(hits);
+    }
+
+    /**
+     * 검색 결과를 검색 순위 순서대로 DTO 로 변환해서 반환한다.
+     * 검색 문서만으로 DTO 를 만들지 못한 결과만 DB 에서 조회해서
+     * 컨텐츠 타입 별로 알맞은 DTO 형태로 변환한다.
+     * @param hits 검색 결과 리스트
+     * @return 검색 결과 DTO 리스트(SearchMovieItem, SearchTvShowItem, SearchBookItem)
+     */
+    private List<Object> getSearchList(List<ContentDto.SearchHit> hits) {
+        Map<Long, Object> fallback = getSearchItemsFromDb(hits.stream()
+                .filter(hit -> hit.getItem() == null)
+                .map(ContentDto.SearchHit::getId)
+                .collect(Collectors.toList()));
+
+        List<Object> result = new ArrayList<>();
+        for (ContentDto.SearchHit hit : hits) {
+            Object item = hit.getItem() != null ? hit.getItem() : fallback.get(hit.getId());
+            if (item != null) result.add(item);
+        }
+        return result;
     }
 
     /**
@@ -384,76 +450,101 @@ public class ContentService {
      * 해당 컨텐츠를 조회 후 컨텐츠 타입 별로
      * 알맞은 DTO 형태로 변환해서 반환한다.
      * @param ids 컨텐츠 ID 리스트
-     * @return 검색 결과 DTO 리스트(SearchMovieItem, SearchTvShowItem, SearchBookItem)
+     * @return key: 컨텐츠 ID, value: 검색 결과 DTO
      */
-    private List<Object> getSearchList(List<Long> ids) {
-        List<Content> contents = contentRepository.findAllById(ids);
-        List<Object> result = new ArrayList<>();
+    private Map<Long, Object> getSearchItemsFromDb(List<Long> ids) {
+        if (ids.isEmpty()) return Collections.emptyMap();
 
-        for (Content content : contents) {
+        Map<Long, Object> result = new HashMap<>();
+        for (Content content : contentRepository.findAllById(ids)) {
             if (content instanceof Movie)
-                result.add(ContentDto.SearchMovieItem.of((Movie) content));
+                result.put(content.getId(), ContentDto.SearchMovieItem.of((Movie) content));
             else if (content instanceof TvShow)
-                result.add(ContentDto.SearchTvShowItem.of((TvShow) content));
+                result.put(content.getId(), ContentDto.SearchTvShowItem.of((TvShow) content));
             else if (content instanceof Book)
-                result.add(ContentDto.SearchBookItem.of((Book) content));
+                result.put(content.getId(), ContentDto.SearchBookItem.of((Book) content));
         }
-
         return result;
     }
 
     /**
-     * 컨텐츠 상세 정보를 조회한다.
+     * 컨텐츠 상세 페이지의 초기 코멘트 리스트와
+     * 해당 컨텐츠의 총 코멘트 개수를 구한다.
      * @param contentId 컨텐츠 id
-     * @param tokenId 토큰 유저 id
-     * @return 컨텐츠 상세 정보
+     * @param userId 토큰 유저 id
+     * @param pageable pageable
+     * @return 컨텐츠 코멘트 정보
      */
-    public DetailDto.ContentDetail getContentDetail(Long contentId, Long tokenId) {
-        Optional<Content> optionalContent = contentRepository.findById(contentId);
-        Content content = optionalContent.orElseThrow(() -> new EntityNotExistException(ErrorCode.ENTITY_NOT_FOUND));
-
-        return DetailDto.ContentDetail.builder()
-                .context(getUserContext(content, tokenId))
-                .contentInfo(getContentInfo(content))
-                .participants(getParticipants(content))
-                .comments(getCommentInfo(content.getId(), tokenId, PageRequest.of(0, DETAIL_COMMENT_PAGE_SIZE)))
-                .galleries(getGalleries(content))
-                .scores(getScoreAnalysis(content))
-                .collections(getCollectionInfo(content.getId(), PageRequest.of(0, DETAIL_COLLECTION_PAGE_SIZE)))
-                .similar(getSimilar(content.getId(), PageRequest.of(0, DETAIL_SIMILAR_PAGE_SIZE)))
-                .build();
+    public DetailDto.CommentInfo getCommentInfo(Long contentId, Long userId, Pageable pageable) {
+        return getCommentInfo(contentId, userId, pageable, new DetailLoadContext());
     }
 
     /**
      * 컨텐츠 상세 페이지의 초기 코멘트 리스트와
      * 해당 컨텐츠의 총 코멘트 개수를 구한다.
+     * 페이지가 다 차지 않았으면 마지막 페이지이므로 개수 쿼리 없이 개수를 구한다.
      * @param contentId 컨텐츠 id
      * @param userId 토큰 유저 id
      * @param pageable pageable
+     * @param loads 요청 내 조회 결과 공유
      * @return 컨텐츠 코멘트 정보
      */
-    public DetailDto.CommentInfo getCommentInfo(Long contentId, Long userId, Pageable pageable) {
-        int count = contentRepository.countComments(contentId).intValue();
+    public DetailDto.CommentInfo getCommentInfo(Long contentId, Long userId, Pageable pageable, DetailLoadContext loads) {
         List<DetailDto.CommentDetail> list = contentRepository.getComments(contentId, userId != null ? userId: 0, pageable);
+
+        int count;
+        if (list.size() < pageable.getPageSize() && (pageable.getOffset() == 0 || !list.isEmpty())) {
+            loads.derived();
+            count = (int) pageable.getOffset() + list.size();
+        } else {
+            count = loads.load("commentCount:" + contentId, () -> contentRepository.countComments(contentId)).intValue();
+        }
+
         return DetailDto.CommentInfo.builder()
                 .count(count)
                 .list(list)
                 .build();
     }
 
+    /**
+     * 컨텐츠의 코멘트 리스트를 커서 다음부터 구한다.
+     * @param contentId 컨텐츠 id
+     * @param userId 토큰 유저 id
+     * @param cursor 이전 페이지 커서(첫 페이지면 null)
+     * @param size 사이즈
+     * @return 코멘트 리스트와 다음 페이지 커서
+     */
+    public CursorSlice<DetailDto.CommentDetail> getCommentSlice(Long contentId, Long userId, String cursor, int size) {
+        return contentRepository.getCommentsAfter(contentId, userId != null ? userId : 0, PageCursor.decode(cursor), size);
+    }
+
     /**
      * 해당 컨텐츠와 유사한 컨텐츠 리스트를 구한다.
-     * 현재는 카테고리가 동일한 컨텐츠를 구한다.
      * @param contentId 컨텐츠 id
      * @param pageable pageable
      * @return 유사한 컨텐츠 리스트
      */
     public List<ContentDto.CollectionItem> getSimilar(Long contentId, Pageable pageable) {
-        Optional<Content> optionalContent = contentRepository.findById(contentId);
-        Content content = optionalContent.orElseThrow(() -> new EntityNotExistException(ErrorCode.ENTITY_NOT_FOUND));
+        Optional<DetailDto.ContentHead> optionalHead = contentRepository.findHeadById(contentId);
+        DetailDto.ContentHead head = optionalHead.orElseThrow(() -> new EntityNotExistException(ErrorCode.ENTITY_NOT_FOUND));
+        return getSimilar(head, pageable);
+    }
 
-        String category = content.getCategory().split("/")[0];
-        List<Content> contents = contentRepository.findByCategoryContainingAndDtype(category, content.getDtype(), pageable);
+    /**
+     * 해당 컨텐츠와 유사한 컨텐츠 리스트를 구한다.
+     * 미리 계산된 유사도 순으로 구하고, 아직 계산되지 않은 컨텐츠(최근 등록 등)는
+     * 카테고리가 동일한 컨텐츠를 구한다.
+     * 이미 조회한 컨텐츠 타입, 카테고리를 쓰므로 컨텐츠를 다시 조회하지 않는다.
+     * @param head 컨텐츠 id, 타입, 카테고리
+     * @param pageable pageable
+     * @return 유사한 컨텐츠 리스트
+     */
+    public List<ContentDto.CollectionItem> getSimilar(DetailDto.ContentHead head, Pageable pageable) {
+        List<Content> contents = contentSimilarityRepository.findSimilarContents(head.getId(), pageable);
+        if (contents.isEmpty() && !contentSimilarityRepository.existsByIdContentId(head.getId())) {
+            String category = head.getCategory().split("/")[0];
+            contents = contentRepository.findByCategoryContainingAndDtype(category, head.getDtype(), pageable);
+        }
         return getCollectionContentsWithScore(contents);
     }
 
@@ -473,37 +564,48 @@ public class ContentService {
 
     /**
      * 각 컬렉션 별 포함한 컨텐츠 4개의 포스터 정보를 구해서 리턴한다.
+     * 포스터는 전체 컬렉션에 대해 한번에 조회한다.
      * @param collections 컬렉션 리스트
      * @return 포함된 컨텐츠 4개의 포스터 정보
      */
     private List<ContentDto.CollectionFourImages> convertCollections(List<Collection> collections) {
-        List<ContentDto.CollectionFourImages> list = new ArrayList<>();
-        for (Collection collection : collections) {
-            List<Content> contentsInCollection =
-                    contentRepository.getContentsInCollection(collection.getId(), PageRequest.of(0, AWARD_POSTER_IMAGE_COUNT));
-            list.add(new ContentDto.CollectionFourImages(collection, contentsInCollection));
-        }
-        return list;
+        Set<Long> ids = collections.stream()
+                .map(Collection::getId)
+                .collect(Collectors.toSet());
+        Map<Long, List<String>> posterPaths = collectionRepository.getPosterPaths(ids, AWARD_POSTER_IMAGE_COUNT);
+
+        return collections.stream()
+                .map(collection -> ContentDto.CollectionFourImages.of(collection,
+                        posterPaths.getOrDefault(collection.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
     }
 
     /**
      * 컨텐츠의 평점 관련 통계 정보를 반환한다.
-     * @param content 컨텐츠
+     * @param contentId 컨텐츠 id
      * @return 평점 정보
      */
-    public DetailDto.ScoreAnalysis getScoreAnalysis(Content content) {
-        return contentRepository.getScoreAnalysis(content.getId());
+    public DetailDto.ScoreAnalysis getScoreAnalysis(Long contentId) {
+        return contentRepository.getScoreAnalysis(contentId);
     }
 
     /**
      * 해당 유저의 해당 컨텐츠 관련 활동 정보를 반환한다.
-     * @param content 컨텐츠
+     * 쓰기 지연 버퍼에 아직 반영되지 않은 평점, 관심 상태가 있으면 그 값으로 보여준다.
+     * @param contentId 컨텐츠 id
      * @param userId 유저 id
      * @return 활동 정보
      */
-    private DetailDto.UserContext getUserContext(Content content, Long userId) {
+    public DetailDto.UserContext getUserContext(Long contentId, Long userId) {
         if (userId == null) return null;
-        return contentRepository.getUserContext(content.getId(), userId);
+        DetailDto.UserContext context = contentRepository.getUserContext(contentId, userId);
+        if (context == null) return null;
+
+        WriteBehindBuffer.Pending<Double> pendingScore = writeBehindBuffer.getPendingScore(userId, contentId);
+        if (pendingScore != null) context.setScore(pendingScore.getValue());
+        WriteBehindBuffer.Pending<InterestState> pendingInterest = writeBehindBuffer.getPendingInterest(userId, contentId);
+        if (pendingInterest != null) context.setInterestState(pendingInterest.getValue());
+        return context;
     }
 
     /**
@@ -537,12 +639,16 @@ public class ContentService {
     /**
      * 책의 상세 정보를 구한다.
      * 책의 경우 저자의 정보도 같이 반환함.
+     * 저자는 참여자 영역에서 어차피 읽는 참여자 컬렉션에서 찾으므로 따로 조회하지 않는다.
      * @param book 책
      * @return 책 상세 정보
      */
     private DetailDto.BookDetail getBookInfo(Book book) {
-        List<Participant> authors = participantRepository.findContentParticipantHasJob(book.getId(), CONTENT_JOB_AUTHOR);
-        Participant author = authors.size() > 0 ? authors.get(0) : null;
+        Participant author = book.getParticipants().stream()
+                .map(ContentParticipant::getParticipant)
+                .filter(participant -> CONTENT_JOB_AUTHOR.equals(participant.getJob()))
+                .findFirst()
+                .orElse(null);
         return DetailDto.BookDetail.of(book, author);
     }
 
@@ -573,7 +679,8 @@ public class ContentService {
      */
     public List<String> getGalleries(Content content) {
         return content.getImages().stream()
-                .map(contentImage -> UrlUtil.getCloudFrontUrl(contentImage.getImage().getPath()))
+                .filter(contentImage -> !contentImage.getImage().isUploadFailed())
+                .map(contentImage -> contentImage.getImage().getCloudFrontUrl())
                 .collect(Collectors.toList());
     }
 
@@ -597,6 +704,8 @@ public class ContentService {
                     .containsSpoiler(false)
                     .build();
             commentRepository.save(comment);
+            userActionCountService.addComment(user.getId(), content, 1);
+            trendingService.commentCreated(content, LocalDateTime.now());
         } else {
             Comment comment = optionalComment.get();
             comment.edit(request.getDescription());
@@ -614,6 +723,8 @@ public class ContentService {
         Optional<Comment> optionalComment = commentRepository.findById(new Comment.CommentId(user.getId(), content.getId()));
         Comment comment = optionalComment.orElseThrow(() -> new EntityNotExistException(ErrorCode.ENTITY_NOT_FOUND));
         commentRepository.delete(comment);
+        userActionCountService.addComment(user.getId(), content, -1);
+        trendingService.commentDeleted(content, comment.getCreateDatetime());
     }
 
     /**
@@ -629,26 +740,93 @@ public class ContentService {
     /**
      * 평점을 생성하거나 수정한다,
      * 평점이 존재하지 않으면 생성, 이미 존재하면 수정하여 적용함.
+     * 쓰기 지연 모드면 버퍼에만 기록하고 반영은 {@link #applyPendingWrites} 에서 한다.
      * @param contentId 컨텐츠 Id
      * @param userId 평점 유저 id
      * @param request 평점 요청(점수)
      */
     public void createOrEditScore(Long contentId, Long userId, DetailDto.ScoreRequest request) {
+        if (request.getScore() != null && writeBehindBuffer.putScore(userId, contentId, request.getScore())) return;
+
         User user = userService.getUserIfExistOrThrow(userId);
         Content content = getContentIfExistOrThrow(contentId);
 
         Optional<Score> optionalScore = scoreRepository.findById(new Score.ScoreId(user.getId(), content.getId()));
         if (optionalScore.isEmpty()) {
+            applyScoreDelta(content, null, request.getScore());
             Score score = Score.builder()
                     .user(user)
                     .content(content)
                     .score(request.getScore())
                     .build();
             scoreRepository.save(score);
+            scoreCountService.increment();
+            userActionCountService.addRating(user.getId(), content, 1);
         } else {
             Score score = optionalScore.get();
+            if (request.getScore() != null)
+                applyScoreDelta(content, score.getScore(), request.getScore());
             score.edit(request.getScore());
         }
+        userTasteProfileService.invalidate(user.getId());
+    }
+
+    /**
+     * 평점 변경분을 컨텐츠 평점 집계에 반영한다.
+     * 집계 행은 컨텐츠 생성 시(이전 컨텐츠는 rebuildScoreStats 로) 만들어지고, 쓰기 락을 잡고 수정한다.
+     * 그래도 행이 없으면 upsert 로 한 행만 만든 뒤 락을 잡고 현재 평점으로 집계한다.
+     * score 테이블을 변경하기 전에 호출해야 변경분이 중복 반영되지 않는다.
+     * @param content 컨텐츠
+     * @param before 변경 전 평점(신규 등록이면 null)
+     * @param after 변경 후 평점(삭제면 null)
+     */
+    private void applyScoreDelta(Content content, Double before, Double after) {
+        ContentScoreStats stats = contentScoreStatsRepository.findByIdForUpdate(content.getId())
+                .orElseGet(() -> createScoreStats(content));
+        stats.editScore(before, after);
+    }
+
+    private ContentScoreStats createScoreStats(Content content) {
+        log.warn("content score stats not exist, create from scores. contentId={}", content.getId());
+        contentScoreStatsRepository.insertEmptyIfAbsent(content.getId());
+        ContentScoreStats stats = contentScoreStatsRepository.findByIdForUpdate(content.getId())
+                .orElseThrow(() -> new EntityNotExistException(ErrorCode.ENTITY_NOT_FOUND));
+        if (stats.getScoreCount() == 0)
+            stats.reset(toHistogram(scoreRepository.countGroupByScore(content.getId())));
+        return stats;
+    }
+
+    /**
+     * (평점, 개수) 집계 결과를 분포로 변환한다.
+     * @param rows 평점 별 개수
+     * @return 평점 분포
+     */
+    private ScoreHistogram toHistogram(List<Object[]> rows) {
+        ScoreHistogram histogram = ScoreHistogram.empty();
+        for (Object[] row : rows) {
+            histogram = histogram.plus((Double) row[0], ((Long) row[1]).intValue());
+        }
+        return histogram;
+    }
+
+    /**
+     * score 테이블로부터 전체 컨텐츠의 평점 집계를 다시 만든다.
+     * 집계 행이 없는 컨텐츠에 행을 먼저 만들어서 집계 테이블 도입 이전 데이터 이관 및 보정 용도로 쓴다.
+     */
+    public void rebuildScoreStats() {
+        contentScoreStatsRepository.insertMissing();
+
+        Map<Long, ScoreHistogram> histograms = new HashMap<>();
+        for (Object[] row : scoreRepository.countGroupByContentAndScore()) {
+            Long contentId = (Long) row[0];
+            ScoreHistogram histogram = histograms.getOrDefault(contentId, ScoreHistogram.empty());
+            histograms.put(contentId, histogram.plus((Double) row[1], ((Long) row[2]).intValue()));
+        }
+
+        for (ContentScoreStats stats : contentScoreStatsRepository.findAll()) {
+            ScoreHistogram histogram = histograms.get(stats.getId());
+            stats.reset(histogram != null ? histogram : ScoreHistogram.empty());
+        }
     }
 
     /**
@@ -659,6 +837,8 @@ public class ContentService {
      * @param request 관심 요청(관심 상태)
      */
     public void createOrEditInterest(Long contentId, Long userId, DetailDto.InterestRequest request) {
+        if (request.getState() != null && writeBehindBuffer.putInterest(userId, contentId, request.getState())) return;
+
         User user = userService.getUserIfExistOrThrow(userId);
         Content content = getContentIfExistOrThrow(contentId);
 
@@ -670,8 +850,11 @@ public class ContentService {
                     .state(request.getState())
                     .build();
             interestRepository.save(interest);
+            userActionCountService.changeInterest(user.getId(), content, null, request.getState());
         } else {
             Interest interest = optionalInterest.get();
+            if (request.getState() != null)
+                userActionCountService.changeInterest(user.getId(), content, interest.getState(), request.getState());
             interest.edit(request.getState());
         }
     }
@@ -682,11 +865,17 @@ public class ContentService {
      * @param userId 평점 유저 id
      */
     public void deleteScore(Long contentId, Long userId) {
+        if (writeBehindBuffer.putScore(userId, contentId, null)) return;
+
         User user = userService.getUserIfExistOrThrow(userId);
         Content content = getContentIfExistOrThrow(contentId);
         Optional<Score> optionalScore = scoreRepository.findById(new Score.ScoreId(user.getId(), content.getId()));
         Score score = optionalScore.orElseThrow(() -> new EntityNotExistException(ErrorCode.ENTITY_NOT_FOUND));
+        applyScoreDelta(content, score.getScore(), null);
         scoreRepository.delete(score);
+        scoreCountService.decrement();
+        userActionCountService.addRating(user.getId(), content, -1);
+        userTasteProfileService.invalidate(user.getId());
     }
 
     /**
@@ -695,11 +884,14 @@ public class ContentService {
      * @param userId 관심 유저 id
      */
     public void deleteInterest(Long contentId, Long userId) {
+        if (writeBehindBuffer.putInterest(userId, contentId, null)) return;
+
         User user = userService.getUserIfExistOrThrow(userId);
         Content content = getContentIfExistOrThrow(contentId);
         Optional<Interest> optionalInterest = interestRepository.findById(new Interest.InterestId(user.getId(), content.getId()));
         Interest interest = optionalInterest.orElseThrow(() -> new EntityNotExistException(ErrorCode.ENTITY_NOT_FOUND));
         interestRepository.delete(interest);
+        userActionCountService.changeInterest(user.getId(), content, interest.getState(), null);
     }
 
     /**
@@ -709,6 +901,8 @@ public class ContentService {
      * @param likeUserId 좋아요 유저 id
      */
     public void createCommentLike(Long contentId, Long commentUserId, Long likeUserId) {
+        if (writeBehindBuffer.putCommentLike(contentId, commentUserId, likeUserId, true)) return;
+
         Comment comment = getCommentIfExistOrThrow(contentId, commentUserId);
         User user = userService.getUserIfExistOrThrow(likeUserId);
 
@@ -719,6 +913,7 @@ public class ContentService {
                     .user(user)
                     .build();
             commentLikeRepository.save(like);
+            commentRepository.addLikeCount(contentId, commentUserId, 1);
         }
     }
 
@@ -729,10 +924,155 @@ public class ContentService {
      * @param likeUserId 좋아요 유저 id
      */
     public void deleteCommentLike(Long contentId, Long commentUserId, Long likeUserId) {
+        if (writeBehindBuffer.putCommentLike(contentId, commentUserId, likeUserId, false)) return;
+
         Comment comment = getCommentIfExistOrThrow(contentId, commentUserId);
         Optional<CommentLike> optionalLike = commentLikeRepository.findById(new CommentLike.CommentLikeId(comment.getId(), likeUserId));
         CommentLike commentLike = optionalLike.orElseThrow(() -> new EntityNotExistException(ErrorCode.ENTITY_NOT_FOUND));
         commentLikeRepository.delete(commentLike);
+        commentRepository.addLikeCount(contentId, commentUserId, -1);
+    }
+
+    /**
+     * 쓰기 지연 버퍼에서 꺼낸 평점, 관심, 코멘트 좋아요 변경을 한 트랜잭션에서 반영한다.
+     * 유저, 컨텐츠, 기존 행은 묶음 단위로 한번에 조회하고 새 행은 persist 로 모아서
+     * insert 가 hibernate.jdbc.batch_size 단위로 나가도록 한다.
+     * 대상 유저나 컨텐츠, 코멘트가 없어졌거나 삭제할 행이 이미 없는 변경은 버린다.
+     * @param batch 반영할 변경 묶음
+     */
+    public void applyPendingWrites(WriteBehindBuffer.Batch batch) {
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> contentIds = new HashSet<>();
+        batch.getScores().keySet().forEach(id -> { userIds.add(id.getUserId()); contentIds.add(id.getContentId()); });
+        batch.getInterests().keySet().forEach(id -> { userIds.add(id.getUserId()); contentIds.add(id.getContentId()); });
+        batch.getCommentLikes().keySet().forEach(id -> { userIds.add(id.getLikeUserId()); contentIds.add(id.getCommentId().getContentId()); });
+
+        Map<Long, User> users = userService.getActiveUsers(userIds);
+        Map<Long, Content> contents = contentRepository.findAllById(contentIds).stream()
+                .collect(Collectors.toMap(Content::getId, content -> content));
+
+        List<Object> inserts = new ArrayList<>();
+        applyPendingScores(batch.getScores(), users, contents, inserts);
+        applyPendingInterests(batch.getInterests(), users, contents, inserts);
+        Map<Comment.CommentId, Integer> likeDeltas = applyPendingCommentLikes(batch.getCommentLikes(), users, inserts);
+        writeBehindRepository.persistAll(inserts);
+
+        likeDeltas.forEach((commentId, delta) -> {
+            if (delta != 0) commentRepository.addLikeCount(commentId.getContentId(), commentId.getUserId(), delta);
+        });
+    }
+
+    /**
+     * 평점 변경을 반영한다.
+     * 평점 집계 행 락은 컨텐츠 id 순서로 잡아서 다른 반영 트랜잭션과 교착되지 않도록 한다.
+     */
+    private void applyPendingScores(Map<Score.ScoreId, WriteBehindBuffer.Pending<Double>> pending,
+                                    Map<Long, User> users, Map<Long, Content> contents, List<Object> inserts) {
+        if (pending.isEmpty()) return;
+        Map<Score.ScoreId, Score> existing = writeBehindRepository.findScores(users.keySet(), contents.keySet()).stream()
+                .collect(Collectors.toMap(Score::getId, score -> score));
+
+        Set<Long> changedUserIds = new HashSet<>();
+        List<Score.ScoreId> ids = new ArrayList<>(pending.keySet());
+        ids.sort(Comparator.comparing(Score.ScoreId::getContentId).thenComparing(Score.ScoreId::getUserId));
+        for (Score.ScoreId id : ids) {
+            User user = users.get(id.getUserId());
+            Content content = contents.get(id.getContentId());
+            if (user == null || content == null) continue;
+
+            Double after = pending.get(id).getValue();
+            Score score = existing.get(id);
+            if (score != null || after != null) changedUserIds.add(user.getId());
+            if (score == null && after != null) {
+                applyScoreDelta(content, null, after);
+                inserts.add(Score.builder().user(user).content(content).score(after).build());
+                scoreCountService.increment();
+                userActionCountService.addRating(user.getId(), content, 1);
+            } else if (score != null && after != null) {
+                applyScoreDelta(content, score.getScore(), after);
+                score.edit(after);
+            } else if (score != null) {
+                applyScoreDelta(content, score.getScore(), null);
+                scoreRepository.delete(score);
+                scoreCountService.decrement();
+                userActionCountService.addRating(user.getId(), content, -1);
+            }
+        }
+        changedUserIds.forEach(userTasteProfileService::invalidate);
+    }
+
+    /**
+     * 관심 상태 변경을 반영한다.
+     */
+    private void applyPendingInterests(Map<Interest.InterestId, WriteBehindBuffer.Pending<InterestState>> pending,
+                                       Map<Long, User> users, Map<Long, Content> contents, List<Object> inserts) {
+        if (pending.isEmpty()) return;
+        Map<Interest.InterestId, Interest> existing = writeBehindRepository.findInterests(users.keySet(), contents.keySet()).stream()
+                .collect(Collectors.toMap(Interest::getId, interest -> interest));
+
+        pending.forEach((id, value) -> {
+            User user = users.get(id.getUserId());
+            Content content = contents.get(id.getContentId());
+            if (user == null || content == null) return;
+
+            Interest interest = existing.get(id);
+            if (interest == null && !value.isDeleted()) {
+                inserts.add(Interest.builder().user(user).content(content).state(value.getValue()).build());
+                userActionCountService.changeInterest(user.getId(), content, null, value.getValue());
+            } else if (interest != null && !value.isDeleted()) {
+                userActionCountService.changeInterest(user.getId(), content, interest.getState(), value.getValue());
+                interest.edit(value.getValue());
+            } else if (interest != null) {
+                interestRepository.delete(interest);
+                userActionCountService.changeInterest(user.getId(), content, interest.getState(), null);
+            }
+        });
+    }
+
+    /**
+     * 코멘트 좋아요 변경을 반영한다.
+     * 좋아요 수는 코멘트 별로 합쳐서 insert 가 모두 끝난 뒤에 한번씩만 갱신한다.
+     * @return 코멘트 별 좋아요 수 변경분
+     */
+    private Map<Comment.CommentId, Integer> applyPendingCommentLikes(Map<CommentLike.CommentLikeId, Boolean> pending,
+                                                                   Map<Long, User> users, List<Object> inserts) {
+        Map<Comment.CommentId, Integer> deltas = new HashMap<>();
+        if (pending.isEmpty()) return deltas;
+
+        Set<Long> commentUserIds = new HashSet<>();
+        Set<Long> contentIds = new HashSet<>();
+        pending.keySet().forEach(id -> {
+            commentUserIds.add(id.getCommentId().getUserId());
+            contentIds.add(id.getCommentId().getContentId());
+        });
+        Map<Comment.CommentId, Comment> comments = writeBehindRepository.findComments(commentUserIds, contentIds).stream()
+                .collect(Collectors.toMap(Comment::getId, comment -> comment));
+        Map<CommentLike.CommentLikeId, CommentLike> existing = writeBehindRepository.findCommentLikes(users.keySet(), contentIds).stream()
+                .collect(Collectors.toMap(CommentLike::getId, like -> like));
+
+        pending.forEach((id, liked) -> {
+            Comment comment = comments.get(id.getCommentId());
+            User user = users.get(id.getLikeUserId());
+            if (comment == null || user == null) return;
+
+            CommentLike like = existing.get(id);
+            if (like == null && liked) {
+                inserts.add(CommentLike.builder().comment(comment).user(user).build());
+                deltas.merge(comment.getId(), 1, Integer::sum);
+            } else if (like != null && !liked) {
+                commentLikeRepository.delete(like);
+                deltas.merge(comment.getId(), -1, Integer::sum);
+            }
+        });
+        return deltas;
+    }
+
+    /**
+     * comment_like, reply 테이블로부터 코멘트의 좋아요 수, 댓글 수를 다시 계산한다.
+     * 카운터 컬럼 도입 이전 데이터 이관 및 보정 용도.
+     */
+    public void rebuildCommentCounts() {
+        commentRepository.recountAll();
     }
 
     /**
@@ -756,6 +1096,12 @@ public class ContentService {
     public DetailDto.CommentDetail getCommentDetail(Long contentId, Long commentUserId, Long tokenId) {
         DetailDto.CommentDetail comment = contentRepository.getComment(contentId, commentUserId, tokenId);
         if (comment == null) throw new EntityNotExistException(ErrorCode.ENTITY_NOT_FOUND);
+
+        Boolean pendingLike = writeBehindBuffer.getPendingCommentLike(contentId, commentUserId, tokenId);
+        if (pendingLike != null && !pendingLike.equals(comment.getIsLiked())) {
+            comment.setLikeCount(comment.getLikeCount() + (pendingLike ? 1 : -1));
+            comment.setIsLiked(pendingLike);
+        }
         return comment;
     }
 }
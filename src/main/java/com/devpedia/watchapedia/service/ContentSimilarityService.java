@@ -0,0 +1,267 @@
+package com.devpedia.watchapedia.service;
+
+import com.devpedia.watchapedia.domain.ContentSimilarity;
+import com.devpedia.watchapedia.repository.ContentSimilarityRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * 컨텐츠 유사도(content_similarity) 오프라인 계산.
+ *
+ * 컨텐츠마다 태그, 인물, 높은 평점을 준 유저를 특성으로 하는 희소 벡터를 만들고
+ * (특성 종류별 가중치 x IDF, L2 정규화) 같은 타입의 컨텐츠끼리 코사인 유사도 상위 K 개를 구한다.
+ * 유사도는 특성 -> 컨텐츠 역색인을 따라가며 공유 특성이 있는 컨텐츠에 대해서만 더하므로
+ * 전체 쌍을 비교하지 않는다. 너무 흔한 특성(많은 컨텐츠가 가진 특성)은 변별력이 없고 계산량만 늘리므로 뺀다.
+ *
+ * 계산은 컨텐츠 묶음 별로 병렬 실행하고, 저장은 묶음 별 트랜잭션에서 컨텐츠 단위로 지우고 다시 넣는다.
+ */
+@Slf4j
+@Service
+public class ContentSimilarityService {
+
+    private static final long TAG_FEATURE = 1L << 60;
+    private static final long PARTICIPANT_FEATURE = 2L << 60;
+    private static final long RATER_FEATURE = 3L << 60;
+
+    private final ContentSimilarityRepository similarityRepository;
+    private final Executor executor;
+    private final TransactionTemplate newTransaction;
+    private final int topK;
+    private final int chunkSize;
+    private final int maxFeatureContents;
+    private final double minRaterScore;
+    private final double tagWeight;
+    private final double participantWeight;
+    private final double raterWeight;
+
+    public ContentSimilarityService(ContentSimilarityRepository similarityRepository,
+                                    @Qualifier("similarityExecutor") Executor executor,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${similarity.top-k:20}") int topK,
+                                    @Value("${similarity.chunk-size:500}") int chunkSize,
+                                    @Value("${similarity.max-feature-contents:2000}") int maxFeatureContents,
+                                    @Value("${similarity.min-rater-score:4.0}") double minRaterScore,
+                                    @Value("${similarity.tag-weight:1.0}") double tagWeight,
+                                    @Value("${similarity.participant-weight:1.0}") double participantWeight,
+                                    @Value("${similarity.rater-weight:0.5}") double raterWeight) {
+        this.similarityRepository = similarityRepository;
+        this.executor = executor;
+        this.topK = topK;
+        this.chunkSize = chunkSize;
+        this.maxFeatureContents = maxFeatureContents;
+        this.minRaterScore = minRaterScore;
+        this.tagWeight = tagWeight;
+        this.participantWeight = participantWeight;
+        this.raterWeight = raterWeight;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 트래픽이 적은 시간에 전체 유사도를 다시 계산한다.
+     */
+    @Scheduled(cron = "${similarity.rebuild-cron:0 30 4 * * *}")
+    public void scheduledRebuild() {
+        try {
+            rebuildAll();
+        } catch (Exception e) {
+            log.warn("content similarity rebuild failed, keep previous neighbors", e);
+        }
+    }
+
+    /**
+     * 전체 컨텐츠의 유사 컨텐츠를 다시 계산해서 저장한다.
+     * @return 계산한 컨텐츠 수
+     */
+    public int rebuildAll() {
+        Vectors vectors = loadVectors();
+        int size = vectors.size();
+
+        List<CompletableFuture<List<ContentSimilarity>>> chunks = new ArrayList<>();
+        for (int from = 0; from < size; from += chunkSize) {
+            int start = from;
+            int end = Math.min(from + chunkSize, size);
+            chunks.add(CompletableFuture.supplyAsync(() -> vectors.neighbors(start, end, topK), executor));
+        }
+
+        for (int i = 0; i < chunks.size(); i++) {
+            List<Long> contentIds = vectors.ids(i * chunkSize, Math.min((i + 1) * chunkSize, size));
+            List<ContentSimilarity> rows = chunks.get(i).join();
+            newTransaction.executeWithoutResult(status -> {
+                similarityRepository.deleteByContentIds(contentIds);
+                similarityRepository.saveAll(rows);
+            });
+        }
+        return size;
+    }
+
+    /**
+     * 컨텐츠와 특성 쌍을 읽어서 정규화된 벡터와 역색인을 만든다.
+     */
+    private Vectors loadVectors() {
+        List<Object[]> contents = similarityRepository.findContentDtypes();
+        Map<Long, Integer> indexes = new HashMap<>();
+        long[] ids = new long[contents.size()];
+        String[] dtypes = new String[contents.size()];
+        for (int i = 0; i < contents.size(); i++) {
+            ids[i] = (Long) contents.get(i)[0];
+            dtypes[i] = (String) contents.get(i)[1];
+            indexes.put(ids[i], i);
+        }
+
+        List<Map<Long, Double>> features = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) features.add(new HashMap<>());
+        addFeatures(features, indexes, similarityRepository.findContentTagPairs(), TAG_FEATURE, tagWeight);
+        addFeatures(features, indexes, similarityRepository.findContentParticipantPairs(), PARTICIPANT_FEATURE, participantWeight);
+        addFeatures(features, indexes, similarityRepository.findContentRaterPairs(minRaterScore), RATER_FEATURE, raterWeight);
+
+        return new Vectors(ids, dtypes, features, maxFeatureContents);
+    }
+
+    private static void addFeatures(List<Map<Long, Double>> features, Map<Long, Integer> indexes,
+                                    List<Object[]> pairs, long type, double weight) {
+        if (weight <= 0) return;
+        for (Object[] pair : pairs) {
+            Integer index = indexes.get((Long) pair[0]);
+            if (index != null) features.get(index).put(type | (Long) pair[1], weight);
+        }
+    }
+
+    /**
+     * 컨텐츠 벡터(희소 행렬)와 특성 별 역색인.
+     * 생성 후에는 읽기만 하므로 여러 스레드에서 같이 사용한다.
+     */
+    static class Vectors {
+        private final long[] ids;
+        private final String[] dtypes;
+        private final int[][] featureIndexes;
+        private final double[][] featureWeights;
+        private final int[][] postingContents;
+        private final double[][] postingWeights;
+
+        Vectors(long[] ids, String[] dtypes, List<Map<Long, Double>> features, int maxFeatureContents) {
+            this.ids = ids;
+            this.dtypes = dtypes;
+
+            Map<Long, Integer> documentFrequency = new HashMap<>();
+            features.forEach(vector -> vector.keySet().forEach(key -> documentFrequency.merge(key, 1, Integer::sum)));
+
+            // 한 컨텐츠만 가진 특성은 유사도에 기여하지 않고, 너무 흔한 특성은 변별력이 없다.
+            Map<Long, Integer> featureKeys = new HashMap<>();
+            documentFrequency.forEach((key, df) -> {
+                if (df >= 2 && df <= maxFeatureContents) featureKeys.put(key, featureKeys.size());
+            });
+
+            int[] postingSizes = new int[featureKeys.size()];
+            this.featureIndexes = new int[ids.length][];
+            this.featureWeights = new double[ids.length][];
+            for (int i = 0; i < ids.length; i++) {
+                List<Map.Entry<Long, Double>> entries = features.get(i).entrySet().stream()
+                        .filter(entry -> featureKeys.containsKey(entry.getKey()))
+                        .collect(Collectors.toList());
+
+                int[] indexes = new int[entries.size()];
+                double[] weights = new double[entries.size()];
+                double norm = 0;
+                for (int j = 0; j < entries.size(); j++) {
+                    Long key = entries.get(j).getKey();
+                    indexes[j] = featureKeys.get(key);
+                    weights[j] = entries.get(j).getValue() * Math.log((double) ids.length / documentFrequency.get(key));
+                    norm += weights[j] * weights[j];
+                    postingSizes[indexes[j]]++;
+                }
+                norm = Math.sqrt(norm);
+                for (int j = 0; j < weights.length; j++) {
+                    weights[j] = norm > 0 ? weights[j] / norm : 0;
+                }
+                featureIndexes[i] = indexes;
+                featureWeights[i] = weights;
+            }
+
+            this.postingContents = new int[postingSizes.length][];
+            this.postingWeights = new double[postingSizes.length][];
+            for (int f = 0; f < postingSizes.length; f++) {
+                postingContents[f] = new int[postingSizes[f]];
+                postingWeights[f] = new double[postingSizes[f]];
+            }
+            int[] filled = new int[postingSizes.length];
+            for (int i = 0; i < ids.length; i++) {
+                for (int j = 0; j < featureIndexes[i].length; j++) {
+                    int f = featureIndexes[i][j];
+                    postingContents[f][filled[f]] = i;
+                    postingWeights[f][filled[f]] = featureWeights[i][j];
+                    filled[f]++;
+                }
+            }
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        List<Long> ids(int from, int to) {
+            List<Long> result = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) result.add(ids[i]);
+            return result;
+        }
+
+        /**
+         * [from, to) 범위 컨텐츠의 유사도 상위 k 개 이웃을 구한다.
+         * 누적 배열은 묶음 안에서 재사용하고, 값을 더한 위치만 다시 비운다.
+         */
+        List<ContentSimilarity> neighbors(int from, int to, int k) {
+            double[] scores = new double[ids.length];
+            boolean[] seen = new boolean[ids.length];
+            int[] touched = new int[ids.length];
+            List<ContentSimilarity> result = new ArrayList<>();
+
+            for (int i = from; i < to; i++) {
+                int touchedCount = 0;
+                for (int j = 0; j < featureIndexes[i].length; j++) {
+                    int f = featureIndexes[i][j];
+                    double weight = featureWeights[i][j];
+                    for (int p = 0; p < postingContents[f].length; p++) {
+                        int other = postingContents[f][p];
+                        if (other == i || !dtypes[other].equals(dtypes[i])) continue;
+                        if (!seen[other]) {
+                            seen[other] = true;
+                            touched[touchedCount++] = other;
+                        }
+                        scores[other] += weight * postingWeights[f][p];
+                    }
+                }
+
+                PriorityQueue<Integer> top = new PriorityQueue<>(Comparator.comparingDouble((Integer other) -> scores[other])
+                        .thenComparing(other -> -ids[other]));
+                for (int t = 0; t < touchedCount; t++) {
+                    if (scores[touched[t]] <= 0) continue;
+                    top.offer(touched[t]);
+                    if (top.size() > k) top.poll();
+                }
+                for (Integer other : top) {
+                    result.add(ContentSimilarity.builder()
+                            .contentId(ids[i])
+                            .similarContentId(ids[other])
+                            .score(scores[other])
+                            .build());
+                }
+                for (int t = 0; t < touchedCount; t++) {
+                    scores[touched[t]] = 0;
+                    seen[touched[t]] = false;
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.devpedia.watchapedia.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 상세 조회 요청 하나 동안의 조회 결과 공유.
+ * 같은 키로 여러 영역에서 조회하면(동시에 요청해도) 한번만 실행하고 결과를 나눠 쓴다.
+ * 다른 조회 결과로 값을 알 수 있어서 생략한 쿼리도 같이 세서, 요청 당 절약한 쿼리 수를 구한다.
+ *
+ * 요청마다 새로 만들어서 쓰고 요청이 끝나면 버린다.
+ * 영역마다 트랜잭션이 다르므로 엔티티가 아닌 DTO/값만 담아야 한다.
+ */
+public class DetailLoadContext {
+
+    private final Map<String, CompletableFuture<Object>> loads = new ConcurrentHashMap<>();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger executeCount = new AtomicInteger();
+
+    /**
+     * 키에 해당하는 값을 조회한다. 이미 같은 키로 조회했거나 조회 중이면 그 결과를 쓴다.
+     * @param key 조회 키
+     * @param loader 조회 로직
+     * @return 조회 결과
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(String key, Supplier<T> loader) {
+        requestCount.incrementAndGet();
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = loads.putIfAbsent(key, future);
+        if (existing == null) {
+            executeCount.incrementAndGet();
+            try {
+                future.complete(loader.get());
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+                throw e;
+            }
+            existing = future;
+        }
+
+        try {
+            return (T) existing.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * 다른 조회 결과로 값을 구해서 쿼리를 생략했음을 기록한다.
+     */
+    public void derived() {
+        requestCount.incrementAndGet();
+    }
+
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    public int getExecuteCount() {
+        return executeCount.get();
+    }
+
+    /**
+     * @return 요청 중 실행하지 않고 넘어간 쿼리 수
+     */
+    public int getSavedCount() {
+        return requestCount.get() - executeCount.get();
+    }
+}
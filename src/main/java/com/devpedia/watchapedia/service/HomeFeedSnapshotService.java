@@ -0,0 +1,186 @@
+package com.devpedia.watchapedia.service;
+
+import com.devpedia.watchapedia.dto.enums.HomeFeed;
+import com.devpedia.watchapedia.repository.RedisRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 비로그인 메인 화면 리스트(/public/{type}/*)의 스냅샷 캐시.
+ * 주기적으로 리스트를 다시 만들어 JSON 바이트로 한번만 직렬화하고,
+ * 로컬 메모리와 Redis(버전 키) 양쪽에 보관한다.
+ * 다른 서버가 먼저 만든 최신 스냅샷이 Redis 에 있으면 다시 만들지 않고 가져온다.
+ */
+@Slf4j
+@Service
+public class HomeFeedSnapshotService {
+
+    private static final String CREATED_AT_FIELD = "createdAt";
+
+    private final RedisRepository redisRepository;
+    private final ObjectMapper objectMapper;
+    private final Map<HomeFeed, Supplier<?>> loaders;
+    private final long refreshIntervalMillis;
+    private final long maxStalenessMillis;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+
+    public HomeFeedSnapshotService(MovieService movieService,
+                                   TvShowService tvShowService,
+                                   BookService bookService,
+                                   RedisRepository redisRepository,
+                                   ObjectMapper objectMapper,
+                                   @Value("${home-feed.refresh-interval-millis:60000}") long refreshIntervalMillis,
+                                   @Value("${home-feed.max-staleness-millis:300000}") long maxStalenessMillis) {
+        this.redisRepository = redisRepository;
+        this.objectMapper = objectMapper;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+        this.maxStalenessMillis = maxStalenessMillis;
+
+        Map<HomeFeed, Supplier<?>> loaders = new EnumMap<>(HomeFeed.class);
+        loaders.put(HomeFeed.MOVIE_SCORE, movieService::getHighScoreList);
+        loaders.put(HomeFeed.MOVIE_POPULAR, movieService::getPopularList);
+        loaders.put(HomeFeed.MOVIE_TAG, movieService::getTagList);
+        loaders.put(HomeFeed.MOVIE_COLLECTION, movieService::getCollectionList);
+        loaders.put(HomeFeed.MOVIE_AWARD, movieService::getAwardList);
+        loaders.put(HomeFeed.TV_SHOW_SCORE, tvShowService::getHighScoreList);
+        loaders.put(HomeFeed.TV_SHOW_POPULAR, tvShowService::getPopularList);
+        loaders.put(HomeFeed.TV_SHOW_TAG, tvShowService::getTagList);
+        loaders.put(HomeFeed.TV_SHOW_COLLECTION, tvShowService::getCollectionList);
+        loaders.put(HomeFeed.TV_SHOW_AWARD, tvShowService::getAwardList);
+        loaders.put(HomeFeed.BOOK_SCORE, bookService::getHighScoreList);
+        loaders.put(HomeFeed.BOOK_POPULAR, bookService::getPopularList);
+        loaders.put(HomeFeed.BOOK_TAG, bookService::getTagList);
+        loaders.put(HomeFeed.BOOK_COLLECTION, bookService::getCollectionList);
+        loaders.put(HomeFeed.BOOK_AWARD, bookService::getAwardList);
+        this.loaders = Collections.unmodifiableMap(loaders);
+    }
+
+    /**
+     * 스냅샷이 있으면 직렬화된 JSON 을 그대로 응답하고,
+     * 없거나 허용 시간보다 오래됐으면 직접 조회해서 응답한다.
+     * @param feed 리스트 종류
+     * @return 리스트 응답
+     */
+    public ResponseEntity<?> getResponse(HomeFeed feed) {
+        byte[] payload = getPayload(feed);
+        if (payload != null) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(payload);
+        }
+        return ResponseEntity.ok(loaders.get(feed).get());
+    }
+
+    /**
+     * 허용 시간 내의 스냅샷에서 해당 리스트의 JSON 을 구한다.
+     * @param feed 리스트 종류
+     * @return 직렬화된 JSON, 없으면 null
+     */
+    public byte[] getPayload(HomeFeed feed) {
+        Snapshot snapshot = current.get();
+        if (snapshot == null || snapshot.getAgeMillis() > maxStalenessMillis) return null;
+        return snapshot.getPayloads().get(feed);
+    }
+
+    /**
+     * 스냅샷을 갱신한다.
+     * Redis 에 갱신 주기 내에 만들어진 스냅샷이 있으면 그것을 쓰고, 없으면 새로 만들어 공유한다.
+     * 새 스냅샷은 완성된 뒤에 한번에 교체된다.
+     */
+    @Scheduled(fixedDelayString = "${home-feed.refresh-interval-millis:60000}")
+    public void refresh() {
+        try {
+            Snapshot shared = readShared();
+            if (shared != null && shared.getAgeMillis() < refreshIntervalMillis) {
+                Snapshot local = current.get();
+                if (local == null || shared.getCreatedAt() > local.getCreatedAt())
+                    current.set(shared);
+                return;
+            }
+            current.set(build());
+        } catch (Exception e) {
+            log.warn("home feed snapshot refresh failed", e);
+        }
+    }
+
+    private Snapshot build() throws JsonProcessingException {
+        long createdAt = System.currentTimeMillis();
+        Map<HomeFeed, byte[]> payloads = new EnumMap<>(HomeFeed.class);
+        for (Map.Entry<HomeFeed, Supplier<?>> entry : loaders.entrySet()) {
+            payloads.put(entry.getKey(), objectMapper.writeValueAsBytes(entry.getValue().get()));
+        }
+
+        Snapshot local = current.get();
+        long version = local != null ? local.getVersion() + 1 : 1;
+        try {
+            version = publish(payloads, createdAt);
+        } catch (Exception e) {
+            log.warn("home feed snapshot publish failed, keep local only", e);
+        }
+        return new Snapshot(version, createdAt, payloads);
+    }
+
+    private long publish(Map<HomeFeed, byte[]> payloads, long createdAt) {
+        Long version = redisRepository.nextHomeFeedVersion();
+        Map<String, String> hash = new HashMap<>();
+        payloads.forEach((feed, payload) -> hash.put(feed.name(), new String(payload, StandardCharsets.UTF_8)));
+        hash.put(CREATED_AT_FIELD, String.valueOf(createdAt));
+        redisRepository.saveHomeFeed(version, hash, Duration.ofMillis(maxStalenessMillis * 2));
+        return version;
+    }
+
+    private Snapshot readShared() {
+        try {
+            Long version = redisRepository.getHomeFeedVersion();
+            if (version == null) return null;
+
+            Map<Object, Object> hash = redisRepository.getHomeFeed(version);
+            if (hash == null || !hash.containsKey(CREATED_AT_FIELD)) return null;
+
+            Map<HomeFeed, byte[]> payloads = new EnumMap<>(HomeFeed.class);
+            for (HomeFeed feed : HomeFeed.values()) {
+                Object json = hash.get(feed.name());
+                if (json == null) return null;
+                payloads.put(feed, ((String) json).getBytes(StandardCharsets.UTF_8));
+            }
+            return new Snapshot(version, Long.parseLong((String) hash.get(CREATED_AT_FIELD)), payloads);
+        } catch (Exception e) {
+            log.warn("home feed snapshot read from redis failed", e);
+            return null;
+        }
+    }
+
+    @Getter
+    private static class Snapshot {
+        private final long version;
+        private final long createdAt;
+        private final Map<HomeFeed, byte[]> payloads;
+
+        Snapshot(long version, long createdAt, Map<HomeFeed, byte[]> payloads) {
+            this.version = version;
+            this.createdAt = createdAt;
+            this.payloads = Collections.unmodifiableMap(payloads);
+        }
+
+        long getAgeMillis() {
+            return System.currentTimeMillis() - createdAt;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.devpedia.watchapedia.service;
+
+import com.devpedia.watchapedia.domain.ImageUpload;
+import com.devpedia.watchapedia.exception.ExternalIOException;
+import com.devpedia.watchapedia.exception.common.ErrorCode;
+import com.devpedia.watchapedia.repository.ImageUploadRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+/**
+ * 이미지 S3 업로드 파이프라인.
+ *
+ * 요청 중에는 멀티파트 파일을 스테이징 디렉토리로 옮기고(디스크에 있는 파트는 복사 없이 이동) outbox 행만 저장한다.
+ * 업로드는 트랜잭션이 커밋된 후 업로드 스레드 풀에서 하므로 DB 커넥션을 잡고 업로드를 기다리지 않는다.
+ * 롤백되면 스테이징 파일을 지운다.
+ *
+ * 실패한 업로드는 간격을 늘려가며 다시 시도하고, 최대 횟수를 넘기면 FAILED 로 남기고 이미지를 업로드 실패로 표시한다.
+ * 스레드 풀이 가득 차거나 업로드 중 서버가 죽은 경우에도 outbox 행이 남아 있으므로 재시도 주기에 다시 올린다.
+ * 재시작, 재배포 후에도 같은 파일을 찾을 수 있어야 하므로 worker id 와 스테이징 디렉토리는 설정으로 받는다.
+ * 호스트명, 임시 디렉토리는 재배포 때 바뀌거나 비워질 수 있어 쓰지 않는다.
+ */
+@Slf4j
+@Service
+public class ImageUploadService {
+
+    private final S3Service s3Service;
+    private final ImageUploadRepository imageUploadRepository;
+    private final Executor executor;
+    private final TransactionTemplate newTransaction;
+    private final Path stagingDir;
+    private final String worker;
+    private final Duration lease;
+    private final Duration retryBackoff;
+    private final int maxAttempts;
+    private final int retryBatchSize;
+    private final Duration completedRetention;
+
+    public ImageUploadService(S3Service s3Service,
+                              ImageUploadRepository imageUploadRepository,
+                              @Qualifier("imageUploadExecutor") Executor executor,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${image-upload.staging-dir:}") String stagingDir,
+                              @Value("${image-upload.worker:}") String worker,
+                              @Value("${image-upload.lease-seconds:300}") long leaseSeconds,
+                              @Value("${image-upload.retry-backoff-seconds:30}") long retryBackoffSeconds,
+                              @Value("${image-upload.max-attempts:5}") int maxAttempts,
+                              @Value("${image-upload.retry-batch-size:20}") int retryBatchSize,
+                              @Value("${image-upload.completed-retention-days:7}") long completedRetentionDays) {
+        if (isBlank(stagingDir) || isBlank(worker))
+            throw new IllegalStateException("image-upload.staging-dir and image-upload.worker must be configured");
+
+        this.s3Service = s3Service;
+        this.imageUploadRepository = imageUploadRepository;
+        this.executor = executor;
+        this.stagingDir = Paths.get(stagingDir);
+        this.worker = worker;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.retryBackoff = Duration.ofSeconds(retryBackoffSeconds);
+        this.maxAttempts = maxAttempts;
+        this.retryBatchSize = retryBatchSize;
+        this.completedRetention = Duration.ofDays(completedRetentionDays);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 파일을 스테이징 디렉토리로 옮기고 업로드 outbox 를 현재 트랜잭션에 저장한다.
+     * 업로드는 커밋 후에 시작한다. 트랜잭션 밖이면 바로 시작한다.
+     * @param file 이미지 멀티파트 파일
+     * @param filePath S3 내의 저장 경로 + 파일명 (ex. poster/image.jpg)
+     */
+    public void enqueue(MultipartFile file, String filePath) {
+        Path staged = stage(file);
+
+        ImageUpload upload = imageUploadRepository.save(ImageUpload.builder()
+                .path(filePath)
+                .stagingPath(staged.toString())
+                .worker(worker)
+                .nextAttemptAt(LocalDateTime.now().plus(lease))
+                .build());
+        Long uploadId = upload.getId();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                        submit(uploadId, staged, filePath);
+                    } else {
+                        deleteStaged(staged);
+                    }
+                }
+            });
+        } else {
+            submit(uploadId, staged, filePath);
+        }
+    }
+
+    /**
+     * 재시도 시각이 지난 업로드를 다시 올린다.
+     * 올리기 전에 다음 재시도 시각을 미뤄서 같은 업로드를 중복으로 올리지 않도록 한다.
+     */
+    @Scheduled(fixedDelayString = "${image-upload.retry-interval-millis:60000}")
+    public void retryPending() {
+        try {
+            List<ImageUpload> targets = newTransaction.execute(status -> {
+                List<ImageUpload> uploads = imageUploadRepository.findRetryTargets(
+                        worker, ImageUpload.Status.PENDING, LocalDateTime.now(), PageRequest.of(0, retryBatchSize));
+                uploads.forEach(upload -> upload.claim(LocalDateTime.now().plus(lease)));
+                return uploads;
+            });
+            for (ImageUpload upload : targets) {
+                submit(upload.getId(), Paths.get(upload.getStagingPath()), upload.getPath());
+            }
+        } catch (Exception e) {
+            log.warn("image upload retry failed, retry next time", e);
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 완료 업로드를 지운다.
+     */
+    @Scheduled(cron = "${image-upload.purge-cron:0 30 4 * * *}")
+    public void purgeCompleted() {
+        try {
+            int deleted = imageUploadRepository.deleteCompletedBefore(
+                    ImageUpload.Status.DONE, LocalDateTime.now().minus(completedRetention));
+            log.info("completed image uploads purged. count={}", deleted);
+        } catch (Exception e) {
+            log.warn("completed image upload purge failed, retry next time", e);
+        }
+    }
+
+    private void submit(Long uploadId, Path staged, String filePath) {
+        try {
+            executor.execute(() -> upload(uploadId, staged, filePath));
+        } catch (TaskRejectedException e) {
+            log.warn("image upload queue is full, leave it to retry. path={}", filePath);
+        }
+    }
+
+    /**
+     * 스테이징 파일을 S3 에 올리고 결과를 outbox 에 기록한다.
+     */
+    void upload(Long uploadId, Path staged, String filePath) {
+        try {
+            File file = staged.toFile();
+            if (!file.exists())
+                throw new IOException("staged file not found: " + staged);
+
+            s3Service.upload(file, filePath);
+            newTransaction.executeWithoutResult(status ->
+                    imageUploadRepository.findById(uploadId).ifPresent(ImageUpload::complete));
+            deleteStaged(staged);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            log.warn("image upload failed. path={}", filePath, e);
+            recordFailure(uploadId, staged, e);
+        }
+    }
+
+    private void recordFailure(Long uploadId, Path staged, Exception cause) {
+        try {
+            ImageUpload result = newTransaction.execute(status -> imageUploadRepository.findById(uploadId)
+                    .map(upload -> {
+                        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(upload.getAttemptCount(), 10));
+                        upload.fail(cause.toString(), LocalDateTime.now().plus(backoff), maxAttempts);
+                        if (upload.getStatus() == ImageUpload.Status.FAILED)
+                            imageUploadRepository.markImageUploadFailed(upload.getPath());
+                        return upload;
+                    })
+                    .orElse(null));
+            if (result != null && result.getStatus() == ImageUpload.Status.FAILED) {
+                log.error("image upload gave up. path={}, attempts={}", result.getPath(), result.getAttemptCount());
+                deleteStaged(staged);
+            }
+        } catch (Exception e) {
+            log.warn("image upload failure record failed, retry after lease. uploadId={}", uploadId, e);
+        }
+    }
+
+    private Path stage(MultipartFile file) {
+        try {
+            Files.createDirectories(stagingDir);
+            Path staged = stagingDir.resolve(UUID.randomUUID().toString());
+            file.transferTo(staged);
+            return staged;
+        } catch (IOException e) {
+            throw new ExternalIOException(ErrorCode.INPUT_VALUE_INVALID, "image staging fail");
+        }
+    }
+
+    private void deleteStaged(Path staged) {
+        try {
+            Files.deleteIfExists(staged);
+        } catch (IOException e) {
+            log.warn("staged image delete failed. path={}", staged, e);
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
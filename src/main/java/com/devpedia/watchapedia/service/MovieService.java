@@ -10,7 +10,6 @@ import com.devpedia.watchapedia.repository.collection.CollectionRepository;
 import com.devpedia.watchapedia.repository.tag.TagRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -42,6 +41,7 @@ public class MovieService {
     private final ContentService contentService;
     private final TagRepository tagRepository;
     private final CollectionRepository collectionRepository;
+    private final RandomIdPool randomIdPool;
 
     /**
      * 영화 삽입 어드민용 API
@@ -82,7 +82,8 @@ public class MovieService {
     public List<ContentDto.MainList> getTagList() {
         List<ContentDto.MainList> result = new ArrayList<>();
 
-        List<Tag> tags = tagRepository.findByRandom(PageRequest.of(0, RANDOM_TAG_COUNT));
+        List<Long> tagIds = randomIdPool.pickTagIds(ContentTypeParameter.MOVIES, RANDOM_TAG_COUNT);
+        List<Tag> tags = RandomIdPool.inPickedOrder(tagIds, tagRepository.findAllById(tagIds), Tag::getId);
         for (Tag tag : tags) {
             ContentDto.MainList tagList = contentService.getTagList(ContentTypeParameter.MOVIES, tag, TAG_LIST_SIZE);
             result.add(tagList);
@@ -96,7 +97,8 @@ public class MovieService {
      */
     public List<ContentDto.MainListForCollection> getCollectionList() {
         List<ContentDto.MainListForCollection> result = new ArrayList<>();
-        List<Collection> collections = collectionRepository.getRandom(ContentTypeParameter.MOVIES, RANDOM_COLLECTION_COUNT);
+        List<Long> collectionIds = randomIdPool.pickCollectionIds(ContentTypeParameter.MOVIES, RANDOM_COLLECTION_COUNT);
+        List<Collection> collections = RandomIdPool.inPickedOrder(collectionIds, collectionRepository.findAllById(collectionIds), Collection::getId);
 
         for (Collection collection : collections) {
             ContentDto.MainListForCollection collectionList = contentService.getCollectionList(collection, COLLECTION_LIST_SIZE);
@@ -31,6 +31,7 @@ public class ParticipantService {
     private final ParticipantRepository participantRepository;
     private final ContentService contentService;
     private final ContentRepository contentRepository;
+    private final CatalogCache catalogCache;
 
     /**
      * 인물 이미지와 함께 인물 정보를 등록한다.
@@ -74,6 +75,7 @@ public class ParticipantService {
         Optional<Participant> optionalParticipant = participantRepository.findById(id);
         Participant participant = optionalParticipant.orElseThrow(() -> new EntityNotExistException(ErrorCode.ENTITY_NOT_FOUND));
         participant.updateInfo(request.getName(), request.getJob(), request.getDescription());
+        catalogCache.invalidate(CatalogCache.Region.PARTICIPANT, CatalogCache.Region.CONTENT);
     }
 
     /**
@@ -84,15 +86,35 @@ public class ParticipantService {
         Optional<Participant> optionalParticipant = participantRepository.findById(id);
         Participant participant = optionalParticipant.orElseThrow(() -> new EntityNotExistException(ErrorCode.ENTITY_NOT_FOUND));
         participantRepository.delete(participant);
+        catalogCache.invalidate(CatalogCache.Region.PARTICIPANT, CatalogCache.Region.CONTENT);
     }
 
     /**
      * 참여자 상세정보와 참여자가 참여한 컨텐츠 리스트를 구한다.
+     * 참여자 정보는 카탈로그 캐시에서 읽고, 페이지마다 다른 컨텐츠 리스트만 매번 조회한다.
      * @param id 참여자 id
      * @param pageable pageable(참여한 컨텐츠)
      * @return 참여자 정보
      */
     public ParticipantDto.ParticipantInfo getParticipantInfo(Long id, Pageable pageable) {
+        ParticipantDto.ParticipantInfo info = catalogCache.get(CatalogCache.Region.PARTICIPANT, id,
+                ParticipantDto.ParticipantInfo.class, () -> getParticipantBaseInfo(id));
+        return ParticipantDto.ParticipantInfo.builder()
+                .id(info.getId())
+                .name(info.getName())
+                .job(info.getJob())
+                .description(info.getDescription())
+                .profileImagePath(info.getProfileImagePath())
+                .contents(getParticipantContents(info.getId(), pageable))
+                .build();
+    }
+
+    /**
+     * 참여한 컨텐츠 리스트를 제외한 참여자 정보를 구한다.
+     * @param id 참여자 id
+     * @return 참여자 정보
+     */
+    private ParticipantDto.ParticipantInfo getParticipantBaseInfo(Long id) {
         Optional<Participant> optionalParticipant = participantRepository.findById(id);
         Participant participant = optionalParticipant.orElseThrow(() -> new EntityNotExistException(ErrorCode.ENTITY_NOT_FOUND));
         return ParticipantDto.ParticipantInfo.builder()
@@ -104,7 +126,6 @@ public class ParticipantService {
                         participant.getProfileImage() != null
                         ? UrlUtil.getCloudFrontUrl(participant.getProfileImage().getPath()) : null
                 )
-                .contents(getParticipantContents(participant.getId(), pageable))
                 .build();
     }
 
@@ -0,0 +1,142 @@
+package com.devpedia.watchapedia.service;
+
+import com.devpedia.watchapedia.dto.enums.ContentTypeParameter;
+import com.devpedia.watchapedia.repository.collection.CollectionRepository;
+import com.devpedia.watchapedia.repository.tag.TagRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * 메인 화면 랜덤 태그/컬렉션 추출용 id 풀.
+ * 컨텐츠 타입 별로 대상 id 를 long 배열로 들고 있다가 주기적으로 다시 만든다.
+ * 추출은 배열에서 중복 없이 인덱스만 뽑기 때문에 DB 에서는 뽑힌 id 만 조회하면 된다.
+ * 풀은 서버 시작 직후 한번 만들고, 그 전에 들어온 요청은 한 요청만 만들고 나머지는 기다린다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RandomIdPool {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final CollectionRepository collectionRepository;
+    private final TagRepository tagRepository;
+
+    private volatile Map<ContentTypeParameter, Pool> pools;
+
+    /**
+     * 해당 컨텐츠 타입의 컬렉션 id 를 중복 없이 랜덤으로 뽑는다.
+     * @param type 컨텐츠 타입 Enum
+     * @param size 뽑을 개수
+     * @return 컬렉션 id 리스트
+     */
+    public List<Long> pickCollectionIds(ContentTypeParameter type, int size) {
+        return sample(getPool(type).getCollectionIds(), size);
+    }
+
+    /**
+     * 해당 컨텐츠 타입의 태그 id 를 중복 없이 랜덤으로 뽑는다.
+     * @param type 컨텐츠 타입 Enum
+     * @param size 뽑을 개수
+     * @return 태그 id 리스트
+     */
+    public List<Long> pickTagIds(ContentTypeParameter type, int size) {
+        return sample(getPool(type).getTagIds(), size);
+    }
+
+    /**
+     * id 풀을 다시 만든다.
+     * 새 풀은 모두 만들어진 뒤에 한번에 교체된다.
+     * 조회는 타입 별 id 목록 조회뿐이라 하나의 트랜잭션으로 묶지 않는다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${random-pool.refresh-interval-millis:600000}")
+    public void rebuild() {
+        try {
+            Map<ContentTypeParameter, Pool> rebuilt = new EnumMap<>(ContentTypeParameter.class);
+            for (ContentTypeParameter type : ContentTypeParameter.values()) {
+                rebuilt.put(type, new Pool(
+                        toArray(collectionRepository.getIdsHavingContent(type)),
+                        toArray(tagRepository.getIdsHavingContent(type))));
+            }
+            pools = Collections.unmodifiableMap(rebuilt);
+        } catch (Exception e) {
+            log.warn("random id pool rebuild failed, keep previous pool", e);
+        }
+    }
+
+    private Pool getPool(ContentTypeParameter type) {
+        Map<ContentTypeParameter, Pool> current = pools;
+        if (current == null) {
+            synchronized (this) {
+                if (pools == null) rebuild();
+                current = pools;
+            }
+        }
+        return current != null ? current.get(type) : new Pool(EMPTY, EMPTY);
+    }
+
+    /**
+     * findAllById 결과는 순서를 보장하지 않으므로 뽑힌 id 순서대로 다시 정렬한다.
+     * @param ids 뽑힌 id 리스트
+     * @param found id 로 조회한 엔티티 리스트
+     * @param idOf 엔티티의 id
+     * @return 뽑힌 id 순서의 엔티티 리스트
+     */
+    public static <T> List<T> inPickedOrder(List<Long> ids, List<T> found, Function<T, Long> idOf) {
+        List<T> result = new ArrayList<>(found);
+        result.sort(Comparator.comparingInt(entity -> ids.indexOf(idOf.apply(entity))));
+        return result;
+    }
+
+    /**
+     * Floyd 알고리즘으로 배열에서 size 개의 인덱스를 중복 없이 균등하게 뽑는다.
+     * 배열 크기와 상관없이 뽑는 개수만큼만 난수를 만든다.
+     * @param ids id 배열
+     * @param size 뽑을 개수
+     * @return 뽑힌 id 리스트
+     */
+    static List<Long> sample(long[] ids, int size) {
+        int n = ids.length;
+        int k = Math.min(size, n);
+        if (k <= 0) return Collections.emptyList();
+
+        Random random = ThreadLocalRandom.current();
+        Set<Integer> picked = new LinkedHashSet<>();
+        for (int j = n - k; j < n; j++) {
+            int t = random.nextInt(j + 1);
+            if (!picked.add(t)) picked.add(j);
+        }
+
+        List<Long> result = new ArrayList<>(k);
+        for (int index : picked) {
+            result.add(ids[index]);
+        }
+        return result;
+    }
+
+    private static long[] toArray(List<Long> ids) {
+        long[] result = new long[ids.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ids.get(i);
+        }
+        return result;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Pool {
+        private final long[] collectionIds;
+        private final long[] tagIds;
+    }
+}
@@ -2,22 +2,32 @@ package com.devpedia.watchapedia.service;
 import com.devpedia.watchapedia.domain.*;
 import com.devpedia.watchapedia.dto.RankingDto;
 import com.devpedia.watchapedia.repository.RankingRepository;
+import com.devpedia.watchapedia.repository.RedisRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.Hibernate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import java.lang.reflect.Field;
+
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 
 
 @Service
 @Slf4j
-@Transactional
 @RequiredArgsConstructor
 public class RankingService {
+    private static final Duration SNAPSHOT_TTL = Duration.ofDays(1);
+    private static final TypeReference<List<RankingDto.RankingContentInfoList>> SNAPSHOT_TYPE = new TypeReference<>() {};
+
     private final RankingRepository rankingRepository;
+    private final RedisRepository redisRepository;
+    private final ObjectMapper objectMapper;
     private final String BOX_OFFICE_MOVIES= "box_office";
     private final String NETFLIX_MOVIES = "netflix";
     private final String MARS_MOVIES = "mars";
@@ -31,6 +41,8 @@ public class RankingService {
     private final String TV_SHOWS = "tv_shows";
     private final String BOOKS = "books";
 
+    private volatile RankingSnapshot snapshot;
+
     /**
      * 랭킹 차트 아이디 데이터 개별 조회
      * @param chartType 랭킹 차트 타입(movies, tv_shows, books)
@@ -38,8 +50,7 @@ public class RankingService {
      * @return 랭킹 아이디 리스트
      */
     public List<RankingDto.RankingContentInfoList> searchWithRanking(String chartType, String chartId) {
-        List<Ranking> rankings = rankingRepository.findByChartId(chartType, chartId);
-        return setRankingList(rankings,chartType);
+        return getSnapshot().get(chartType + ":" + chartId);
     }
 
     /**
@@ -48,23 +59,100 @@ public class RankingService {
      * @return 모든 랭킹 아이디 리스트
      */
     public List<RankingDto.RankingContentInfoList> searchWithAllRanking(String chartType) {
-        List<Ranking> rankings = rankingRepository.findByChartAllId(chartType);
-        return setRankingList(rankings,chartType);
+        return getSnapshot().get(chartType);
+    }
+
+    /**
+     * 랭킹 테이블이나 랭킹 컨텐츠의 평점 집계가 바뀌었으면 스냅샷을 갱신한다.
+     * 다른 서버가 같은 랭킹으로 만든 스냅샷이 Redis 에 있으면 그것을 쓰고,
+     * 없으면 새로 만들어 공유한다.
+     */
+    @Scheduled(fixedDelayString = "${ranking.refresh-interval-millis:60000}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        try {
+            String fingerprint = rankingRepository.getFingerprint();
+            RankingSnapshot current = snapshot;
+            if (current != null && current.getFingerprint().equals(fingerprint)) return;
+
+            RankingSnapshot shared = readShared(fingerprint);
+            snapshot = shared != null ? shared : build(fingerprint);
+        } catch (Exception e) {
+            log.warn("ranking snapshot refresh failed", e);
+        }
+    }
+
+    private RankingSnapshot getSnapshot() {
+        if (snapshot == null) refresh();
+        RankingSnapshot current = snapshot;
+        return current != null ? current : RankingSnapshot.EMPTY;
+    }
+
+    /**
+     * 모든 랭킹을 한번에 조회해서 차트 타입 별, (차트 타입, 차트 아이디) 별 DTO 리스트를 만든다.
+     * @param fingerprint 랭킹 테이블 fingerprint
+     * @return 랭킹 스냅샷
+     */
+    private RankingSnapshot build(String fingerprint) {
+        List<Ranking> rankings = rankingRepository.findAllWithContent();
+        Set<Long> ids = rankings.stream().map(ranking -> ranking.getContent().getId()).collect(Collectors.toSet());
+        Map<Long, Double> rankingContentScore = rankingRepository.getRankingContentScore(ids);
+
+        Map<String, List<Ranking>> groups = new LinkedHashMap<>();
+        for (Ranking ranking : rankings) {
+            groups.computeIfAbsent(ranking.getChartType(), key -> new ArrayList<>()).add(ranking);
+            groups.computeIfAbsent(ranking.getChartType() + ":" + ranking.getChartId(), key -> new ArrayList<>()).add(ranking);
+        }
+
+        Map<String, List<RankingDto.RankingContentInfoList>> lists = new HashMap<>();
+        groups.forEach((key, group) -> lists.put(key, setRankingList(group, group.get(0).getChartType(), rankingContentScore)));
+
+        RankingSnapshot built = new RankingSnapshot(fingerprint, lists);
+        publish(built);
+        return built;
+    }
+
+    private void publish(RankingSnapshot built) {
+        try {
+            Map<String, String> hash = new HashMap<>();
+            for (Map.Entry<String, List<RankingDto.RankingContentInfoList>> entry : built.getLists().entrySet()) {
+                hash.put(entry.getKey(), objectMapper.writeValueAsString(entry.getValue()));
+            }
+            if (!hash.isEmpty())
+                redisRepository.saveRankingSnapshot(built.getFingerprint(), hash, SNAPSHOT_TTL);
+        } catch (Exception e) {
+            log.warn("ranking snapshot publish failed, keep local only", e);
+        }
+    }
+
+    private RankingSnapshot readShared(String fingerprint) {
+        try {
+            Map<Object, Object> hash = redisRepository.getRankingSnapshot(fingerprint);
+            if (hash == null || hash.isEmpty()) return null;
+
+            Map<String, List<RankingDto.RankingContentInfoList>> lists = new HashMap<>();
+            for (Map.Entry<Object, Object> entry : hash.entrySet()) {
+                lists.put((String) entry.getKey(), objectMapper.readValue((String) entry.getValue(), SNAPSHOT_TYPE));
+            }
+            return new RankingSnapshot(fingerprint, lists);
+        } catch (Exception e) {
+            log.warn("ranking snapshot read from redis failed", e);
+            return null;
+        }
     }
 
     /**
      * 랭킹 리스트 DTO 변환
      * @param rankings 랭킹 리스트
+     * @param chartType 랭킹 차트 타입(movies, tv_shows, books)
+     * @param rankingContentScore 컨텐츠 별 평균 평점
      * @return 랭킹 DTO 리스트 반환
      */
-    private List<RankingDto.RankingContentInfoList> setRankingList(List<Ranking> rankings, String chartType){
-        List<RankingDto.RankingContentInfoList> resultRankingInfoList = new ArrayList<>();
+    private List<RankingDto.RankingContentInfoList> setRankingList(List<Ranking> rankings, String chartType, Map<Long, Double> rankingContentScore){
         List<Object> rankingListContentsFirst = new ArrayList<>();
         List<Object> rankingListContentsSecond = new ArrayList<>();
         List<Object> rankingListContentsThird = new ArrayList<>();
         Object rankingInfo = null;
-        Set<Long> ids = rankings.stream().map(ranking -> ranking.getContent().getId()).collect(Collectors.toSet());
-        Map<Long, Double> rankingContentScore = rankingRepository.getRankingContentScore(ids);
 
         for(Ranking ranking : rankings){
             rankingInfo= getRankingContentChart(ranking,rankingContentScore);
@@ -144,83 +232,39 @@ public class RankingService {
     /**
      * 랭킹 컨텐츠별 DTO 세팅 및 반환
      * @param ranking 조회해온 랭킹 리스트
-     * @param rankingContentScore 평점 리스
-     * @return
+     * @param rankingContentScore 평점 리스트
+     * @return 컨텐츠 타입에 맞는 랭킹 DTO
      */
-
     private Object getRankingContentChart(Ranking ranking, Map<Long, Double> rankingContentScore) {
-        RankingDto.RankingContentChartMovieInfo rankingContentChartMovieInfo = null;
-        RankingDto.RankingContentChartTvShowInfo rankingContentChartTvShowInfo = null;
-        RankingDto.RankingContentChartBookInfo rankingContentChartBookInfo = null;
-        Map<String,Object> hm = getProxyValueList(ranking);
-
-        if(MOVIE.equals(ranking.getChartType())){
-            if (rankingContentScore.containsKey(ranking.getContent().getId())) {
-                hm.put("bookRate", rankingContentScore.get(ranking.getContent().getId()));
-            }
-            rankingContentChartMovieInfo = new RankingDto.RankingContentChartMovieInfo(
-                    ranking.getContent()
-                    , ranking.getChartId()
-                    , ranking.getChartType()
-                    , ranking.getChartRank()
-                    , hm.get("originTitle")
-                    , hm.get("countryCode")
-                    , hm.get("runningTimeInMinutes")
-                    , hm.get("isWatchaContent")
-                    , hm.get("isNetflixContent")
-                    , hm.get("bookRate")
-                    , hm.get("totalAudience")
-            );
-        } else if (TV_SHOWS.equals(ranking.getChartType())) {
-            rankingContentChartTvShowInfo = new RankingDto.RankingContentChartTvShowInfo(
-                    ranking.getContent()
-                    , ranking.getChartId()
-                    , ranking.getChartType()
-                    , ranking.getChartRank()
-                    , hm.get("originTitle")
-                    , hm.get("countryCode")
-                    , hm.get("isWatchaContent")
-                    , hm.get("isNetflixContent")
-            );
-        } else if (BOOKS.equals(ranking.getChartType())) {
-            rankingContentChartBookInfo = new RankingDto.RankingContentChartBookInfo(
-                    ranking.getContent()
-                    , ranking.getChartId()
-                    , ranking.getChartType()
-                    , ranking.getChartRank()
-                    , hm.get("contents")
-                    , hm.get("subtitle")
-                    , hm.get("page")
-                    , hm.get("elaboration")
-            );
-        }
-        if(rankingContentChartMovieInfo != null){
-            return rankingContentChartMovieInfo;
-        }else if(rankingContentChartTvShowInfo != null){
-            return rankingContentChartTvShowInfo;
-        }else {
-            return rankingContentChartBookInfo;
+        Object content = Hibernate.unproxy(ranking.getContent());
+
+        if (content instanceof Movie) {
+            Movie movie = (Movie) content;
+            return RankingDto.RankingContentChartMovieInfo.of(ranking, movie, rankingContentScore.get(movie.getId()));
+        } else if (content instanceof TvShow) {
+            return RankingDto.RankingContentChartTvShowInfo.of(ranking, (TvShow) content);
+        } else if (content instanceof Book) {
+            return RankingDto.RankingContentChartBookInfo.of(ranking, (Book) content);
         }
+        return null;
     }
 
-    /**
-     * 프록시 객체 사용을 위한 변환
-     * @param ranking 조회해온 랭킹 리스트
-     * @return
-     */
-    private Map<String, Object> getProxyValueList(Ranking ranking) {
-        Object proxyObj = Hibernate.unproxy(ranking.getContent());
-        Map<String, Object> hm = new HashMap<>();
-
-        for(Field field : proxyObj.getClass().getDeclaredFields()){
-            field.setAccessible(true);
-            try {
-                hm.put(field.getName(), field.get(proxyObj));
-            } catch (IllegalAccessException e) {
-                e.printStackTrace();
-            }
+    @Getter
+    private static class RankingSnapshot {
+        private static final RankingSnapshot EMPTY = new RankingSnapshot("", Collections.emptyMap());
+
+        private final String fingerprint;
+        private final Map<String, List<RankingDto.RankingContentInfoList>> lists;
+
+        RankingSnapshot(String fingerprint, Map<String, List<RankingDto.RankingContentInfoList>> lists) {
+            this.fingerprint = fingerprint;
+            Map<String, List<RankingDto.RankingContentInfoList>> copy = new HashMap<>();
+            lists.forEach((key, value) -> copy.put(key, Collections.unmodifiableList(value)));
+            this.lists = Collections.unmodifiableMap(copy);
         }
-        return hm;
-    }
 
+        List<RankingDto.RankingContentInfoList> get(String key) {
+            return lists.getOrDefault(key, Collections.emptyList());
+        }
+    }
 }
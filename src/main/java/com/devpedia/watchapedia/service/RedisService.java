@@ -6,27 +6,87 @@ import com.devpedia.watchapedia.repository.RedisRepository;
 import com.devpedia.watchapedia.security.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 리프레쉬 토큰 발급과 회전.
+ *
+ * 로그인 한번마다 토큰 family 를 만들고 Redis 에는 유저, family 별 키에 현재 토큰 id 만 둔다(만료 = 리프레쉬 토큰 만료 시간).
+ * 재발급 요청마다 리프레쉬 토큰도 새로 발급하고 이전 토큰은 쓸 수 없게 된다.
+ * 현재 토큰 id 비교와 교체는 family 키 하나에 대한 스크립트로 한번에 하므로 재발급 당 Redis 호출은 한번이다.
+ * 이전 토큰이 유예 시간 안에 다시 쓰이면(재시도, 여러 탭의 동시 요청) 현재 토큰으로 다시 발급하고,
+ * 그 이후에 쓰이면 탈취된 것으로 보고 family 전체를 폐기한다.
+ */
 @Service
 @RequiredArgsConstructor
 public class RedisService {
 
+    private static final Duration REFRESH_TOKEN_TTL = Duration.ofMillis(JwtTokenProvider.REFRESH_TOKEN_EXPIRE_TIME);
+    private static final Duration REFRESH_TOKEN_REUSE_GRACE = Duration.ofSeconds(30);
+
     private final RedisRepository redisRepository;
     private final JwtTokenProvider jwtTokenProvider;
 
     /**
-     * 리프레쉬 토큰 정상 여부 확인 후 엑세스 토큰을 재발급한다.
+     * 새 토큰 family 를 시작하고 엑세스 토큰, 리프레쉬 토큰을 발급한다.
+     * @param userId 유저 PK
+     * @param roles 권한
+     * @return 엑세스 토큰, 리프레쉬 토큰
+     */
+    public JwtTokenProvider.TokenPair issueTokens(Long userId, List<String> roles) {
+        String familyId = newTokenId();
+        String tokenId = newTokenId();
+
+        redisRepository.addRefreshTokenFamily(userId, familyId, tokenId, REFRESH_TOKEN_TTL);
+
+        return createTokens(userId, roles, familyId, tokenId);
+    }
+
+    /**
+     * 리프레쉬 토큰 정상 여부 확인 후 엑세스 토큰, 리프레쉬 토큰을 재발급한다.
      * @param refreshToken 리프레쉬 토큰
-     * @return 새로운 엑세스 토큰
+     * @return 새로운 엑세스 토큰, 리프레쉬 토큰
      */
-    public String getAccessTokenOrThrow(String refreshToken) {
-        JwtTokenProvider.JwtParseInfo userInfo = jwtTokenProvider.getUserParseInfo(refreshToken);
-        String storedToken = redisRepository.getRefreshToken(userInfo.getId());
+    public JwtTokenProvider.TokenPair refreshTokensOrThrow(String refreshToken) {
+        JwtTokenProvider.RefreshTokenInfo tokenInfo = jwtTokenProvider.getRefreshTokenInfo(refreshToken);
+
+        if (tokenInfo.getFamilyId() == null || tokenInfo.getTokenId() == null)
+            return migrateLegacyTokenOrThrow(tokenInfo, refreshToken);
+
+        String tokenId = redisRepository.rotateRefreshToken(tokenInfo.getId(), tokenInfo.getFamilyId(),
+                tokenInfo.getTokenId(), newTokenId(), REFRESH_TOKEN_TTL, REFRESH_TOKEN_REUSE_GRACE);
+
+        if (tokenId == null)
+            throw new ValueNotMatchException(ErrorCode.TOKEN_INVALID);
+
+        return createTokens(tokenInfo.getId(), tokenInfo.getRoles(), tokenInfo.getFamilyId(), tokenId);
+    }
+
+    /**
+     * family 도입 전에 발급된 토큰은 전역 해시에 저장된 토큰과 비교하고, 맞으면 새 family 로 옮긴다.
+     */
+    private JwtTokenProvider.TokenPair migrateLegacyTokenOrThrow(JwtTokenProvider.RefreshTokenInfo tokenInfo,
+                                                                 String refreshToken) {
+        String storedToken = redisRepository.getRefreshToken(tokenInfo.getId());
 
         if (storedToken == null || !storedToken.equals(refreshToken))
             throw new ValueNotMatchException(ErrorCode.TOKEN_INVALID);
 
-        return jwtTokenProvider.createAccessToken(String.valueOf(userInfo.getId()), userInfo.getRoles());
+        redisRepository.deleteRefreshToken(tokenInfo.getId());
+        return issueTokens(tokenInfo.getId(), tokenInfo.getRoles());
+    }
+
+    private JwtTokenProvider.TokenPair createTokens(Long userId, List<String> roles, String familyId, String tokenId) {
+        String userPk = String.valueOf(userId);
+        return new JwtTokenProvider.TokenPair(
+                jwtTokenProvider.createAccessToken(userPk, roles),
+                jwtTokenProvider.createRefreshToken(userPk, roles, familyId, tokenId));
+    }
+
+    private static String newTokenId() {
+        return UUID.randomUUID().toString();
     }
 }
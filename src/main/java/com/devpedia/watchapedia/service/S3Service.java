@@ -3,11 +3,14 @@ package com.devpedia.watchapedia.service;
 import com.amazonaws.auth.AWSCredentials;
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import com.amazonaws.services.s3.model.CannedAccessControlList;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
 import com.devpedia.watchapedia.exception.ExternalIOException;
 import com.devpedia.watchapedia.exception.common.ErrorCode;
 import lombok.RequiredArgsConstructor;
@@ -17,14 +20,21 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.Executors;
 
 @Service
 @RequiredArgsConstructor
 public class S3Service {
 
+    private static final long MB = 1024 * 1024L;
+
     private AmazonS3 s3Client;
 
+    private TransferManager transferManager;
+
     @Value("${cloud.aws.credentials.accessKey}")
     private String accessKey;
 
@@ -37,16 +47,48 @@ public class S3Service {
     @Value("${cloud.aws.region.static}")
     private String region;
 
+    /**
+     * S3 호환 서버(MinIO, S3Mock 등) 주소. 비어 있으면 AWS S3 를 쓴다.
+     */
+    @Value("${cloud.aws.s3.endpoint:}")
+    private String endpoint;
+
+    @Value("${image-upload.transfer-threads:4}")
+    private int transferThreads;
+
+    @Value("${image-upload.part-size-mb:5}")
+    private long partSizeMb;
+
+    @Value("${image-upload.multipart-threshold-mb:8}")
+    private long multipartThresholdMb;
+
     @PostConstruct
     public void setS3Client() {
         AWSCredentials credentials = new BasicAWSCredentials(this.accessKey, this.secretKey);
 
-        s3Client = AmazonS3ClientBuilder.standard()
-                .withCredentials(new AWSStaticCredentialsProvider(credentials))
-                .withRegion(this.region)
+        AmazonS3ClientBuilder builder = AmazonS3ClientBuilder.standard()
+                .withCredentials(new AWSStaticCredentialsProvider(credentials));
+        if (endpoint == null || endpoint.isEmpty()) {
+            builder.withRegion(this.region);
+        } else {
+            builder.withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(endpoint, this.region))
+                    .withPathStyleAccessEnabled(true);
+        }
+        s3Client = builder.build();
+
+        transferManager = TransferManagerBuilder.standard()
+                .withS3Client(s3Client)
+                .withExecutorFactory(() -> Executors.newFixedThreadPool(transferThreads))
+                .withMinimumUploadPartSize(partSizeMb * MB)
+                .withMultipartUploadThreshold(multipartThresholdMb * MB)
                 .build();
     }
 
+    @PreDestroy
+    public void shutdown() {
+        transferManager.shutdownNow(false);
+    }
+
     /**
      * AWS S3 에 파일을 저장한다.
      * @param file 이미지 멀티파트 파일
@@ -63,4 +105,19 @@ public class S3Service {
             throw new ExternalIOException(ErrorCode.INPUT_VALUE_INVALID, "S3 image upload fail");
         }
     }
+
+    /**
+     * AWS S3 에 파일을 저장한다. 파일 내용을 메모리에 올리지 않는다.
+     * 업로드 파일 크기 제한(spring.servlet.multipart.max-file-size, 2MB)이 멀티파트 기준 크기보다 작아서
+     * 파일 하나는 PUT 한 번으로 올라가고, 병렬성은 imageUploadExecutor 에서 여러 파일을 동시에 올리는 데서 나온다.
+     * S3 최소 파트 크기가 5MB 라 기준을 더 낮출 수 없으므로, 멀티파트 설정은 크기 제한을 늘릴 때만 쓰인다.
+     * @param file 업로드할 파일
+     * @param filePath S3 내의 저장 경로 + 파일명 (ex. poster/image.jpg)
+     * @throws InterruptedException 업로드 완료를 기다리는 중 인터럽트된 경우
+     */
+    public void upload(File file, String filePath) throws InterruptedException {
+        transferManager.upload(new PutObjectRequest(bucket, filePath, file)
+                .withCannedAcl(CannedAccessControlList.PublicRead))
+                .waitForCompletion();
+    }
 }
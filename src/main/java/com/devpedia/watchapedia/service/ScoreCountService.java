@@ -0,0 +1,136 @@
+package com.devpedia.watchapedia.service;
+
+import com.devpedia.watchapedia.repository.RedisRepository;
+import com.devpedia.watchapedia.repository.content.ContentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 전체 평점 개수 카운터.
+ * 평점 생성/삭제는 커밋 후 서버 메모리의 LongAdder 에만 더하고, 주기적으로 Redis 카운터에 INCRBY 로 합친다.
+ * 조회는 마지막으로 읽은 Redis 값에 아직 합치지 않은 변경분을 더해서 DB 조회 없이 응답한다.
+ *
+ * 오차 범위: 다른 서버의 아직 합쳐지지 않은 변경분(서버 당 flush 주기 동안의 변경) 만큼 늦게 반영되고,
+ * 재집계 중에 들어온 변경분은 다음 재집계 때까지 남는다.
+ * 재집계는 트래픽이 적은 시간에 score 테이블을 직접 세서 Redis 값을 덮어쓴다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScoreCountService {
+
+    private final ContentRepository contentRepository;
+    private final RedisRepository redisRepository;
+
+    private final LongAdder pending = new LongAdder();
+    private final Object seedLock = new Object();
+    private volatile Long shared;
+
+    public void increment() {
+        add(1);
+    }
+
+    public void decrement() {
+        add(-1);
+    }
+
+    /**
+     * 트랜잭션 안이면 커밋된 후에 변경분을 더한다.
+     * 롤백되거나 재시도되는 트랜잭션의 변경분이 중복으로 남지 않도록 한다.
+     */
+    private void add(long delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    pending.add(delta);
+                }
+            });
+        } else {
+            pending.add(delta);
+        }
+    }
+
+    /**
+     * 전체 평점 개수를 구한다.
+     * 최초 조회 시에만 Redis(없으면 DB) 를 읽는다.
+     * @return 전체 평점 개수
+     */
+    public long getTotalCount() {
+        Long current = shared;
+        if (current == null) {
+            flush();
+            current = shared;
+        }
+        if (current == null) current = seed();
+        return current + pending.sum();
+    }
+
+    /**
+     * Redis 카운터가 없을 때 score 테이블을 세서 채운다.
+     * 동시에 들어온 최초 조회들 중 한 요청만 세고 나머지는 그 값을 쓴다.
+     * Redis 에는 키가 없을 때만 쓰므로(SETNX) 다른 서버가 먼저 채웠으면 그 값을 쓴다.
+     * Redis 에 쓰지 못하면 센 값을 다음 flush 까지 그대로 쓴다.
+     * @return 전체 평점 개수(변경분 제외)
+     */
+    private long seed() {
+        synchronized (seedLock) {
+            Long current = shared;
+            if (current != null) return current;
+
+            long exact = contentRepository.countTotalScores();
+            try {
+                Long seeded = redisRepository.seedScoreCount(exact);
+                current = seeded != null ? seeded : exact;
+            } catch (Exception e) {
+                log.warn("score count seed failed, use db count until next flush", e);
+                current = exact;
+            }
+            shared = current;
+            return current;
+        }
+    }
+
+    /**
+     * 쌓인 변경분을 Redis 카운터에 합치고, 다른 서버가 합친 값까지 포함한 최신 값을 받아온다.
+     * Redis 카운터가 없으면 score 테이블을 세서 채운다. 센 값에 이미 변경분이 들어 있으므로 변경분은 버린다.
+     * Redis 반영에 실패하면 변경분을 되돌려 놓고 다음 주기에 다시 시도한다.
+     */
+    @Scheduled(fixedDelayString = "${score-count.flush-interval-millis:1000}")
+    public void flush() {
+        long delta = pending.sumThenReset();
+        try {
+            if (delta == 0) {
+                shared = redisRepository.getScoreCount();
+                return;
+            }
+            Long count = redisRepository.incrementScoreCount(delta);
+            shared = count != null ? count : redisRepository.seedScoreCount(contentRepository.countTotalScores());
+        } catch (Exception e) {
+            pending.add(delta);
+            log.warn("score count flush failed, retry next time", e);
+        }
+    }
+
+    /**
+     * score 테이블을 직접 세서 Redis 카운터를 덮어쓴다.
+     */
+    @Scheduled(cron = "${score-count.reconcile-cron:0 0 4 * * *}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        try {
+            long exact = contentRepository.countTotalScores();
+            redisRepository.setScoreCount(exact);
+            shared = exact;
+        } catch (Exception e) {
+            log.warn("score count reconcile failed", e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.devpedia.watchapedia.service;
+
+import com.devpedia.watchapedia.domain.Content;
+import com.devpedia.watchapedia.repository.CommentRepository;
+import com.devpedia.watchapedia.repository.RedisRepository;
+import com.devpedia.watchapedia.repository.content.ContentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 트렌딩 작품 순위.
+ * 코멘트 생성/삭제 시점에 Redis sorted set 점수를 증감하고, 조회는 상위 N 개만 읽는다.
+ * 점수는 코멘트 작성 시각 기준으로 감쇠되는데, 오래된 점수를 깎는 대신
+ * 기준 시각(landmark)부터 지난 시간만큼 새 코멘트의 가중치를 키우는 방식(forward decay)이라
+ * 기존 점수를 다시 계산하지 않아도 순위는 감쇠된 순위와 같다.
+ * 기준 시각은 하루에 한번 바뀌고, 주기적인 재집계가 DB 기준으로 점수를 다시 만든다.
+ */
+@Slf4j
+@Service
+public class TrendingService {
+
+    private final CommentRepository commentRepository;
+    private final ContentRepository contentRepository;
+    private final RedisRepository redisRepository;
+    private final double halfLifeSeconds;
+    private final int windowDays;
+
+    public TrendingService(CommentRepository commentRepository,
+                           ContentRepository contentRepository,
+                           RedisRepository redisRepository,
+                           @Value("${trending.half-life-hours:24}") double halfLifeHours,
+                           @Value("${trending.window-days:14}") int windowDays) {
+        this.commentRepository = commentRepository;
+        this.contentRepository = contentRepository;
+        this.redisRepository = redisRepository;
+        this.halfLifeSeconds = halfLifeHours * 3600;
+        this.windowDays = windowDays;
+    }
+
+    /**
+     * 트렌딩 작품 제목을 점수 순으로 구한다.
+     * Redis 가 비어 있거나 조회에 실패하면 DB 에서 코멘트 수 기준으로 구한다.
+     * @param size 사이즈
+     * @return 트렌딩 작품 제목 리스트
+     */
+    public List<String> getTrendingWords(int size) {
+        try {
+            List<String> titles = redisRepository.getTrendingTitles(size);
+            if (!titles.isEmpty()) return titles;
+        } catch (Exception e) {
+            log.warn("trending read from redis failed, fallback to db", e);
+        }
+        return contentRepository.getTrendingWords(size);
+    }
+
+    /**
+     * 코멘트가 생성되면 작성 시각 가중치만큼 점수를 올린다.
+     * @param content 컨텐츠
+     * @param createdAt 코멘트 작성 시각
+     */
+    public void commentCreated(Content content, LocalDateTime createdAt) {
+        apply(content, weight(createdAt));
+    }
+
+    /**
+     * 코멘트가 삭제되면 작성 시각 가중치만큼 점수를 내린다.
+     * 집계 기간이 지난 코멘트는 이미 점수에서 빠져 있으므로 무시한다.
+     * @param content 컨텐츠
+     * @param createdAt 코멘트 작성 시각
+     */
+    public void commentDeleted(Content content, LocalDateTime createdAt) {
+        if (createdAt == null || createdAt.isBefore(windowStart())) return;
+        apply(content, -weight(createdAt));
+    }
+
+    /**
+     * 집계 기간 내 코멘트로 트렌딩 점수를 다시 만든다.
+     * 이벤트 유실이나 기준 시각 변경으로 생긴 오차를 바로잡는다.
+     */
+    @Scheduled(fixedDelayString = "${trending.reconcile-interval-millis:600000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        try {
+            Map<Long, Double> scores = new HashMap<>();
+            for (Object[] row : commentRepository.findContentIdAndCreatedAtSince(windowStart())) {
+                scores.merge((Long) row[0], weight((LocalDateTime) row[1]), Double::sum);
+            }
+            redisRepository.replaceTrending(scores, contentRepository.getTitles(scores.keySet()));
+        } catch (Exception e) {
+            log.warn("trending reconcile failed, keep previous scores", e);
+        }
+    }
+
+    /**
+     * 작성 시각의 가중치를 구한다. 반감기마다 2배씩 커진다.
+     * @param createdAt 작성 시각
+     * @return 가중치
+     */
+    double weight(LocalDateTime createdAt) {
+        double elapsed = toEpochSecond(createdAt) - toEpochSecond(landmark());
+        return Math.pow(2, elapsed / halfLifeSeconds);
+    }
+
+    private void apply(Content content, double delta) {
+        try {
+            redisRepository.incrementTrending(content.getId(), content.getMainTitle(), delta);
+        } catch (Exception e) {
+            log.warn("trending update failed, will be repaired by reconcile", e);
+        }
+    }
+
+    /**
+     * 모든 서버가 같은 값을 쓰도록 오늘 0시에서 집계 기간을 뺀 시각을 기준으로 한다.
+     */
+    private LocalDateTime landmark() {
+        return LocalDate.now().atStartOfDay().minusDays(windowDays);
+    }
+
+    private LocalDateTime windowStart() {
+        return LocalDateTime.now().minusDays(windowDays);
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+}
@@ -12,7 +12,6 @@ import com.devpedia.watchapedia.repository.collection.CollectionRepository;
 import com.devpedia.watchapedia.repository.tag.TagRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -43,6 +42,7 @@ public class TvShowService {
     private final ContentService contentService;
     private final TagRepository tagRepository;
     private final CollectionRepository collectionRepository;
+    private final RandomIdPool randomIdPool;
 
     /**
      * 티비프로그램 삽입 어드민용 API
@@ -81,7 +81,8 @@ public class TvShowService {
      */
     public List<ContentDto.MainList> getTagList() {
         List<ContentDto.MainList> result = new ArrayList<>();
-        List<Tag> tags = tagRepository.findByRandom(PageRequest.of(0, RANDOM_TAG_COUNT));
+        List<Long> tagIds = randomIdPool.pickTagIds(ContentTypeParameter.TV_SHOWS, RANDOM_TAG_COUNT);
+        List<Tag> tags = RandomIdPool.inPickedOrder(tagIds, tagRepository.findAllById(tagIds), Tag::getId);
         for (Tag tag : tags) {
             ContentDto.MainList tagList = contentService.getTagList(ContentTypeParameter.TV_SHOWS, tag, TAG_LIST_SIZE);
             result.add(tagList);
@@ -95,7 +96,8 @@ public class TvShowService {
      */
     public List<ContentDto.MainListForCollection> getCollectionList() {
         List<ContentDto.MainListForCollection> result = new ArrayList<>();
-        List<Collection> collections = collectionRepository.getRandom(ContentTypeParameter.TV_SHOWS, RANDOM_COLLECTION_COUNT);
+        List<Long> collectionIds = randomIdPool.pickCollectionIds(ContentTypeParameter.TV_SHOWS, RANDOM_COLLECTION_COUNT);
+        List<Collection> collections = RandomIdPool.inPickedOrder(collectionIds, collectionRepository.findAllById(collectionIds), Collection::getId);
 
         for (Collection collection : collections) {
             ContentDto.MainListForCollection collectionList = contentService.getCollectionList(collection, COLLECTION_LIST_SIZE);
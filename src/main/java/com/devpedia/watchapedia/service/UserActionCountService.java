@@ -0,0 +1,129 @@
+package com.devpedia.watchapedia.service;
+
+import com.devpedia.watchapedia.domain.Content;
+import com.devpedia.watchapedia.domain.UserActionCount;
+import com.devpedia.watchapedia.domain.enums.InterestState;
+import com.devpedia.watchapedia.dto.enums.ContentTypeParameter;
+import com.devpedia.watchapedia.repository.UserActionCountRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 유저의 컨텐츠 타입 별 활동 개수(user_action_count) 관리.
+ * 평점, 관심, 코멘트가 바뀌는 트랜잭션 안에서 변경분을 더한다.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class UserActionCountService {
+
+    private static final Long NO_CONTENT_ID = 0L;
+
+    private final UserActionCountRepository userActionCountRepository;
+
+    /**
+     * 신규 유저의 컨텐츠 타입 별 활동 개수 행을 만든다.
+     * 행이 미리 있어야 첫 활동이 동시에 들어와도 수정만으로 처리된다.
+     * @param userId 유저 id
+     */
+    public void createFor(Long userId) {
+        for (ContentTypeParameter type : ContentTypeParameter.values()) {
+            userActionCountRepository.save(UserActionCount.builder()
+                    .userId(userId)
+                    .dtype(type.getDtype())
+                    .build());
+        }
+    }
+
+    /**
+     * 평점 개수를 변경한다.
+     * @param userId 유저 id
+     * @param content 평가한 컨텐츠
+     * @param delta 생성이면 1, 삭제면 -1
+     */
+    public void addRating(Long userId, Content content, int delta) {
+        add(userId, content, delta, 0, 0, 0, 0);
+    }
+
+    /**
+     * 관심 상태 변경을 반영한다.
+     * @param userId 유저 id
+     * @param content 관심 컨텐츠
+     * @param before 변경 전 상태(신규면 null)
+     * @param after 변경 후 상태(삭제면 null)
+     */
+    public void changeInterest(Long userId, Content content, InterestState before, InterestState after) {
+        if (before == after) return;
+        add(userId, content, 0,
+                stateDelta(InterestState.WISH, before, after),
+                stateDelta(InterestState.WATCHING, before, after),
+                stateDelta(InterestState.NOT_INTEREST, before, after),
+                0);
+    }
+
+    /**
+     * 코멘트 개수를 변경한다.
+     * @param userId 유저 id
+     * @param content 코멘트 컨텐츠
+     * @param delta 생성이면 1, 삭제면 -1
+     */
+    public void addComment(Long userId, Content content, int delta) {
+        add(userId, content, 0, 0, 0, 0, delta);
+    }
+
+    /**
+     * score, interest, comment 테이블로부터 전체 유저의 활동 개수를 다시 만든다.
+     * 카운터 테이블 도입 이전 데이터 이관 및 보정 용도.
+     * 유저, 컨텐츠 타입 별로 한 문장씩 다시 세서 덮어쓰므로 재집계 중에 반영된 변경분이 사라지지 않는다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildAll() {
+        for (Long userId : userActionCountRepository.findAllUserIds()) {
+            for (ContentTypeParameter type : ContentTypeParameter.values()) {
+                userActionCountRepository.recomputeCounts(userId, type.getDtype(),
+                        NO_CONTENT_ID, NO_CONTENT_ID, NO_CONTENT_ID, NO_CONTENT_ID, NO_CONTENT_ID, 0, 0, 0, 0, 0);
+            }
+        }
+    }
+
+    /**
+     * 변경분을 더하고, 행이 없으면(카운터 도입 이전 유저) 활동 테이블 집계로 행을 만든다.
+     * 바뀌는 개수는 집계에서 변경 중인 컨텐츠를 빼고 변경 후 상태로 더해서, 변경이 이미 DB 에 반영되었는지와 관계없이 같은 값이 된다.
+     * 바뀌지 않는 개수는 그 컨텐츠의 기존 활동(평점, 보고싶어요 등)도 그대로 센다.
+     */
+    private void add(Long userId, Content content, int rating, int wish, int watching, int notInterest, int comment) {
+        String dtype = content.getDtype();
+        if (dtype == null) return;
+
+        int updated = userActionCountRepository.addCounts(userId, dtype, rating, wish, watching, notInterest, comment);
+        if (updated == 0) {
+            Long contentId = content.getId();
+            userActionCountRepository.insertSeededCounts(userId, dtype,
+                    excludedId(contentId, rating), excludedId(contentId, wish), excludedId(contentId, watching),
+                    excludedId(contentId, notInterest), excludedId(contentId, comment),
+                    afterState(rating), afterState(wish), afterState(watching), afterState(notInterest), afterState(comment),
+                    rating, wish, watching, notInterest, comment);
+        }
+    }
+
+    /**
+     * 변경분으로부터 변경 후 해당 컨텐츠의 상태(있으면 1)를 구한다.
+     * 한 컨텐츠의 변경분은 1(생김), -1(없어짐), 0(변화 없음, 이 상태가 아님) 중 하나다.
+     */
+    private static int afterState(int delta) {
+        return Math.max(delta, 0);
+    }
+
+    /**
+     * 개수가 바뀌면 집계에서 뺄 컨텐츠 id, 바뀌지 않으면 빼지 않도록 NO_CONTENT_ID.
+     */
+    private static Long excludedId(Long contentId, int delta) {
+        return delta != 0 ? contentId : NO_CONTENT_ID;
+    }
+
+    private static int stateDelta(InterestState state, InterestState before, InterestState after) {
+        return (state == after ? 1 : 0) - (state == before ? 1 : 0);
+    }
+}
@@ -3,8 +3,8 @@ package com.devpedia.watchapedia.service;
 import com.devpedia.watchapedia.domain.*;
 import com.devpedia.watchapedia.domain.enums.AccessRange;
 import com.devpedia.watchapedia.dto.ContentDto;
+import com.devpedia.watchapedia.dto.CursorSlice;
 import com.devpedia.watchapedia.dto.UserDto;
-import com.devpedia.watchapedia.dto.enums.ContentTypeParameter;
 import com.devpedia.watchapedia.exception.AccessDeniedException;
 import com.devpedia.watchapedia.exception.EntityNotExistException;
 import com.devpedia.watchapedia.exception.ValueDuplicatedException;
@@ -13,12 +13,14 @@ import com.devpedia.watchapedia.exception.common.ErrorCode;
 import com.devpedia.watchapedia.exception.common.ErrorField;
 import com.devpedia.watchapedia.repository.content.ContentRepository;
 import com.devpedia.watchapedia.repository.user.UserRepository;
+import com.devpedia.watchapedia.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
@@ -29,11 +31,11 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UserService {
 
-    public static final int FAVORITE_LIST_SIZE = 10;
-
     private final UserRepository userRepository;
     private final ContentRepository contentRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserTasteProfileService userTasteProfileService;
+    private final UserActionCountService userActionCountService;
 
     /**
      * 유저 회원가입을 한다.
@@ -58,6 +60,7 @@ public class UserService {
                 .build();
 
         userRepository.save(user);
+        userActionCountService.createFor(user.getId());
     }
 
     /**
@@ -86,6 +89,7 @@ public class UserService {
                 .build();
 
         userRepository.save(user);
+        userActionCountService.createFor(user.getId());
     }
 
     /**
@@ -181,6 +185,19 @@ public class UserService {
         user.delete();
     }
 
+    /**
+     * 여러 user_id 의 유저를 한번에 조회한다.
+     * 존재하지 않거나 삭제된 유저는 결과에서 제외한다.
+     * @param ids user_id 리스트
+     * @return user_id 를 키로 하는 유저 Map
+     */
+    public Map<Long, User> getActiveUsers(Set<Long> ids) {
+        if (ids.isEmpty()) return Collections.emptyMap();
+        return userRepository.findAllById(ids).stream()
+                .filter(user -> !user.getIsDeleted())
+                .collect(Collectors.toMap(User::getId, user -> user));
+    }
+
     /**
      * 해당 user_id 로 유저를 조회한다.
      * 존재하지 않거나 삭제된 유저라면 Exception
@@ -281,6 +298,27 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 유저가 평점을 매긴 작품들을 정렬해서 커서 다음부터 가져온다.
+     * @param targetId 조회 대상 유저
+     * @param tokenId 토큰 정보
+     * @param score 조회 점수(null 이면 전체 조회)
+     * @param parameter type, order, size
+     * @param cursor 이전 페이지 커서(첫 페이지면 null)
+     * @return 작품 리스트와 다음 페이지 커서
+     */
+    public CursorSlice<ContentDto.MainListItem> getContentSliceByRating(Long targetId, Long tokenId, Double score,
+                                                                       UserDto.RatingContentParameter parameter, String cursor) {
+        if (isAccessNotAvailable(targetId, tokenId))
+            throw new AccessDeniedException(ErrorCode.ACCESS_NOT_AVAILABLE, "해당 유저는 비공개 유저입니다.");
+
+        return userRepository.findUserScoresAfter(targetId, parameter.getType(), score,
+                parameter.getOrder(), PageCursor.decode(cursor), parameter.getSize())
+                .map(scores -> scores.stream()
+                        .map(s -> ContentDto.MainListItem.of(contentRepository.initializeAndUnproxy(s.getContent()), s.getScore()))
+                        .collect(Collectors.toList()));
+    }
+
     /**
      * 유저가 보고싶어요, 보는중, 관심없음을 매긴 작품들을 정렬해서
      * 화면에서 보여주기 위한 DTO 리스트 형태로 가져온다.
@@ -302,76 +340,47 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 유저가 보고싶어요, 보는중, 관심없음을 매긴 작품들을 정렬해서 커서 다음부터 가져온다.
+     * @param targetId 조회 대상 유저
+     * @param tokenId 토큰 정보
+     * @param parameter type, order, state(보는중, 보고싶어요, 관심없음), size
+     * @param cursor 이전 페이지 커서(첫 페이지면 null)
+     * @return 작품 리스트와 다음 페이지 커서
+     */
+    public CursorSlice<ContentDto.MainListItem> getContentSliceByInterest(Long targetId, Long tokenId,
+                                                                         UserDto.InterestContentParameter parameter, String cursor) {
+        if (isAccessNotAvailable(targetId, tokenId))
+            throw new AccessDeniedException(ErrorCode.ACCESS_NOT_AVAILABLE, "해당 유저는 비공개 유저입니다.");
+
+        return userRepository.findUserInterestContentAfter(targetId, parameter.getType(), parameter.getState(),
+                parameter.getOrder(), PageCursor.decode(cursor), parameter.getSize())
+                .map(interests -> interests.stream()
+                        .map(i -> ContentDto.MainListItem.of(contentRepository.initializeAndUnproxy(i.getContent()), null))
+                        .collect(Collectors.toList()));
+    }
+
     /**
      * 유저 취향분석 정보를 반환한다. 내용은
      * - 유저 평가정보 (컨텐츠 별 개수, 총 개수, 평균 점수, 많이 준 평점, 평점 분포)
      * - 영화 선호 (태그, 배우, 감독, 국가, 카테고리, 감상 시간)
      * - 책 선호 (태그, 작가)
+     * 미리 계산해서 저장된 결과를 읽는다.
+     * 다시 계산해서 저장하는 경우 별도 트랜잭션을 쓰므로, 커넥션을 두개 잡지 않도록 트랜잭션 없이 실행한다.
      * @param targetId 조회 대상 유저
      * @param tokenId 토큰 정보
      * @return 유저 취향분석 정보
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserDto.UserAnalysisData getUserAnalysis(Long targetId, Long tokenId) {
         if (isAccessNotAvailable(targetId, tokenId))
             throw new AccessDeniedException(ErrorCode.ACCESS_NOT_AVAILABLE, "해당 유저는 비공개 유저입니다.");
 
         User user = getUserIfExistOrThrow(targetId);
 
-        UserDto.UserRatingAnalysis ratingAnalysis = userRepository.getRatingAnalysis(targetId);
-        UserDto.UserMovieAnalysis movieAnalysis = getMovieAnalysis(targetId);
-        UserDto.UserBookAnalysis bookAnalysis = getBookAnalysis(targetId);
-
-        return UserDto.UserAnalysisData.builder()
-                .userName(user.getName())
-                .rating(ratingAnalysis)
-                .movie(movieAnalysis)
-                .book(bookAnalysis)
-                .build();
-    }
-
-    /**
-     * 영화 선호 정보를 반환한다. 내용은
-     * - 선호 태그
-     * - 선호 배우, 감독
-     * - 선호 국가
-     * - 선호 카테고리
-     * - 총 영화 감상 시간
-     * @param userId 조회 대상 유저
-     * @return 영화 선호 정보
-     */
-    private UserDto.UserMovieAnalysis getMovieAnalysis(Long userId) {
-        List<UserDto.FavoriteCommon> tags = userRepository.getFavoriteTag(userId, ContentTypeParameter.MOVIES, FAVORITE_LIST_SIZE);
-        List<UserDto.FavoriteCommon> countries = userRepository.getFavoriteCountry(userId, FAVORITE_LIST_SIZE);
-        List<UserDto.FavoriteCommon> categories = userRepository.getFavoriteCategory(userId, ContentTypeParameter.MOVIES, FAVORITE_LIST_SIZE);
-        List<UserDto.FavoritePerson> actor = userRepository.getFavoritePerson(userId, ContentTypeParameter.MOVIES, "배우", FAVORITE_LIST_SIZE);
-        List<UserDto.FavoritePerson> director = userRepository.getFavoritePerson(userId, ContentTypeParameter.MOVIES, "감독", FAVORITE_LIST_SIZE);
-        int totalRunningTimeInMinute = userRepository.getTotalRunningTime(userId);
-
-        return UserDto.UserMovieAnalysis.builder()
-                .tag(tags)
-                .country(countries)
-                .category(categories)
-                .actor(actor)
-                .director(director)
-                .totalRunningTimeInMinute(totalRunningTimeInMinute)
-                .build();
-    }
-
-    /**
-     * 책 선호 정보를 반환한다. 내용은
-     * - 선호 태그
-     * - 선호 작가
-     * @param userId 조회 대상 유저
-     * @return 책 선호 정보
-     */
-    private UserDto.UserBookAnalysis getBookAnalysis(Long userId) {
-        List<UserDto.FavoriteCommon> tags = userRepository.getFavoriteTag(userId, ContentTypeParameter.BOOKS, FAVORITE_LIST_SIZE);
-        List<UserDto.FavoritePerson> author = userRepository.getFavoritePerson(userId, ContentTypeParameter.BOOKS, "저자", FAVORITE_LIST_SIZE);
-
-        return UserDto.UserBookAnalysis.builder()
-                .tag(tags)
-                .author(author)
-                .build();
+        UserDto.UserAnalysisData analysis = userTasteProfileService.getAnalysis(targetId);
+        analysis.setUserName(user.getName());
+        return analysis;
     }
 
     /**
@@ -0,0 +1,271 @@
+package com.devpedia.watchapedia.service;
+
+import com.devpedia.watchapedia.domain.UserTasteProfile;
+import com.devpedia.watchapedia.dto.UserDto;
+import com.devpedia.watchapedia.dto.enums.ContentTypeParameter;
+import com.devpedia.watchapedia.repository.UserTasteProfileRepository;
+import com.devpedia.watchapedia.repository.user.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 유저 취향분석 결과를 미리 계산해서 user_taste_profile 에 저장한다.
+ * 조회는 한 행만 읽어서 압축을 풀고, 평가가 바뀐 유저는 stale 로 표시해 두었다가
+ * 다음 조회 시점이나 주기적인 재계산에서 다시 만든다.
+ * 저장은 계산을 시작할 때의 version 이 그대로일 때만 하므로 계산 중에 바뀐 평가가 덮어써지지 않는다.
+ */
+@Slf4j
+@Service
+public class UserTasteProfileService {
+
+    public static final int FAVORITE_LIST_SIZE = 10;
+
+    private final UserRepository userRepository;
+    private final UserTasteProfileRepository profileRepository;
+    private final ObjectMapper objectMapper;
+    private final Executor executor;
+    private final Executor backfillExecutor;
+    private final TransactionTemplate newTransaction;
+    private final AtomicBoolean rebuildingAll = new AtomicBoolean();
+    private final int rebuildChunkSize;
+
+    public UserTasteProfileService(UserRepository userRepository,
+                                   UserTasteProfileRepository profileRepository,
+                                   ObjectMapper objectMapper,
+                                   @Qualifier("tasteProfileExecutor") Executor executor,
+                                   @Qualifier("backfillExecutor") Executor backfillExecutor,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${taste-profile.rebuild-chunk-size:100}") int rebuildChunkSize) {
+        this.userRepository = userRepository;
+        this.profileRepository = profileRepository;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.backfillExecutor = backfillExecutor;
+        this.rebuildChunkSize = rebuildChunkSize;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 유저 취향분석 정보를 반환한다. (유저 이름 제외)
+     * 저장된 결과가 없거나 stale 이면 계산해서 반환하고 저장한다.
+     * @param userId 유저 id
+     * @return 유저 취향분석 정보
+     */
+    public UserDto.UserAnalysisData getAnalysis(Long userId) {
+        Optional<UserTasteProfile> profile = profileRepository.findById(userId);
+        if (profile.isPresent() && !profile.get().getIsStale()) {
+            try {
+                return decode(profile.get().getData());
+            } catch (Exception e) {
+                log.warn("taste profile decode failed, recompute. userId={}", userId, e);
+            }
+        }
+
+        Long version = profile.map(UserTasteProfile::getVersion).orElse(null);
+        UserDto.UserAnalysisData analysis = compute(userId);
+        try {
+            newTransaction.executeWithoutResult(status -> store(userId, analysis, version));
+        } catch (Exception e) {
+            log.warn("taste profile store failed. userId={}", userId, e);
+        }
+        return analysis;
+    }
+
+    /**
+     * 평가가 바뀐 유저의 저장된 취향분석을 stale 로 표시한다.
+     * 저장된 결과가 없으면 stale 행을 만든다.
+     * 호출한 쪽의 트랜잭션에서 실행된다.
+     * @param userId 유저 id
+     */
+    @Transactional
+    public void invalidate(Long userId) {
+        profileRepository.markStale(userId);
+    }
+
+    /**
+     * 전체 유저의 취향분석 재계산을 백필 스레드에서 시작하고 바로 반환한다.
+     * 이미 진행 중이면 새로 시작하지 않는다.
+     * @return 시작했으면 true, 이미 진행 중이면 false
+     */
+    public boolean startRebuildAll() {
+        if (!rebuildingAll.compareAndSet(false, true)) return false;
+        try {
+            backfillExecutor.execute(() -> {
+                try {
+                    log.info("taste profile rebuild all done. count={}", rebuildAll());
+                } catch (Exception e) {
+                    log.warn("taste profile rebuild all failed", e);
+                } finally {
+                    rebuildingAll.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            rebuildingAll.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * 전체 유저의 취향분석을 다시 계산한다.
+     * 유저 id 순으로 나눠서 묶음 별로 병렬 계산한다. 기존 데이터 백필 용도.
+     * @return 계산한 유저 수
+     */
+    public int rebuildAll() {
+        int count = 0;
+        Long afterId = 0L;
+        while (true) {
+            List<Long> userIds = userRepository.findActiveIdsAfter(afterId, PageRequest.of(0, rebuildChunkSize));
+            if (userIds.isEmpty()) return count;
+            rebuild(userIds);
+            count += userIds.size();
+            afterId = userIds.get(userIds.size() - 1);
+        }
+    }
+
+    /**
+     * stale 로 표시된 취향분석을 미리 다시 계산해서 조회 시점에 계산하는 경우를 줄인다.
+     */
+    @Scheduled(fixedDelayString = "${taste-profile.stale-rebuild-interval-millis:60000}")
+    public void rebuildStale() {
+        try {
+            rebuild(profileRepository.findStaleIds(PageRequest.of(0, rebuildChunkSize)));
+        } catch (Exception e) {
+            log.warn("taste profile stale rebuild failed", e);
+        }
+    }
+
+    private void rebuild(List<Long> userIds) {
+        CompletableFuture.allOf(userIds.stream()
+                .map(userId -> CompletableFuture.runAsync(() -> rebuild(userId), executor))
+                .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
+    private void rebuild(Long userId) {
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                Long version = profileRepository.findById(userId).map(UserTasteProfile::getVersion).orElse(null);
+                store(userId, compute(userId), version);
+            });
+        } catch (Exception e) {
+            log.warn("taste profile rebuild failed. userId={}", userId, e);
+        }
+    }
+
+    /**
+     * 계산 결과를 저장한다.
+     * 계산 시작 시점에 행이 없었으면 그 사이 생기지 않았을 때만 생성하고,
+     * 있었으면 계산 시작 시점의 version 이 그대로일 때만 수정한다.
+     */
+    private void store(Long userId, UserDto.UserAnalysisData analysis, Long version) {
+        byte[] data = encode(analysis);
+        if (version == null) {
+            profileRepository.insertIfAbsent(userId, data);
+        } else {
+            profileRepository.updateIfVersion(userId, data, version);
+        }
+    }
+
+    /**
+     * score 테이블로부터 취향분석 정보를 계산한다. 내용은
+     * - 유저 평가정보 (컨텐츠 별 개수, 총 개수, 평균 점수, 많이 준 평점, 평점 분포)
+     * - 영화 선호 (태그, 배우, 감독, 국가, 카테고리, 감상 시간)
+     * - 책 선호 (태그, 작가)
+     * @param userId 유저 id
+     * @return 유저 취향분석 정보
+     */
+    UserDto.UserAnalysisData compute(Long userId) {
+        return UserDto.UserAnalysisData.builder()
+                .rating(userRepository.getRatingAnalysis(userId))
+                .movie(getMovieAnalysis(userId))
+                .book(getBookAnalysis(userId))
+                .build();
+    }
+
+    /**
+     * 영화 선호 정보를 반환한다. 내용은
+     * - 선호 태그
+     * - 선호 배우, 감독
+     * - 선호 국가
+     * - 선호 카테고리
+     * - 총 영화 감상 시간
+     * @param userId 조회 대상 유저
+     * @return 영화 선호 정보
+     */
+    private UserDto.UserMovieAnalysis getMovieAnalysis(Long userId) {
+        List<UserDto.FavoriteCommon> tags = userRepository.getFavoriteTag(userId, ContentTypeParameter.MOVIES, FAVORITE_LIST_SIZE);
+        List<UserDto.FavoriteCommon> countries = userRepository.getFavoriteCountry(userId, FAVORITE_LIST_SIZE);
+        List<UserDto.FavoriteCommon> categories = userRepository.getFavoriteCategory(userId, ContentTypeParameter.MOVIES, FAVORITE_LIST_SIZE);
+        List<UserDto.FavoritePerson> actor = userRepository.getFavoritePerson(userId, ContentTypeParameter.MOVIES, "배우", FAVORITE_LIST_SIZE);
+        List<UserDto.FavoritePerson> director = userRepository.getFavoritePerson(userId, ContentTypeParameter.MOVIES, "감독", FAVORITE_LIST_SIZE);
+        int totalRunningTimeInMinute = userRepository.getTotalRunningTime(userId);
+
+        return UserDto.UserMovieAnalysis.builder()
+                .tag(tags)
+                .country(countries)
+                .category(categories)
+                .actor(actor)
+                .director(director)
+                .totalRunningTimeInMinute(totalRunningTimeInMinute)
+                .build();
+    }
+
+    /**
+     * 책 선호 정보를 반환한다. 내용은
+     * - 선호 태그
+     * - 선호 작가
+     * @param userId 조회 대상 유저
+     * @return 책 선호 정보
+     */
+    private UserDto.UserBookAnalysis getBookAnalysis(Long userId) {
+        List<UserDto.FavoriteCommon> tags = userRepository.getFavoriteTag(userId, ContentTypeParameter.BOOKS, FAVORITE_LIST_SIZE);
+        List<UserDto.FavoritePerson> author = userRepository.getFavoritePerson(userId, ContentTypeParameter.BOOKS, "저자", FAVORITE_LIST_SIZE);
+
+        return UserDto.UserBookAnalysis.builder()
+                .tag(tags)
+                .author(author)
+                .build();
+    }
+
+    /**
+     * 취향분석 정보를 gzip 으로 압축한 JSON 으로 직렬화한다.
+     */
+    byte[] encode(UserDto.UserAnalysisData analysis) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            objectMapper.writeValue(gzip, analysis);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    UserDto.UserAnalysisData decode(byte[] data) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return objectMapper.readValue(gzip, UserDto.UserAnalysisData.class);
+        }
+    }
+}
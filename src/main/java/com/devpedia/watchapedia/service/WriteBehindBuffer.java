@@ -0,0 +1,226 @@
+package com.devpedia.watchapedia.service;
+
+import com.devpedia.watchapedia.domain.Comment;
+import com.devpedia.watchapedia.domain.CommentLike;
+import com.devpedia.watchapedia.domain.Interest;
+import com.devpedia.watchapedia.domain.Score;
+import com.devpedia.watchapedia.domain.enums.InterestState;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 평점, 관심, 코멘트 좋아요 쓰기 지연 버퍼.
+ * 활성화되어 있으면 요청은 DB 대신 (유저, 대상) 키의 맵에 기록되고 바로 응답한다.
+ * 같은 키에 여러번 쓰면 마지막 값만 남고(last-write-wins), 주기적으로 모아서 한 트랜잭션에 반영된다.
+ * 아직 반영되지 않은 값은 같은 서버의 조회에서 DB 값 대신 보여준다.
+ * 꺼낸 변경은 반영 트랜잭션이 커밋될 때까지 반영 중 맵에 남겨서 그 사이의 조회에서도 보이도록 한다.
+ *
+ * 버퍼가 가득 차면 쓰기를 받지 않고 호출한 쪽이 바로 DB 에 쓰도록 한다.
+ * 서버가 비정상 종료되면 반영되지 않은 변경은 유실된다.
+ */
+@Service
+public class WriteBehindBuffer {
+
+    private final boolean enabled;
+    private final int maxPending;
+
+    private final ConcurrentMap<Score.ScoreId, Pending<Double>> scores = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Interest.InterestId, Pending<InterestState>> interests = new ConcurrentHashMap<>();
+    private final ConcurrentMap<CommentLike.CommentLikeId, Boolean> commentLikes = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Score.ScoreId, Pending<Double>> flushingScores = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Interest.InterestId, Pending<InterestState>> flushingInterests = new ConcurrentHashMap<>();
+    private final ConcurrentMap<CommentLike.CommentLikeId, Boolean> flushingCommentLikes = new ConcurrentHashMap<>();
+
+    public WriteBehindBuffer(@Value("${write-behind.enabled:false}") boolean enabled,
+                             @Value("${write-behind.max-pending:10000}") int maxPending) {
+        this.enabled = enabled;
+        this.maxPending = maxPending;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 평점 변경을 버퍼에 기록한다.
+     * @param userId 유저 id
+     * @param contentId 컨텐츠 id
+     * @param score 평점(삭제면 null)
+     * @return 버퍼에 기록되었으면 true, 바로 DB 에 써야 하면 false
+     */
+    public boolean putScore(Long userId, Long contentId, Double score) {
+        return put(scores, userId == null ? null : new Score.ScoreId(userId, contentId), new Pending<>(score));
+    }
+
+    /**
+     * 관심 상태 변경을 버퍼에 기록한다.
+     * @param userId 유저 id
+     * @param contentId 컨텐츠 id
+     * @param state 관심 상태(삭제면 null)
+     * @return 버퍼에 기록되었으면 true, 바로 DB 에 써야 하면 false
+     */
+    public boolean putInterest(Long userId, Long contentId, InterestState state) {
+        return put(interests, userId == null ? null : new Interest.InterestId(userId, contentId), new Pending<>(state));
+    }
+
+    /**
+     * 코멘트 좋아요 변경을 버퍼에 기록한다.
+     * @param contentId 컨텐츠 id
+     * @param commentUserId 코멘트 유저 id
+     * @param likeUserId 좋아요 유저 id
+     * @param liked 좋아요면 true, 취소면 false
+     * @return 버퍼에 기록되었으면 true, 바로 DB 에 써야 하면 false
+     */
+    public boolean putCommentLike(Long contentId, Long commentUserId, Long likeUserId, boolean liked) {
+        return put(commentLikes, likeUserId == null ? null : toCommentLikeId(contentId, commentUserId, likeUserId), liked);
+    }
+
+    /**
+     * 아직 반영되지 않은 평점 변경을 구한다.
+     * @return 변경이 없으면 null
+     */
+    public Pending<Double> getPendingScore(Long userId, Long contentId) {
+        if (!enabled || userId == null) return null;
+        return getPending(scores, flushingScores, new Score.ScoreId(userId, contentId));
+    }
+
+    /**
+     * 아직 반영되지 않은 관심 상태 변경을 구한다.
+     * @return 변경이 없으면 null
+     */
+    public Pending<InterestState> getPendingInterest(Long userId, Long contentId) {
+        if (!enabled || userId == null) return null;
+        return getPending(interests, flushingInterests, new Interest.InterestId(userId, contentId));
+    }
+
+    /**
+     * 아직 반영되지 않은 코멘트 좋아요 변경을 구한다.
+     * @return 변경이 없으면 null
+     */
+    public Boolean getPendingCommentLike(Long contentId, Long commentUserId, Long likeUserId) {
+        if (!enabled || likeUserId == null) return null;
+        return getPending(commentLikes, flushingCommentLikes, toCommentLikeId(contentId, commentUserId, likeUserId));
+    }
+
+    /**
+     * 버퍼에서 최대 maxSize 개의 변경을 꺼낸다.
+     * 꺼낸 변경은 {@link #complete} 나 {@link #requeue} 전까지 조회에서 계속 보인다.
+     * 꺼낸 뒤에 같은 키로 들어온 쓰기는 다음 배치에 포함된다.
+     * @param maxSize 종류별 최대 개수
+     * @return 꺼낸 변경
+     */
+    public Batch drain(int maxSize) {
+        return new Batch(drain(scores, flushingScores, maxSize),
+                drain(interests, flushingInterests, maxSize),
+                drain(commentLikes, flushingCommentLikes, maxSize));
+    }
+
+    /**
+     * 반영이 커밋된 변경을 반영 중 맵에서 뺀다.
+     * @param batch 커밋된 변경
+     */
+    public void complete(Batch batch) {
+        batch.getScores().forEach(flushingScores::remove);
+        batch.getInterests().forEach(flushingInterests::remove);
+        batch.getCommentLikes().forEach(flushingCommentLikes::remove);
+    }
+
+    /**
+     * 반영에 실패한 변경을 버퍼에 되돌려 놓는다.
+     * 그 사이에 같은 키로 더 새로운 쓰기가 들어왔으면 새 값을 유지한다.
+     * @param batch 반영에 실패한 변경
+     */
+    public void requeue(Batch batch) {
+        batch.getScores().forEach(scores::putIfAbsent);
+        batch.getInterests().forEach(interests::putIfAbsent);
+        batch.getCommentLikes().forEach(commentLikes::putIfAbsent);
+        complete(batch);
+    }
+
+    public int size() {
+        return scores.size() + interests.size() + commentLikes.size();
+    }
+
+    private <K, V> boolean put(ConcurrentMap<K, V> map, K key, V value) {
+        if (!enabled || key == null) return false;
+        if (size() >= maxPending && !map.containsKey(key)) return false;
+        map.put(key, value);
+        return true;
+    }
+
+    private static <K, V> Map<K, V> drain(ConcurrentMap<K, V> map, ConcurrentMap<K, V> flushing, int maxSize) {
+        Map<K, V> drained = new HashMap<>();
+        for (K key : map.keySet()) {
+            if (drained.size() >= maxSize) break;
+            V value = map.get(key);
+            if (value == null) continue;
+            flushing.put(key, value);
+            if (map.remove(key, value)) {
+                drained.put(key, value);
+            } else {
+                flushing.remove(key, value);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * 버퍼의 새 쓰기를 먼저 보고, 없으면 반영 중인 변경을 본다.
+     */
+    private static <K, V> V getPending(ConcurrentMap<K, V> map, ConcurrentMap<K, V> flushing, K key) {
+        V value = map.get(key);
+        return value != null ? value : flushing.get(key);
+    }
+
+    private static CommentLike.CommentLikeId toCommentLikeId(Long contentId, Long commentUserId, Long likeUserId) {
+        return new CommentLike.CommentLikeId(new Comment.CommentId(commentUserId, contentId), likeUserId);
+    }
+
+    /**
+     * 반영 대기 중인 값. value 가 null 이면 삭제를 의미한다.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Pending<T> {
+        private final T value;
+
+        public boolean isDeleted() {
+            return value == null;
+        }
+    }
+
+    /**
+     * 한번에 반영할 변경 묶음.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Batch {
+        private final Map<Score.ScoreId, Pending<Double>> scores;
+        private final Map<Interest.InterestId, Pending<InterestState>> interests;
+        private final Map<CommentLike.CommentLikeId, Boolean> commentLikes;
+
+        public boolean isEmpty() {
+            return scores.isEmpty() && interests.isEmpty() && commentLikes.isEmpty();
+        }
+
+        /**
+         * 변경을 하나씩 담은 묶음으로 나눈다.
+         * 묶음 반영이 실패했을 때 원인이 된 변경만 골라내기 위해 사용한다.
+         * @return 변경 하나 씩의 묶음 리스트
+         */
+        public List<Batch> split() {
+            List<Batch> result = new ArrayList<>();
+            scores.forEach((key, value) -> result.add(new Batch(Map.of(key, value), Map.of(), Map.of())));
+            interests.forEach((key, value) -> result.add(new Batch(Map.of(), Map.of(key, value), Map.of())));
+            commentLikes.forEach((key, value) -> result.add(new Batch(Map.of(), Map.of(), Map.of(key, value))));
+            return result;
+        }
+    }
+}
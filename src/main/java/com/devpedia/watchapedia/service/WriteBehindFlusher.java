@@ -0,0 +1,74 @@
+package com.devpedia.watchapedia.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+
+/**
+ * 쓰기 지연 버퍼를 주기적으로 DB 에 반영한다.
+ * 묶음 반영이 실패하면 변경을 하나씩 나눠서 다시 반영하고,
+ * 그래도 실패한 변경만 버퍼에 되돌려서 다음 주기에 재시도한다.
+ * 반영(트랜잭션)이 끝난 뒤에 버퍼의 반영 중 표시를 지워서, 커밋 전까지는 버퍼 값이 조회에 보이도록 한다.
+ */
+@Slf4j
+@Service
+public class WriteBehindFlusher {
+
+    private final WriteBehindBuffer writeBehindBuffer;
+    private final ContentService contentService;
+    private final int batchSize;
+
+    public WriteBehindFlusher(WriteBehindBuffer writeBehindBuffer,
+                              ContentService contentService,
+                              @Value("${write-behind.batch-size:500}") int batchSize) {
+        this.writeBehindBuffer = writeBehindBuffer;
+        this.contentService = contentService;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 버퍼가 빌 때까지 묶음 단위로 꺼내서 반영한다.
+     * 이번 주기에 되돌려 놓은 변경은 다음 주기에 반영한다.
+     */
+    @Scheduled(fixedDelayString = "${write-behind.flush-interval-millis:500}")
+    public void flush() {
+        if (!writeBehindBuffer.isEnabled()) return;
+
+        int remaining = writeBehindBuffer.size();
+        while (remaining > 0) {
+            WriteBehindBuffer.Batch batch = writeBehindBuffer.drain(batchSize);
+            if (batch.isEmpty()) return;
+            remaining -= batch.getScores().size() + batch.getInterests().size() + batch.getCommentLikes().size();
+            apply(batch);
+        }
+    }
+
+    /**
+     * 종료 전에 남은 변경을 반영한다.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void apply(WriteBehindBuffer.Batch batch) {
+        try {
+            contentService.applyPendingWrites(batch);
+            writeBehindBuffer.complete(batch);
+        } catch (Exception e) {
+            log.warn("write-behind batch flush failed, retry one by one", e);
+            for (WriteBehindBuffer.Batch single : batch.split()) {
+                try {
+                    contentService.applyPendingWrites(single);
+                    writeBehindBuffer.complete(single);
+                } catch (Exception ex) {
+                    writeBehindBuffer.requeue(single);
+                    log.warn("write-behind flush failed, retry next time", ex);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.devpedia.watchapedia.util;
+
+/**
+ * 자동완성용 한글 분해 유틸.
+ * 입력 중인 글자("하" -> "한" -> "한ㄱ" -> "한국")도 접두어로 맞도록
+ * 완성형 한글을 호환 자모 단위로 풀어서 비교한다.
+ */
+public class HangulUtil {
+
+    private static final char SYLLABLE_BEGIN = 0xAC00;
+    private static final char SYLLABLE_END = 0xD7A3;
+    private static final int JUNG_COUNT = 21;
+    private static final int JONG_COUNT = 28;
+
+    private static final String[] CHO = {
+            "ㄱ", "ㄲ", "ㄴ", "ㄷ", "ㄸ", "ㄹ", "ㅁ", "ㅂ", "ㅃ", "ㅅ",
+            "ㅆ", "ㅇ", "ㅈ", "ㅉ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+
+    /**
+     * 겹모음은 입력 순서대로 나눈다. (ㅘ -> ㅗㅏ)
+     */
+    private static final String[] JUNG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ",
+            "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ",
+            "ㅣ"
+    };
+
+    /**
+     * 겹받침은 입력 순서대로 나눈다. (ㄺ -> ㄹㄱ)
+     */
+    private static final String[] JONG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ",
+            "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ",
+            "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+
+    private static final String COMPOUND_JAMO = "ㅘㅙㅚㅝㅞㅟㅢㄳㄵㄶㄺㄻㄼㄽㄾㄿㅀㅄ";
+    private static final String[] COMPOUND_JAMO_SPLIT = {
+            "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅡㅣ", "ㄱㅅ", "ㄴㅈ", "ㄴㅎ",
+            "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅂㅅ"
+    };
+
+    private HangulUtil() {
+    }
+
+    /**
+     * 문자열을 자모 단위로 분해한다.
+     * 공백은 제거하고 영문은 소문자로 바꾼다.
+     * @param text 원본 문자열
+     * @return 자모 분해 문자열 (ex. "한국" -> "ㅎㅏㄴㄱㅜㄱ")
+     */
+    public static String decompose(String text) {
+        StringBuilder sb = new StringBuilder(text.length() * 3);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) continue;
+
+            if (isSyllable(c)) {
+                int index = c - SYLLABLE_BEGIN;
+                sb.append(CHO[index / (JUNG_COUNT * JONG_COUNT)])
+                        .append(JUNG[(index % (JUNG_COUNT * JONG_COUNT)) / JONG_COUNT])
+                        .append(JONG[index % JONG_COUNT]);
+            } else {
+                int compound = COMPOUND_JAMO.indexOf(c);
+                if (compound >= 0) sb.append(COMPOUND_JAMO_SPLIT[compound]);
+                else sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 문자열의 초성만 추출한다.
+     * 한글이 아닌 글자는 그대로 두고 공백은 제거한다.
+     * @param text 원본 문자열
+     * @return 초성 문자열 (ex. "한국" -> "ㅎㄱ")
+     */
+    public static String chosung(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) continue;
+
+            if (isSyllable(c)) sb.append(CHO[(c - SYLLABLE_BEGIN) / (JUNG_COUNT * JONG_COUNT)]);
+            else sb.append(Character.toLowerCase(c));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 초성(자음)으로만 이루어진 검색어인지 확인한다. (ex. "ㅎㄱ")
+     * @param text 검색어
+     * @return 초성으로만 이루어졌으면 true
+     */
+    public static boolean isChosungOnly(String text) {
+        boolean hasChosung = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) continue;
+            if (!isChosung(c)) return false;
+            hasChosung = true;
+        }
+        return hasChosung;
+    }
+
+    private static boolean isSyllable(char c) {
+        return c >= SYLLABLE_BEGIN && c <= SYLLABLE_END;
+    }
+
+    private static boolean isChosung(char c) {
+        for (String cho : CHO) {
+            if (cho.charAt(0) == c) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,81 @@
+package com.devpedia.watchapedia.util;
+
+import com.devpedia.watchapedia.exception.ValueNotMatchException;
+import com.devpedia.watchapedia.exception.common.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+/**
+ * 무한 스크롤용 페이지 커서.
+ * 마지막으로 받은 행의 정렬 컬럼 값과 id 를 순서대로 담아서 base64url 문자열로 주고받는다.
+ * 다음 페이지는 offset 대신 (정렬 값, id) 보다 뒤에 있는 행부터 조회한다.
+ */
+public class PageCursor {
+
+    public static final String NEXT_CURSOR_HEADER = "Next-Cursor";
+
+    private static final String DELIMITER = "\u001F";
+
+    private final String[] values;
+
+    private PageCursor(String[] values) {
+        this.values = values;
+    }
+
+    public static PageCursor of(Object... values) {
+        return new PageCursor(Arrays.stream(values).map(String::valueOf).toArray(String[]::new));
+    }
+
+    /**
+     * 커서 문자열을 해석한다.
+     * @param cursor 커서 문자열
+     * @return 페이지 커서, 커서가 없으면 null(첫 페이지)
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return new PageCursor(decoded.split(DELIMITER, -1));
+        } catch (IllegalArgumentException e) {
+            throw new ValueNotMatchException(ErrorCode.CURSOR_INVALID);
+        }
+    }
+
+    public String encode() {
+        String joined = Arrays.stream(values).collect(Collectors.joining(DELIMITER));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getString(int index) {
+        if (index >= values.length) throw new ValueNotMatchException(ErrorCode.CURSOR_INVALID);
+        return values[index];
+    }
+
+    public Long getLong(int index) {
+        try {
+            return Long.valueOf(getString(index));
+        } catch (NumberFormatException e) {
+            throw new ValueNotMatchException(ErrorCode.CURSOR_INVALID);
+        }
+    }
+
+    public Double getDouble(int index) {
+        try {
+            return Double.valueOf(getString(index));
+        } catch (NumberFormatException e) {
+            throw new ValueNotMatchException(ErrorCode.CURSOR_INVALID);
+        }
+    }
+
+    public LocalDate getDate(int index) {
+        try {
+            return LocalDate.parse(getString(index));
+        } catch (RuntimeException e) {
+            throw new ValueNotMatchException(ErrorCode.CURSOR_INVALID);
+        }
+    }
+}
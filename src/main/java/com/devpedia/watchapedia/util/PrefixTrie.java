@@ -0,0 +1,150 @@
+package com.devpedia.watchapedia.util;
+
+import java.util.*;
+
+/**
+ * 자동완성용 압축 접두어 트리(radix tree).
+ * 단일 자식 경로는 하나의 간선으로 합치고,
+ * 각 노드에 하위 단어 중 가중치 상위 결과를 미리 계산해 둔다.
+ * 조회는 접두어 길이만큼만 내려가면 되고, 생성 후에는 변경되지 않는다.
+ */
+public class PrefixTrie {
+
+    private static final PrefixTrie EMPTY = new PrefixTrie(new Node("", new char[0], new Node[0], new String[0]));
+
+    private final Node root;
+
+    private PrefixTrie(Node root) {
+        this.root = root;
+    }
+
+    public static PrefixTrie empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder(int maxSuggestions) {
+        return new Builder(maxSuggestions);
+    }
+
+    /**
+     * 접두어로 시작하는 단어를 가중치 순으로 구한다.
+     * @param prefix 접두어(트리 생성 시와 같은 방식으로 변환된 값)
+     * @param size 최대 개수
+     * @return 단어 리스트
+     */
+    public List<String> search(String prefix, int size) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node child = node.child(prefix.charAt(i));
+            if (child == null) return Collections.emptyList();
+
+            String label = child.label;
+            int remain = prefix.length() - i;
+            if (remain <= label.length()) {
+                if (!label.startsWith(prefix.substring(i))) return Collections.emptyList();
+                return child.top(size);
+            }
+            if (!prefix.startsWith(label, i)) return Collections.emptyList();
+
+            i += label.length();
+            node = child;
+        }
+        return node.top(size);
+    }
+
+    private static class Node {
+        private final String label;
+        private final char[] keys;
+        private final Node[] children;
+        private final String[] suggestions;
+
+        Node(String label, char[] keys, Node[] children, String[] suggestions) {
+            this.label = label;
+            this.keys = keys;
+            this.children = children;
+            this.suggestions = suggestions;
+        }
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        List<String> top(int size) {
+            return Arrays.asList(suggestions).subList(0, Math.min(size, suggestions.length));
+        }
+    }
+
+    public static class Builder {
+        private final int maxSuggestions;
+        private final BuildNode root = new BuildNode();
+
+        private Builder(int maxSuggestions) {
+            this.maxSuggestions = maxSuggestions;
+        }
+
+        /**
+         * 단어를 추가한다. 같은 단어가 여러 번 추가되면 큰 가중치를 사용한다.
+         * @param key 검색 키(변환된 값)
+         * @param word 결과로 보여줄 단어
+         * @param weight 가중치
+         * @return builder
+         */
+        public Builder add(String key, String word, long weight) {
+            if (key.isEmpty()) return this;
+
+            BuildNode node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new BuildNode());
+            }
+            node.words.merge(word, weight, Math::max);
+            return this;
+        }
+
+        public PrefixTrie build() {
+            return new PrefixTrie(freeze("", root, new HashMap<>(), false));
+        }
+
+        /**
+         * 자식이 하나뿐이고 단어가 없는 노드는 간선을 합쳐서 압축하고,
+         * 하위 단어의 가중치 상위 결과를 노드에 저장한다.
+         */
+        private Node freeze(String label, BuildNode node, Map<String, Long> weights, boolean compress) {
+            StringBuilder compressed = new StringBuilder(label);
+            while (compress && node.words.isEmpty() && node.children.size() == 1) {
+                Map.Entry<Character, BuildNode> only = node.children.firstEntry();
+                compressed.append(only.getKey());
+                node = only.getValue();
+            }
+
+            char[] keys = new char[node.children.size()];
+            Node[] children = new Node[node.children.size()];
+            Map<String, Long> candidates = new HashMap<>(node.words);
+            int index = 0;
+            for (Map.Entry<Character, BuildNode> entry : node.children.entrySet()) {
+                keys[index] = entry.getKey();
+                children[index] = freeze(String.valueOf(entry.getKey()), entry.getValue(), weights, true);
+                for (String word : children[index].suggestions) {
+                    candidates.merge(word, weights.get(word), Math::max);
+                }
+                index++;
+            }
+            node.words.forEach((word, weight) -> weights.merge(word, weight, Math::max));
+
+            String[] suggestions = candidates.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.<String, Long>comparingByKey()))
+                    .limit(maxSuggestions)
+                    .map(Map.Entry::getKey)
+                    .toArray(String[]::new);
+
+            return new Node(compressed.toString(), keys, children, suggestions);
+        }
+    }
+
+    private static class BuildNode {
+        private final TreeMap<Character, BuildNode> children = new TreeMap<>();
+        private final Map<String, Long> words = new HashMap<>();
+    }
+}
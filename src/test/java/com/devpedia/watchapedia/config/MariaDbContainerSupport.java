@@ -0,0 +1,28 @@
+package com.devpedia.watchapedia.config;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MariaDBContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * MySQL 문법(on duplicate key update 등) 네이티브 쿼리를 검증하는 리포지토리 테스트용 MariaDB 컨테이너.
+ * 컨테이너는 테스트 클래스들이 같이 쓰고, Docker 가 없는 환경에서는 건너뛴다.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class MariaDbContainerSupport {
+
+    private static final MariaDBContainer<?> mariadb =
+            new MariaDBContainer<>(DockerImageName.parse("mariadb:10.5"));
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        if (!mariadb.isRunning()) {
+            mariadb.start();
+        }
+        registry.add("spring.datasource.url", mariadb::getJdbcUrl);
+        registry.add("spring.datasource.username", mariadb::getUsername);
+        registry.add("spring.datasource.password", mariadb::getPassword);
+    }
+}
@@ -5,11 +5,15 @@ import com.devpedia.watchapedia.dto.UserDto;
 import com.devpedia.watchapedia.exception.ValueDuplicatedException;
 import com.devpedia.watchapedia.exception.ValueNotMatchException;
 import com.devpedia.watchapedia.exception.common.ErrorCode;
+import com.devpedia.watchapedia.logging.ApiLogDispatcher;
+import com.devpedia.watchapedia.logging.ApiLogSampler;
 import com.devpedia.watchapedia.repository.RedisRepository;
 import com.devpedia.watchapedia.repository.user.UserRepository;
 import com.devpedia.watchapedia.security.JwtTokenProvider;
 import com.devpedia.watchapedia.service.RedisService;
+import com.devpedia.watchapedia.service.UserActionCountService;
 import com.devpedia.watchapedia.service.UserService;
+import com.devpedia.watchapedia.service.UserTasteProfileService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -55,6 +59,10 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
     @MockBean
+    private UserTasteProfileService userTasteProfileService;
+    @MockBean
+    private UserActionCountService userActionCountService;
+    @MockBean
     private UserRepository userRepository;
     @MockBean
     private RedisRepository redisRepository;
@@ -62,6 +70,10 @@ class UserControllerTest {
     private RedisService redisService;
     @MockBean
     private RestTemplate restTemplate;
+    @MockBean
+    private ApiLogSampler apiLogSampler;
+    @MockBean
+    private ApiLogDispatcher apiLogDispatcher;
 
     @BeforeEach
     public void setup() {
@@ -0,0 +1,42 @@
+package com.devpedia.watchapedia.logging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiLogRingBufferTest {
+
+    @Test
+    public void offer_Full_ReturnFalse() throws Exception {
+        // given
+        ApiLogRingBuffer<String> buffer = new ApiLogRingBuffer<>(2);
+        buffer.offer("a");
+        buffer.offer("b");
+
+        // when
+        boolean offered = buffer.offer("c");
+
+        // then
+        assertThat(offered).isFalse();
+        assertThat(buffer.poll()).isEqualTo("a");
+        assertThat(buffer.poll()).isEqualTo("b");
+        assertThat(buffer.poll()).isNull();
+    }
+
+    @Test
+    public void offer_AfterPoll_ReuseSlot() throws Exception {
+        // given
+        ApiLogRingBuffer<String> buffer = new ApiLogRingBuffer<>(2);
+        buffer.offer("a");
+        buffer.offer("b");
+        buffer.poll();
+
+        // when
+        boolean offered = buffer.offer("c");
+
+        // then
+        assertThat(offered).isTrue();
+        assertThat(buffer.poll()).isEqualTo("b");
+        assertThat(buffer.poll()).isEqualTo("c");
+    }
+}
@@ -0,0 +1,64 @@
+package com.devpedia.watchapedia.logging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiLogSamplerTest {
+
+    @Test
+    public void rateOf_FirstMatchingRule_ReturnRuleRate() throws Exception {
+        // given
+        ApiLogSampler sampler = new ApiLogSampler("/public/**:2xx=0.1, /public/**:404=0.5, /admin/**=0", 1.0);
+
+        // when
+        double success = sampler.rateOf("/public/searches", 200);
+        double notFound = sampler.rateOf("/public/searches", 404);
+        double serverError = sampler.rateOf("/public/searches", 500);
+        double admin = sampler.rateOf("/admin/cache/stats", 200);
+
+        // then
+        assertThat(success).isEqualTo(0.1);
+        assertThat(notFound).isEqualTo(0.5);
+        assertThat(serverError).isEqualTo(1.0);
+        assertThat(admin).isEqualTo(0.0);
+    }
+
+    @Test
+    public void draw_ZeroRateRoute_SkipCapture() throws Exception {
+        // given
+        ApiLogSampler sampler = new ApiLogSampler("/admin/**=0", 1.0);
+
+        // when
+        double draw = sampler.draw("/admin/users");
+
+        // then
+        assertThat(draw).isLessThan(0);
+    }
+
+    @Test
+    public void maxRateOf_StatusRulesOnly_IncludeDefaultRate() throws Exception {
+        // given
+        ApiLogSampler sampler = new ApiLogSampler("/public/**:2xx=0.1, /public/**:5xx=0.5", 0.3);
+
+        // when
+        double maxRate = sampler.maxRateOf("/public/searches");
+
+        // then
+        assertThat(maxRate).isEqualTo(0.5);
+    }
+
+    @Test
+    public void sample_DrawBelowStatusRate_ReturnTrue() throws Exception {
+        // given
+        ApiLogSampler sampler = new ApiLogSampler("/public/**:2xx=0.1", 1.0);
+
+        // when
+        boolean success = sampler.sample("/public/searches", 200, 0.5);
+        boolean error = sampler.sample("/public/searches", 500, 0.5);
+
+        // then
+        assertThat(success).isFalse();
+        assertThat(error).isTrue();
+    }
+}
@@ -0,0 +1,27 @@
+package com.devpedia.watchapedia.logging;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CapturingResponseWrapperTest {
+
+    @Test
+    public void write_OverLimit_PassAllAndCaptureHead() throws Exception {
+        // given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        CapturingResponseWrapper wrapper = new CapturingResponseWrapper(response, 4);
+
+        // when
+        wrapper.getOutputStream().write("abcdefgh".getBytes(StandardCharsets.UTF_8));
+        wrapper.flushBuffer();
+
+        // then
+        assertThat(response.getContentAsString()).isEqualTo("abcdefgh");
+        assertThat(new String(wrapper.getCapturedBody(), StandardCharsets.UTF_8)).isEqualTo("abcd");
+        assertThat(wrapper.getContentSize()).isEqualTo(8);
+    }
+}
@@ -6,6 +6,7 @@ import com.devpedia.watchapedia.builder.UserMother;
 import com.devpedia.watchapedia.config.TestConfig;
 import com.devpedia.watchapedia.domain.Collection;
 import com.devpedia.watchapedia.domain.CollectionContent;
+import com.devpedia.watchapedia.domain.Movie;
 import com.devpedia.watchapedia.domain.User;
 import com.devpedia.watchapedia.dto.enums.ContentTypeParameter;
 import com.devpedia.watchapedia.repository.collection.CollectionRepository;
@@ -20,6 +21,8 @@ import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -112,7 +115,7 @@ class CollectionRepositoryTest {
 
     @Test
     @Sql("classpath:sql/admin_user.sql")
-    public void getRandom_HasContent_ReturnCollection() throws Exception {
+    public void getIdsHavingContent_HasContent_ReturnCollectionIds() throws Exception {
         // given
         User user = em.find(User.class, 1L);
         Collection collection1 = CollectionMother.defaultCollection(user).build();
@@ -135,10 +138,42 @@ class CollectionRepositoryTest {
         em.persist(cc2);
 
         // when
-        List<Collection> collections = collectionRepository.getRandom(ContentTypeParameter.MOVIES, 10);
+        List<Long> movieCollectionIds = collectionRepository.getIdsHavingContent(ContentTypeParameter.MOVIES);
+        List<Long> bookCollectionIds = collectionRepository.getIdsHavingContent(ContentTypeParameter.BOOKS);
 
         // then
-        assertThat(collections).hasSize(2);
+        assertThat(movieCollectionIds).containsExactlyInAnyOrder(collection1.getId(), collection2.getId());
+        assertThat(bookCollectionIds).isEmpty();
     }
 
-}
\ No newline at end of file
+    @Test
+    public void getPosterPaths_ManyContents_ReturnLimitedPerCollection() throws Exception {
+        // given
+        User user = UserMother.defaultUser().build();
+        Collection collection1 = CollectionMother.defaultCollection(user).build();
+        Collection collection2 = CollectionMother.defaultCollection(user).build();
+
+        em.persist(user);
+        em.persist(collection1);
+        em.persist(collection2);
+
+        for (int i = 0; i < 5; i++) {
+            Movie movie = ContentMother.movie().build();
+            em.persist(movie);
+            em.persist(CollectionContent.builder().collection(collection1).content(movie).build());
+        }
+        Movie movie = ContentMother.movie().build();
+        em.persist(movie);
+        em.persist(CollectionContent.builder().collection(collection2).content(movie).build());
+        em.flush();
+
+        // when
+        Map<Long, List<String>> posterPaths = collectionRepository.getPosterPaths(
+                Set.of(collection1.getId(), collection2.getId()), 4);
+
+        // then
+        assertThat(posterPaths).hasSize(2);
+        assertThat(posterPaths.get(collection1.getId())).hasSize(4);
+        assertThat(posterPaths.get(collection2.getId())).containsExactly("/poster");
+    }
+}
@@ -6,8 +6,11 @@ import com.devpedia.watchapedia.builder.ParticipantMother;
 import com.devpedia.watchapedia.builder.UserMother;
 import com.devpedia.watchapedia.config.TestConfig;
 import com.devpedia.watchapedia.domain.*;
+import com.devpedia.watchapedia.dto.CursorSlice;
+import com.devpedia.watchapedia.dto.DetailDto;
 import com.devpedia.watchapedia.dto.enums.ContentTypeParameter;
 import com.devpedia.watchapedia.repository.content.ContentRepository;
+import com.devpedia.watchapedia.util.PageCursor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,23 +40,23 @@ class ContentRepositoryTest {
     @Autowired
     private ContentRepository contentRepository;
 
+    @Autowired
+    private CommentRepository commentRepository;
+
     @Test
     public void getContentsScoreIsGreaterThan_ScoreGt4_ReturnContents() throws Exception {
         // given
-        User user = UserMother.defaultUser().build();
-
         Movie movie1 = ContentMother.movie().build();
         Movie movie2 = ContentMother.movie().build();
         Movie movie3 = ContentMother.movie().build();
 
-        Score score1 = Score.builder().user(user).content(movie1).score(3.0).build();
-        Score score2 = Score.builder().user(user).content(movie2).score(4.0).build();
-        Score score3 = Score.builder().user(user).content(movie3).score(5.0).build();
+        em.persist(movie1);
+        em.persist(movie2);
+        em.persist(movie3);
 
-        em.persist(user);
-        em.persist(score1);
-        em.persist(score2);
-        em.persist(score3);
+        em.persist(scoreStats(movie1, 3.0));
+        em.persist(scoreStats(movie2, 4.0));
+        em.persist(scoreStats(movie3, 5.0));
 
         // when
         List<Content> contents = contentRepository.getContentsScoreIsGreaterThan(ContentTypeParameter.MOVIES,
@@ -66,20 +69,17 @@ class ContentRepositoryTest {
     @Test
     public void getContentScore_DifferentScore_ReturnScore() throws Exception {
         // given
-        User user = UserMother.defaultUser().build();
-
         Movie movie1 = ContentMother.movie().build();
         Movie movie2 = ContentMother.movie().build();
         Movie movie3 = ContentMother.movie().build();
 
-        Score score1 = Score.builder().user(user).content(movie1).score(3.0).build();
-        Score score2 = Score.builder().user(user).content(movie2).score(4.0).build();
-        Score score3 = Score.builder().user(user).content(movie3).score(5.0).build();
+        em.persist(movie1);
+        em.persist(movie2);
+        em.persist(movie3);
 
-        em.persist(user);
-        em.persist(score1);
-        em.persist(score2);
-        em.persist(score3);
+        em.persist(scoreStats(movie1, 3.0));
+        em.persist(scoreStats(movie2, 4.0));
+        em.persist(scoreStats(movie3, 5.0));
 
         Set<Long> ids = Set.of(movie1.getId(), movie2.getId(), movie3.getId());
 
@@ -93,6 +93,43 @@ class ContentRepositoryTest {
         assertThat(contentScore.get(movie3.getId())).isEqualTo(5.0);
     }
 
+    @Test
+    public void getScoreAnalysis_StatsExist_ReturnDistribution() throws Exception {
+        // given
+        Movie movie = ContentMother.movie().build();
+        em.persist(movie);
+        em.persist(scoreStats(movie, 0.5, 4.0, 4.0, 5.0));
+        em.flush();
+        em.clear();
+
+        // when
+        DetailDto.ScoreAnalysis analysis = contentRepository.getScoreAnalysis(movie.getId());
+
+        // then
+        assertThat(analysis.getTotalCount()).isEqualTo(4);
+        assertThat(analysis.getAverage()).isEqualTo(3.375);
+        assertThat(analysis.getDistribution()).hasSize(10);
+        assertThat(analysis.getDistribution().get("0.5")).isEqualTo(1);
+        assertThat(analysis.getDistribution().get("4.0")).isEqualTo(2);
+        assertThat(analysis.getDistribution().get("5.0")).isEqualTo(1);
+        assertThat(analysis.getDistribution().get("3.0")).isEqualTo(0);
+    }
+
+    @Test
+    public void getScoreAnalysis_StatsNotExist_ReturnEmpty() throws Exception {
+        // given
+        Movie movie = ContentMother.movie().build();
+        em.persist(movie);
+
+        // when
+        DetailDto.ScoreAnalysis analysis = contentRepository.getScoreAnalysis(movie.getId());
+
+        // then
+        assertThat(analysis.getTotalCount()).isEqualTo(0);
+        assertThat(analysis.getAverage()).isEqualTo(0.0);
+        assertThat(analysis.getDistribution().values()).containsOnly(0);
+    }
+
     @Test
     public void getContentsHasParticipant_Exist_ReturnContents() throws Exception {
         // given
@@ -174,6 +211,62 @@ class ContentRepositoryTest {
         assertThat(contents).hasSize(2);
     }
 
+    @Test
+    public void getContentsInCollectionAfter_Cursor_ReturnNextPage() throws Exception {
+        // given
+        User user = UserMother.defaultUser().build();
+        Collection collection = CollectionMother.defaultCollection(user).build();
+        em.persist(user);
+        em.persist(collection);
+        for (int i = 0; i < 3; i++) {
+            em.persist(CollectionContent.builder()
+                    .collection(collection)
+                    .content(ContentMother.movie().build())
+                    .build());
+        }
+
+        // when
+        CursorSlice<Content> first = contentRepository.getContentsInCollectionAfter(collection.getId(), null, 2);
+        CursorSlice<Content> second = contentRepository.getContentsInCollectionAfter(collection.getId(),
+                PageCursor.decode(first.getNextCursor()), 2);
+
+        // then
+        assertThat(first.getList()).hasSize(2);
+        assertThat(second.getList()).hasSize(1);
+        assertThat(second.getNextCursor()).isNull();
+        assertThat(second.getList().get(0).getId()).isGreaterThan(first.getList().get(1).getId());
+    }
+
+    @Test
+    public void getComments_LikedByViewer_OrderByLikeCountAndMarkLiked() throws Exception {
+        // given
+        User viewer = UserMother.defaultUser().email("viewer@bbb.ccc").build();
+        User writer = UserMother.defaultUser().email("writer@bbb.ccc").build();
+        Movie movie = ContentMother.movie().build();
+        em.persist(viewer);
+        em.persist(writer);
+        em.persist(movie);
+
+        Comment viewerComment = Comment.builder().user(viewer).content(movie).description("a").containsSpoiler(false).build();
+        Comment writerComment = Comment.builder().user(writer).content(movie).description("b").containsSpoiler(false).build();
+        em.persist(viewerComment);
+        em.persist(writerComment);
+        em.persist(CommentLike.builder().comment(writerComment).user(viewer).build());
+        em.flush();
+        commentRepository.addLikeCount(movie.getId(), writer.getId(), 1);
+        em.clear();
+
+        // when
+        List<DetailDto.CommentDetail> comments = contentRepository.getComments(movie.getId(), viewer.getId(),
+                PageRequest.of(0, 10));
+
+        // then
+        assertThat(comments).extracting(DetailDto.CommentDetail::getUserId)
+                .containsExactly(writer.getId(), viewer.getId());
+        assertThat(comments).extracting(DetailDto.CommentDetail::getLikeCount).containsExactly(1L, 0L);
+        assertThat(comments).extracting(DetailDto.CommentDetail::getIsLiked).containsExactly(true, false);
+    }
+
     @Test
     @Sql({"classpath:sql/default_contents.sql", "classpath:sql/trending_words.sql"})
     public void getTrendingWords_Exist_ReturnWords() throws Exception {
@@ -188,4 +281,10 @@ class ContentRepositoryTest {
         assertThat(words.get(1)).isEqualTo("Movie Title2");
     }
 
-}
\ No newline at end of file
+
+    private ContentScoreStats scoreStats(Content content, Double... scores) {
+        ContentScoreStats stats = ContentScoreStats.empty(content);
+        for (Double score : scores) stats.addScore(score);
+        return stats;
+    }
+}
@@ -0,0 +1,69 @@
+package com.devpedia.watchapedia.repository;
+
+import com.devpedia.watchapedia.dto.ContentDto;
+import org.elasticsearch.common.document.DocumentField;
+import org.elasticsearch.search.SearchHit;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ElasticSearchRepositoryTest {
+
+    @Test
+    public void extractIds_DocValueMissing_FillMissingId() throws Exception {
+        // given
+        SearchHit[] hits = {
+                new SearchHit(0, "1", null, Collections.singletonMap(ElasticSearchRepository.ELASTIC_COLUMN_CONTENT_ID,
+                        new DocumentField(ElasticSearchRepository.ELASTIC_COLUMN_CONTENT_ID, List.of(1L))), Collections.emptyMap()),
+                new SearchHit(1, "2", null, Collections.emptyMap(), Collections.emptyMap())
+        };
+
+        // when
+        long[] ids = ElasticSearchRepository.extractIds(hits);
+
+        // then
+        assertThat(ids).containsExactly(1L, -1L);
+    }
+
+    @Test
+    public void toSearchItem_BookFields_ReturnBookItem() throws Exception {
+        // given
+        Map<String, DocumentField> fields = new HashMap<>();
+        putField(fields, ElasticSearchRepository.ELASTIC_QUERY_FIELD_TYPE, "B");
+        putField(fields, ElasticSearchRepository.ELASTIC_QUERY_FIELD_TITLE, "book");
+        putField(fields, ElasticSearchRepository.ELASTIC_SOURCE_FIELD_POSTER_IMAGE_PATH, "/poster/1.jpg");
+        putField(fields, ElasticSearchRepository.ELASTIC_SOURCE_FIELD_PRODUCTION_DATE, "2020-01-20");
+        putField(fields, ElasticSearchRepository.ELASTIC_SOURCE_FIELD_AUTHOR, "author");
+
+        // when
+        Object item = ElasticSearchRepository.toSearchItem(1L, fields);
+
+        // then
+        assertThat(item).isInstanceOf(ContentDto.SearchBookItem.class);
+        assertThat(((ContentDto.SearchBookItem) item).getProductionDate()).isEqualTo(LocalDate.of(2020, 1, 20));
+        assertThat(((ContentDto.SearchBookItem) item).getAuthor()).isEqualTo("author");
+    }
+
+    @Test
+    public void toSearchItem_FieldMissing_ReturnNull() throws Exception {
+        // given
+        Map<String, DocumentField> fields = new HashMap<>();
+        putField(fields, ElasticSearchRepository.ELASTIC_QUERY_FIELD_TYPE, "B");
+
+        // when
+        Object item = ElasticSearchRepository.toSearchItem(1L, fields);
+
+        // then
+        assertThat(item).isNull();
+    }
+
+    private static void putField(Map<String, DocumentField> fields, String name, Object value) {
+        fields.put(name, new DocumentField(name, List.of(value)));
+    }
+}
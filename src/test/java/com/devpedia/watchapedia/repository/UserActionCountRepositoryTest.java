@@ -0,0 +1,85 @@
+package com.devpedia.watchapedia.repository;
+
+import com.devpedia.watchapedia.builder.ContentMother;
+import com.devpedia.watchapedia.builder.UserMother;
+import com.devpedia.watchapedia.config.MariaDbContainerSupport;
+import com.devpedia.watchapedia.config.TestConfig;
+import com.devpedia.watchapedia.domain.Comment;
+import com.devpedia.watchapedia.domain.Interest;
+import com.devpedia.watchapedia.domain.Movie;
+import com.devpedia.watchapedia.domain.Score;
+import com.devpedia.watchapedia.domain.User;
+import com.devpedia.watchapedia.domain.UserActionCount;
+import com.devpedia.watchapedia.domain.enums.InterestState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TestConfig.class)
+class UserActionCountRepositoryTest extends MariaDbContainerSupport {
+
+    private static final Long NO_CONTENT_ID = 0L;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private UserActionCountRepository userActionCountRepository;
+
+    @Test
+    public void insertSeededCounts_CommentChanged_KeepOtherActivitiesOfSameContent() throws Exception {
+        // given
+        User user = em.persist(UserMother.defaultUser().build());
+        Movie movie = em.persist(ContentMother.movie().build());
+        em.persist(Score.builder().user(user).content(movie).score(4.0).build());
+        em.persist(Interest.builder().user(user).content(movie).state(InterestState.WISH).build());
+        em.persist(Comment.builder().user(user).content(movie).description("good").containsSpoiler(false).build());
+        em.flush();
+
+        // when
+        userActionCountRepository.insertSeededCounts(user.getId(), "M",
+                NO_CONTENT_ID, NO_CONTENT_ID, NO_CONTENT_ID, NO_CONTENT_ID, movie.getId(),
+                0, 0, 0, 0, 1, 0, 0, 0, 0, 1);
+        em.clear();
+
+        // then
+        UserActionCount counts = em.find(UserActionCount.class, new UserActionCount.UserActionCountId(user.getId(), "M"));
+        assertThat(counts.getRatingCount()).isEqualTo(1);
+        assertThat(counts.getWishCount()).isEqualTo(1);
+        assertThat(counts.getWatchingCount()).isEqualTo(0);
+        assertThat(counts.getNotInterestCount()).isEqualTo(0);
+        assertThat(counts.getCommentCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void insertSeededCounts_RowExist_AddDeltaOnly() throws Exception {
+        // given
+        User user = em.persist(UserMother.defaultUser().build());
+        Movie movie = em.persist(ContentMother.movie().build());
+        em.persist(Score.builder().user(user).content(movie).score(4.0).build());
+        em.persist(UserActionCount.builder()
+                .userId(user.getId()).dtype("M")
+                .ratingCount(5).wishCount(2).watchingCount(0).notInterestCount(0).commentCount(3)
+                .build());
+        em.flush();
+
+        // when
+        userActionCountRepository.insertSeededCounts(user.getId(), "M",
+                movie.getId(), NO_CONTENT_ID, NO_CONTENT_ID, NO_CONTENT_ID, NO_CONTENT_ID,
+                1, 0, 0, 0, 0, 1, 0, 0, 0, 0);
+        em.clear();
+
+        // then
+        UserActionCount counts = em.find(UserActionCount.class, new UserActionCount.UserActionCountId(user.getId(), "M"));
+        assertThat(counts.getRatingCount()).isEqualTo(6);
+        assertThat(counts.getWishCount()).isEqualTo(2);
+        assertThat(counts.getCommentCount()).isEqualTo(3);
+    }
+}
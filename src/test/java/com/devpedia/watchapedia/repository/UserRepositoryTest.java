@@ -4,11 +4,13 @@ import com.devpedia.watchapedia.config.TestConfig;
 import com.devpedia.watchapedia.domain.Interest;
 import com.devpedia.watchapedia.domain.Score;
 import com.devpedia.watchapedia.domain.enums.InterestState;
+import com.devpedia.watchapedia.dto.CursorSlice;
 import com.devpedia.watchapedia.dto.UserDto;
 import com.devpedia.watchapedia.dto.enums.ContentTypeParameter;
 import com.devpedia.watchapedia.dto.enums.InterestContentOrder;
 import com.devpedia.watchapedia.dto.enums.RatingContentOrder;
 import com.devpedia.watchapedia.repository.user.UserRepository;
+import com.devpedia.watchapedia.util.PageCursor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +22,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -154,6 +157,46 @@ class UserRepositoryTest {
         assertThat(scores).hasSize(0);
     }
 
+    @Test
+    @Sql({"classpath:sql/default_contents.sql", "classpath:sql/user_scores.sql"})
+    public void findUserScoresAfter_FollowCursor_ReturnAllWithoutOverlap() throws Exception {
+        // given
+        Long userId = 1L;
+        List<Score> scores = new ArrayList<>();
+
+        // when
+        PageCursor cursor = null;
+        do {
+            CursorSlice<Score> slice = userRepository.findUserScoresAfter(userId, ContentTypeParameter.MOVIES,
+                    null, RatingContentOrder.AVG_SCORE, cursor, 4);
+            scores.addAll(slice.getList());
+            cursor = PageCursor.decode(slice.getNextCursor());
+        } while (cursor != null);
+
+        // then
+        assertThat(scores).hasSize(10);
+        assertThat(scores).extracting(score -> score.getContent().getId()).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @Sql({"classpath:sql/default_contents.sql", "classpath:sql/user_scores.sql"})
+    public void findUserScoresAfter_OrderNull_OrderByTitle() throws Exception {
+        // given
+        Long userId = 1L;
+        CursorSlice<Score> first = userRepository.findUserScoresAfter(userId, ContentTypeParameter.MOVIES,
+                null, null, null, 5);
+
+        // when
+        CursorSlice<Score> second = userRepository.findUserScoresAfter(userId, ContentTypeParameter.MOVIES,
+                null, null, PageCursor.decode(first.getNextCursor()), 5);
+
+        // then
+        List<Score> scores = new ArrayList<>(first.getList());
+        scores.addAll(second.getList());
+        assertThat(scores).hasSize(10);
+        assertThat(scores).isSortedAccordingTo(Comparator.comparing(o -> o.getContent().getMainTitle()));
+    }
+
     @Test
     @Sql({"classpath:sql/default_contents.sql", "classpath:sql/user_scores.sql"})
     public void findUserGroupedScore_HasOneEach_ReturnScores() throws Exception {
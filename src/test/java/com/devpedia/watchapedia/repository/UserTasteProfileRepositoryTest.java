@@ -0,0 +1,130 @@
+package com.devpedia.watchapedia.repository;
+
+import com.devpedia.watchapedia.builder.UserMother;
+import com.devpedia.watchapedia.config.MariaDbContainerSupport;
+import com.devpedia.watchapedia.config.TestConfig;
+import com.devpedia.watchapedia.domain.User;
+import com.devpedia.watchapedia.domain.UserTasteProfile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TestConfig.class)
+class UserTasteProfileRepositoryTest extends MariaDbContainerSupport {
+
+    private static final byte[] DATA = {1, 2, 3};
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private UserTasteProfileRepository profileRepository;
+
+    @Test
+    public void markStale_NoProfile_InsertEmptyStaleRow() throws Exception {
+        // given
+        User user = em.persistAndFlush(UserMother.defaultUser().build());
+
+        // when
+        profileRepository.markStale(user.getId());
+        em.clear();
+
+        // then
+        UserTasteProfile profile = em.find(UserTasteProfile.class, user.getId());
+        assertThat(profile.getIsStale()).isTrue();
+        assertThat(profile.getVersion()).isEqualTo(1L);
+        assertThat(profile.getData()).isEmpty();
+    }
+
+    @Test
+    public void markStale_ProfileExist_KeepDataAndIncreaseVersion() throws Exception {
+        // given
+        User user = em.persist(UserMother.defaultUser().build());
+        em.persistAndFlush(UserTasteProfile.builder().user(user).data(DATA).build());
+
+        // when
+        profileRepository.markStale(user.getId());
+        em.clear();
+
+        // then
+        UserTasteProfile profile = em.find(UserTasteProfile.class, user.getId());
+        assertThat(profile.getIsStale()).isTrue();
+        assertThat(profile.getVersion()).isEqualTo(1L);
+        assertThat(profile.getData()).isEqualTo(DATA);
+    }
+
+    @Test
+    public void insertIfAbsent_NoProfile_InsertFreshRow() throws Exception {
+        // given
+        User user = em.persistAndFlush(UserMother.defaultUser().build());
+
+        // when
+        profileRepository.insertIfAbsent(user.getId(), DATA);
+        em.clear();
+
+        // then
+        UserTasteProfile profile = em.find(UserTasteProfile.class, user.getId());
+        assertThat(profile.getIsStale()).isFalse();
+        assertThat(profile.getVersion()).isEqualTo(0L);
+        assertThat(profile.getData()).isEqualTo(DATA);
+    }
+
+    @Test
+    public void insertIfAbsent_MarkedStaleDuringCompute_KeepStaleRow() throws Exception {
+        // given
+        User user = em.persistAndFlush(UserMother.defaultUser().build());
+        profileRepository.markStale(user.getId());
+
+        // when
+        profileRepository.insertIfAbsent(user.getId(), DATA);
+        em.clear();
+
+        // then
+        UserTasteProfile profile = em.find(UserTasteProfile.class, user.getId());
+        assertThat(profile.getIsStale()).isTrue();
+        assertThat(profile.getVersion()).isEqualTo(1L);
+        assertThat(profile.getData()).isEmpty();
+    }
+
+    @Test
+    public void updateIfVersion_SameVersion_UpdateAndClearStale() throws Exception {
+        // given
+        User user = em.persistAndFlush(UserMother.defaultUser().build());
+        profileRepository.markStale(user.getId());
+
+        // when
+        int updated = profileRepository.updateIfVersion(user.getId(), DATA, 1L);
+        em.clear();
+
+        // then
+        UserTasteProfile profile = em.find(UserTasteProfile.class, user.getId());
+        assertThat(updated).isEqualTo(1);
+        assertThat(profile.getIsStale()).isFalse();
+        assertThat(profile.getData()).isEqualTo(DATA);
+    }
+
+    @Test
+    public void updateIfVersion_VersionChanged_NotUpdate() throws Exception {
+        // given
+        User user = em.persistAndFlush(UserMother.defaultUser().build());
+        profileRepository.markStale(user.getId());
+        profileRepository.markStale(user.getId());
+
+        // when
+        int updated = profileRepository.updateIfVersion(user.getId(), DATA, 1L);
+        em.clear();
+
+        // then
+        UserTasteProfile profile = em.find(UserTasteProfile.class, user.getId());
+        assertThat(updated).isEqualTo(0);
+        assertThat(profile.getIsStale()).isTrue();
+        assertThat(profile.getVersion()).isEqualTo(2L);
+    }
+}
@@ -0,0 +1,50 @@
+package com.devpedia.watchapedia.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    @Test
+    public void get_SameToken_VerifyOnce() throws Exception {
+        // given
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        AtomicInteger verifyCount = new AtomicInteger();
+        long expiresAt = System.currentTimeMillis() + 60_000;
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            cache.get("token", token -> {
+                verifyCount.incrementAndGet();
+                return new VerifiedTokenCache.VerifiedToken(new Credential(1L, List.of("ROLE_USER")), expiresAt);
+            });
+        }
+
+        // then
+        assertThat(verifyCount.get()).isEqualTo(1);
+        assertThat(cache.getStats().getHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void get_ExpiredToken_VerifyAgain() throws Exception {
+        // given
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        AtomicInteger verifyCount = new AtomicInteger();
+        long expiresAt = System.currentTimeMillis() - 1;
+
+        // when
+        for (int i = 0; i < 2; i++) {
+            cache.get("token", token -> {
+                verifyCount.incrementAndGet();
+                return new VerifiedTokenCache.VerifiedToken(new Credential(1L, List.of("ROLE_USER")), expiresAt);
+            });
+        }
+
+        // then
+        assertThat(verifyCount.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,86 @@
+package com.devpedia.watchapedia.service;
+
+import com.devpedia.watchapedia.repository.ElasticSearchRepository;
+import com.devpedia.watchapedia.repository.content.ContentRepository;
+import com.devpedia.watchapedia.repository.participant.ParticipantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class AutocompleteServiceTest {
+
+    private AutocompleteService autocompleteService;
+
+    @Mock
+    private ContentRepository contentRepository;
+    @Mock
+    private ParticipantRepository participantRepository;
+    @Mock
+    private ElasticSearchRepository searchRepository;
+
+    @BeforeEach
+    public void setUp() {
+        autocompleteService = new AutocompleteService(contentRepository, participantRepository, searchRepository, 100);
+    }
+
+    @Test
+    public void autocomplete_TypingSyllable_ReturnFromTrieWithoutSearch() throws Exception {
+        // given
+        given(contentRepository.getPopularTitles(anyInt()))
+                .willReturn(Map.of("한국영화", 10L, "한강", 5L, "해리포터", 3L));
+        given(participantRepository.getPopularNames(anyInt()))
+                .willReturn(Map.of("한석규", 7L));
+        autocompleteService.rebuild();
+
+        // when
+        List<String> syllable = autocompleteService.autocomplete("한", 3);
+        List<String> typing = autocompleteService.autocomplete("한ㄱ", 1);
+
+        // then
+        assertThat(syllable).containsExactly("한국영화", "한석규", "한강");
+        assertThat(typing).containsExactly("한국영화");
+        then(searchRepository).should(never()).suggest(anyString(), anyInt());
+    }
+
+    @Test
+    public void autocomplete_Chosung_ReturnMatchedWords() throws Exception {
+        // given
+        given(contentRepository.getPopularTitles(anyInt()))
+                .willReturn(Map.of("한국영화", 10L, "한강", 5L, "해리포터", 3L));
+        given(participantRepository.getPopularNames(anyInt()))
+                .willReturn(Map.of());
+        autocompleteService.rebuild();
+
+        // when
+        List<String> result = autocompleteService.autocomplete("ㅎㄱ", 2);
+
+        // then
+        assertThat(result).containsExactly("한국영화", "한강");
+    }
+
+    @Test
+    public void autocomplete_NotEnoughInTrie_FillFromSearch() throws Exception {
+        // given
+        given(searchRepository.suggest("harry", 2))
+                .willReturn(List.of("harry potter"));
+
+        // when
+        List<String> result = autocompleteService.autocomplete("harry", 2);
+
+        // then
+        assertThat(result).containsExactly("harry potter");
+    }
+}
@@ -37,6 +37,8 @@ class BookServiceTest {
     private TagRepository tagRepository;
     @Mock
     private CollectionRepository collectionRepository;
+    @Mock
+    private RandomIdPool randomIdPool;
 
     @Test
     public void saveWithImage_CorrectInput_Save() throws Exception {
@@ -84,7 +86,10 @@ class BookServiceTest {
                 .list(List.of(item))
                 .build();
 
-        given(tagRepository.findByRandom(any()))
+        given(randomIdPool.pickTagIds(eq(ContentTypeParameter.BOOKS), anyInt()))
+                .willReturn(List.of(1L));
+
+        given(tagRepository.findAllById(List.of(1L)))
                 .willReturn(List.of(tag));
 
         given(contentService.getTagList(eq(ContentTypeParameter.BOOKS), any(Tag.class), anyInt()))
@@ -121,7 +126,10 @@ class BookServiceTest {
                 .list(List.of(item))
                 .build();
 
-        given(collectionRepository.getRandom(eq(ContentTypeParameter.BOOKS), anyInt()))
+        given(randomIdPool.pickCollectionIds(eq(ContentTypeParameter.BOOKS), anyInt()))
+                .willReturn(List.of(1L));
+
+        given(collectionRepository.findAllById(List.of(1L)))
                 .willReturn(List.of(collection));
 
         given(contentService.getCollectionList(any(Collection.class), anyInt()))
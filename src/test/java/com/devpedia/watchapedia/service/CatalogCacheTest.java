@@ -0,0 +1,96 @@
+package com.devpedia.watchapedia.service;
+
+import com.devpedia.watchapedia.repository.RedisRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogCacheTest {
+
+    private CatalogCache catalogCache;
+
+    @Mock
+    private RedisRepository redisRepository;
+
+    @BeforeEach
+    public void setUp() {
+        catalogCache = new CatalogCache(redisRepository, new ObjectMapper(), 100, 60, 600);
+    }
+
+    @Test
+    public void get_SecondCall_HitNearCache() throws Exception {
+        // given
+        AtomicInteger loadCount = new AtomicInteger();
+        given(redisRepository.getCatalogCache("participant:0:1")).willReturn(null);
+
+        // when
+        catalogCache.get(CatalogCache.Region.PARTICIPANT, 1L, String.class, () -> "p" + loadCount.incrementAndGet());
+        String value = catalogCache.get(CatalogCache.Region.PARTICIPANT, 1L, String.class, () -> "p" + loadCount.incrementAndGet());
+
+        // then
+        assertThat(value).isEqualTo("p1");
+        assertThat(loadCount.get()).isEqualTo(1);
+        then(redisRepository).should(times(1)).setCatalogCache(eq("participant:0:1"), eq("\"p1\""), any(Duration.class));
+        assertThat(catalogCache.getStats().get("participant").getNearHitCount()).isEqualTo(1);
+        assertThat(catalogCache.getStats().get("participant").getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void get_RedisFail_FallbackToLoader() throws Exception {
+        // given
+        given(redisRepository.getCatalogCache(anyString())).willThrow(new RedisConnectionFailureException("down"));
+
+        // when
+        String value = catalogCache.get(CatalogCache.Region.CONTENT, 1L, String.class, () -> "c1");
+
+        // then
+        assertThat(value).isEqualTo("c1");
+        assertThat(catalogCache.getStats().get("content").getFarErrorCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void invalidate_OutsideTransaction_UseNewVersionKey() throws Exception {
+        // given
+        given(redisRepository.getCatalogCache("content:0:1")).willReturn(null);
+        given(redisRepository.nextCatalogCacheVersion("content")).willReturn(1L);
+        given(redisRepository.getCatalogCache("content:1:1")).willReturn("\"c2\"");
+        catalogCache.get(CatalogCache.Region.CONTENT, 1L, String.class, () -> "c1");
+
+        // when
+        catalogCache.invalidate(CatalogCache.Region.CONTENT);
+        String value = catalogCache.get(CatalogCache.Region.CONTENT, 1L, String.class, () -> "c3");
+
+        // then
+        assertThat(value).isEqualTo("c2");
+        assertThat(catalogCache.getStats().get("content").getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    public void refreshVersions_RemoteBehind_KeepLocalVersion() throws Exception {
+        // given
+        given(redisRepository.nextCatalogCacheVersion("content")).willReturn(3L);
+        given(redisRepository.getCatalogCacheVersions(anyList())).willReturn(Arrays.asList(2L, 0L));
+        catalogCache.invalidate(CatalogCache.Region.CONTENT);
+
+        // when
+        catalogCache.refreshVersions();
+
+        // then
+        assertThat(catalogCache.getStats().get("content").getVersion()).isEqualTo(3L);
+    }
+}
@@ -0,0 +1,140 @@
+package com.devpedia.watchapedia.service;
+
+import com.devpedia.watchapedia.builder.ContentMother;
+import com.devpedia.watchapedia.domain.Movie;
+import com.devpedia.watchapedia.dto.DetailDto;
+import com.devpedia.watchapedia.exception.EntityNotExistException;
+import com.devpedia.watchapedia.repository.content.ContentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class ContentDetailAssemblerTest {
+
+    private ContentDetailAssembler assembler;
+
+    @Mock
+    private ContentService contentService;
+    @Mock
+    private ContentRepository contentRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private CatalogCache catalogCache;
+
+    @BeforeEach
+    public void setUp() {
+        assembler = new ContentDetailAssembler(contentService, contentRepository, catalogCache, Runnable::run, transactionManager, 1000);
+        lenient().when(catalogCache.get(any(), any(), any(), any()))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(3)).get());
+    }
+
+    @Test
+    public void assemble_AllSectionSucceed_ReturnDetail() throws Exception {
+        // given
+        Movie movie = ContentMother.movie().build();
+        DetailDto.MovieDetail movieDetail = DetailDto.MovieDetail.of(movie);
+        DetailDto.ScoreAnalysis scoreAnalysis = DetailDto.ScoreAnalysis.of(null);
+
+        given(contentRepository.findHeadById(1L)).willReturn(Optional.of(new DetailDto.ContentHead(1L, "M", "드라마")));
+        given(contentRepository.findById(1L)).willReturn(Optional.of(movie));
+        given(contentService.getContentInfo(movie)).willReturn(movieDetail);
+        given(contentService.getScoreAnalysis(1L)).willReturn(scoreAnalysis);
+
+        // when
+        DetailDto.ContentDetail detail = assembler.assemble(1L, null);
+
+        // then
+        assertThat(detail.getContentInfo()).isEqualTo(movieDetail);
+        assertThat(detail.getScores()).isEqualTo(scoreAnalysis);
+    }
+
+    @Test
+    public void assemble_SectionFail_ReturnFallback() throws Exception {
+        // given
+        Movie movie = ContentMother.movie().build();
+        DetailDto.MovieDetail movieDetail = DetailDto.MovieDetail.of(movie);
+
+        given(contentRepository.findHeadById(1L)).willReturn(Optional.of(new DetailDto.ContentHead(1L, "M", "드라마")));
+        given(contentRepository.findById(1L)).willReturn(Optional.of(movie));
+        given(contentService.getContentInfo(movie)).willReturn(movieDetail);
+        given(contentService.getCommentInfo(anyLong(), any(), any(Pageable.class), any(DetailLoadContext.class)))
+                .willThrow(new IllegalStateException("comment query fail"));
+
+        // when
+        DetailDto.ContentDetail detail = assembler.assemble(1L, 1L);
+
+        // then
+        assertThat(detail.getContentInfo()).isEqualTo(movieDetail);
+        assertThat(detail.getComments().getCount()).isEqualTo(0);
+        assertThat(detail.getComments().getList()).isEqualTo(Collections.emptyList());
+    }
+
+    @Test
+    public void assemble_ExecutorRejected_ReturnFallback() throws Exception {
+        // given
+        ContentDetailAssembler rejecting = new ContentDetailAssembler(contentService, contentRepository, catalogCache,
+                task -> { throw new RejectedExecutionException("queue full"); }, transactionManager, 1000);
+        given(contentRepository.findHeadById(1L)).willReturn(Optional.of(new DetailDto.ContentHead(1L, "M", "드라마")));
+
+        // when
+        DetailDto.ContentDetail detail = rejecting.assemble(1L, 1L);
+
+        // then
+        assertThat(detail.getContentInfo()).isNull();
+        assertThat(detail.getComments().getCount()).isEqualTo(0);
+        assertThat(detail.getSimilar()).isEqualTo(Collections.emptyList());
+        then(contentService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    public void assemble_ContentNotExist_ThrowException() throws Exception {
+        // given
+        given(contentRepository.findHeadById(1L)).willReturn(Optional.empty());
+
+        // when
+        Throwable throwable = catchThrowable(() -> assembler.assemble(1L, null));
+
+        // then
+        assertThat(throwable).isInstanceOf(EntityNotExistException.class);
+    }
+
+    @Test
+    public void assemble_HeadUsedTwice_LoadOnce() throws Exception {
+        // given
+        Movie movie = ContentMother.movie().build();
+        DetailDto.ContentHead head = new DetailDto.ContentHead(1L, "M", "드라마");
+
+        given(contentRepository.findHeadById(1L)).willReturn(Optional.of(head));
+        given(contentRepository.findById(1L)).willReturn(Optional.of(movie));
+
+        // when
+        assembler.assemble(1L, null);
+
+        // then
+        then(contentRepository).should(times(1)).findHeadById(1L);
+        then(contentService).should().getSimilar(eq(head), any(Pageable.class));
+        assertThat(assembler.getLoadStats().getDetailCount()).isEqualTo(1);
+        assertThat(assembler.getLoadStats().getSavedCount()).isEqualTo(1);
+    }
+}
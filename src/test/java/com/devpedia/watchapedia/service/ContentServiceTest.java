@@ -7,17 +7,23 @@ import com.devpedia.watchapedia.builder.UserMother;
 import com.devpedia.watchapedia.domain.Collection;
 import com.devpedia.watchapedia.domain.*;
 import com.devpedia.watchapedia.dto.ContentDto;
+import com.devpedia.watchapedia.dto.DetailDto;
 import com.devpedia.watchapedia.dto.ParticipantDto;
 import com.devpedia.watchapedia.dto.enums.ContentTypeParameter;
 import com.devpedia.watchapedia.exception.EntityNotExistException;
 import com.devpedia.watchapedia.exception.InvalidFileException;
+import com.devpedia.watchapedia.repository.ContentScoreStatsRepository;
+import com.devpedia.watchapedia.repository.ContentSimilarityRepository;
 import com.devpedia.watchapedia.repository.ElasticSearchRepository;
+import com.devpedia.watchapedia.repository.ScoreRepository;
+import com.devpedia.watchapedia.repository.WriteBehindRepository;
 import com.devpedia.watchapedia.repository.collection.CollectionRepository;
 import com.devpedia.watchapedia.repository.content.ContentRepository;
 import com.devpedia.watchapedia.repository.participant.ParticipantRepository;
 import com.devpedia.watchapedia.repository.tag.TagRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -39,7 +45,7 @@ class ContentServiceTest {
     private ContentService contentService;
 
     @Mock
-    private S3Service s3Service;
+    private ImageUploadService imageUploadService;
     @Mock
     private UserService userService;
     @Mock
@@ -52,6 +58,24 @@ class ContentServiceTest {
     private CollectionRepository collectionRepository;
     @Mock
     private ElasticSearchRepository searchRepository;
+    @Mock
+    private ScoreRepository scoreRepository;
+    @Mock
+    private ContentScoreStatsRepository contentScoreStatsRepository;
+    @Mock
+    private TrendingService trendingService;
+    @Mock
+    private ScoreCountService scoreCountService;
+    @Mock
+    private WriteBehindBuffer writeBehindBuffer;
+    @Mock
+    private WriteBehindRepository writeBehindRepository;
+    @Mock
+    private UserTasteProfileService userTasteProfileService;
+    @Mock
+    private UserActionCountService userActionCountService;
+    @Mock
+    private ContentSimilarityRepository contentSimilarityRepository;
 
     @Test
     public void createContent_WithoutChildren_Save() throws Exception {
@@ -70,6 +94,7 @@ class ContentServiceTest {
 
         // then
         verify(content, times(1)).setPosterImage(any(Image.class));
+        verify(imageUploadService, times(1)).enqueue(eq(poster), anyString());
         verify(contentRepository, times(1)).save(content);
     }
 
@@ -373,16 +398,12 @@ class ContentServiceTest {
         // given
         User user = spy(UserMother.defaultUser().build());
         Collection collection = spy(CollectionMother.defaultCollection(user).build());
-        Movie movie1 = ContentMother.movie().build();
-        Movie movie2 = ContentMother.movie().build();
-        Movie movie3 = ContentMother.movie().build();
-        Movie movie4 = ContentMother.movie().build();
 
         given(collection.getId()).willReturn(1L);
         given(collectionRepository.getAward(eq(ContentTypeParameter.MOVIES)))
                 .willReturn(List.of(collection));
-        given(contentRepository.getContentsInCollection(anyLong(), any(Pageable.class)))
-                .willReturn(List.of(movie1, movie2, movie3, movie4));
+        given(collectionRepository.getPosterPaths(eq(Set.of(1L)), anyInt()))
+                .willReturn(Map.of(1L, List.of("/poster1", "/poster2", "/poster3", "/poster4")));
 
         // when
         List<ContentDto.ListForAward> awardList = contentService.getAwardList(ContentTypeParameter.MOVIES);
@@ -493,8 +514,9 @@ class ContentServiceTest {
         // given
         Movie movie = spy(ContentMother.movie().build());
 
-        given(searchRepository.searchTypeContentsReturnIds(anyString(), anyString(), anyInt(), anyInt()))
-                .willReturn(List.of(1L));
+        given(movie.getId()).willReturn(1L);
+        given(searchRepository.searchTypeContents(anyString(), anyString(), anyInt(), anyInt()))
+                .willReturn(List.of(new ContentDto.SearchHit(1L, null)));
         given(contentRepository.findAllById(anyIterable()))
                 .willReturn(List.of(movie));
 
@@ -505,4 +527,193 @@ class ContentServiceTest {
         assertThat(list).hasSize(1);
         assertThat(list.get(0)).isInstanceOf(ContentDto.SearchMovieItem.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void searchByType_HydratedFromSearch_KeepRankWithoutDb() throws Exception {
+        // given
+        Movie movie = spy(ContentMother.movie().build());
+        ContentDto.SearchMovieItem first = ContentDto.SearchMovieItem.builder().id(2L).dtype("M").build();
+        ContentDto.SearchMovieItem third = ContentDto.SearchMovieItem.builder().id(3L).dtype("M").build();
+
+        given(movie.getId()).willReturn(1L);
+        given(searchRepository.searchTypeContents(anyString(), anyString(), anyInt(), anyInt()))
+                .willReturn(List.of(
+                        new ContentDto.SearchHit(2L, first),
+                        new ContentDto.SearchHit(1L, null),
+                        new ContentDto.SearchHit(3L, third)));
+        given(contentRepository.findAllById(List.of(1L)))
+                .willReturn(List.of(movie));
+
+        // when
+        List<Object> list = contentService.searchByType(ContentTypeParameter.MOVIES, "movie", 1, 10);
+
+        // then
+        assertThat(list).hasSize(3);
+        assertThat(list.get(0)).isEqualTo(first);
+        assertThat(((ContentDto.SearchMovieItem) list.get(1)).getId()).isEqualTo(1L);
+        assertThat(list.get(2)).isEqualTo(third);
+    }
+
+    @Test
+    public void createOrEditScore_NewScore_AddToStats() throws Exception {
+        // given
+        User user = spy(UserMother.defaultUser().build());
+        Movie movie = spy(ContentMother.movie().build());
+        ContentScoreStats stats = ContentScoreStats.empty(movie);
+
+        given(user.getId()).willReturn(1L);
+        given(movie.getId()).willReturn(1L);
+        given(userService.getUserIfExistOrThrow(1L)).willReturn(user);
+        given(contentRepository.findById(1L)).willReturn(Optional.of(movie));
+        given(scoreRepository.findById(any(Score.ScoreId.class))).willReturn(Optional.empty());
+        given(contentScoreStatsRepository.findByIdForUpdate(1L)).willReturn(Optional.of(stats));
+
+        // when
+        contentService.createOrEditScore(1L, 1L, new DetailDto.ScoreRequest(4.0));
+
+        // then
+        assertThat(stats.getScoreCount()).isEqualTo(1L);
+        assertThat(stats.getScoreAverage()).isEqualTo(4.0);
+        assertThat(stats.getHistogram().get(4.0)).isEqualTo(1);
+        verify(scoreRepository, times(1)).save(any(Score.class));
+    }
+
+    @Test
+    public void createOrEditScore_EditScore_MoveBucket() throws Exception {
+        // given
+        User user = spy(UserMother.defaultUser().build());
+        Movie movie = spy(ContentMother.movie().build());
+        ContentScoreStats stats = ContentScoreStats.empty(movie);
+        stats.addScore(3.0);
+        stats.addScore(5.0);
+
+        given(user.getId()).willReturn(1L);
+        given(movie.getId()).willReturn(1L);
+        Score score = Score.builder().user(user).content(movie).score(3.0).build();
+
+        given(userService.getUserIfExistOrThrow(1L)).willReturn(user);
+        given(contentRepository.findById(1L)).willReturn(Optional.of(movie));
+        given(scoreRepository.findById(any(Score.ScoreId.class))).willReturn(Optional.of(score));
+        given(contentScoreStatsRepository.findByIdForUpdate(1L)).willReturn(Optional.of(stats));
+
+        // when
+        contentService.createOrEditScore(1L, 1L, new DetailDto.ScoreRequest(4.0));
+
+        // then
+        assertThat(score.getScore()).isEqualTo(4.0);
+        assertThat(stats.getScoreCount()).isEqualTo(2L);
+        assertThat(stats.getScoreAverage()).isEqualTo(4.5);
+        assertThat(stats.getHistogram().get(3.0)).isEqualTo(0);
+        assertThat(stats.getHistogram().get(4.0)).isEqualTo(1);
+    }
+
+    @Test
+    public void deleteScore_StatsNotExist_UpsertAndSeedFromScores() throws Exception {
+        // given
+        User user = spy(UserMother.defaultUser().build());
+        Movie movie = spy(ContentMother.movie().build());
+
+        given(user.getId()).willReturn(1L);
+        given(movie.getId()).willReturn(1L);
+        Score score = Score.builder().user(user).content(movie).score(2.0).build();
+        ContentScoreStats stats = ContentScoreStats.empty(movie);
+
+        given(userService.getUserIfExistOrThrow(1L)).willReturn(user);
+        given(contentRepository.findById(1L)).willReturn(Optional.of(movie));
+        given(scoreRepository.findById(any(Score.ScoreId.class))).willReturn(Optional.of(score));
+        given(contentScoreStatsRepository.findByIdForUpdate(1L)).willReturn(Optional.empty(), Optional.of(stats));
+        given(scoreRepository.countGroupByScore(1L))
+                .willReturn(List.of(new Object[]{2.0, 1L}, new Object[]{5.0, 1L}));
+
+        // when
+        contentService.deleteScore(1L, 1L);
+
+        // then
+        verify(contentScoreStatsRepository).insertEmptyIfAbsent(1L);
+        verify(contentScoreStatsRepository, never()).save(any(ContentScoreStats.class));
+        assertThat(stats.getScoreCount()).isEqualTo(1L);
+        assertThat(stats.getScoreAverage()).isEqualTo(5.0);
+        verify(scoreRepository, times(1)).delete(score);
+    }
+
+    @Test
+    public void rebuildScoreStats_StatsMissing_InsertMissingAndReset() throws Exception {
+        // given
+        Movie movie = spy(ContentMother.movie().build());
+        given(movie.getId()).willReturn(1L);
+        ContentScoreStats stats = ContentScoreStats.empty(movie);
+
+        given(scoreRepository.countGroupByContentAndScore())
+                .willReturn(List.<Object[]>of(new Object[]{1L, 4.0, 2L}));
+        given(contentScoreStatsRepository.findAll()).willReturn(List.of(stats));
+
+        // when
+        contentService.rebuildScoreStats();
+
+        // then
+        verify(contentScoreStatsRepository).insertMissing();
+        assertThat(stats.getScoreCount()).isEqualTo(2L);
+        assertThat(stats.getScoreAverage()).isEqualTo(4.0);
+    }
+
+    @Test
+    public void createOrEditScore_WriteBehindEnabled_OnlyBuffer() throws Exception {
+        // given
+        given(writeBehindBuffer.putScore(1L, 2L, 4.0)).willReturn(true);
+
+        // when
+        contentService.createOrEditScore(2L, 1L, new DetailDto.ScoreRequest(4.0));
+
+        // then
+        verify(userService, never()).getUserIfExistOrThrow(anyLong());
+        verify(scoreRepository, never()).findById(any(Score.ScoreId.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void applyPendingWrites_NewScoreAndDeletedUser_PersistOnlyActive() throws Exception {
+        // given
+        User user = spy(UserMother.defaultUser().build());
+        Movie movie = spy(ContentMother.movie().build());
+        ContentScoreStats stats = ContentScoreStats.empty(movie);
+
+        given(user.getId()).willReturn(1L);
+        given(movie.getId()).willReturn(1L);
+        given(userService.getActiveUsers(Set.of(1L, 2L))).willReturn(Map.of(1L, user));
+        given(contentRepository.findAllById(Set.of(1L))).willReturn(List.of(movie));
+        given(writeBehindRepository.findScores(Set.of(1L), Set.of(1L))).willReturn(Collections.emptyList());
+        given(contentScoreStatsRepository.findByIdForUpdate(1L)).willReturn(Optional.of(stats));
+
+        WriteBehindBuffer.Batch batch = new WriteBehindBuffer.Batch(
+                Map.of(new Score.ScoreId(1L, 1L), new WriteBehindBuffer.Pending<>(4.0),
+                        new Score.ScoreId(2L, 1L), new WriteBehindBuffer.Pending<>(3.0)),
+                Map.of(), Map.of());
+
+        // when
+        contentService.applyPendingWrites(batch);
+
+        // then
+        ArgumentCaptor<List<Object>> captor = ArgumentCaptor.forClass(List.class);
+        verify(writeBehindRepository).persistAll(captor.capture());
+        assertThat(captor.getValue()).hasSize(1);
+        assertThat(((Score) captor.getValue().get(0)).getScore()).isEqualTo(4.0);
+        assertThat(stats.getScoreCount()).isEqualTo(1L);
+        verify(scoreCountService, times(1)).increment();
+    }
+
+    @Test
+    public void getCommentInfo_PageNotFull_SkipCountQuery() throws Exception {
+        // given
+        DetailLoadContext loads = new DetailLoadContext();
+        given(contentRepository.getComments(anyLong(), anyLong(), any(Pageable.class)))
+                .willReturn(List.of(new DetailDto.CommentDetail()));
+
+        // when
+        DetailDto.CommentInfo info = contentService.getCommentInfo(1L, null, PageRequest.of(0, 10), loads);
+
+        // then
+        assertThat(info.getCount()).isEqualTo(1);
+        assertThat(loads.getSavedCount()).isEqualTo(1);
+        verify(contentRepository, never()).countComments(anyLong());
+    }
+}
@@ -0,0 +1,52 @@
+package com.devpedia.watchapedia.service;
+
+import com.devpedia.watchapedia.domain.ContentSimilarity;
+import com.devpedia.watchapedia.repository.ContentSimilarityRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+class ContentSimilarityServiceTest {
+
+    @Mock
+    private ContentSimilarityRepository similarityRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void rebuildAll_SharedTags_KeepTopNeighborOfSameType() throws Exception {
+        // given
+        ContentSimilarityService service = new ContentSimilarityService(similarityRepository, Runnable::run,
+                transactionManager, 1, 500, 2000, 4.0, 1.0, 1.0, 0.5);
+
+        given(similarityRepository.findContentDtypes()).willReturn(List.of(
+                new Object[]{1L, "M"}, new Object[]{2L, "M"}, new Object[]{3L, "M"}, new Object[]{4L, "B"}));
+        given(similarityRepository.findContentTagPairs()).willReturn(List.of(
+                new Object[]{1L, 10L}, new Object[]{1L, 11L},
+                new Object[]{2L, 10L},
+                new Object[]{3L, 11L}, new Object[]{3L, 12L},
+                new Object[]{4L, 10L}));
+
+        // when
+        int count = service.rebuildAll();
+
+        // then
+        ArgumentCaptor<List<ContentSimilarity>> captor = ArgumentCaptor.forClass(List.class);
+        then(similarityRepository).should().saveAll(captor.capture());
+        assertThat(count).isEqualTo(4);
+        assertThat(captor.getValue())
+                .extracting(row -> row.getId().getContentId() + "->" + row.getId().getSimilarContentId())
+                .containsExactlyInAnyOrder("1->3", "2->1", "3->1");
+    }
+}
@@ -0,0 +1,79 @@
+package com.devpedia.watchapedia.service;
+
+import com.devpedia.watchapedia.dto.ContentDto;
+import com.devpedia.watchapedia.dto.enums.HomeFeed;
+import com.devpedia.watchapedia.repository.RedisRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class HomeFeedSnapshotServiceTest {
+
+    private HomeFeedSnapshotService homeFeedSnapshotService;
+
+    @Mock
+    private MovieService movieService;
+    @Mock
+    private TvShowService tvShowService;
+    @Mock
+    private BookService bookService;
+    @Mock
+    private RedisRepository redisRepository;
+
+    @BeforeEach
+    public void setUp() {
+        homeFeedSnapshotService = new HomeFeedSnapshotService(movieService, tvShowService, bookService,
+                redisRepository, new ObjectMapper(), 60000, 300000);
+    }
+
+    @Test
+    public void refresh_SharedNotExist_BuildAndPublish() throws Exception {
+        // given
+        List<ContentDto.MainList> highScoreList = Collections.singletonList(
+                new ContentDto.MainList("movies", "평점이 높은 영화", Collections.emptyList()));
+
+        given(movieService.getHighScoreList()).willReturn(highScoreList);
+        given(redisRepository.nextHomeFeedVersion()).willReturn(1L);
+
+        // when
+        homeFeedSnapshotService.refresh();
+        byte[] payload = homeFeedSnapshotService.getPayload(HomeFeed.MOVIE_SCORE);
+
+        // then
+        assertThat(new String(payload, StandardCharsets.UTF_8)).contains("평점이 높은 영화");
+        then(redisRepository).should(times(1)).saveHomeFeed(eq(1L), anyMap(), any());
+    }
+
+    @Test
+    public void getResponse_SnapshotNotExist_ReturnLiveList() throws Exception {
+        // given
+        List<ContentDto.MainList> highScoreList = Collections.singletonList(
+                new ContentDto.MainList("movies", "평점이 높은 영화", Collections.emptyList()));
+
+        given(movieService.getHighScoreList()).willReturn(highScoreList);
+
+        // when
+        ResponseEntity<?> response = homeFeedSnapshotService.getResponse(HomeFeed.MOVIE_SCORE);
+
+        // then
+        assertThat(homeFeedSnapshotService.getPayload(HomeFeed.MOVIE_SCORE)).isNull();
+        assertThat(response.getBody()).isEqualTo(highScoreList);
+    }
+}
@@ -0,0 +1,111 @@
+package com.devpedia.watchapedia.service;
+
+import com.amazonaws.AmazonClientException;
+import com.devpedia.watchapedia.domain.ImageUpload;
+import com.devpedia.watchapedia.repository.ImageUploadRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
+
+@ExtendWith(MockitoExtension.class)
+class ImageUploadServiceTest {
+
+    @Mock
+    private S3Service s3Service;
+    @Mock
+    private ImageUploadRepository imageUploadRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path stagingDir;
+
+    @Test
+    public void enqueue_UploadSuccess_CompleteAndDeleteStaged() throws Exception {
+        // given
+        ImageUploadService imageUploadService = createService(5);
+        AtomicReference<ImageUpload> saved = stubSave();
+
+        // when
+        imageUploadService.enqueue(new MockMultipartFile("poster", "poster.jpg", "image/jpg", new byte[100]), "poster/a.jpg");
+
+        // then
+        then(s3Service).should().upload(any(File.class), eq("poster/a.jpg"));
+        assertThat(saved.get().getStatus()).isEqualTo(ImageUpload.Status.DONE);
+        assertThat(Files.list(stagingDir).count()).isEqualTo(0);
+    }
+
+    @Test
+    public void enqueue_UploadFail_KeepPendingAndStaged() throws Exception {
+        // given
+        ImageUploadService imageUploadService = createService(5);
+        AtomicReference<ImageUpload> saved = stubSave();
+        willThrow(new AmazonClientException("down")).given(s3Service).upload(any(File.class), anyString());
+
+        // when
+        imageUploadService.enqueue(new MockMultipartFile("poster", "poster.jpg", "image/jpg", new byte[100]), "poster/a.jpg");
+
+        // then
+        assertThat(saved.get().getStatus()).isEqualTo(ImageUpload.Status.PENDING);
+        assertThat(saved.get().getAttemptCount()).isEqualTo(1);
+        assertThat(Files.list(stagingDir).count()).isEqualTo(1);
+    }
+
+    @Test
+    public void enqueue_UploadFailOverMaxAttempts_FailAndDeleteStaged() throws Exception {
+        // given
+        ImageUploadService imageUploadService = createService(1);
+        AtomicReference<ImageUpload> saved = stubSave();
+        willThrow(new AmazonClientException("down")).given(s3Service).upload(any(File.class), anyString());
+
+        // when
+        imageUploadService.enqueue(new MockMultipartFile("poster", "poster.jpg", "image/jpg", new byte[100]), "poster/a.jpg");
+
+        // then
+        assertThat(saved.get().getStatus()).isEqualTo(ImageUpload.Status.FAILED);
+        assertThat(Files.list(stagingDir).count()).isEqualTo(0);
+        then(imageUploadRepository).should().markImageUploadFailed("poster/a.jpg");
+    }
+
+    @Test
+    public void create_WorkerNotConfigured_ThrowException() throws Exception {
+        // when
+        Throwable throwable = catchThrowable(() -> new ImageUploadService(s3Service, imageUploadRepository, Runnable::run,
+                transactionManager, stagingDir.toString(), "", 300, 30, 5, 20, 7));
+
+        // then
+        assertThat(throwable).isInstanceOf(IllegalStateException.class);
+    }
+
+    private ImageUploadService createService(int maxAttempts) {
+        return new ImageUploadService(s3Service, imageUploadRepository, Runnable::run, transactionManager,
+                stagingDir.toString(), "test", 300, 30, maxAttempts, 20, 7);
+    }
+
+    private AtomicReference<ImageUpload> stubSave() {
+        AtomicReference<ImageUpload> saved = new AtomicReference<>();
+        given(imageUploadRepository.save(any(ImageUpload.class))).willAnswer(invocation -> {
+            saved.set(invocation.getArgument(0));
+            return saved.get();
+        });
+        given(imageUploadRepository.findById(any())).willAnswer(invocation -> Optional.ofNullable(saved.get()));
+        return saved;
+    }
+}
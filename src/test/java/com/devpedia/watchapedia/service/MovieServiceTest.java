@@ -37,6 +37,8 @@ class MovieServiceTest {
     private TagRepository tagRepository;
     @Mock
     private CollectionRepository collectionRepository;
+    @Mock
+    private RandomIdPool randomIdPool;
 
     @Test
     public void saveWithImage_CorrectInput_Save() throws Exception {
@@ -87,7 +89,10 @@ class MovieServiceTest {
                 .list(List.of(item))
                 .build();
 
-        given(tagRepository.findByRandom(any()))
+        given(randomIdPool.pickTagIds(eq(ContentTypeParameter.MOVIES), anyInt()))
+                .willReturn(List.of(1L));
+
+        given(tagRepository.findAllById(List.of(1L)))
                 .willReturn(List.of(tag));
 
         given(contentService.getTagList(eq(ContentTypeParameter.MOVIES), any(Tag.class), anyInt()))
@@ -124,7 +129,10 @@ class MovieServiceTest {
                 .list(List.of(item))
                 .build();
 
-        given(collectionRepository.getRandom(eq(ContentTypeParameter.MOVIES), anyInt()))
+        given(randomIdPool.pickCollectionIds(eq(ContentTypeParameter.MOVIES), anyInt()))
+                .willReturn(List.of(1L));
+
+        given(collectionRepository.findAllById(List.of(1L)))
                 .willReturn(List.of(collection));
 
         given(contentService.getCollectionList(any(Collection.class), anyInt()))
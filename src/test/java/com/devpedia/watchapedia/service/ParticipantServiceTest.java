@@ -33,6 +33,8 @@ class ParticipantServiceTest {
     private ParticipantRepository participantRepository;
     @Mock
     private S3Service s3Service;
+    @Mock
+    private CatalogCache catalogCache;
 
     @Test
     public void addWithImage_WithFile_AddWithImage() throws Exception {
@@ -105,6 +107,7 @@ class ParticipantServiceTest {
         // then
         assertThat(participant.getName()).isEqualTo(request.getName());
         assertThat(participant.getDescription()).isEqualTo(request.getDescription());
+        verify(catalogCache, times(1)).invalidate(CatalogCache.Region.PARTICIPANT, CatalogCache.Region.CONTENT);
     }
 
     @Test
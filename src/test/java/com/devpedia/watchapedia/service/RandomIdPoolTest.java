@@ -0,0 +1,85 @@
+package com.devpedia.watchapedia.service;
+
+import com.devpedia.watchapedia.dto.enums.ContentTypeParameter;
+import com.devpedia.watchapedia.repository.collection.CollectionRepository;
+import com.devpedia.watchapedia.repository.tag.TagRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class RandomIdPoolTest {
+
+    @InjectMocks
+    private RandomIdPool randomIdPool;
+
+    @Mock
+    private CollectionRepository collectionRepository;
+    @Mock
+    private TagRepository tagRepository;
+
+    @Test
+    public void sample_SizeLessThanPool_ReturnDistinctIds() throws Exception {
+        // given
+        long[] ids = {10L, 20L, 30L, 40L, 50L};
+
+        // when
+        List<Long> picked = RandomIdPool.sample(ids, 3);
+
+        // then
+        assertThat(picked).hasSize(3);
+        assertThat(picked).doesNotHaveDuplicates();
+        assertThat(picked).isSubsetOf(10L, 20L, 30L, 40L, 50L);
+    }
+
+    @Test
+    public void sample_SizeGreaterThanPool_ReturnAll() throws Exception {
+        // given
+        long[] ids = {10L, 20L};
+
+        // when
+        List<Long> picked = RandomIdPool.sample(ids, 5);
+
+        // then
+        assertThat(picked).containsExactlyInAnyOrder(10L, 20L);
+    }
+
+    @Test
+    public void pickCollectionIds_PoolNotBuilt_RebuildAndPick() throws Exception {
+        // given
+        given(collectionRepository.getIdsHavingContent(any(ContentTypeParameter.class)))
+                .willReturn(List.of(1L, 2L, 3L));
+        given(tagRepository.getIdsHavingContent(any(ContentTypeParameter.class)))
+                .willReturn(Collections.emptyList());
+
+        // when
+        List<Long> collectionIds = randomIdPool.pickCollectionIds(ContentTypeParameter.MOVIES, 2);
+        List<Long> tagIds = randomIdPool.pickTagIds(ContentTypeParameter.MOVIES, 1);
+
+        // then
+        assertThat(collectionIds).hasSize(2).isSubsetOf(1L, 2L, 3L);
+        assertThat(tagIds).isEmpty();
+    }
+
+    @Test
+    public void inPickedOrder_FoundInOtherOrder_SortByPickedIds() throws Exception {
+        // given
+        List<Long> ids = List.of(30L, 10L, 20L);
+        List<Long> found = List.of(10L, 20L, 30L);
+
+        // when
+        List<Long> ordered = RandomIdPool.inPickedOrder(ids, found, id -> id);
+
+        // then
+        assertThat(ordered).containsExactly(30L, 10L, 20L);
+    }
+}
@@ -0,0 +1,82 @@
+package com.devpedia.watchapedia.service;
+
+import com.devpedia.watchapedia.builder.ContentMother;
+import com.devpedia.watchapedia.domain.Movie;
+import com.devpedia.watchapedia.domain.Ranking;
+import com.devpedia.watchapedia.dto.RankingDto;
+import com.devpedia.watchapedia.repository.RankingRepository;
+import com.devpedia.watchapedia.repository.RedisRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class RankingServiceTest {
+
+    private RankingService rankingService;
+
+    @Mock
+    private RankingRepository rankingRepository;
+    @Mock
+    private RedisRepository redisRepository;
+
+    @BeforeEach
+    public void setUp() {
+        rankingService = new RankingService(rankingRepository, redisRepository, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    public void searchWithAllRanking_RankingNotChanged_BuildOnce() throws Exception {
+        // given
+        Movie movie = ContentMother.movie().build();
+        Ranking ranking = new Ranking(1L, "movies", "box_office", movie);
+
+        given(rankingRepository.getFingerprint()).willReturn("1:1:1");
+        given(rankingRepository.findAllWithContent()).willReturn(List.of(ranking));
+        given(rankingRepository.getRankingContentScore(anySet())).willReturn(Collections.emptyMap());
+
+        // when
+        List<RankingDto.RankingContentInfoList> first = rankingService.searchWithAllRanking("movies");
+        rankingService.refresh();
+        List<RankingDto.RankingContentInfoList> second = rankingService.searchWithRanking("movies", "box_office");
+
+        // then
+        assertThat(first).hasSize(1);
+        assertThat(first.get(0).getType()).isEqualTo("box_office");
+        assertThat(first.get(0).getList().get(0)).isInstanceOf(RankingDto.RankingContentChartMovieInfo.class);
+        assertThat(second).hasSize(1);
+        then(rankingRepository).should(times(1)).findAllWithContent();
+        then(redisRepository).should(times(1)).saveRankingSnapshot(eq("1:1:1"), anyMap(), any());
+    }
+
+    @Test
+    public void searchWithAllRanking_SharedSnapshotExist_NotBuild() throws Exception {
+        // given
+        given(rankingRepository.getFingerprint()).willReturn("1:1:1");
+        given(redisRepository.getRankingSnapshot("1:1:1"))
+                .willReturn(Collections.<Object, Object>singletonMap("movies", "[{\"title\":\"박스오피스\",\"type\":\"box_office\",\"list\":[]}]"));
+
+        // when
+        List<RankingDto.RankingContentInfoList> rankings = rankingService.searchWithAllRanking("movies");
+
+        // then
+        assertThat(rankings).hasSize(1);
+        assertThat(rankings.get(0).getTitle()).isEqualTo("박스오피스");
+        then(rankingRepository).should(times(0)).findAllWithContent();
+    }
+}
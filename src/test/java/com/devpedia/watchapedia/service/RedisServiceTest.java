@@ -14,6 +14,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.Collections;
 
 import static org.assertj.core.api.Assertions.*;
@@ -33,30 +34,38 @@ class RedisServiceTest {
     @Test
     public void getAccessToken_CorrectToken_ReturnToken() throws Exception {
         // given
-        JwtTokenProvider.JwtParseInfo parseInfo = new JwtTokenProvider.JwtParseInfo(1L, Collections.singletonList("USER"));
+        JwtTokenProvider.RefreshTokenInfo parseInfo = JwtTokenProvider.RefreshTokenInfo.builder()
+                .id(1L)
+                .roles(Collections.singletonList("USER"))
+                .build();
 
-        given(jwtTokenProvider.getUserParseInfo(anyString()))
+        given(jwtTokenProvider.getRefreshTokenInfo(anyString()))
                 .willReturn(parseInfo);
         given(redisRepository.getRefreshToken(anyLong()))
                 .willReturn("correctRefreshToken");
         given(jwtTokenProvider.createAccessToken(anyString(), anyList()))
                 .willReturn("newToken");
+        given(jwtTokenProvider.createRefreshToken(anyString(), anyList(), anyString(), anyString()))
+                .willReturn("newRefreshToken");
 
         // when
-        String newToken = redisService.getAccessTokenOrThrow("correctRefreshToken");
+        JwtTokenProvider.TokenPair newToken = redisService.refreshTokensOrThrow("correctRefreshToken");
 
         // then
-        assertThat(newToken).isNotBlank();
+        assertThat(newToken.getAccessToken()).isNotBlank();
+        assertThat(newToken.getRefreshToken()).isNotBlank();
+        verify(redisRepository).deleteRefreshToken(1L);
+        verify(redisRepository).addRefreshTokenFamily(eq(1L), anyString(), anyString(), any(Duration.class));
     }
 
     @Test
     public void getAccessToken_TokenParseFail_ThrowException() throws Exception {
         // given
-        given(jwtTokenProvider.getUserParseInfo(anyString()))
+        given(jwtTokenProvider.getRefreshTokenInfo(anyString()))
                 .willThrow(JwtException.class);
 
         // when
-        Throwable throwable = catchThrowable(() -> redisService.getAccessTokenOrThrow("correctRefreshToken"));
+        Throwable throwable = catchThrowable(() -> redisService.refreshTokensOrThrow("correctRefreshToken"));
 
         // then
         assertThat(throwable).isInstanceOf(JwtException.class);
@@ -65,15 +74,18 @@ class RedisServiceTest {
     @Test
     public void getAccessToken_StoredTokenIsNull_ThrowException() throws Exception {
         // given
-        JwtTokenProvider.JwtParseInfo parseInfo = new JwtTokenProvider.JwtParseInfo(1L, Collections.singletonList("USER"));
+        JwtTokenProvider.RefreshTokenInfo parseInfo = JwtTokenProvider.RefreshTokenInfo.builder()
+                .id(1L)
+                .roles(Collections.singletonList("USER"))
+                .build();
 
-        given(jwtTokenProvider.getUserParseInfo(anyString()))
+        given(jwtTokenProvider.getRefreshTokenInfo(anyString()))
                 .willReturn(parseInfo);
         given(redisRepository.getRefreshToken(anyLong()))
                 .willReturn(null);
 
         // when
-        Throwable throwable = catchThrowable(() -> redisService.getAccessTokenOrThrow("correctRefreshToken"));
+        Throwable throwable = catchThrowable(() -> redisService.refreshTokensOrThrow("correctRefreshToken"));
 
         // then
         assertThat(throwable).isInstanceOf(ValueNotMatchException.class);
@@ -82,17 +94,85 @@ class RedisServiceTest {
     @Test
     public void getAccessToken_NotMatchedToken_ThrowException() throws Exception {
         // given
-        JwtTokenProvider.JwtParseInfo parseInfo = new JwtTokenProvider.JwtParseInfo(1L, Collections.singletonList("USER"));
+        JwtTokenProvider.RefreshTokenInfo parseInfo = JwtTokenProvider.RefreshTokenInfo.builder()
+                .id(1L)
+                .roles(Collections.singletonList("USER"))
+                .build();
 
-        given(jwtTokenProvider.getUserParseInfo(anyString()))
+        given(jwtTokenProvider.getRefreshTokenInfo(anyString()))
                 .willReturn(parseInfo);
         given(redisRepository.getRefreshToken(anyLong()))
                 .willReturn("NotTheSameToken");
 
         // when
-        Throwable throwable = catchThrowable(() -> redisService.getAccessTokenOrThrow("correctRefreshToken"));
+        Throwable throwable = catchThrowable(() -> redisService.refreshTokensOrThrow("correctRefreshToken"));
 
         // then
         assertThat(throwable).isInstanceOf(ValueNotMatchException.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void refreshTokens_CurrentToken_Rotate() throws Exception {
+        // given
+        given(jwtTokenProvider.getRefreshTokenInfo(anyString()))
+                .willReturn(familyToken());
+        given(redisRepository.rotateRefreshToken(eq(1L), eq("family1"), eq("token1"), anyString(), any(Duration.class), any(Duration.class)))
+                .willAnswer(invocation -> invocation.getArgument(3));
+        given(jwtTokenProvider.createAccessToken(anyString(), anyList()))
+                .willReturn("newToken");
+        given(jwtTokenProvider.createRefreshToken(anyString(), anyList(), eq("family1"), anyString()))
+                .willReturn("newRefreshToken");
+
+        // when
+        JwtTokenProvider.TokenPair newToken = redisService.refreshTokensOrThrow("refreshToken");
+
+        // then
+        assertThat(newToken.getRefreshToken()).isEqualTo("newRefreshToken");
+        verify(jwtTokenProvider).createRefreshToken(anyString(), anyList(), eq("family1"), not(eq("token1")));
+    }
+
+    @Test
+    public void refreshTokens_PreviousTokenInGrace_ReissueCurrentToken() throws Exception {
+        // given
+        given(jwtTokenProvider.getRefreshTokenInfo(anyString()))
+                .willReturn(familyToken());
+        given(redisRepository.rotateRefreshToken(eq(1L), eq("family1"), eq("token1"), anyString(), any(Duration.class), any(Duration.class)))
+                .willReturn("token2");
+        given(jwtTokenProvider.createAccessToken(anyString(), anyList()))
+                .willReturn("newToken");
+        given(jwtTokenProvider.createRefreshToken(anyString(), anyList(), eq("family1"), eq("token2")))
+                .willReturn("currentRefreshToken");
+
+        // when
+        JwtTokenProvider.TokenPair newToken = redisService.refreshTokensOrThrow("refreshToken");
+
+        // then
+        assertThat(newToken.getRefreshToken()).isEqualTo("currentRefreshToken");
+    }
+
+    @Test
+    public void refreshTokens_ReusedToken_ThrowException() throws Exception {
+        // given
+        given(jwtTokenProvider.getRefreshTokenInfo(anyString()))
+                .willReturn(familyToken());
+        given(redisRepository.rotateRefreshToken(eq(1L), eq("family1"), eq("token1"), anyString(), any(Duration.class), any(Duration.class)))
+                .willReturn(null);
+
+        // when
+        Throwable throwable = catchThrowable(() -> redisService.refreshTokensOrThrow("refreshToken"));
+
+        // then
+        assertThat(throwable).isInstanceOf(ValueNotMatchException.class);
+        verify(jwtTokenProvider, never()).createRefreshToken(anyString(), anyList(), anyString(), anyString());
+    }
+
+    private JwtTokenProvider.RefreshTokenInfo familyToken() {
+        return JwtTokenProvider.RefreshTokenInfo.builder()
+                .id(1L)
+                .roles(Collections.singletonList("USER"))
+                .tokenId("token1")
+                .familyId("family1")
+                .expiresAt(System.currentTimeMillis() + 60000)
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.devpedia.watchapedia.service;
+
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MinIO 컨테이너에 실제로 업로드해 본다. Docker 가 없는 환경에서는 건너뛴다.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(classes = S3Service.class)
+@ActiveProfiles("test")
+class S3ServiceTest {
+
+    private static final int MINIO_PORT = 9000;
+    private static final long MB = 1024 * 1024L;
+
+    @Container
+    private static final GenericContainer<?> minio =
+            new GenericContainer<>(DockerImageName.parse("minio/minio:RELEASE.2021-01-16T02-19-44Z"))
+                    .withEnv("MINIO_ACCESS_KEY", "minioadmin")
+                    .withEnv("MINIO_SECRET_KEY", "minioadmin")
+                    .withCommand("server /data")
+                    .withExposedPorts(MINIO_PORT)
+                    .waitingFor(Wait.forHttp("/minio/health/live").forPort(MINIO_PORT));
+
+    @DynamicPropertySource
+    static void s3Properties(DynamicPropertyRegistry registry) {
+        registry.add("cloud.aws.s3.endpoint", S3ServiceTest::endpoint);
+    }
+
+    @Autowired
+    private S3Service s3Service;
+
+    @Value("${cloud.aws.s3.bucket}")
+    private String bucket;
+
+    @Value("${cloud.aws.region.static}")
+    private String region;
+
+    @TempDir
+    Path tempDir;
+
+    private AmazonS3 s3Client;
+
+    @BeforeEach
+    public void setUp() {
+        s3Client = AmazonS3ClientBuilder.standard()
+                .withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials("minioadmin", "minioadmin")))
+                .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(endpoint(), region))
+                .withPathStyleAccessEnabled(true)
+                .build();
+        if (!s3Client.doesBucketExistV2(bucket))
+            s3Client.createBucket(bucket);
+    }
+
+    @Test
+    public void upload_OverMultipartThreshold_UploadInParts() throws Exception {
+        // given
+        File file = tempDir.resolve("poster.jpg").toFile();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(12 * MB);
+        }
+
+        // when
+        s3Service.upload(file, "poster/large.jpg");
+
+        // then
+        ObjectMetadata metadata = s3Client.getObjectMetadata(bucket, "poster/large.jpg");
+        assertThat(metadata.getContentLength()).isEqualTo(12 * MB);
+        // 멀티파트 업로드 객체의 ETag 는 "<md5>-<파트 수>" 형식이다. 5MB 파트 3개
+        assertThat(metadata.getETag()).endsWith("-3");
+    }
+
+    private static String endpoint() {
+        return String.format("http://%s:%d", minio.getHost(), minio.getMappedPort(MINIO_PORT));
+    }
+}
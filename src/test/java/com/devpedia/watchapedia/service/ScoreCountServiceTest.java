@@ -0,0 +1,144 @@
+package com.devpedia.watchapedia.service;
+
+import com.devpedia.watchapedia.repository.RedisRepository;
+import com.devpedia.watchapedia.repository.content.ContentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class ScoreCountServiceTest {
+
+    @InjectMocks
+    private ScoreCountService scoreCountService;
+
+    @Mock
+    private ContentRepository contentRepository;
+    @Mock
+    private RedisRepository redisRepository;
+
+    @Test
+    public void getTotalCount_PendingNotFlushed_IncludePending() throws Exception {
+        // given
+        given(redisRepository.getScoreCount()).willReturn(100L);
+        scoreCountService.flush();
+        scoreCountService.increment();
+        scoreCountService.increment();
+        scoreCountService.decrement();
+
+        // when
+        long count = scoreCountService.getTotalCount();
+
+        // then
+        assertThat(count).isEqualTo(101L);
+        then(contentRepository).should(never()).countTotalScores();
+    }
+
+    @Test
+    public void flush_Pending_IncrementRedisOnce() throws Exception {
+        // given
+        scoreCountService.increment();
+        scoreCountService.increment();
+        given(redisRepository.incrementScoreCount(2L)).willReturn(52L);
+
+        // when
+        scoreCountService.flush();
+
+        // then
+        assertThat(scoreCountService.getTotalCount()).isEqualTo(52L);
+    }
+
+    @Test
+    public void flush_RedisFailed_KeepPending() throws Exception {
+        // given
+        scoreCountService.increment();
+        given(redisRepository.incrementScoreCount(1L)).willThrow(new IllegalStateException());
+        scoreCountService.flush();
+        given(redisRepository.incrementScoreCount(1L)).willReturn(11L);
+
+        // when
+        scoreCountService.flush();
+
+        // then
+        assertThat(scoreCountService.getTotalCount()).isEqualTo(11L);
+    }
+
+    @Test
+    public void getTotalCount_RedisEmpty_SeedFromDbOnce() throws Exception {
+        // given
+        given(redisRepository.getScoreCount()).willReturn(null);
+        given(contentRepository.countTotalScores()).willReturn(30L);
+        given(redisRepository.seedScoreCount(30L)).willReturn(30L);
+
+        // when
+        long first = scoreCountService.getTotalCount();
+        long second = scoreCountService.getTotalCount();
+
+        // then
+        assertThat(first).isEqualTo(30L);
+        assertThat(second).isEqualTo(30L);
+        then(contentRepository).should(times(1)).countTotalScores();
+        then(redisRepository).should(never()).setScoreCount(anyLong());
+    }
+
+    @Test
+    public void getTotalCount_RedisSeedFailed_UseDbCount() throws Exception {
+        // given
+        given(redisRepository.getScoreCount()).willReturn(null);
+        given(contentRepository.countTotalScores()).willReturn(30L);
+        given(redisRepository.seedScoreCount(30L)).willThrow(new IllegalStateException());
+
+        // when
+        long count = scoreCountService.getTotalCount();
+
+        // then
+        assertThat(count).isEqualTo(30L);
+    }
+
+    @Test
+    public void flush_RedisKeyMissing_SeedFromDb() throws Exception {
+        // given
+        scoreCountService.increment();
+        given(redisRepository.incrementScoreCount(1L)).willReturn(null);
+        given(contentRepository.countTotalScores()).willReturn(3000000L);
+        given(redisRepository.seedScoreCount(3000000L)).willReturn(3000000L);
+
+        // when
+        scoreCountService.flush();
+
+        // then
+        assertThat(scoreCountService.getTotalCount()).isEqualTo(3000000L);
+    }
+
+    @Test
+    public void increment_InTransaction_ApplyAfterCommit() throws Exception {
+        // given
+        given(redisRepository.getScoreCount()).willReturn(100L);
+        scoreCountService.flush();
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            // when
+            scoreCountService.increment();
+            long beforeCommit = scoreCountService.getTotalCount();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            // then
+            assertThat(beforeCommit).isEqualTo(100L);
+            assertThat(scoreCountService.getTotalCount()).isEqualTo(101L);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
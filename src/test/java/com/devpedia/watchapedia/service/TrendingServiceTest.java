@@ -0,0 +1,102 @@
+package com.devpedia.watchapedia.service;
+
+import com.devpedia.watchapedia.domain.Content;
+import com.devpedia.watchapedia.repository.CommentRepository;
+import com.devpedia.watchapedia.repository.RedisRepository;
+import com.devpedia.watchapedia.repository.content.ContentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class TrendingServiceTest {
+
+    private TrendingService trendingService;
+
+    @Mock
+    private CommentRepository commentRepository;
+    @Mock
+    private ContentRepository contentRepository;
+    @Mock
+    private RedisRepository redisRepository;
+
+    @BeforeEach
+    public void setUp() {
+        trendingService = new TrendingService(commentRepository, contentRepository, redisRepository, 24, 14);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void reconcile_RecentAndOldComments_RecentScoresHigher() throws Exception {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        given(commentRepository.findContentIdAndCreatedAtSince(any()))
+                .willReturn(List.of(
+                        new Object[]{1L, now.minusDays(5)},
+                        new Object[]{1L, now.minusDays(6)},
+                        new Object[]{2L, now.minusHours(1)}));
+        given(contentRepository.getTitles(Set.of(1L, 2L)))
+                .willReturn(Map.of(1L, "old", 2L, "recent"));
+
+        // when
+        trendingService.reconcile();
+
+        // then
+        ArgumentCaptor<Map<Long, Double>> captor = ArgumentCaptor.forClass(Map.class);
+        then(redisRepository).should().replaceTrending(captor.capture(), eq(Map.of(1L, "old", 2L, "recent")));
+        assertThat(captor.getValue().get(2L)).isGreaterThan(captor.getValue().get(1L));
+        assertThat(trendingService.weight(now)).isGreaterThan(trendingService.weight(now.minusDays(1)));
+    }
+
+    @Test
+    public void getTrendingWords_RedisEmpty_FallbackToDb() throws Exception {
+        // given
+        given(redisRepository.getTrendingTitles(5)).willReturn(Collections.emptyList());
+        given(contentRepository.getTrendingWords(5)).willReturn(List.of("title"));
+
+        // when
+        List<String> result = trendingService.getTrendingWords(5);
+
+        // then
+        assertThat(result).containsExactly("title");
+    }
+
+    @Test
+    public void commentCreated_Normal_IncrementPositive() throws Exception {
+        // given
+        Content content = mock(Content.class);
+        given(content.getId()).willReturn(1L);
+        given(content.getMainTitle()).willReturn("title");
+
+        // when
+        trendingService.commentCreated(content, LocalDateTime.now());
+
+        // then
+        then(redisRepository).should().incrementTrending(eq(1L), eq("title"), doubleThat(delta -> delta > 0));
+    }
+
+    @Test
+    public void commentDeleted_OutOfWindow_Ignore() throws Exception {
+        // given
+        Content content = mock(Content.class);
+
+        // when
+        trendingService.commentDeleted(content, LocalDateTime.now().minusDays(30));
+
+        // then
+        then(redisRepository).should(never()).incrementTrending(anyLong(), anyString(), anyDouble());
+    }
+}
@@ -0,0 +1,102 @@
+package com.devpedia.watchapedia.service;
+
+import com.devpedia.watchapedia.domain.Content;
+import com.devpedia.watchapedia.domain.UserActionCount;
+import com.devpedia.watchapedia.domain.enums.InterestState;
+import com.devpedia.watchapedia.repository.UserActionCountRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class UserActionCountServiceTest {
+
+    @InjectMocks
+    private UserActionCountService userActionCountService;
+
+    @Mock
+    private UserActionCountRepository userActionCountRepository;
+
+    @Test
+    public void changeInterest_WishToWatching_MoveCount() throws Exception {
+        // given
+        Content content = mock(Content.class);
+        given(content.getDtype()).willReturn("M");
+        given(userActionCountRepository.addCounts(1L, "M", 0, -1, 1, 0, 0)).willReturn(1);
+
+        // when
+        userActionCountService.changeInterest(1L, content, InterestState.WISH, InterestState.WATCHING);
+
+        // then
+        then(userActionCountRepository).should(never()).save(any(UserActionCount.class));
+    }
+
+    @Test
+    public void addRating_RowNotExist_SeedFromActivities() throws Exception {
+        // given
+        Content content = mock(Content.class);
+        given(content.getDtype()).willReturn("B");
+        given(content.getId()).willReturn(10L);
+        given(userActionCountRepository.addCounts(1L, "B", 1, 0, 0, 0, 0)).willReturn(0);
+
+        // when
+        userActionCountService.addRating(1L, content, 1);
+
+        // then
+        then(userActionCountRepository).should()
+                .insertSeededCounts(1L, "B", 10L, 0L, 0L, 0L, 0L, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0);
+        then(userActionCountRepository).should(never()).save(any(UserActionCount.class));
+    }
+
+    @Test
+    public void changeInterest_RowNotExist_SeedWithAfterState() throws Exception {
+        // given
+        Content content = mock(Content.class);
+        given(content.getDtype()).willReturn("M");
+        given(content.getId()).willReturn(10L);
+        given(userActionCountRepository.addCounts(1L, "M", 0, -1, 1, 0, 0)).willReturn(0);
+
+        // when
+        userActionCountService.changeInterest(1L, content, InterestState.WISH, InterestState.WATCHING);
+
+        // then
+        then(userActionCountRepository).should()
+                .insertSeededCounts(1L, "M", 0L, 10L, 10L, 0L, 0L, 0, 0, 1, 0, 0, 0, -1, 1, 0, 0);
+    }
+
+    @Test
+    public void rebuildAll_Users_RecomputeEachUserAndType() throws Exception {
+        // given
+        given(userActionCountRepository.findAllUserIds()).willReturn(Arrays.asList(1L, 2L));
+
+        // when
+        userActionCountService.rebuildAll();
+
+        // then
+        then(userActionCountRepository).should().recomputeCounts(1L, "M", 0L, 0L, 0L, 0L, 0L, 0, 0, 0, 0, 0);
+        then(userActionCountRepository).should().recomputeCounts(2L, "S", 0L, 0L, 0L, 0L, 0L, 0, 0, 0, 0, 0);
+        then(userActionCountRepository).should(never()).deleteAllInBatch();
+    }
+
+    @Test
+    public void changeInterest_SameState_Ignore() throws Exception {
+        // given
+        Content content = mock(Content.class);
+
+        // when
+        userActionCountService.changeInterest(1L, content, InterestState.WISH, InterestState.WISH);
+
+        // then
+        then(userActionCountRepository).should(never()).addCounts(anyLong(), anyString(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt());
+    }
+}
@@ -46,6 +46,8 @@ class UserServiceTest {
     private ContentRepository contentRepository;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private UserActionCountService userActionCountService;
 
     @Test
     public void join_NotDuplicated_SaveUser() throws Exception {
@@ -0,0 +1,134 @@
+package com.devpedia.watchapedia.service;
+
+import com.devpedia.watchapedia.builder.UserMother;
+import com.devpedia.watchapedia.domain.User;
+import com.devpedia.watchapedia.domain.UserTasteProfile;
+import com.devpedia.watchapedia.dto.UserDto;
+import com.devpedia.watchapedia.repository.UserTasteProfileRepository;
+import com.devpedia.watchapedia.repository.user.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+
+@ExtendWith(MockitoExtension.class)
+class UserTasteProfileServiceTest {
+
+    private UserTasteProfileService userTasteProfileService;
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private UserTasteProfileRepository profileRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void setUp() {
+        userTasteProfileService = new UserTasteProfileService(userRepository, profileRepository,
+                new ObjectMapper(), Runnable::run, Runnable::run, transactionManager, 100);
+    }
+
+    @Test
+    public void getAnalysis_FreshProfile_ReadWithoutCompute() throws Exception {
+        // given
+        User user = spy(UserMother.defaultUser().build());
+        given(user.getId()).willReturn(1L);
+        UserDto.UserAnalysisData analysis = UserDto.UserAnalysisData.builder()
+                .rating(UserDto.UserRatingAnalysis.builder()
+                        .totalCount(3)
+                        .average(4.0)
+                        .distribution(new LinkedHashMap<>())
+                        .build())
+                .build();
+        UserTasteProfile profile = UserTasteProfile.builder()
+                .user(user)
+                .data(userTasteProfileService.encode(analysis))
+                .build();
+        given(profileRepository.findById(1L)).willReturn(Optional.of(profile));
+
+        // when
+        UserDto.UserAnalysisData result = userTasteProfileService.getAnalysis(1L);
+
+        // then
+        assertThat(result.getRating().getTotalCount()).isEqualTo(3);
+        assertThat(result.getRating().getAverage()).isEqualTo(4.0);
+        then(userRepository).should(never()).getRatingAnalysis(anyLong());
+    }
+
+    @Test
+    public void getAnalysis_StaleProfile_ComputeAndUpdateIfVersion() throws Exception {
+        // given
+        UserTasteProfile profile = mock(UserTasteProfile.class);
+        given(profile.getIsStale()).willReturn(true);
+        given(profile.getVersion()).willReturn(3L);
+        given(profileRepository.findById(1L)).willReturn(Optional.of(profile));
+        given(userRepository.getRatingAnalysis(1L)).willReturn(UserDto.UserRatingAnalysis.builder()
+                .totalCount(5)
+                .build());
+
+        // when
+        UserDto.UserAnalysisData result = userTasteProfileService.getAnalysis(1L);
+
+        // then
+        assertThat(result.getRating().getTotalCount()).isEqualTo(5);
+        then(profileRepository).should().updateIfVersion(eq(1L), any(byte[].class), eq(3L));
+        then(profileRepository).should(never()).save(any(UserTasteProfile.class));
+    }
+
+    @Test
+    public void getAnalysis_NoProfile_ComputeAndInsertIfAbsent() throws Exception {
+        // given
+        given(profileRepository.findById(1L)).willReturn(Optional.empty());
+        given(userRepository.getRatingAnalysis(1L)).willReturn(UserDto.UserRatingAnalysis.builder()
+                .totalCount(5)
+                .build());
+
+        // when
+        UserDto.UserAnalysisData result = userTasteProfileService.getAnalysis(1L);
+
+        // then
+        assertThat(result.getRating().getTotalCount()).isEqualTo(5);
+        then(profileRepository).should().insertIfAbsent(eq(1L), any(byte[].class));
+        then(profileRepository).should(never()).save(any(UserTasteProfile.class));
+    }
+
+    @Test
+    public void startRebuildAll_AlreadyRunning_NotStartAgain() throws Exception {
+        // given
+        List<Runnable> submitted = new ArrayList<>();
+        UserTasteProfileService service = new UserTasteProfileService(userRepository, profileRepository,
+                new ObjectMapper(), Runnable::run, submitted::add, transactionManager, 100);
+        given(userRepository.findActiveIdsAfter(eq(0L), any(Pageable.class))).willReturn(Collections.emptyList());
+
+        // when
+        boolean first = service.startRebuildAll();
+        boolean second = service.startRebuildAll();
+        submitted.get(0).run();
+        boolean afterDone = service.startRebuildAll();
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(afterDone).isTrue();
+        assertThat(submitted).hasSize(2);
+    }
+}
@@ -0,0 +1,88 @@
+package com.devpedia.watchapedia.service;
+
+import com.devpedia.watchapedia.domain.Score;
+import com.devpedia.watchapedia.domain.enums.InterestState;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteBehindBufferTest {
+
+    @Test
+    public void putScore_Disabled_ReturnFalse() throws Exception {
+        // given
+        WriteBehindBuffer buffer = new WriteBehindBuffer(false, 10);
+
+        // when
+        boolean buffered = buffer.putScore(1L, 1L, 4.0);
+
+        // then
+        assertThat(buffered).isFalse();
+        assertThat(buffer.getPendingScore(1L, 1L)).isNull();
+    }
+
+    @Test
+    public void putScore_SameKeyTwice_KeepLastWrite() throws Exception {
+        // given
+        WriteBehindBuffer buffer = new WriteBehindBuffer(true, 10);
+        buffer.putScore(1L, 1L, 4.0);
+        buffer.putScore(1L, 1L, null);
+
+        // when
+        WriteBehindBuffer.Pending<Double> pending = buffer.getPendingScore(1L, 1L);
+
+        // then
+        assertThat(pending.isDeleted()).isTrue();
+        assertThat(buffer.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void putInterest_Full_ReturnFalseForNewKeyOnly() throws Exception {
+        // given
+        WriteBehindBuffer buffer = new WriteBehindBuffer(true, 1);
+        buffer.putInterest(1L, 1L, InterestState.WISH);
+
+        // when
+        boolean newKey = buffer.putInterest(1L, 2L, InterestState.WISH);
+        boolean sameKey = buffer.putInterest(1L, 1L, InterestState.WATCHING);
+
+        // then
+        assertThat(newKey).isFalse();
+        assertThat(sameKey).isTrue();
+        assertThat(buffer.getPendingInterest(1L, 1L).getValue()).isEqualTo(InterestState.WATCHING);
+    }
+
+    @Test
+    public void requeue_NewerWriteExist_KeepNewerWrite() throws Exception {
+        // given
+        WriteBehindBuffer buffer = new WriteBehindBuffer(true, 10);
+        buffer.putScore(1L, 1L, 3.0);
+        buffer.putCommentLike(1L, 2L, 1L, true);
+        WriteBehindBuffer.Batch batch = buffer.drain(10);
+        buffer.putScore(1L, 1L, 5.0);
+
+        // when
+        buffer.requeue(batch);
+
+        // then
+        assertThat(batch.getScores()).containsOnlyKeys(new Score.ScoreId(1L, 1L));
+        assertThat(buffer.getPendingScore(1L, 1L).getValue()).isEqualTo(5.0);
+        assertThat(buffer.getPendingCommentLike(1L, 2L, 1L)).isTrue();
+    }
+
+    @Test
+    public void drain_NotCompleted_KeepVisible() throws Exception {
+        // given
+        WriteBehindBuffer buffer = new WriteBehindBuffer(true, 10);
+        buffer.putScore(1L, 1L, 3.0);
+
+        // when
+        WriteBehindBuffer.Batch batch = buffer.drain(10);
+
+        // then
+        assertThat(buffer.size()).isEqualTo(0);
+        assertThat(buffer.getPendingScore(1L, 1L).getValue()).isEqualTo(3.0);
+        buffer.complete(batch);
+        assertThat(buffer.getPendingScore(1L, 1L)).isNull();
+    }
+}
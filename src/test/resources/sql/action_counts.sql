@@ -1,12 +1,17 @@
 insert into user values (1, now(), now(), 1, 'KR', '', 'aaa1@bbb.ccc', 'N', 'N', 'N', 'N', 'testName', '1234'),
                         (2, now(), now(), 1, 'KR', '', 'aaa2@bbb.ccc', 'N', 'N', 'N', 'N', 'testName', '1234');
 
-insert into comment values (100, 1, now(), now(), 'N', 'desc', 'N'),
-                           (200, 1, now(), now(), 'N', 'desc', 'N'),
-                           (300, 1, now(), now(), 'N', 'desc', 'N');
+insert into comment (content_id, user_id, create_datetime, update_datetime, delete_yn, description, spoiler_yn, like_count, reply_count)
+            values (100, 1, now(), now(), 'N', 'desc', 'N', 0, 0),
+                   (200, 1, now(), now(), 'N', 'desc', 'N', 0, 0),
+                   (300, 1, now(), now(), 'N', 'desc', 'N', 0, 0);
 
 insert into interest values (100, 1, 1), (101, 1, 2), (102, 1, 3),
                             (200, 1, 1), (201, 1, 2), (202, 1, 3),
                             (300, 1, 1), (301, 1, 2), (302, 1, 3);
 
-insert into score values (100, 1, 3.0), (200, 1, 4.0), (300, 1, 5.0);
\ No newline at end of file
+insert into score values (100, 1, 3.0), (200, 1, 4.0), (300, 1, 5.0);
+insert into user_action_count (user_id, dtype, rating_count, wish_count, watching_count, not_interest_count, comment_count)
+            values (1, 'M', 1, 1, 1, 1, 1),
+                   (1, 'B', 1, 1, 1, 1, 1),
+                   (1, 'S', 1, 1, 1, 1, 1);
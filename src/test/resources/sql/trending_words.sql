@@ -1,6 +1,7 @@
 insert into user values (1, now(), now(), 1, 'KR', '', 'aaa1@bbb.ccc', 'N', 'N', 'N', 'N', 'testName', '1234'),
                         (2, now(), now(), 1, 'KR', '', 'aaa2@bbb.ccc', 'N', 'N', 'N', 'N', 'testName', '1234');
 
-insert into comment values (100, 1, now(), now(), 'N', 'desc', 'N'),
-                           (100, 2, now(), now(), 'N', 'desc', 'N'),
-                           (101, 1, now(), now(), 'N', 'desc', 'N');
\ No newline at end of file
+insert into comment (content_id, user_id, create_datetime, update_datetime, delete_yn, description, spoiler_yn, like_count, reply_count)
+            values (100, 1, now(), now(), 'N', 'desc', 'N', 0, 0),
+                   (100, 2, now(), now(), 'N', 'desc', 'N', 0, 0),
+                   (101, 1, now(), now(), 'N', 'desc', 'N', 0, 0);
\ No newline at end of file